@@ -17,7 +17,11 @@
 package org.apache.commons.text;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.io.Writer;
+import java.nio.ByteBuffer;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -34,6 +38,7 @@ import org.apache.commons.text.translate.NumericEntityUnescaper;
 import org.apache.commons.text.translate.OctalUnescaper;
 import org.apache.commons.text.translate.UnicodeUnescaper;
 import org.apache.commons.text.translate.UnicodeUnpairedSurrogateRemover;
+import org.apache.commons.text.translate.Utf8Escaper;
 
 /**
  * <p>
@@ -41,6 +46,17 @@ import org.apache.commons.text.translate.UnicodeUnpairedSurrogateRemover;
  * </p>
  *
  * <p>
+ * Each escape and unescape method also has an overload appending its result to an {@link Appendable}, such as a
+ * {@link StringBuilder} or a {@link TextStringBuilder}, without creating intermediate {@code String}s. To reuse a
+ * {@code char[]} buffer, wrap it with {@link TextStringBuilder#wrap(char[], int)}.
+ * </p>
+ *
+ * <p>
+ * JSON, XML 1.0 and HTML 4.0 escaping can also work on UTF-8 bytes, from a {@link ByteBuffer} or an
+ * {@link InputStream}, see {@link Utf8Escaper}.
+ * </p>
+ *
+ * <p>
  * #ThreadSafe#
  * </p>
  *
@@ -108,7 +124,17 @@ public class StringEscapeUtils {
          * @return {@code this}, to enable chaining
          */
         public Builder escape(final String input) {
-            sb.append(translator.translate(input));
+            if (input == null) {
+                // the translation of null is null, which a StringBuilder appends as "null"
+                sb.append((String) null);
+                return this;
+            }
+            try {
+                translator.translate(input, sb);
+            } catch (final IOException ioe) {
+                // this should never ever happen while writing to a StringBuilder
+                throw new UncheckedIOException(ioe);
+            }
             return this;
         }
 
@@ -478,6 +504,21 @@ public class StringEscapeUtils {
      */
     public static final CharSequenceTranslator UNESCAPE_XSI = new XsiUnescaper();
 
+    /**
+     * UTF-8 byte escaper for {@link #ESCAPE_HTML4}.
+     */
+    private static final Utf8Escaper UTF8_ESCAPE_HTML4 = new Utf8Escaper(ESCAPE_HTML4);
+
+    /**
+     * UTF-8 byte escaper for {@link #ESCAPE_JSON}.
+     */
+    private static final Utf8Escaper UTF8_ESCAPE_JSON = new Utf8Escaper(ESCAPE_JSON);
+
+    /**
+     * UTF-8 byte escaper for {@link #ESCAPE_XML10}.
+     */
+    private static final Utf8Escaper UTF8_ESCAPE_XML10 = new Utf8Escaper(ESCAPE_XML10);
+
     /**
      * Gets a {@link Builder}.
      * @param translator the text translator
@@ -487,6 +528,24 @@ public class StringEscapeUtils {
         return new Builder(translator);
     }
 
+    /**
+     * Translates the input onto the given {@link Appendable}, writing directly into the buffer of a
+     * {@link TextStringBuilder}.
+     *
+     * @param translator the text translator
+     * @param input the input to translate, null appends nothing
+     * @param appendable the Appendable to append to
+     * @throws IOException if the Appendable throws one
+     */
+    private static void translate(final CharSequenceTranslator translator, final CharSequence input,
+            final Appendable appendable) throws IOException {
+        if (appendable instanceof TextStringBuilder) {
+            translator.translate(input, ((TextStringBuilder) appendable).asWriter());
+        } else {
+            translator.translate(input, appendable);
+        }
+    }
+
     /**
      * Returns a {@code String} value for a CSV column enclosed in double quotes,
      * if required.
@@ -510,6 +569,18 @@ public class StringEscapeUtils {
         return ESCAPE_CSV.translate(input);
     }
 
+    /**
+     * Escapes the input like {@link #escapeCsv(String)}, appending the result to the given {@code Appendable}.
+     *
+     * @param input  the {@code CharSequence} to escape, null appends nothing
+     * @param appendable  the {@code Appendable} to append to, not null
+     * @throws IOException if the {@code Appendable} throws one
+     * @since 1.13.0
+     */
+    public static void escapeCsv(final CharSequence input, final Appendable appendable) throws IOException {
+        translate(ESCAPE_CSV, input, appendable);
+    }
+
     /**
      * Escapes the characters in a {@code String} using EcmaScript String rules.
      *
@@ -544,6 +615,18 @@ public class StringEscapeUtils {
         return ESCAPE_ECMASCRIPT.translate(input);
     }
 
+    /**
+     * Escapes the input like {@link #escapeEcmaScript(String)}, appending the result to the given {@code Appendable}.
+     *
+     * @param input  the {@code CharSequence} to escape, null appends nothing
+     * @param appendable  the {@code Appendable} to append to, not null
+     * @throws IOException if the {@code Appendable} throws one
+     * @since 1.13.0
+     */
+    public static void escapeEcmaScript(final CharSequence input, final Appendable appendable) throws IOException {
+        translate(ESCAPE_ECMASCRIPT, input, appendable);
+    }
+
     /**
      * Escapes the characters in a {@code String} using HTML entities.
      *
@@ -556,6 +639,18 @@ public class StringEscapeUtils {
         return ESCAPE_HTML3.translate(input);
     }
 
+    /**
+     * Escapes the input like {@link #escapeHtml3(String)}, appending the result to the given {@code Appendable}.
+     *
+     * @param input  the {@code CharSequence} to escape, null appends nothing
+     * @param appendable  the {@code Appendable} to append to, not null
+     * @throws IOException if the {@code Appendable} throws one
+     * @since 1.13.0
+     */
+    public static void escapeHtml3(final CharSequence input, final Appendable appendable) throws IOException {
+        translate(ESCAPE_HTML3, input, appendable);
+    }
+
     // HTML and XML
     /**
      * Escapes the characters in a {@code String} using HTML entities.
@@ -586,6 +681,46 @@ public class StringEscapeUtils {
         return ESCAPE_HTML4.translate(input);
     }
 
+    /**
+     * Escapes the input like {@link #escapeHtml4(String)}, appending the result to the given {@code Appendable}.
+     *
+     * @param input  the {@code CharSequence} to escape, null appends nothing
+     * @param appendable  the {@code Appendable} to append to, not null
+     * @throws IOException if the {@code Appendable} throws one
+     * @since 1.13.0
+     */
+    public static void escapeHtml4(final CharSequence input, final Appendable appendable) throws IOException {
+        translate(ESCAPE_HTML4, input, appendable);
+    }
+
+    /**
+     * Escapes the remaining UTF-8 bytes of a buffer like {@link #escapeHtml4(String)}, putting the UTF-8 result
+     * into another buffer without decoding to a {@code String}. Malformed input is escaped as U+FFFD.
+     *
+     * @param in  the UTF-8 input, not null, has no remaining bytes on return
+     * @param out  the buffer to put the UTF-8 output into, not null
+     * @throws java.nio.BufferOverflowException if {@code out} is too small
+     * @see Utf8Escaper
+     * @since 1.13.0
+     */
+    public static void escapeHtml4(final ByteBuffer in, final ByteBuffer out) {
+        UTF8_ESCAPE_HTML4.escape(in, out);
+    }
+
+    /**
+     * Escapes a UTF-8 stream like {@link #escapeHtml4(String)}, writing the UTF-8 result to another stream
+     * without decoding to a {@code String}. Malformed input is escaped as U+FFFD. Neither stream is closed.
+     *
+     * @param in  the UTF-8 input, not null
+     * @param out  the stream to write the UTF-8 output to, not null
+     * @throws IOException if one of the streams throws one
+     * @see Utf8Escaper
+     * @since 1.13.0
+     */
+    public static void escapeHtml4(final InputStream in, final OutputStream out) throws IOException {
+        UTF8_ESCAPE_HTML4.escape(in, out);
+    }
+
     // Java and JavaScript
     /**
      * Escapes the characters in a {@code String} using Java String rules.
@@ -611,6 +746,18 @@ public class StringEscapeUtils {
         return ESCAPE_JAVA.translate(input);
     }
 
+    /**
+     * Escapes the input like {@link #escapeJava(String)}, appending the result to the given {@code Appendable}.
+     *
+     * @param input  the {@code CharSequence} to escape, null appends nothing
+     * @param appendable  the {@code Appendable} to append to, not null
+     * @throws IOException if the {@code Appendable} throws one
+     * @since 1.13.0
+     */
+    public static void escapeJava(final CharSequence input, final Appendable appendable) throws IOException {
+        translate(ESCAPE_JAVA, input, appendable);
+    }
+
     /**
      * Escapes the characters in a {@code String} using Json String rules.
      *
@@ -638,6 +785,46 @@ public class StringEscapeUtils {
         return ESCAPE_JSON.translate(input);
     }
 
+    /**
+     * Escapes the input like {@link #escapeJson(String)}, appending the result to the given {@code Appendable}.
+     *
+     * @param input  the {@code CharSequence} to escape, null appends nothing
+     * @param appendable  the {@code Appendable} to append to, not null
+     * @throws IOException if the {@code Appendable} throws one
+     * @since 1.13.0
+     */
+    public static void escapeJson(final CharSequence input, final Appendable appendable) throws IOException {
+        translate(ESCAPE_JSON, input, appendable);
+    }
+
+    /**
+     * Escapes the remaining UTF-8 bytes of a buffer like {@link #escapeJson(String)}, putting the UTF-8 result
+     * into another buffer without decoding to a {@code String}. Malformed input is escaped as U+FFFD.
+     *
+     * @param in  the UTF-8 input, not null, has no remaining bytes on return
+     * @param out  the buffer to put the UTF-8 output into, not null
+     * @throws java.nio.BufferOverflowException if {@code out} is too small
+     * @see Utf8Escaper
+     * @since 1.13.0
+     */
+    public static void escapeJson(final ByteBuffer in, final ByteBuffer out) {
+        UTF8_ESCAPE_JSON.escape(in, out);
+    }
+
+    /**
+     * Escapes a UTF-8 stream like {@link #escapeJson(String)}, writing the UTF-8 result to another stream
+     * without decoding to a {@code String}. Malformed input is escaped as U+FFFD. Neither stream is closed.
+     *
+     * @param in  the UTF-8 input, not null
+     * @param out  the stream to write the UTF-8 output to, not null
+     * @throws IOException if one of the streams throws one
+     * @see Utf8Escaper
+     * @since 1.13.0
+     */
+    public static void escapeJson(final InputStream in, final OutputStream out) throws IOException {
+        UTF8_ESCAPE_JSON.escape(in, out);
+    }
+
     /**
      * Escapes the characters in a {@code String} using XML entities.
      *
@@ -669,6 +856,46 @@ public class StringEscapeUtils {
         return ESCAPE_XML10.translate(input);
     }
 
+    /**
+     * Escapes the input like {@link #escapeXml10(String)}, appending the result to the given {@code Appendable}.
+     *
+     * @param input  the {@code CharSequence} to escape, null appends nothing
+     * @param appendable  the {@code Appendable} to append to, not null
+     * @throws IOException if the {@code Appendable} throws one
+     * @since 1.13.0
+     */
+    public static void escapeXml10(final CharSequence input, final Appendable appendable) throws IOException {
+        translate(ESCAPE_XML10, input, appendable);
+    }
+
+    /**
+     * Escapes the remaining UTF-8 bytes of a buffer like {@link #escapeXml10(String)}, putting the UTF-8 result
+     * into another buffer without decoding to a {@code String}. Malformed input is escaped as U+FFFD.
+     *
+     * @param in  the UTF-8 input, not null, has no remaining bytes on return
+     * @param out  the buffer to put the UTF-8 output into, not null
+     * @throws java.nio.BufferOverflowException if {@code out} is too small
+     * @see Utf8Escaper
+     * @since 1.13.0
+     */
+    public static void escapeXml10(final ByteBuffer in, final ByteBuffer out) {
+        UTF8_ESCAPE_XML10.escape(in, out);
+    }
+
+    /**
+     * Escapes a UTF-8 stream like {@link #escapeXml10(String)}, writing the UTF-8 result to another stream
+     * without decoding to a {@code String}. Malformed input is escaped as U+FFFD. Neither stream is closed.
+     *
+     * @param in  the UTF-8 input, not null
+     * @param out  the stream to write the UTF-8 output to, not null
+     * @throws IOException if one of the streams throws one
+     * @see Utf8Escaper
+     * @since 1.13.0
+     */
+    public static void escapeXml10(final InputStream in, final OutputStream out) throws IOException {
+        UTF8_ESCAPE_XML10.escape(in, out);
+    }
+
     /**
      * Escapes the characters in a {@code String} using XML entities.
      *
@@ -698,6 +925,18 @@ public class StringEscapeUtils {
         return ESCAPE_XML11.translate(input);
     }
 
+    /**
+     * Escapes the input like {@link #escapeXml11(String)}, appending the result to the given {@code Appendable}.
+     *
+     * @param input  the {@code CharSequence} to escape, null appends nothing
+     * @param appendable  the {@code Appendable} to append to, not null
+     * @throws IOException if the {@code Appendable} throws one
+     * @since 1.13.0
+     */
+    public static void escapeXml11(final CharSequence input, final Appendable appendable) throws IOException {
+        translate(ESCAPE_XML11, input, appendable);
+    }
+
     /**
      * Escapes the characters in a {@code String} using XSI rules.
      *
@@ -719,6 +958,18 @@ public class StringEscapeUtils {
         return ESCAPE_XSI.translate(input);
     }
 
+    /**
+     * Escapes the input like {@link #escapeXSI(String)}, appending the result to the given {@code Appendable}.
+     *
+     * @param input  the {@code CharSequence} to escape, null appends nothing
+     * @param appendable  the {@code Appendable} to append to, not null
+     * @throws IOException if the {@code Appendable} throws one
+     * @since 1.13.0
+     */
+    public static void escapeXSI(final CharSequence input, final Appendable appendable) throws IOException {
+        translate(ESCAPE_XSI, input, appendable);
+    }
+
     /**
      * Returns a {@code String} value for an unescaped CSV column.
      *
@@ -743,6 +994,18 @@ public class StringEscapeUtils {
         return UNESCAPE_CSV.translate(input);
     }
 
+    /**
+     * Unescapes the input like {@link #unescapeCsv(String)}, appending the result to the given {@code Appendable}.
+     *
+     * @param input  the {@code CharSequence} to unescape, null appends nothing
+     * @param appendable  the {@code Appendable} to append to, not null
+     * @throws IOException if the {@code Appendable} throws one
+     * @since 1.13.0
+     */
+    public static void unescapeCsv(final CharSequence input, final Appendable appendable) throws IOException {
+        translate(UNESCAPE_CSV, input, appendable);
+    }
+
     /**
      * Unescapes any EcmaScript literals found in the {@code String}.
      *
@@ -758,6 +1021,18 @@ public class StringEscapeUtils {
         return UNESCAPE_ECMASCRIPT.translate(input);
     }
 
+    /**
+     * Unescapes the input like {@link #unescapeEcmaScript(String)}, appending the result to the given {@code Appendable}.
+     *
+     * @param input  the {@code CharSequence} to unescape, null appends nothing
+     * @param appendable  the {@code Appendable} to append to, not null
+     * @throws IOException if the {@code Appendable} throws one
+     * @since 1.13.0
+     */
+    public static void unescapeEcmaScript(final CharSequence input, final Appendable appendable) throws IOException {
+        translate(UNESCAPE_ECMASCRIPT, input, appendable);
+    }
+
     /**
      * Unescapes a string containing entity escapes to a string
      * containing the actual Unicode characters corresponding to the
@@ -770,6 +1045,18 @@ public class StringEscapeUtils {
         return UNESCAPE_HTML3.translate(input);
     }
 
+    /**
+     * Unescapes the input like {@link #unescapeHtml3(String)}, appending the result to the given {@code Appendable}.
+     *
+     * @param input  the {@code CharSequence} to unescape, null appends nothing
+     * @param appendable  the {@code Appendable} to append to, not null
+     * @throws IOException if the {@code Appendable} throws one
+     * @since 1.13.0
+     */
+    public static void unescapeHtml3(final CharSequence input, final Appendable appendable) throws IOException {
+        translate(UNESCAPE_HTML3, input, appendable);
+    }
+
     /**
      * Unescapes a string containing entity escapes to a string
      * containing the actual Unicode characters corresponding to the
@@ -789,6 +1076,18 @@ public class StringEscapeUtils {
         return UNESCAPE_HTML4.translate(input);
     }
 
+    /**
+     * Unescapes the input like {@link #unescapeHtml4(String)}, appending the result to the given {@code Appendable}.
+     *
+     * @param input  the {@code CharSequence} to unescape, null appends nothing
+     * @param appendable  the {@code Appendable} to append to, not null
+     * @throws IOException if the {@code Appendable} throws one
+     * @since 1.13.0
+     */
+    public static void unescapeHtml4(final CharSequence input, final Appendable appendable) throws IOException {
+        translate(UNESCAPE_HTML4, input, appendable);
+    }
+
     /**
      * Unescapes any Java literals found in the {@code String}.
      * For example, it will turn a sequence of {@code '\'} and
@@ -802,6 +1101,18 @@ public class StringEscapeUtils {
         return UNESCAPE_JAVA.translate(input);
     }
 
+    /**
+     * Unescapes the input like {@link #unescapeJava(String)}, appending the result to the given {@code Appendable}.
+     *
+     * @param input  the {@code CharSequence} to unescape, null appends nothing
+     * @param appendable  the {@code Appendable} to append to, not null
+     * @throws IOException if the {@code Appendable} throws one
+     * @since 1.13.0
+     */
+    public static void unescapeJava(final CharSequence input, final Appendable appendable) throws IOException {
+        translate(UNESCAPE_JAVA, input, appendable);
+    }
+
     /**
      * Unescapes any Json literals found in the {@code String}.
      *
@@ -817,6 +1128,18 @@ public class StringEscapeUtils {
         return UNESCAPE_JSON.translate(input);
     }
 
+    /**
+     * Unescapes the input like {@link #unescapeJson(String)}, appending the result to the given {@code Appendable}.
+     *
+     * @param input  the {@code CharSequence} to unescape, null appends nothing
+     * @param appendable  the {@code Appendable} to append to, not null
+     * @throws IOException if the {@code Appendable} throws one
+     * @since 1.13.0
+     */
+    public static void unescapeJson(final CharSequence input, final Appendable appendable) throws IOException {
+        translate(UNESCAPE_JSON, input, appendable);
+    }
+
     /**
      * Unescapes a string containing XML entity escapes to a string
      * containing the actual Unicode characters corresponding to the
@@ -837,6 +1160,18 @@ public class StringEscapeUtils {
         return UNESCAPE_XML.translate(input);
     }
 
+    /**
+     * Unescapes the input like {@link #unescapeXml(String)}, appending the result to the given {@code Appendable}.
+     *
+     * @param input  the {@code CharSequence} to unescape, null appends nothing
+     * @param appendable  the {@code Appendable} to append to, not null
+     * @throws IOException if the {@code Appendable} throws one
+     * @since 1.13.0
+     */
+    public static void unescapeXml(final CharSequence input, final Appendable appendable) throws IOException {
+        translate(UNESCAPE_XML, input, appendable);
+    }
+
     /**
      * Unescapes the characters in a {@code String} using XSI rules.
      *
@@ -848,6 +1183,18 @@ public class StringEscapeUtils {
         return UNESCAPE_XSI.translate(input);
     }
 
+    /**
+     * Unescapes the input like {@link #unescapeXSI(String)}, appending the result to the given {@code Appendable}.
+     *
+     * @param input  the {@code CharSequence} to unescape, null appends nothing
+     * @param appendable  the {@code Appendable} to append to, not null
+     * @throws IOException if the {@code Appendable} throws one
+     * @since 1.13.0
+     */
+    public static void unescapeXSI(final CharSequence input, final Appendable appendable) throws IOException {
+        translate(UNESCAPE_XSI, input, appendable);
+    }
+
     /**
      * {@code StringEscapeUtils} instances should NOT be constructed in
      * standard programming.
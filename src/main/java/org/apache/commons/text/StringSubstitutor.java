@@ -131,7 +131,9 @@ import org.apache.commons.text.matcher.StringMatcherFactory;
  * <h2>Reusing Instances</h2>
  * <p>
  * Static shortcut methods cover the most common use cases. If multiple replace operations are to be performed, creating
- * and reusing an instance of this class will be more efficient.
+ * and reusing an instance of this class will be more efficient. If the same template is replaced many times, calling
+ * {@link #compile(String)} once and rendering the returned {@link CompiledTemplate} avoids parsing the template on
+ * every call.
  * </p>
  *
  * <h2>Using Interpolation</h2>
@@ -219,6 +221,208 @@ import org.apache.commons.text.matcher.StringMatcherFactory;
  */
 public class StringSubstitutor {
 
+    /**
+     * A template parsed once by {@link StringSubstitutor#compile(String)} and rendered many times.
+     * <p>
+     * The template text is split up front into literal segments and variable references, including default values
+     * and, when {@link StringSubstitutor#isEnableSubstitutionInVariables() substitution in variable names} is enabled,
+     * nested variables. Rendering only resolves the variables and concatenates the results into a presized buffer;
+     * the prefix, suffix and escape matchers never run over the template text again. Resolved values are still
+     * substituted recursively, following the configuration of the substitutor.
+     * </p>
+     * <p>
+     * Escape characters are only recognized in the template text, never in resolved values.
+     * </p>
+     * <p>
+     * Instances are immutable and thread safe as long as the substitutor that created them, and its
+     * {@link StringLookup}, are not modified while the template is in use.
+     * </p>
+     *
+     * @since 1.13.0
+     */
+    public static final class CompiledTemplate {
+
+        /**
+         * A literal segment or a variable reference of a compiled template.
+         */
+        private static final class Segment {
+
+            /** The literal text, or the source text of the variable reference including prefix and suffix. */
+            private final String text;
+
+            /** Whether this segment is a variable reference. */
+            private final boolean variable;
+
+            /** The variable name, null if the name must be computed from {@link #nameTemplate}. */
+            private final String name;
+
+            /** The default value of the variable, may be null. */
+            private final String defaultValue;
+
+            /** The template of a name containing nested variables, may be null. */
+            private final CompiledTemplate nameTemplate;
+
+            private Segment(final String text, final boolean variable, final String name, final String defaultValue,
+                final CompiledTemplate nameTemplate) {
+                this.text = text;
+                this.variable = variable;
+                this.name = name;
+                this.defaultValue = defaultValue;
+                this.nameTemplate = nameTemplate;
+            }
+        }
+
+        /** The substitutor that compiled this template. */
+        private final StringSubstitutor substitutor;
+
+        /** The template source text. */
+        private final String source;
+
+        /** The literal segments and variable references. */
+        private final Segment[] segments;
+
+        /** The number of characters of all segments, used to presize the rendering buffer. */
+        private final int capacity;
+
+        /** Whether this template contains at least one variable reference. */
+        private final boolean hasVariables;
+
+        private CompiledTemplate(final StringSubstitutor substitutor, final String source, final List<Segment> segments) {
+            this.substitutor = substitutor;
+            this.source = source;
+            this.segments = segments.toArray(new Segment[0]);
+            int length = 0;
+            boolean variables = false;
+            for (final Segment segment : this.segments) {
+                length += segment.text.length();
+                variables |= segment.variable;
+            }
+            this.capacity = length;
+            this.hasVariables = variables;
+        }
+
+        /**
+         * Appends the rendering of this template to the given builder, resolving variables with the substitutor that
+         * compiled it.
+         *
+         * @param builder the builder to append to, not null
+         * @return the given builder.
+         * @throws IllegalArgumentException if a variable is not found and enableUndefinedVariableException is true
+         */
+        public TextStringBuilder appendTo(final TextStringBuilder builder) {
+            Objects.requireNonNull(builder, "builder");
+            appendTo(substitutor, builder);
+            return builder;
+        }
+
+        /**
+         * Appends the rendering of this template to the given builder.
+         *
+         * @param sub the substitutor resolving the variables, not null
+         * @param builder the builder to append to, not null
+         */
+        private void appendTo(final StringSubstitutor sub, final TextStringBuilder builder) {
+            List<String> priorVariables = null;
+            for (final Segment segment : segments) {
+                if (!segment.variable) {
+                    builder.append(segment.text);
+                    continue;
+                }
+                String varName = segment.name;
+                String varDefaultValue = segment.defaultValue;
+                if (segment.nameTemplate != null) {
+                    final String[] nameAndDefault = sub.splitVariableName(segment.nameTemplate.render(sub));
+                    varName = nameAndDefault[0];
+                    varDefaultValue = nameAndDefault[1];
+                }
+
+                // on the first variable initialize priorVariables
+                if (priorVariables == null) {
+                    priorVariables = new ArrayList<>();
+                    priorVariables.add(source);
+                }
+
+                // handle cyclic substitution
+                sub.checkCyclicSubstitution(varName, priorVariables);
+                priorVariables.add(varName);
+
+                // resolve the variable, the reference stays in place if it cannot be resolved
+                final int startPos = builder.length();
+                builder.append(segment.text);
+                String varValue = sub.resolveVariable(varName, builder, startPos, builder.length());
+                if (varValue == null) {
+                    varValue = varDefaultValue;
+                }
+                if (varValue != null) {
+                    builder.setLength(startPos);
+                    builder.append(varValue);
+                    if (!sub.isDisableSubstitutionInValues()) { // recursive replace
+                        sub.substitute(builder, startPos, varValue.length(), priorVariables);
+                    }
+                } else if (sub.isEnableUndefinedVariableException()) {
+                    throw new IllegalArgumentException(
+                        String.format("Cannot resolve variable '%s' (enableSubstitutionInVariables=%s).", varName,
+                            sub.isEnableSubstitutionInVariables()));
+                }
+
+                // remove variable from the cyclic stack
+                priorVariables.remove(priorVariables.size() - 1);
+            }
+        }
+
+        /**
+         * Gets the template source text.
+         *
+         * @return the template source text.
+         */
+        public String getSource() {
+            return source;
+        }
+
+        /**
+         * Renders this template with the given substitutor.
+         *
+         * @param sub the substitutor resolving the variables, not null
+         * @return the rendered text.
+         */
+        private String render(final StringSubstitutor sub) {
+            if (!hasVariables) {
+                return segments.length == 0 ? source : segments[0].text;
+            }
+            final TextStringBuilder builder = new TextStringBuilder(capacity);
+            appendTo(sub, builder);
+            return builder.toString();
+        }
+
+        /**
+         * Renders this template, resolving variables with the substitutor that compiled it.
+         *
+         * @return the result of the replace operation.
+         * @throws IllegalArgumentException if a variable is not found and enableUndefinedVariableException is true
+         */
+        public String replace() {
+            return render(substitutor);
+        }
+
+        /**
+         * Renders this template, resolving variables with the given lookup instead of the lookup of the substitutor
+         * that compiled it. All other settings, such as recursive substitution in values, are taken from the
+         * substitutor.
+         *
+         * @param variableResolver the lookup resolving the variables, may be null
+         * @return the result of the replace operation.
+         * @throws IllegalArgumentException if a variable is not found and enableUndefinedVariableException is true
+         */
+        public String replace(final StringLookup variableResolver) {
+            return render(new StringSubstitutor(substitutor).setVariableResolver(variableResolver));
+        }
+
+        @Override
+        public String toString() {
+            return "CompiledTemplate [source=" + source + ", segments=" + segments.length + "]";
+        }
+    }
+
     /**
      * The low-level result of a substitution.
      *
@@ -672,6 +876,122 @@ public class StringSubstitutor {
         throw new IllegalStateException(buf.toString());
     }
 
+    /**
+     * Parses the given template once so that it can be rendered many times without scanning it again.
+     * <p>
+     * The returned template applies the prefix, suffix, escape and value delimiter settings current at the time of
+     * this call. Rendering it gives the same result as {@link #replace(String)} on the source text, except that escape
+     * characters are only recognized in the template text, never at the end of a resolved value.
+     * </p>
+     *
+     * @param source the template text, not null
+     * @return the compiled template.
+     * @throws NullPointerException if {@code source} is null
+     * @since 1.13.0
+     */
+    public CompiledTemplate compile(final String source) {
+        Objects.requireNonNull(source, "source");
+        final StringMatcher prefixMatcher = getVariablePrefixMatcher();
+        final StringMatcher suffixMatcher = getVariableSuffixMatcher();
+        final char escapeCh = getEscapeChar();
+        final boolean substitutionInVariablesEnabled = isEnableSubstitutionInVariables();
+        final boolean preserveEscapes = isPreserveEscapes();
+
+        // mirrors the scanning of substitute() on a working copy, recording variables instead of resolving them
+        final TextStringBuilder builder = new TextStringBuilder(source);
+        final List<CompiledTemplate.Segment> segments = new ArrayList<>();
+        int literalStart = 0;
+        int bufEnd = builder.length();
+        int pos = 0;
+        int escPos = -1;
+        outer: while (pos < bufEnd) {
+            final int startMatchLen = prefixMatcher.isMatch(builder, pos, 0, bufEnd);
+            if (startMatchLen == 0) {
+                pos++;
+            } else {
+                // found variable start marker
+                if (pos > literalStart && builder.charAt(pos - 1) == escapeCh) {
+                    // escape detected
+                    if (preserveEscapes) {
+                        // keep escape
+                        pos++;
+                        continue;
+                    }
+                    // mark esc ch for deletion if we find a complete variable
+                    escPos = pos - 1;
+                }
+                // find suffix
+                int startPos = pos;
+                pos += startMatchLen;
+                int endMatchLen = 0;
+                int nestedVarCount = 0;
+                while (pos < bufEnd) {
+                    if (substitutionInVariablesEnabled && prefixMatcher.isMatch(builder, pos, 0, bufEnd) != 0) {
+                        // found a nested variable start
+                        endMatchLen = prefixMatcher.isMatch(builder, pos, 0, bufEnd);
+                        nestedVarCount++;
+                        pos += endMatchLen;
+                        continue;
+                    }
+
+                    endMatchLen = suffixMatcher.isMatch(builder, pos, 0, bufEnd);
+                    if (endMatchLen == 0) {
+                        pos++;
+                    } else {
+                        // found variable end marker
+                        if (nestedVarCount == 0) {
+                            if (escPos >= 0) {
+                                // delete escape
+                                builder.deleteCharAt(escPos);
+                                escPos = -1;
+                                bufEnd--;
+                                pos = startPos + 1;
+                                startPos--;
+                                continue outer;
+                            }
+                            final String varNameExpr = builder.midString(startPos + startMatchLen,
+                                pos - startPos - startMatchLen);
+                            pos += endMatchLen;
+                            if (startPos > literalStart) {
+                                segments.add(new CompiledTemplate.Segment(builder.substring(literalStart, startPos),
+                                    false, null, null, null));
+                            }
+                            segments.add(compileVariable(builder.substring(startPos, pos), varNameExpr));
+                            literalStart = pos;
+                            break;
+                        }
+                        nestedVarCount--;
+                        pos += endMatchLen;
+                    }
+                }
+            }
+        }
+        if (bufEnd > literalStart) {
+            segments.add(new CompiledTemplate.Segment(builder.substring(literalStart, bufEnd), false, null, null, null));
+        }
+        return new CompiledTemplate(this, source, segments);
+    }
+
+    /**
+     * Compiles a variable reference found by {@link #compile(String)}.
+     *
+     * @param text the source text of the variable reference including prefix and suffix
+     * @param varNameExpr the variable name expression between prefix and suffix
+     * @return the variable segment.
+     */
+    private CompiledTemplate.Segment compileVariable(final String text, final String varNameExpr) {
+        String staticNameExpr = varNameExpr;
+        if (isEnableSubstitutionInVariables()) {
+            final CompiledTemplate nameTemplate = compile(varNameExpr);
+            if (nameTemplate.hasVariables) {
+                return new CompiledTemplate.Segment(text, true, null, null, nameTemplate);
+            }
+            staticNameExpr = nameTemplate.render(this);
+        }
+        final String[] nameAndDefault = splitVariableName(staticNameExpr);
+        return new CompiledTemplate.Segment(text, true, nameAndDefault[0], nameAndDefault[1], null);
+    }
+
     // Escape
     /**
      * Returns the escape character.
@@ -1376,6 +1696,41 @@ public class StringSubstitutor {
         return this;
     }
 
+    /**
+     * Splits a variable name expression into the variable name and its default value.
+     *
+     * @param varNameExpr the variable name expression, not null
+     * @return a two element array holding the variable name and the default value, the latter may be null.
+     */
+    private String[] splitVariableName(final String varNameExpr) {
+        final StringMatcher prefixMatcher = getVariablePrefixMatcher();
+        final StringMatcher valueDelimMatcher = getValueDelimiterMatcher();
+        final boolean substitutionInVariablesEnabled = isEnableSubstitutionInVariables();
+        String varName = varNameExpr;
+        String varDefaultValue = null;
+
+        if (valueDelimMatcher != null) {
+            final char[] varNameExprChars = varNameExpr.toCharArray();
+            int valueDelimiterMatchLen = 0;
+            for (int i = 0; i < varNameExprChars.length; i++) {
+                // if there's any nested variable when nested variable substitution disabled,
+                // then stop resolving name and default value.
+                if (!substitutionInVariablesEnabled && prefixMatcher.isMatch(varNameExprChars, i, i,
+                    varNameExprChars.length) != 0) {
+                    break;
+                }
+                if (valueDelimMatcher.isMatch(varNameExprChars, i, 0, varNameExprChars.length) != 0) {
+                    valueDelimiterMatchLen = valueDelimMatcher.isMatch(varNameExprChars, i, 0,
+                        varNameExprChars.length);
+                    varName = varNameExpr.substring(0, i);
+                    varDefaultValue = varNameExpr.substring(i + valueDelimiterMatchLen);
+                    break;
+                }
+            }
+        }
+        return new String[] {varName, varDefaultValue};
+    }
+
     /**
      * Internal method that substitutes the variables.
      * <p>
@@ -1415,7 +1770,6 @@ public class StringSubstitutor {
         final StringMatcher prefixMatcher = getVariablePrefixMatcher();
         final StringMatcher suffixMatcher = getVariableSuffixMatcher();
         final char escapeCh = getEscapeChar();
-        final StringMatcher valueDelimMatcher = getValueDelimiterMatcher();
         final boolean substitutionInVariablesEnabled = isEnableSubstitutionInVariables();
         final boolean substitutionInValuesDisabled = isDisableSubstitutionInValues();
         final boolean undefinedVariableException = isEnableUndefinedVariableException();
@@ -1484,29 +1838,9 @@ public class StringSubstitutor {
                             pos += endMatchLen;
                             final int endPos = pos;
 
-                            String varName = varNameExpr;
-                            String varDefaultValue = null;
-
-                            if (valueDelimMatcher != null) {
-                                final char[] varNameExprChars = varNameExpr.toCharArray();
-                                int valueDelimiterMatchLen = 0;
-                                for (int i = 0; i < varNameExprChars.length; i++) {
-                                    // if there's any nested variable when nested variable substitution disabled,
-                                    // then stop resolving name and default value.
-                                    if (!substitutionInVariablesEnabled && prefixMatcher.isMatch(varNameExprChars, i, i,
-                                        varNameExprChars.length) != 0) {
-                                        break;
-                                    }
-                                    if (valueDelimMatcher.isMatch(varNameExprChars, i, 0,
-                                        varNameExprChars.length) != 0) {
-                                        valueDelimiterMatchLen = valueDelimMatcher.isMatch(varNameExprChars, i, 0,
-                                            varNameExprChars.length);
-                                        varName = varNameExpr.substring(0, i);
-                                        varDefaultValue = varNameExpr.substring(i + valueDelimiterMatchLen);
-                                        break;
-                                    }
-                                }
-                            }
+                            final String[] nameAndDefault = splitVariableName(varNameExpr);
+                            final String varName = nameAndDefault[0];
+                            final String varDefaultValue = nameAndDefault[1];
 
                             // on the first call initialize priorVariables
                             if (priorVariables == null) {
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.diff;
+
+/**
+ * Algorithms comparing two sequences, selected with
+ * {@link DiffOptions.Builder#setAlgorithm(DiffAlgorithm)}.
+ *
+ * @see DiffOptions
+ * @since 1.13.0
+ */
+public enum DiffAlgorithm {
+
+    /**
+     * The algorithm from Eugene W. Myers
+     * <a href="http://www.cis.upenn.edu/~bcpierce/courses/dd/papers/diff.ps">
+     * An O(ND) Difference Algorithm and Its Variations</a>, which gives the
+     * shortest edit script unless a bound of the {@link DiffOptions} is
+     * reached.
+     */
+    MYERS {
+        @Override
+        RangeEditScript diff(final DiffSequence left, final DiffSequence right, final DiffOptions options) {
+            return MyersDiff.diff(left, right, options);
+        }
+    },
+
+    /**
+     * The histogram algorithm, as found in JGit and Git, an extension of the
+     * patience algorithm.
+     * <p>
+     * The sequences are split around the longest common run of objects which
+     * are the least frequent in the first sequence, and the parts before and
+     * after it are compared the same way. Parts in which every common object
+     * is too frequent are compared with the {@link #MYERS} algorithm. On texts
+     * such as source or configuration files, this does much less work than
+     * the {@link #MYERS} algorithm alone, and keeps unique lines rather than
+     * blank lines or braces together, which gives more readable scripts,
+     * though not always the shortest ones.
+     * </p>
+     * <p>
+     * The common prefix and suffix of each part are always kept up front, and
+     * the cost limit of the {@link DiffOptions} applies to the parts compared
+     * with the {@link #MYERS} algorithm.
+     * </p>
+     */
+    HISTOGRAM {
+        @Override
+        RangeEditScript diff(final DiffSequence left, final DiffSequence right, final DiffOptions options) {
+            return HistogramDiff.diff(left, right, options);
+        }
+    };
+
+    /**
+     * Compares two sequences.
+     *
+     * @param left first sequence to be compared
+     * @param right second sequence to be compared
+     * @param options bounds on the cost of the comparison
+     * @return The edit script resulting from the comparison of the two
+     *         sequences
+     */
+    abstract RangeEditScript diff(DiffSequence left, DiffSequence right, DiffOptions options);
+
+}
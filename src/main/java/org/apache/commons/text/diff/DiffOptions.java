@@ -0,0 +1,250 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.diff;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Options selecting the algorithm of a comparison by a {@link StringsComparator
+ * StringsComparator} or a {@link SequenceComparator SequenceComparator}, and
+ * bounding its cost.
+ * <p>
+ * The {@link DiffAlgorithm#MYERS MYERS} algorithm is used by default, and the
+ * {@link DiffAlgorithm#HISTOGRAM HISTOGRAM} algorithm can be selected for large
+ * structured texts.
+ * </p>
+ * <p>
+ * By default, a comparison gives the shortest possible edit script, in a time
+ * proportional to the product of the length of the sequences and the number
+ * of differences, which is quadratic for unrelated sequences. These options
+ * trade this guarantee for a bounded time:
+ * </p>
+ * <ul>
+ * <li>the common prefix and suffix of the sequences can be kept up front,
+ * without searching them;</li>
+ * <li>the cost of each search for a middle snake can be limited, in which
+ * case the sequences are split at the furthest point reached by the search, as
+ * GNU diff does with its heuristic for expensive comparisons;</li>
+ * <li>the duration of the comparison can be limited, in which case the
+ * remaining parts of the sequences are replaced as a whole, once their common
+ * prefix and suffix are kept.</li>
+ * </ul>
+ * <p>
+ * The edit script remains valid: it transforms the first sequence into the
+ * second one, though it may no longer be the shortest one.
+ * </p>
+ * <p>
+ * The following is an example which bounds the diff of two revisions of a
+ * document:
+ * </p>
+ * <pre>
+ * DiffOptions options = DiffOptions.builder()
+ *     .setTrimCommonAffixes(true)
+ *     .setMaxCost(256)
+ *     .setTimeout(Duration.ofMillis(100))
+ *     .get();
+ * RangeEditScript script = new StringsComparator(before, after).getRangeScript(options);
+ * </pre>
+ *
+ * @see StringsComparator#getRangeScript(DiffOptions)
+ * @see SequenceComparator#getRangeScript(DiffOptions)
+ * @since 1.13.0
+ */
+public final class DiffOptions {
+
+    /**
+     * Builds instances of {@link DiffOptions}.
+     */
+    public static final class Builder implements Supplier<DiffOptions> {
+
+        /**
+         * The algorithm.
+         */
+        private DiffAlgorithm algorithm = DiffAlgorithm.MYERS;
+
+        /**
+         * Whether the common prefix and suffix are kept up front.
+         */
+        private boolean trimCommonAffixes;
+
+        /**
+         * The maximum cost of each search for a middle snake.
+         */
+        private int maxCost = Integer.MAX_VALUE;
+
+        /**
+         * The maximum duration of a comparison, or null for none.
+         */
+        private Duration timeout;
+
+        @Override
+        public DiffOptions get() {
+            return new DiffOptions(this);
+        }
+
+        /**
+         * Sets the algorithm, {@link DiffAlgorithm#MYERS} by default.
+         *
+         * @param algorithm the algorithm, must not be null.
+         * @return {@code this} instance.
+         */
+        public Builder setAlgorithm(final DiffAlgorithm algorithm) {
+            this.algorithm = Objects.requireNonNull(algorithm, "algorithm");
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of differences explored by each search for
+         * a middle snake, {@link Integer#MAX_VALUE} by default.
+         *
+         * @param maxCost the maximum cost, strictly positive.
+         * @return {@code this} instance.
+         * @throws IllegalArgumentException if the maximum cost is not strictly positive.
+         */
+        public Builder setMaxCost(final int maxCost) {
+            if (maxCost <= 0) {
+                throw new IllegalArgumentException("Maximum cost must be strictly positive: " + maxCost);
+            }
+            this.maxCost = maxCost;
+            return this;
+        }
+
+        /**
+         * Sets the maximum duration of a comparison, none by default.
+         *
+         * @param timeout the maximum duration, or {@code null} for none.
+         * @return {@code this} instance.
+         * @throws IllegalArgumentException if the duration is negative.
+         */
+        public Builder setTimeout(final Duration timeout) {
+            if (timeout != null && timeout.isNegative()) {
+                throw new IllegalArgumentException("Timeout must not be negative: " + timeout);
+            }
+            this.timeout = timeout;
+            return this;
+        }
+
+        /**
+         * Sets whether the common prefix and suffix of the sequences are kept
+         * up front, {@code false} by default.
+         *
+         * @param trimCommonAffixes whether the common prefix and suffix are kept up front.
+         * @return {@code this} instance.
+         */
+        public Builder setTrimCommonAffixes(final boolean trimCommonAffixes) {
+            this.trimCommonAffixes = trimCommonAffixes;
+            return this;
+        }
+
+    }
+
+    /**
+     * The default options, giving the shortest edit script.
+     */
+    private static final DiffOptions DEFAULT = builder().get();
+
+    /**
+     * Creates a new builder.
+     *
+     * @return a new builder.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Gets the default options, giving the shortest edit script.
+     *
+     * @return the default options.
+     */
+    public static DiffOptions getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * The algorithm.
+     */
+    private final DiffAlgorithm algorithm;
+
+    /**
+     * Whether the common prefix and suffix are kept up front.
+     */
+    private final boolean trimCommonAffixes;
+
+    /**
+     * The maximum cost of each search for a middle snake.
+     */
+    private final int maxCost;
+
+    /**
+     * The maximum duration of a comparison, or null for none.
+     */
+    private final Duration timeout;
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param builder the builder.
+     */
+    private DiffOptions(final Builder builder) {
+        this.algorithm = builder.algorithm;
+        this.trimCommonAffixes = builder.trimCommonAffixes;
+        this.maxCost = builder.maxCost;
+        this.timeout = builder.timeout;
+    }
+
+    /**
+     * Gets the algorithm.
+     *
+     * @return the algorithm.
+     */
+    public DiffAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Gets the maximum number of differences explored by each search for a
+     * middle snake.
+     *
+     * @return the maximum cost, {@link Integer#MAX_VALUE} for none.
+     */
+    public int getMaxCost() {
+        return maxCost;
+    }
+
+    /**
+     * Gets the maximum duration of a comparison.
+     *
+     * @return the maximum duration, or {@code null} for none.
+     */
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Tests whether the common prefix and suffix of the sequences are kept up
+     * front.
+     *
+     * @return whether the common prefix and suffix are kept up front.
+     */
+    public boolean isTrimCommonAffixes() {
+        return trimCommonAffixes;
+    }
+
+}
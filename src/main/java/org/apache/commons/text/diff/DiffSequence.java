@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.diff;
+
+/**
+ * A sequence compared by the diff algorithms through the ints its elements
+ * are mapped to, such as the chars of a string or the ids of interned
+ * tokens, without widening them to another array.
+ * <p>
+ * This is a final class holding either array, rather than an interface, so
+ * that reading an element is a predictable branch the compiler can inline
+ * in the loops of the algorithms.
+ * </p>
+ */
+final class DiffSequence {
+
+    /**
+     * Gets the values of an array as a sequence, which must not change while
+     * it is compared.
+     *
+     * @param chars the characters
+     * @return the sequence
+     */
+    static DiffSequence of(final char[] chars) {
+        return new DiffSequence(chars, null);
+    }
+
+    /**
+     * Gets the values of an array as a sequence, which must not change while
+     * it is compared.
+     *
+     * @param values the values
+     * @return the sequence
+     */
+    static DiffSequence of(final int[] values) {
+        return new DiffSequence(null, values);
+    }
+
+    /**
+     * The characters, or {@code null} for ints.
+     */
+    private final char[] chars;
+
+    /**
+     * The ints, or {@code null} for characters.
+     */
+    private final int[] ints;
+
+    /**
+     * The number of elements.
+     */
+    private final int length;
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param chars the characters, or {@code null} for ints
+     * @param ints the ints, or {@code null} for characters
+     */
+    private DiffSequence(final char[] chars, final int[] ints) {
+        this.chars = chars;
+        this.ints = ints;
+        this.length = chars != null ? chars.length : ints.length;
+    }
+
+    /**
+     * Gets an element.
+     *
+     * @param index the index of the element
+     * @return the element
+     */
+    int get(final int index) {
+        return chars != null ? chars[index] : ints[index];
+    }
+
+    /**
+     * Gets the number of elements.
+     *
+     * @return the number of elements
+     */
+    int length() {
+        return length;
+    }
+
+}
@@ -0,0 +1,289 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.diff;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Compares two sequences of ints with the histogram algorithm.
+ * <p>
+ * Each part of the sequences is compared by indexing the occurrences of the
+ * objects of its first sequence, then looking for the longest common run of
+ * objects whose lowest number of occurrences is the lowest. The parts before
+ * and after this run are compared in turn. Objects occurring more than
+ * {@link #MAX_CHAIN_LENGTH} times in a part are not indexed; when they are the
+ * only common objects, the part is compared with a {@link MyersDiff MyersDiff}.
+ * </p>
+ *
+ * @see DiffAlgorithm#HISTOGRAM
+ */
+final class HistogramDiff {
+
+    /**
+     * Maximum number of occurrences of an object in a part for it to be indexed.
+     */
+    private static final int MAX_CHAIN_LENGTH = 64;
+
+    /**
+     * Multiplier of the Fibonacci hashing of ints.
+     */
+    private static final int GOLDEN_RATIO = 0x9E3779B1;
+
+    /**
+     * Compares two sequences.
+     *
+     * @param left first sequence to be compared
+     * @param right second sequence to be compared
+     * @param options bounds on the cost of the comparison
+     * @return The edit script resulting from the comparison of the two
+     *         sequences
+     */
+    static RangeEditScript diff(final DiffSequence left, final DiffSequence right, final DiffOptions options) {
+        final RangeEditScript script = new RangeEditScript();
+        new HistogramDiff(left, right, options).buildScript(script);
+        return script;
+    }
+
+    /**
+     * First sequence, as dense identifiers.
+     */
+    private final int[] left;
+
+    /**
+     * Second sequence, as dense identifiers.
+     */
+    private final int[] right;
+
+    /**
+     * Compares the parts where the histogram finds no anchor.
+     */
+    private final MyersDiff fallback;
+
+    /**
+     * Index of the last indexing of each identifier, to ignore the stale entries of other parts.
+     */
+    private final int[] indexed;
+
+    /**
+     * Number of occurrences of each identifier in the first sequence of the part.
+     */
+    private final int[] counts;
+
+    /**
+     * First occurrence of each identifier in the first sequence of the part.
+     */
+    private final int[] heads;
+
+    /**
+     * Next occurrence of the object at each position of the first sequence.
+     */
+    private final int[] next;
+
+    /**
+     * Number of parts indexed so far.
+     */
+    private int indexings;
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param left first sequence to be compared
+     * @param right second sequence to be compared
+     * @param options bounds on the cost of the comparison, whose timeout starts now
+     */
+    private HistogramDiff(final DiffSequence left, final DiffSequence right, final DiffOptions options) {
+        this.left = new int[left.length()];
+        this.right = new int[right.length()];
+        final int distinct = densify(left, right, this.left, this.right);
+        this.fallback = new MyersDiff(DiffSequence.of(this.left), DiffSequence.of(this.right), options);
+        this.indexed = new int[distinct];
+        this.counts = new int[distinct];
+        this.heads = new int[distinct];
+        this.next = new int[this.left.length];
+    }
+
+    /**
+     * Maps the ints of both sequences to identifiers from 0 to the number of
+     * distinct ints, so that they can index arrays.
+     *
+     * @param left first sequence
+     * @param right second sequence
+     * @param denseLeft receives the identifiers of the first sequence
+     * @param denseRight receives the identifiers of the second sequence
+     * @return the number of distinct ints
+     */
+    private static int densify(final DiffSequence left, final DiffSequence right, final int[] denseLeft, final int[] denseRight) {
+        final int capacity = Integer.highestOneBit(Math.max(1, left.length() + right.length()) * 2 - 1) * 2;
+        final int shift = Integer.numberOfLeadingZeros(capacity) + 1;
+        // pairs of int and identifier + 1, 0 marking free slots
+        final int[] table = new int[capacity * 2];
+        int distinct = 0;
+        for (int side = 0; side < 2; side++) {
+            final DiffSequence values = side == 0 ? left : right;
+            final int[] ids = side == 0 ? denseLeft : denseRight;
+            for (int i = 0; i < ids.length; i++) {
+                final int value = values.get(i);
+                int slot = (value * GOLDEN_RATIO) >>> shift;
+                while (table[2 * slot + 1] != 0 && table[2 * slot] != value) {
+                    slot = (slot + 1) & capacity - 1;
+                }
+                if (table[2 * slot + 1] == 0) {
+                    table[2 * slot] = value;
+                    table[2 * slot + 1] = ++distinct;
+                }
+                ids[i] = table[2 * slot + 1] - 1;
+            }
+        }
+        return distinct;
+    }
+
+    /**
+     * Builds the edit script.
+     * <p>
+     * The parts of the sequences left to compare are kept on an explicit
+     * stack rather than through recursion.
+     * </p>
+     *
+     * @param script the edited script
+     */
+    private void buildScript(final RangeEditScript script) {
+        // a frame holds either the bounds of the parts to compare, or the number of objects to keep
+        final Deque<int[]> stack = new ArrayDeque<>();
+        stack.push(new int[] {0, left.length, 0, right.length});
+        final int[] region = new int[4];
+        while (!stack.isEmpty()) {
+            final int[] frame = stack.pop();
+            if (frame.length == 1) {
+                script.appendKeep(frame[0]);
+                continue;
+            }
+            int start1 = frame[0];
+            int end1 = frame[1];
+            int start2 = frame[2];
+            int end2 = frame[3];
+            final int prefixStart = start1;
+            while (start1 < end1 && start2 < end2 && left[start1] == right[start2]) {
+                start1++;
+                start2++;
+            }
+            script.appendKeep(start1 - prefixStart);
+            final int suffixEnd = end1;
+            while (end1 > start1 && end2 > start2 && left[end1 - 1] == right[end2 - 1]) {
+                end1--;
+                end2--;
+            }
+            final int suffix = suffixEnd - end1;
+            if (start1 == end1 || start2 == end2 || fallback.isExpired()) {
+                script.appendDelete(end1 - start1);
+                script.appendInsert(end2 - start2);
+                script.appendKeep(suffix);
+                continue;
+            }
+            final int found = findRegion(start1, end1, start2, end2, region);
+            if (found < 0) {
+                // too frequent common objects only
+                fallback.buildScript(start1, end1, start2, end2, script);
+                script.appendKeep(suffix);
+            } else if (found == 0) {
+                // no common objects
+                script.appendDelete(end1 - start1);
+                script.appendInsert(end2 - start2);
+                script.appendKeep(suffix);
+            } else {
+                // pushed in reverse order to be popped in order
+                stack.push(new int[] {suffix});
+                stack.push(new int[] {region[1], end1, region[3], end2});
+                stack.push(new int[] {region[1] - region[0]});
+                stack.push(new int[] {start1, region[0], start2, region[2]});
+            }
+        }
+    }
+
+    /**
+     * Finds the longest common run of objects whose lowest number of
+     * occurrences in the first sequence of the part is the lowest.
+     *
+     * @param start1  the begin of the first sequence to be compared
+     * @param end1  the end of the first sequence to be compared
+     * @param start2  the begin of the second sequence to be compared
+     * @param end2  the end of the second sequence to be compared
+     * @param region  receives the start and end of the run in the first sequence, then in the second one
+     * @return 1 if a run is found, 0 if the parts have no common object, or -1 if all common objects are too frequent
+     */
+    private int findRegion(final int start1, final int end1, final int start2, final int end2, final int[] region) {
+        final int stamp = ++indexings;
+        for (int i = end1 - 1; i >= start1; i--) {
+            final int id = left[i];
+            if (indexed[id] != stamp) {
+                indexed[id] = stamp;
+                counts[id] = 0;
+                heads[id] = -1;
+            }
+            next[i] = heads[id];
+            heads[id] = i;
+            counts[id]++;
+        }
+        int bestLength = 0;
+        int bestCount = MAX_CHAIN_LENGTH + 1;
+        boolean common = false;
+        int j = start2;
+        while (j < end2) {
+            final int id = right[j];
+            int nextJ = j + 1;
+            if (indexed[id] == stamp) {
+                common = true;
+                if (counts[id] <= MAX_CHAIN_LENGTH && counts[id] <= bestCount) {
+                    for (int i = heads[id]; i >= 0; i = next[i]) {
+                        int runStart1 = i;
+                        int runStart2 = j;
+                        while (runStart1 > start1 && runStart2 > start2 && left[runStart1 - 1] == right[runStart2 - 1]) {
+                            runStart1--;
+                            runStart2--;
+                        }
+                        int runEnd1 = i + 1;
+                        int runEnd2 = j + 1;
+                        while (runEnd1 < end1 && runEnd2 < end2 && left[runEnd1] == right[runEnd2]) {
+                            runEnd1++;
+                            runEnd2++;
+                        }
+                        int runCount = counts[id];
+                        for (int k = runStart1; k < runEnd1 && runCount > 1; k++) {
+                            runCount = Math.min(runCount, counts[left[k]]);
+                        }
+                        final int runLength = runEnd1 - runStart1;
+                        if (runCount < bestCount || runCount == bestCount && runLength > bestLength) {
+                            bestCount = runCount;
+                            bestLength = runLength;
+                            region[0] = runStart1;
+                            region[1] = runEnd1;
+                            region[2] = runStart2;
+                            region[3] = runEnd2;
+                        }
+                        nextJ = Math.max(nextJ, runEnd2);
+                    }
+                }
+            }
+            j = nextJ;
+        }
+        if (bestLength > 0) {
+            return 1;
+        }
+        return common ? -1 : 0;
+    }
+
+}
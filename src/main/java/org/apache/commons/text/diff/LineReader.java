@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.diff;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads lines from a {@link Reader}, keeping their terminators.
+ * <p>
+ * Lines are split as by {@link SequenceComparator#ofLines(CharSequence, CharSequence)}:
+ * they are terminated by {@code "\n"}, {@code "\r\n"} or {@code "\r"}, and text
+ * after the last terminator is a last line.
+ * </p>
+ */
+final class LineReader {
+
+    /**
+     * Size of the buffer.
+     */
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * The reader.
+     */
+    private final Reader reader;
+
+    /**
+     * The buffer.
+     */
+    private final char[] buffer = new char[BUFFER_SIZE];
+
+    /**
+     * The line being read.
+     */
+    private final StringBuilder line = new StringBuilder();
+
+    /**
+     * The position of the next char in the buffer.
+     */
+    private int position;
+
+    /**
+     * The number of chars in the buffer.
+     */
+    private int limit;
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param reader the reader
+     */
+    LineReader(final Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Fills the buffer if it is empty.
+     *
+     * @return whether chars are available
+     * @throws IOException if an I/O error occurs
+     */
+    private boolean fill() throws IOException {
+        while (position == limit) {
+            final int read = reader.read(buffer);
+            if (read < 0) {
+                return false;
+            }
+            position = 0;
+            limit = read;
+        }
+        return true;
+    }
+
+    /**
+     * Reads a line.
+     *
+     * @return the line with its terminator, or {@code null} at the end of the input
+     * @throws IOException if an I/O error occurs
+     */
+    String readLine() throws IOException {
+        line.setLength(0);
+        while (fill()) {
+            final int start = position;
+            while (position < limit) {
+                final char c = buffer[position++];
+                if (c == '\n') {
+                    line.append(buffer, start, position - start);
+                    return line.toString();
+                }
+                if (c == '\r') {
+                    line.append(buffer, start, position - start);
+                    if (fill() && buffer[position] == '\n') {
+                        position++;
+                        line.append('\n');
+                    }
+                    return line.toString();
+                }
+            }
+            line.append(buffer, start, position - start);
+        }
+        return line.length() > 0 ? line.toString() : null;
+    }
+
+}
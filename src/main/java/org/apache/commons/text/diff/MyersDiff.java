@@ -0,0 +1,532 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.diff;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Compares two sequences of ints with the algorithm from Eugene W. Myers
+ * <a href="http://www.cis.upenn.edu/~bcpierce/courses/dd/papers/diff.ps">
+ * An O(ND) Difference Algorithm and Its Variations</a>, using the linear-space
+ * middle snake recursion.
+ * <p>
+ * Objects are compared through the ints they are mapped to, such as chars,
+ * token identifiers or interned lines.
+ * </p>
+ * <p>
+ * This code has been adapted from Apache Commons Collections 4.0.
+ * </p>
+ *
+ * @see StringsComparator
+ * @see SequenceComparator
+ */
+final class MyersDiff {
+
+    /**
+     * This class is a simple placeholder to hold the end part of a path
+     * under construction in a {@link MyersDiff MyersDiff}.
+     */
+    private static final class Snake {
+
+        /** Start index. */
+        private final int start;
+
+        /** End index. */
+        private final int end;
+
+        /** Diagonal number. */
+        private final int diag;
+
+        /**
+         * Constructs a new instance of Snake with specified indices.
+         *
+         * @param start  start index of the snake
+         * @param end  end index of the snake
+         * @param diag  diagonal number
+         */
+        Snake(final int start, final int end, final int diag) {
+            this.start = start;
+            this.end   = end;
+            this.diag  = diag;
+        }
+
+        /**
+         * Gets the diagonal number of the snake.
+         *
+         * @return diagonal number of the snake
+         */
+        public int getDiag() {
+            return diag;
+        }
+
+        /**
+         * Gets the end index of the snake.
+         *
+         * @return end index of the snake
+         */
+        public int getEnd() {
+            return end;
+        }
+
+        /**
+         * Gets the start index of the snake.
+         *
+         * @return start index of the snake
+         */
+        public int getStart() {
+            return start;
+        }
+    }
+
+    /**
+     * Compares two sequences.
+     *
+     * @param left first sequence to be compared
+     * @param right second sequence to be compared
+     * @return The edit script resulting from the comparison of the two
+     *         sequences
+     */
+    static RangeEditScript diff(final DiffSequence left, final DiffSequence right) {
+        return diff(left, right, DiffOptions.getDefault());
+    }
+
+    /**
+     * Compares two sequences.
+     *
+     * @param left first sequence to be compared
+     * @param right second sequence to be compared
+     * @param options bounds on the cost of the comparison
+     * @return The edit script resulting from the comparison of the two
+     *         sequences
+     */
+    static RangeEditScript diff(final DiffSequence left, final DiffSequence right, final DiffOptions options) {
+        final RangeEditScript script = new RangeEditScript();
+        int start = 0;
+        int end1 = left.length();
+        int end2 = right.length();
+        if (options.isTrimCommonAffixes()) {
+            while (start < end1 && start < end2 && left.get(start) == right.get(start)) {
+                start++;
+            }
+            while (end1 > start && end2 > start && left.get(end1 - 1) == right.get(end2 - 1)) {
+                end1--;
+                end2--;
+            }
+            script.appendKeep(start);
+        }
+        new MyersDiff(left, right, options).buildScript(start, end1, start, end2, script);
+        script.appendKeep(left.length() - end1);
+        return script;
+    }
+
+    /**
+     * Marks a search for a middle snake abandoned, the parts of the sequences
+     * being replaced as a whole.
+     */
+    private static final Snake COARSE = new Snake(0, 0, 0);
+
+    /**
+     * First sequence.
+     */
+    private final DiffSequence left;
+
+    /**
+     * Second sequence.
+     */
+    private final DiffSequence right;
+
+    /**
+     * Temporary array, allocated on first use.
+     */
+    private int[] vDown;
+
+    /**
+     * Temporary array, allocated on first use.
+     */
+    private int[] vUp;
+
+    /**
+     * Maximum cost of each search for a middle snake.
+     */
+    private final int maxCost;
+
+    /**
+     * Value of {@link System#nanoTime()} after which the comparison is abandoned.
+     */
+    private final long deadline;
+
+    /**
+     * Whether the comparison has a deadline.
+     */
+    private final boolean hasDeadline;
+
+    /**
+     * Whether the deadline has passed.
+     */
+    private boolean expired;
+
+    /**
+     * Constructs a new instance of MyersDiff.
+     *
+     * @param left first sequence to be compared
+     * @param right second sequence to be compared
+     * @param options bounds on the cost of the comparison, whose timeout starts now
+     */
+    MyersDiff(final DiffSequence left, final DiffSequence right, final DiffOptions options) {
+        this.left = left;
+        this.right = right;
+        this.maxCost = options.getMaxCost();
+        this.hasDeadline = options.getTimeout() != null;
+        this.deadline = hasDeadline ? System.nanoTime() + options.getTimeout().toNanos() : 0;
+    }
+
+    /**
+     * Builds an edit script.
+     * <p>
+     * The parts of the sequences left to compare are kept on an explicit
+     * stack rather than through recursion, so that splits which are not
+     * balanced, such as those made when a search is too expensive, cannot
+     * overflow the call stack.
+     * </p>
+     *
+     * @param start1  the begin of the first sequence to be compared
+     * @param end1  the end of the first sequence to be compared
+     * @param start2  the begin of the second sequence to be compared
+     * @param end2  the end of the second sequence to be compared
+     * @param script the edited script
+     */
+    void buildScript(final int start1, final int end1, final int start2, final int end2,
+        final RangeEditScript script) {
+        // a frame holds either the bounds of the parts to compare, or the number of objects to keep
+        final Deque<int[]> stack = new ArrayDeque<>();
+        stack.push(new int[] {start1, end1, start2, end2});
+        while (!stack.isEmpty()) {
+            final int[] frame = stack.pop();
+            if (frame.length == 1) {
+                script.appendKeep(frame[0]);
+                continue;
+            }
+            final int s1 = frame[0];
+            final int e1 = frame[1];
+            final int s2 = frame[2];
+            final int e2 = frame[3];
+            final Snake middle = expired ? COARSE : getMiddleSnake(s1, e1, s2, e2);
+            if (middle == COARSE) {
+                handleCoarseCase(s1, e1, s2, e2, script);
+            } else if (isTrivialCase(middle, s1, e1, s2, e2)) {
+                handleTrivialCase(s1, e1, s2, e2, script);
+            } else {
+                // pushed in reverse order to be popped in order
+                stack.push(new int[] {middle.getEnd(), e1, middle.getEnd() - middle.getDiag(), e2});
+                stack.push(new int[] {middle.getEnd() - middle.getStart()});
+                stack.push(new int[] {s1, middle.getStart(), s2, middle.getStart() - middle.getDiag()});
+            }
+        }
+    }
+
+    /**
+     * Replaces a part of the first sequence by a part of the second one as a
+     * whole, keeping their common prefix and suffix.
+     *
+     * @param start1  the begin of the first sequence to be compared
+     * @param end1  the end of the first sequence to be compared
+     * @param start2  the begin of the second sequence to be compared
+     * @param end2  the end of the second sequence to be compared
+     * @param script the edited script
+     */
+    void handleCoarseCase(int start1, int end1, int start2, int end2, final RangeEditScript script) {
+        final int prefixStart = start1;
+        while (start1 < end1 && start2 < end2 && left.get(start1) == right.get(start2)) {
+            start1++;
+            start2++;
+        }
+        script.appendKeep(start1 - prefixStart);
+        final int suffixEnd = end1;
+        while (end1 > start1 && end2 > start2 && left.get(end1 - 1) == right.get(end2 - 1)) {
+            end1--;
+            end2--;
+        }
+        script.appendDelete(end1 - start1);
+        script.appendInsert(end2 - start2);
+        script.appendKeep(suffixEnd - end1);
+    }
+
+    /**
+     * Tests whether the middle snake of a part of the sequences does not split
+     * it, so that the part is compared element by element instead.
+     *
+     * @param middle the middle snake of the part, or {@code null} if either sequence is empty
+     * @param start1  the begin of the first sequence to be compared
+     * @param end1  the end of the first sequence to be compared
+     * @param start2  the begin of the second sequence to be compared
+     * @param end2  the end of the second sequence to be compared
+     * @return whether the part is trivial
+     */
+    private boolean isTrivialCase(final Snake middle, final int start1, final int end1, final int start2, final int end2) {
+        return middle == null
+                || middle.getStart() == end1 && middle.getDiag() == end1 - end2
+                || middle.getEnd() == start1 && middle.getDiag() == start1 - start2;
+    }
+
+    /**
+     * Compares a trivial part of the sequences element by element.
+     *
+     * @param start1  the begin of the first sequence to be compared
+     * @param end1  the end of the first sequence to be compared
+     * @param start2  the begin of the second sequence to be compared
+     * @param end2  the end of the second sequence to be compared
+     * @param script the edited script
+     */
+    private void handleTrivialCase(final int start1, final int end1, final int start2, final int end2, final RangeEditScript script) {
+        int i = start1;
+        int j = start2;
+        while (i < end1 || j < end2) {
+            if (i < end1 && j < end2 && left.get(i) == right.get(j)) {
+                script.appendKeep(1);
+                ++i;
+                ++j;
+            } else if (end1 - start1 > end2 - start2) {
+                script.appendDelete(1);
+                ++i;
+            } else {
+                script.appendInsert(1);
+                ++j;
+            }
+        }
+    }
+
+    /**
+     * Builds a snake.
+     *
+     * @param start  the value of the start of the snake
+     * @param diag  the value of the diagonal of the snake
+     * @param end1  the value of the end of the first sequence to be compared
+     * @param end2  the value of the end of the second sequence to be compared
+     * @return The snake built
+     */
+    private Snake buildSnake(final int start, final int diag, final int end1, final int end2) {
+        int end = start;
+        while (end - diag < end2
+                && end < end1
+                && left.get(end) == right.get(end - diag)) {
+            ++end;
+        }
+        return new Snake(start, end, diag);
+    }
+
+    /**
+     * Gets the middle snake corresponding to two subsequences of the
+     * main sequences.
+     * <p>
+     * The snake is found using the MYERS Algorithm (this algorithms has
+     * also been implemented in the GNU diff program). This algorithm is
+     * explained in Eugene Myers article:
+     * <a href="http://www.cs.arizona.edu/people/gene/PAPERS/diff.ps">
+     * An O(ND) Difference Algorithm and Its Variations</a>.
+     * </p>
+     *
+     * @param start1  the begin of the first sequence to be compared
+     * @param end1  the end of the first sequence to be compared
+     * @param start2  the begin of the second sequence to be compared
+     * @param end2  the end of the second sequence to be compared
+     * @return The middle snake
+     */
+    private Snake getMiddleSnake(final int start1, final int end1, final int start2, final int end2) {
+        // Myers Algorithm
+        // Initializations
+        final int m = end1 - start1;
+        final int n = end2 - start2;
+        if (m == 0 || n == 0) {
+            return null;
+        }
+
+        if (vDown == null) {
+            final int size = left.length() + right.length() + 2;
+            vDown = new int[size];
+            vUp   = new int[size];
+        }
+
+        final int delta = m - n;
+        final int sum = n + m;
+        final int offset = (sum % 2 == 0 ? sum : sum + 1) / 2;
+        vDown[1 + offset] = start1;
+        vUp[1 + offset] = end1 + 1;
+
+        for (int d = 0; d <= offset; ++d) {
+            if (processDownPath(start1, end1, start2, end2, delta, d, offset)) {
+                return buildSnakeFromDown(delta, d, start1, start2, end1, end2, offset);
+            }
+            if (processUpPath(start1, end1, start2, end2, delta, d, offset)) {
+                return buildSnakeFromUp(delta, d, start1, start2, end1, end2, offset);
+            }
+            if (isExpired()) {
+                return COARSE;
+            }
+            if (d >= maxCost) {
+                return getFurthestSplit(delta, d, start1, end1, start2, end2, offset);
+            }
+        }
+
+        // this should not happen
+        throw new IllegalStateException("Internal Error");
+    }
+
+    /**
+     * Tests whether the deadline of the comparison has passed.
+     *
+     * @return whether the deadline has passed
+     */
+    boolean isExpired() {
+        if (!expired && hasDeadline && System.nanoTime() - deadline > 0) {
+            expired = true;
+        }
+        return expired;
+    }
+
+    /**
+     * Gets the point reached by the search for a middle snake which is the
+     * furthest from its start, forward or backward, as an empty snake at
+     * which the sequences are split when the search is too expensive.
+     *
+     * @param delta  the difference between the lengths of the sequences
+     * @param d  the cost of the search
+     * @param start1  the begin of the first sequence to be compared
+     * @param end1  the end of the first sequence to be compared
+     * @param start2  the begin of the second sequence to be compared
+     * @param end2  the end of the second sequence to be compared
+     * @param offset  the offset of the diagonals in the temporary arrays
+     * @return The empty snake at the split point, or {@link #COARSE} if no
+     *         point splits the sequences
+     */
+    private Snake getFurthestSplit(
+            final int delta, final int d, final int start1, final int end1,
+            final int start2, final int end2, final int offset
+    ) {
+        int bestX = start1;
+        int bestY = start2;
+        int bestProgress = 0;
+        for (int k = -d; k <= d; k += 2) {
+            final int x = vDown[k + offset];
+            final int y = x - start1 + start2 - k;
+            final int progress = x - start1 + y - start2;
+            if (x <= end1 && y >= start2 && y <= end2 && progress > bestProgress) {
+                bestX = x;
+                bestY = y;
+                bestProgress = progress;
+            }
+        }
+        for (int k = delta - d; k <= delta + d; k += 2) {
+            final int x = vUp[k + offset - delta];
+            final int y = x - start1 + start2 - k;
+            final int progress = end1 - x + end2 - y;
+            if (x >= start1 && y >= start2 && y <= end2 && progress > bestProgress) {
+                bestX = x;
+                bestY = y;
+                bestProgress = progress;
+            }
+        }
+        if (bestProgress == 0 || bestX == end1 && bestY == end2 || bestX == start1 && bestY == start2) {
+            return COARSE;
+        }
+        return new Snake(bestX, bestX, bestX - bestY);
+    }
+
+    private boolean processDownPath(
+            final int start1, final int end1, final int start2, final int end2,
+            final int delta, final int d, final int offset
+    ) {
+        for (int k = -d; k <= d; k += 2) {
+            // First step
+            final int i = k + offset;
+            if (k == -d || k != d && vDown[i - 1] < vDown[i + 1]) {
+                vDown[i] = vDown[i + 1];
+            } else {
+                vDown[i] = vDown[i - 1] + 1;
+            }
+
+            int x = vDown[i];
+            int y = x - start1 + start2 - k;
+
+            while (x < end1 && y < end2 && left.get(x) == right.get(y)) {
+                vDown[i] = ++x;
+                ++y;
+            }
+
+            // Second step
+            if (delta % 2 != 0 && delta - d <= k && k <= delta + d && vUp[i - delta] <= vDown[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean processUpPath(
+            final int start1, final int end1, final int start2, final int end2,
+            final int delta, final int d, final int offset
+    ) {
+        for (int k = delta - d; k <= delta + d; k += 2) {
+            // First step
+            final int i = k + offset - delta;
+            if (k == delta - d || k != delta + d && vUp[i + 1] <= vUp[i - 1]) {
+                vUp[i] = vUp[i + 1] - 1;
+            } else {
+                vUp[i] = vUp[i - 1];
+            }
+
+            int x = vUp[i] - 1;
+            int y = x - start1 + start2 - k;
+            while (x >= start1 && y >= start2 && left.get(x) == right.get(y)) {
+                vUp[i] = x--;
+                y--;
+            }
+
+            // Second step
+            if (delta % 2 == 0 && -d <= k && k <= d && vUp[i] <= vDown[i + delta]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Snake buildSnakeFromDown(
+            final int delta, final int d, final int start1, final int start2,
+            final int end1, final int end2, final int offset
+    ) {
+        for (int k = -d; k <= d; k += 2) {
+            final int i = k + offset;
+            if (delta % 2 != 0 && delta - d <= k && k <= delta + d && vUp[i - delta] <= vDown[i]) {
+                return buildSnake(vUp[i - delta], k + start1 - start2, end1, end2);
+            }
+        }
+        return null;
+    }
+
+    private Snake buildSnakeFromUp(
+            final int delta, final int d, final int start1, final int start2,
+            final int end1, final int end2, final int offset
+    ) {
+        for (int k = delta - d; k <= delta + d; k += 2) {
+            final int i = k + offset - delta;
+            if (delta % 2 == 0 && -d <= k && k <= d && vUp[i] <= vDown[i + delta]) {
+                return buildSnake(vUp[i], k + start1 - start2, end1, end2);
+            }
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,290 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.diff;
+
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+/**
+ * A compact edit script holding runs of commands instead of individual
+ * commands.
+ * <p>
+ * An {@link EditScript EditScript} holds one {@link EditCommand command}
+ * object per object of the compared sequences, which makes it costly for large
+ * sequences. This script holds each run of consecutive commands of the same
+ * kind as a single {@code long}, packing the kind of the commands with their
+ * number; the positions of the runs in the sequences are recomputed while
+ * visiting. It describes the same differences as the equivalent
+ * {@link EditScript EditScript}, and can drive a {@link RangeVisitor
+ * RangeVisitor}, or a {@link CommandVisitor CommandVisitor} such as a
+ * {@link ReplacementsFinder ReplacementsFinder} given functions reading the
+ * sequences.
+ * </p>
+ *
+ * @see StringsComparator#getRangeScript()
+ * @see RangeVisitor
+ * @see EditScript
+ * @since 1.13.0
+ */
+public final class RangeEditScript {
+
+    /** Kind of a run of keep commands. */
+    private static final int KEEP = 0;
+
+    /** Kind of a run of delete commands. */
+    private static final int DELETE = 1;
+
+    /** Kind of a run of insert commands. */
+    private static final int INSERT = 2;
+
+    /** Number of low bits of a run holding its kind. */
+    private static final int KIND_BITS = 2;
+
+    /** Mask of the low bits of a run holding its kind. */
+    private static final int KIND_MASK = (1 << KIND_BITS) - 1;
+
+    /** Initial capacity of the runs array. */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** Runs, each holding its length shifted left by {@link #KIND_BITS} and its kind. */
+    private long[] runs;
+
+    /** Number of runs. */
+    private int size;
+
+    /** Length of the longest common subsequence. */
+    private int lcsLength;
+
+    /** Number of deletions. */
+    private int deletions;
+
+    /** Number of insertions. */
+    private int insertions;
+
+    /**
+     * Constructs a new empty script.
+     */
+    public RangeEditScript() {
+        runs = new long[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Appends commands to the script, extending the last run if it has the same kind.
+     *
+     * @param kind  kind of the commands
+     * @param length  number of commands
+     */
+    private void append(final int kind, final int length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("Length must not be negative: " + length);
+        }
+        if (length == 0) {
+            return;
+        }
+        if (size > 0 && (runs[size - 1] & KIND_MASK) == kind) {
+            runs[size - 1] += (long) length << KIND_BITS;
+            return;
+        }
+        if (size == runs.length) {
+            runs = Arrays.copyOf(runs, size * 2);
+        }
+        runs[size++] = (long) length << KIND_BITS | kind;
+    }
+
+    /**
+     * Appends delete commands to the script.
+     *
+     * @param length  number of consecutive objects deleted from the first sequence
+     * @throws IllegalArgumentException if the length is negative
+     */
+    public void appendDelete(final int length) {
+        append(DELETE, length);
+        deletions += length;
+    }
+
+    /**
+     * Appends insert commands to the script.
+     *
+     * @param length  number of consecutive objects inserted from the second sequence
+     * @throws IllegalArgumentException if the length is negative
+     */
+    public void appendInsert(final int length) {
+        append(INSERT, length);
+        insertions += length;
+    }
+
+    /**
+     * Appends keep commands to the script.
+     *
+     * @param length  number of consecutive objects kept
+     * @throws IllegalArgumentException if the length is negative
+     */
+    public void appendKeep(final int length) {
+        append(KEEP, length);
+        lcsLength += length;
+    }
+
+    /**
+     * Gets the length of the Longest Common Subsequence (LCS), the number of
+     * kept objects.
+     *
+     * @return length of the Longest Common Subsequence
+     */
+    public int getLCSLength() {
+        return lcsLength;
+    }
+
+    /**
+     * Gets the length of the first sequence, the number of kept and deleted
+     * objects.
+     *
+     * @return length of the first sequence
+     */
+    public int getLeftLength() {
+        return lcsLength + deletions;
+    }
+
+    /**
+     * Gets the number of effective modifications, the number of deleted and
+     * inserted objects.
+     *
+     * @return number of effective modifications
+     */
+    public int getModifications() {
+        return deletions + insertions;
+    }
+
+    /**
+     * Gets the length of the second sequence, the number of kept and inserted
+     * objects.
+     *
+     * @return length of the second sequence
+     */
+    public int getRightLength() {
+        return lcsLength + insertions;
+    }
+
+    /**
+     * Gets the number of runs of commands of the same kind in the script.
+     *
+     * @return number of runs
+     */
+    public int getRunCount() {
+        return size;
+    }
+
+    /**
+     * Converts this script to an {@link EditScript EditScript} holding one
+     * command per object.
+     *
+     * @param <T>  object type
+     * @param left  reads the objects of the first sequence by index
+     * @param right  reads the objects of the second sequence by index
+     * @return the equivalent edit script
+     */
+    public <T> EditScript<T> toEditScript(final IntFunction<? extends T> left, final IntFunction<? extends T> right) {
+        final EditScript<T> script = new EditScript<>();
+        visit(new CommandVisitor<T>() {
+
+            @Override
+            public void visitDeleteCommand(final T object) {
+                script.append(new DeleteCommand<>(object));
+            }
+
+            @Override
+            public void visitInsertCommand(final T object) {
+                script.append(new InsertCommand<>(object));
+            }
+
+            @Override
+            public void visitKeepCommand(final T object) {
+                script.append(new KeepCommand<>(object));
+            }
+        }, left, right);
+        return script;
+    }
+
+    /**
+     * Visits the script with a {@link CommandVisitor CommandVisitor}, calling
+     * it once per object as an {@link EditScript EditScript} would.
+     * <p>
+     * Kept and deleted objects are read from the first sequence and inserted
+     * objects from the second sequence, as in an {@link EditScript EditScript}.
+     * </p>
+     *
+     * @param <T>  object type
+     * @param visitor  the visitor that will visit all commands in turn
+     * @param left  reads the objects of the first sequence by index
+     * @param right  reads the objects of the second sequence by index
+     */
+    public <T> void visit(final CommandVisitor<T> visitor, final IntFunction<? extends T> left,
+            final IntFunction<? extends T> right) {
+        visit(new RangeVisitor() {
+
+            @Override
+            public void visitDeleteRange(final int leftStart, final int length) {
+                for (int i = leftStart; i < leftStart + length; i++) {
+                    visitor.visitDeleteCommand(left.apply(i));
+                }
+            }
+
+            @Override
+            public void visitInsertRange(final int rightStart, final int length) {
+                for (int i = rightStart; i < rightStart + length; i++) {
+                    visitor.visitInsertCommand(right.apply(i));
+                }
+            }
+
+            @Override
+            public void visitKeepRange(final int leftStart, final int rightStart, final int length) {
+                for (int i = leftStart; i < leftStart + length; i++) {
+                    visitor.visitKeepCommand(left.apply(i));
+                }
+            }
+        });
+    }
+
+    /**
+     * Visits the script. The visitor is called once per run of commands of the
+     * same kind, in order.
+     *
+     * @param visitor  the visitor that will visit all runs in turn
+     */
+    public void visit(final RangeVisitor visitor) {
+        int leftStart = 0;
+        int rightStart = 0;
+        for (int i = 0; i < size; i++) {
+            final int length = (int) (runs[i] >>> KIND_BITS);
+            switch ((int) runs[i] & KIND_MASK) {
+            case KEEP:
+                visitor.visitKeepRange(leftStart, rightStart, length);
+                leftStart += length;
+                rightStart += length;
+                break;
+            case DELETE:
+                visitor.visitDeleteRange(leftStart, length);
+                leftStart += length;
+                break;
+            default:
+                visitor.visitInsertRange(rightStart, length);
+                rightStart += length;
+                break;
+            }
+        }
+    }
+
+}
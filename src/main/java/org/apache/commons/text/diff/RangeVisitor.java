@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.diff;
+
+/**
+ * This interface should be implemented by user object to walk
+ * through {@link RangeEditScript RangeEditScript} objects.
+ * <p>
+ * Unlike a {@link CommandVisitor CommandVisitor}, which is called once per
+ * object, a range visitor is called once per run of consecutive commands of
+ * the same kind, with the positions of the run in the compared sequences. The
+ * visitor is expected to hold the sequences itself if it needs their
+ * contents.
+ * </p>
+ * <p>
+ * Runs are visited in order: the left position of each run is the end of the
+ * previous runs in the first sequence, and its right position is their end in
+ * the second sequence. Two consecutive runs are never of the same kind.
+ * </p>
+ *
+ * @see RangeEditScript
+ * @see CommandVisitor
+ * @since 1.13.0
+ */
+public interface RangeVisitor {
+
+    /**
+     * Method called when a run of delete commands is encountered.
+     *
+     * @param leftStart  index of the first deleted object in the first sequence
+     * @param length  number of deleted objects, strictly positive
+     */
+    void visitDeleteRange(int leftStart, int length);
+
+    /**
+     * Method called when a run of insert commands is encountered.
+     *
+     * @param rightStart  index of the first inserted object in the second sequence
+     * @param length  number of inserted objects, strictly positive
+     */
+    void visitInsertRange(int rightStart, int length);
+
+    /**
+     * Method called when a run of keep commands is encountered.
+     *
+     * @param leftStart  index of the first kept object in the first sequence
+     * @param rightStart  index of the first kept object in the second sequence
+     * @param length  number of kept objects, strictly positive
+     */
+    void visitKeepRange(int leftStart, int rightStart, int length);
+
+}
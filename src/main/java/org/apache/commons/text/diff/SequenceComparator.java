@@ -0,0 +1,313 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.diff;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Compares two sequences of objects, such as tokens or lines, instead of the
+ * characters compared by a {@link StringsComparator StringsComparator}.
+ * <p>
+ * Each object is mapped to an int, equal objects according to
+ * {@link Object#equals(Object) equals} and {@link Object#hashCode() hashCode}
+ * sharing the same int, and the sequences of ints are compared with the same
+ * algorithm as a {@link StringsComparator StringsComparator}. Comparing the
+ * lines of two texts this way works on far fewer elements than comparing their
+ * characters, and gives differences in terms of whole lines.
+ * </p>
+ * <p>
+ * The differences are available as an {@link EditScript EditScript}, in which
+ * the objects embedded in the {@link InsertCommand insert commands} come from
+ * the second sequence and the objects embedded in either the
+ * {@link DeleteCommand delete commands} or {@link KeepCommand keep commands}
+ * come from the first sequence, or as a compact {@link RangeEditScript
+ * RangeEditScript}.
+ * </p>
+ * <p>
+ * The following is an example which feeds the lines changed between two
+ * texts to a {@link ReplacementsFinder ReplacementsFinder}:
+ * </p>
+ * <pre>
+ * SequenceComparator&lt;String&gt; comparator = SequenceComparator.ofLines(before, after);
+ * comparator.getScript().visit(new ReplacementsFinder&lt;&gt;(handler));
+ * </pre>
+ *
+ * @param <T> object type
+ * @see StringsComparator
+ * @see EditScript
+ * @see RangeEditScript
+ * @since 1.13.0
+ */
+public final class SequenceComparator<T> {
+
+    /**
+     * Creates a comparator of two sequences of objects.
+     *
+     * @param <T> object type
+     * @param left first sequence to be compared, must not be null, copied
+     * @param right second sequence to be compared, must not be null, copied
+     * @return a new comparator
+     */
+    public static <T> SequenceComparator<T> of(final List<? extends T> left, final List<? extends T> right) {
+        Objects.requireNonNull(left, "left");
+        Objects.requireNonNull(right, "right");
+        // copies, so that later changes to the lists do not affect the ids, and the elements are reached in constant time
+        return ofCopies(new ArrayList<>(left), new ArrayList<>(right));
+    }
+
+    /**
+     * Creates a comparator of two lists owned by the comparator.
+     *
+     * @param <T> object type
+     * @param left first sequence to be compared
+     * @param right second sequence to be compared
+     * @return a new comparator
+     */
+    private static <T> SequenceComparator<T> ofCopies(final List<T> left, final List<T> right) {
+        final Map<T, Integer> ids = new HashMap<>();
+        final int[] leftIds = intern(left, ids);
+        final int[] rightIds = intern(right, ids);
+        return new SequenceComparator<>(leftIds, rightIds, Collections.unmodifiableList(left),
+            Collections.unmodifiableList(right));
+    }
+
+    /**
+     * Creates a comparator of the lines of two texts.
+     * <p>
+     * Lines are terminated by {@code "\n"}, {@code "\r\n"} or {@code "\r"},
+     * and keep their terminator, so that a last line with and without a
+     * terminator differ. Text after the last terminator is a last line.
+     * </p>
+     *
+     * @param left first text to be compared, must not be null
+     * @param right second text to be compared, must not be null
+     * @return a new comparator
+     */
+    public static SequenceComparator<String> ofLines(final CharSequence left, final CharSequence right) {
+        Objects.requireNonNull(left, "left");
+        Objects.requireNonNull(right, "right");
+        return ofCopies(splitLines(left), splitLines(right));
+    }
+
+    /**
+     * Creates a comparator of two sequences of tokens already mapped to ints.
+     *
+     * @param left first sequence to be compared, must not be null
+     * @param right second sequence to be compared, must not be null
+     * @return a new comparator
+     */
+    public static SequenceComparator<Integer> ofTokens(final int[] left, final int[] right) {
+        Objects.requireNonNull(left, "left");
+        Objects.requireNonNull(right, "right");
+        final int[] leftCopy = left.clone();
+        final int[] rightCopy = right.clone();
+        return new SequenceComparator<>(leftCopy, rightCopy, new IntList(leftCopy), new IntList(rightCopy));
+    }
+
+    /**
+     * Maps objects to ints, assigning new ints to new objects.
+     *
+     * @param <T> object type
+     * @param objects the objects
+     * @param ids the ints of the objects seen so far
+     * @return the ints of the objects
+     */
+    private static <T> int[] intern(final List<T> objects, final Map<T, Integer> ids) {
+        final int[] result = new int[objects.size()];
+        int i = 0;
+        for (final T object : objects) {
+            Integer id = ids.get(object);
+            if (id == null) {
+                id = ids.size();
+                ids.put(object, id);
+            }
+            result[i++] = id;
+        }
+        return result;
+    }
+
+    /**
+     * Splits a text into lines, keeping their terminators.
+     *
+     * @param text the text
+     * @return the lines
+     */
+    static List<String> splitLines(final CharSequence text) {
+        final List<String> lines = new ArrayList<>();
+        final int length = text.length();
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            final char c = text.charAt(i);
+            if (c == '\n' || c == '\r') {
+                if (c == '\r' && i + 1 < length && text.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                lines.add(text.subSequence(start, i + 1).toString());
+                start = i + 1;
+            }
+        }
+        if (start < length) {
+            lines.add(text.subSequence(start, length).toString());
+        }
+        return lines;
+    }
+
+    /**
+     * A read-only list view of an int array.
+     */
+    private static final class IntList extends AbstractList<Integer> implements RandomAccess {
+
+        /** The ints. */
+        private final int[] values;
+
+        /**
+         * Constructs a new instance.
+         *
+         * @param values the ints
+         */
+        IntList(final int[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public Integer get(final int index) {
+            return values[index];
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+    }
+
+    /**
+     * Ints of the first sequence.
+     */
+    private final int[] leftIds;
+
+    /**
+     * Ints of the second sequence.
+     */
+    private final int[] rightIds;
+
+    /**
+     * First sequence.
+     */
+    private final List<T> left;
+
+    /**
+     * Second sequence.
+     */
+    private final List<T> right;
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param leftIds ints of the first sequence
+     * @param rightIds ints of the second sequence
+     * @param left first sequence
+     * @param right second sequence
+     */
+    private SequenceComparator(final int[] leftIds, final int[] rightIds, final List<T> left, final List<T> right) {
+        this.leftIds = leftIds;
+        this.rightIds = rightIds;
+        this.left = left;
+        this.right = right;
+    }
+
+    /**
+     * Gets the first sequence.
+     *
+     * @return an unmodifiable copy of the first sequence
+     */
+    public List<T> getLeft() {
+        return left;
+    }
+
+    /**
+     * Gets the compact edit script describing the differences between the
+     * sequences, with one entry per run of commands of the same kind.
+     *
+     * @return The compact edit script resulting from the comparison of the two
+     *         sequences
+     */
+    public RangeEditScript getRangeScript() {
+        return getRangeScript(DiffOptions.getDefault());
+    }
+
+    /**
+     * Gets the compact edit script describing the differences between the
+     * sequences, bounding the cost of the comparison.
+     *
+     * @param options bounds on the cost of the comparison, must not be null
+     * @return The compact edit script resulting from the comparison of the two
+     *         sequences, which may not be the shortest one if a bound is
+     *         reached
+     * @see DiffOptions
+     */
+    public RangeEditScript getRangeScript(final DiffOptions options) {
+        Objects.requireNonNull(options, "options");
+        return options.getAlgorithm().diff(DiffSequence.of(leftIds), DiffSequence.of(rightIds), options);
+    }
+
+    /**
+     * Gets the second sequence.
+     *
+     * @return an unmodifiable copy of the second sequence
+     */
+    public List<T> getRight() {
+        return right;
+    }
+
+    /**
+     * Gets the {@link EditScript} object.
+     * <p>
+     * It is guaranteed that the objects embedded in the {@link InsertCommand
+     * insert commands} come from the second sequence and that the objects
+     * embedded in either the {@link DeleteCommand delete commands} or
+     * {@link KeepCommand keep commands} come from the first sequence.
+     * </p>
+     *
+     * @return The edit script resulting from the comparison of the two
+     *         sequences
+     */
+    public EditScript<T> getScript() {
+        return getRangeScript().toEditScript(left::get, right::get);
+    }
+
+    /**
+     * Gets the {@link EditScript} object, bounding the cost of the
+     * comparison.
+     *
+     * @param options bounds on the cost of the comparison, must not be null
+     * @return The edit script resulting from the comparison of the two
+     *         sequences, which may not be the shortest one if a bound is
+     *         reached
+     * @see DiffOptions
+     */
+    public EditScript<T> getScript(final DiffOptions options) {
+        return getRangeScript(options).toEditScript(left::get, right::get);
+    }
+
+}
@@ -16,6 +16,8 @@
  */
 package org.apache.commons.text.diff;
 
+import java.util.Objects;
+
 /**
  * <p>
  * It is guaranteed that the comparisons will always be done as
@@ -48,65 +50,11 @@ package org.apache.commons.text.diff;
  * @see EditScript
  * @see EditCommand
  * @see CommandVisitor
+ * @see SequenceComparator
  * @since 1.0
  */
 public class StringsComparator {
 
-    /**
-     * This class is a simple placeholder to hold the end part of a path
-     * under construction in a {@link StringsComparator StringsComparator}.
-     */
-    private static final class Snake {
-
-        /** Start index. */
-        private final int start;
-
-        /** End index. */
-        private final int end;
-
-        /** Diagonal number. */
-        private final int diag;
-
-        /**
-         * Constructs a new instance of Snake with specified indices.
-         *
-         * @param start  start index of the snake
-         * @param end  end index of the snake
-         * @param diag  diagonal number
-         */
-        Snake(final int start, final int end, final int diag) {
-            this.start = start;
-            this.end   = end;
-            this.diag  = diag;
-        }
-
-        /**
-         * Gets the diagonal number of the snake.
-         *
-         * @return diagonal number of the snake
-         */
-        public int getDiag() {
-            return diag;
-        }
-
-        /**
-         * Gets the end index of the snake.
-         *
-         * @return end index of the snake
-         */
-        public int getEnd() {
-            return end;
-        }
-
-        /**
-         * Gets the start index of the snake.
-         *
-         * @return start index of the snake
-         */
-        public int getStart() {
-            return start;
-        }
-    }
     /**
      * First character sequence.
      */
@@ -115,15 +63,6 @@ public class StringsComparator {
      * Second character sequence.
      */
     private final String right;
-    /**
-     * Temporary array.
-     */
-    private final int[] vDown;
-
-    /**
-     * Temporary array.
-     */
-    private final int[] vUp;
 
     /**
      * Constructs a new instance of StringsComparator.
@@ -141,231 +80,75 @@ public class StringsComparator {
     public StringsComparator(final String left, final String right) {
         this.left = left;
         this.right = right;
-
-        final int size = left.length() + right.length() + 2;
-        vDown = new int[size];
-        vUp   = new int[size];
     }
 
     /**
-     * Builds an edit script.
+     * Gets the {@link EditScript} object.
+     * <p>
+     * It is guaranteed that the objects embedded in the {@link InsertCommand
+     * insert commands} come from the second sequence and that the objects
+     * embedded in either the {@link DeleteCommand delete commands} or
+     * {@link KeepCommand keep commands} come from the first sequence. This can
+     * be important if subclassing is used for some elements in the first
+     * sequence and the {@code equals} method is specialized.
+     * </p>
      *
-     * @param start1  the begin of the first sequence to be compared
-     * @param end1  the end of the first sequence to be compared
-     * @param start2  the begin of the second sequence to be compared
-     * @param end2  the end of the second sequence to be compared
-     * @param script the edited script
+     * @return The edit script resulting from the comparison of the two
+     *         sequences
+     * @see #getRangeScript()
      */
-    private void buildScript(final int start1, final int end1, final int start2, final int end2,
-        final EditScript<Character> script) {
-    final Snake middle = getMiddleSnake(start1, end1, start2, end2);
-
-    if (isTrivialCase(middle, start1, end1, start2, end2)) {
-        handleTrivialCase(start1, end1, start2, end2, script);
-    } else {
-        buildScript(start1, middle.getStart(),
-                    start2, middle.getStart() - middle.getDiag(),
-                    script);
-        for (int i = middle.getStart(); i < middle.getEnd(); ++i) {
-            script.append(new KeepCommand<>(left.charAt(i)));
-        }
-        buildScript(middle.getEnd(), end1,
-                    middle.getEnd() - middle.getDiag(), end2,
-                    script);
-    }
-}
-
-private boolean isTrivialCase(Snake middle, int start1, int end1, int start2, int end2) {
-    return middle == null
-            || middle.getStart() == end1 && middle.getDiag() == end1 - end2
-            || middle.getEnd() == start1 && middle.getDiag() == start1 - start2;
-}
-
-private void handleTrivialCase(int start1, int end1, int start2, int end2, EditScript<Character> script) {
-    int i = start1;
-    int j = start2;
-    while (i < end1 || j < end2) {
-        if (i < end1 && j < end2 && left.charAt(i) == right.charAt(j)) {
-            script.append(new KeepCommand<>(left.charAt(i)));
-            ++i;
-            ++j;
-        } else if (end1 - start1 > end2 - start2) {
-            script.append(new DeleteCommand<>(left.charAt(i)));
-            ++i;
-        } else {
-            script.append(new InsertCommand<>(right.charAt(j)));
-            ++j;
-        }
+    public EditScript<Character> getScript() {
+        return getRangeScript().toEditScript(left::charAt, right::charAt);
     }
-}
-
 
     /**
-     * Builds a snake.
+     * Gets the {@link EditScript} object, bounding the cost of the
+     * comparison.
      *
-     * @param start  the value of the start of the snake
-     * @param diag  the value of the diagonal of the snake
-     * @param end1  the value of the end of the first sequence to be compared
-     * @param end2  the value of the end of the second sequence to be compared
-     * @return The snake built
+     * @param options bounds on the cost of the comparison, must not be null
+     * @return The edit script resulting from the comparison of the two
+     *         sequences, which may not be the shortest one if a bound is
+     *         reached
+     * @see DiffOptions
+     * @since 1.13.0
      */
-    private Snake buildSnake(final int start, final int diag, final int end1, final int end2) {
-        int end = start;
-        while (end - diag < end2
-                && end < end1
-                && left.charAt(end) == right.charAt(end - diag)) {
-            ++end;
-        }
-        return new Snake(start, end, diag);
+    public EditScript<Character> getScript(final DiffOptions options) {
+        return getRangeScript(options).toEditScript(left::charAt, right::charAt);
     }
 
     /**
-     * Gets the middle snake corresponding to two subsequences of the
-     * main sequences.
+     * Gets the {@link RangeEditScript} object, describing the same
+     * differences as {@link #getScript()} with one entry per run of commands
+     * of the same kind instead of one command object per character.
      * <p>
-     * The snake is found using the MYERS Algorithm (this algorithms has
-     * also been implemented in the GNU diff program). This algorithm is
-     * explained in Eugene Myers article:
-     * <a href="http://www.cs.arizona.edu/people/gene/PAPERS/diff.ps">
-     * An O(ND) Difference Algorithm and Its Variations</a>.
+     * The script can be visited with a {@link RangeVisitor}, or with a
+     * {@link CommandVisitor} such as a {@link ReplacementsFinder} through
+     * {@link RangeEditScript#visit(CommandVisitor, java.util.function.IntFunction,
+     * java.util.function.IntFunction) visit(visitor, left::charAt, right::charAt)}.
      * </p>
      *
-     * @param start1  the begin of the first sequence to be compared
-     * @param end1  the end of the first sequence to be compared
-     * @param start2  the begin of the second sequence to be compared
-     * @param end2  the end of the second sequence to be compared
-     * @return The middle snake
+     * @return The compact edit script resulting from the comparison of the two
+     *         sequences
+     * @since 1.13.0
      */
-    private Snake getMiddleSnake(final int start1, final int end1, final int start2, final int end2) {
-        // Myers Algorithm
-        // Initializations
-        final int m = end1 - start1;
-        final int n = end2 - start2;
-        if (m == 0 || n == 0) {
-            return null;
-        }
-
-        final int delta = m - n;
-        final int sum = n + m;
-        final int offset = (sum % 2 == 0 ? sum : sum + 1) / 2;
-        vDown[1 + offset] = start1;
-        vUp[1 + offset] = end1 + 1;
-
-        for (int d = 0; d <= offset; ++d) {
-            if (processDownPath(start1, end1, start2, end2, delta, d, offset)) {
-                return buildSnakeFromDown(delta, d, start1, start2, end1, end2, offset);
-            }
-            if (processUpPath(start1, end1, start2, end2, delta, d, offset)) {
-                return buildSnakeFromUp(delta, d, start1, start2, end1, end2, offset);
-            }
-        }
-
-        // this should not happen
-        throw new IllegalStateException("Internal Error");
-    }
-
-    private boolean processDownPath(
-            final int start1, final int end1, final int start2, final int end2,
-            final int delta, final int d, final int offset
-    ) {
-        for (int k = -d; k <= d; k += 2) {
-            // First step
-            final int i = k + offset;
-            if (k == -d || k != d && vDown[i - 1] < vDown[i + 1]) {
-                vDown[i] = vDown[i + 1];
-            } else {
-                vDown[i] = vDown[i - 1] + 1;
-            }
-
-            int x = vDown[i];
-            int y = x - start1 + start2 - k;
-
-            while (x < end1 && y < end2 && left.charAt(x) == right.charAt(y)) {
-                vDown[i] = ++x;
-                ++y;
-            }
-
-            // Second step
-            if (delta % 2 != 0 && delta - d <= k && k <= delta + d && vUp[i - delta] <= vDown[i]) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    private boolean processUpPath(
-            final int start1, final int end1, final int start2, final int end2,
-            final int delta, final int d, final int offset
-    ) {
-        for (int k = delta - d; k <= delta + d; k += 2) {
-            // First step
-            final int i = k + offset - delta;
-            if (k == delta - d || k != delta + d && vUp[i + 1] <= vUp[i - 1]) {
-                vUp[i] = vUp[i + 1] - 1;
-            } else {
-                vUp[i] = vUp[i - 1];
-            }
-
-            int x = vUp[i] - 1;
-            int y = x - start1 + start2 - k;
-            while (x >= start1 && y >= start2 && left.charAt(x) == right.charAt(y)) {
-                vUp[i] = x--;
-                y--;
-            }
-
-            // Second step
-            if (delta % 2 == 0 && -d <= k && k <= d && vUp[i] <= vDown[i + delta]) {
-                return true;
-            }
-        }
-        return false;
+    public RangeEditScript getRangeScript() {
+        return getRangeScript(DiffOptions.getDefault());
     }
 
-    private Snake buildSnakeFromDown(
-            final int delta, final int d, final int start1, final int start2,
-            final int end1, final int end2, final int offset
-    ) {
-        for (int k = -d; k <= d; k += 2) {
-            final int i = k + offset;
-            if (delta % 2 != 0 && delta - d <= k && k <= delta + d && vUp[i - delta] <= vDown[i]) {
-                return buildSnake(vUp[i - delta], k + start1 - start2, end1, end2);
-            }
-        }
-        return null;
-    }
-
-    private Snake buildSnakeFromUp(
-            final int delta, final int d, final int start1, final int start2,
-            final int end1, final int end2, final int offset
-    ) {
-        for (int k = delta - d; k <= delta + d; k += 2) {
-            final int i = k + offset - delta;
-            if (delta % 2 == 0 && -d <= k && k <= d && vUp[i] <= vDown[i + delta]) {
-                return buildSnake(vUp[i], k + start1 - start2, end1, end2);
-            }
-        }
-        return null;
-    }
-
-
     /**
-     * Gets the {@link EditScript} object.
-     * <p>
-     * It is guaranteed that the objects embedded in the {@link InsertCommand
-     * insert commands} come from the second sequence and that the objects
-     * embedded in either the {@link DeleteCommand delete commands} or
-     * {@link KeepCommand keep commands} come from the first sequence. This can
-     * be important if subclassing is used for some elements in the first
-     * sequence and the {@code equals} method is specialized.
-     * </p>
+     * Gets the {@link RangeEditScript} object, bounding the cost of the
+     * comparison.
      *
-     * @return The edit script resulting from the comparison of the two
-     *         sequences
+     * @param options bounds on the cost of the comparison, must not be null
+     * @return The compact edit script resulting from the comparison of the two
+     *         sequences, which may not be the shortest one if a bound is
+     *         reached
+     * @see DiffOptions
+     * @since 1.13.0
      */
-    public EditScript<Character> getScript() {
-        final EditScript<Character> script = new EditScript<>();
-        buildScript(0, left.length(), 0, right.length(), script);
-        return script;
+    public RangeEditScript getRangeScript(final DiffOptions options) {
+        Objects.requireNonNull(options, "options");
+        return options.getAlgorithm().diff(DiffSequence.of(left.toCharArray()), DiffSequence.of(right.toCharArray()), options);
     }
 
 }
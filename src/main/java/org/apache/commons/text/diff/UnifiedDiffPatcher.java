@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.diff;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Applies a patch in the unified diff format, such as one written by a
+ * {@link UnifiedDiffWriter UnifiedDiffWriter}, to a text.
+ * <p>
+ * The text and the patch are streamed line by line, so neither is loaded in
+ * memory. Lines before the first hunk, such as the header naming the texts,
+ * are ignored. Each hunk must apply at the position given by its header:
+ * its context and deleted lines must be equal to the lines of the text at
+ * this position, including their terminators.
+ * </p>
+ * <p>
+ * The following is an example which applies a patch to a file:
+ * </p>
+ * <pre>
+ * try (Reader original = Files.newBufferedReader(source);
+ *         Reader patch = Files.newBufferedReader(diff);
+ *         Writer out = Files.newBufferedWriter(target)) {
+ *     UnifiedDiffPatcher.apply(original, patch, out);
+ * }
+ * </pre>
+ *
+ * @see UnifiedDiffWriter
+ * @since 1.13.0
+ */
+public final class UnifiedDiffPatcher {
+
+    /**
+     * Pattern of a hunk header.
+     */
+    private static final Pattern HUNK_HEADER = Pattern.compile(
+        "^@@ -(?<oldStart>\\d+)(?:,(?<oldLength>\\d+))? \\+\\d+(?:,(?<newLength>\\d+))? @@");
+
+    /**
+     * Applies a patch to a text.
+     *
+     * @param original the text, must not be null
+     * @param patch the patch, must not be null
+     * @param out receives the patched text, must not be null
+     * @throws IOException if an I/O error occurs
+     * @throws IllegalArgumentException if the patch is malformed or does not apply to the text
+     */
+    public static void apply(final Reader original, final Reader patch, final Writer out) throws IOException {
+        Objects.requireNonNull(out, "out");
+        final LineReader text = new LineReader(Objects.requireNonNull(original, "original"));
+        final LineReader diff = new LineReader(Objects.requireNonNull(patch, "patch"));
+        int lineNumber = 0;
+        int hunkNumber = 0;
+        String line = diff.readLine();
+        while (line != null) {
+            final Matcher matcher = HUNK_HEADER.matcher(line);
+            if (!matcher.find()) {
+                line = diff.readLine();
+                continue;
+            }
+            hunkNumber++;
+            final int oldStart = Integer.parseInt(matcher.group("oldStart"));
+            int oldLength = matcher.group("oldLength") != null ? Integer.parseInt(matcher.group("oldLength")) : 1;
+            int newLength = matcher.group("newLength") != null ? Integer.parseInt(matcher.group("newLength")) : 1;
+            // an empty range starts at the line before it
+            final int target = oldLength == 0 ? oldStart : oldStart - 1;
+            if (target < lineNumber) {
+                throw new IllegalArgumentException("Hunk #" + hunkNumber + " overlaps the previous hunk");
+            }
+            while (lineNumber < target) {
+                out.write(readLine(text, hunkNumber));
+                lineNumber++;
+            }
+            line = diff.readLine();
+            while (oldLength > 0 || newLength > 0) {
+                if (line == null) {
+                    throw new IllegalArgumentException("Hunk #" + hunkNumber + " is truncated");
+                }
+                String next = diff.readLine();
+                String content = line.isEmpty() ? line : line.substring(1);
+                if (next != null && next.startsWith("\\")) {
+                    content = stripTerminator(content);
+                    next = diff.readLine();
+                }
+                final char operation = line.charAt(0);
+                if (operation == '+' && newLength > 0) {
+                    out.write(content);
+                    newLength--;
+                } else if ((operation == '-' || operation == ' ') && oldLength > 0) {
+                    final String expected = readLine(text, hunkNumber);
+                    if (!expected.equals(content)) {
+                        throw new IllegalArgumentException("Hunk #" + hunkNumber + " does not apply at line "
+                            + (lineNumber + 1));
+                    }
+                    lineNumber++;
+                    oldLength--;
+                    if (operation == ' ') {
+                        if (newLength == 0) {
+                            throw new IllegalArgumentException("Hunk #" + hunkNumber + " has too many lines");
+                        }
+                        out.write(content);
+                        newLength--;
+                    }
+                } else if ((operation == '\n' || operation == '\r') && oldLength > 0 && newLength > 0) {
+                    // an empty context line whose prefix was stripped
+                    if (!readLine(text, hunkNumber).equals(line)) {
+                        throw new IllegalArgumentException("Hunk #" + hunkNumber + " does not apply at line "
+                            + (lineNumber + 1));
+                    }
+                    out.write(line);
+                    lineNumber++;
+                    oldLength--;
+                    newLength--;
+                } else {
+                    throw new IllegalArgumentException("Hunk #" + hunkNumber + " has an unexpected line: " + line);
+                }
+                line = next;
+            }
+        }
+        for (String rest = text.readLine(); rest != null; rest = text.readLine()) {
+            out.write(rest);
+        }
+        out.flush();
+    }
+
+    /**
+     * Reads a line of the text.
+     *
+     * @param text the text
+     * @param hunkNumber the number of the hunk being applied
+     * @return the line
+     * @throws IOException if an I/O error occurs
+     * @throws IllegalArgumentException if the text has no more lines
+     */
+    private static String readLine(final LineReader text, final int hunkNumber) throws IOException {
+        final String line = text.readLine();
+        if (line == null) {
+            throw new IllegalArgumentException("Hunk #" + hunkNumber + " does not apply past the end of the text");
+        }
+        return line;
+    }
+
+    /**
+     * Removes the terminator of a line.
+     *
+     * @param line the line
+     * @return the line without terminator
+     */
+    private static String stripTerminator(final String line) {
+        int end = line.length();
+        if (end > 0 && line.charAt(end - 1) == '\n') {
+            end--;
+        }
+        if (end > 0 && line.charAt(end - 1) == '\r') {
+            end--;
+        }
+        return line.substring(0, end);
+    }
+
+    /**
+     * No instances.
+     */
+    private UnifiedDiffPatcher() {
+        // empty
+    }
+
+}
@@ -0,0 +1,351 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.diff;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Writes the differences between two lists of lines in the unified diff
+ * format, as a {@link RangeEditScript RangeEditScript} is visited.
+ * <p>
+ * Each hunk is written as soon as the run of kept lines following it is
+ * longer than twice the number of context lines, so that only the positions
+ * of the runs of the current hunk are held in memory. Between two runs of
+ * kept lines, deleted lines are written before inserted lines. Lines are expected to
+ * keep their terminators, as those of
+ * {@link SequenceComparator#ofLines(CharSequence, CharSequence)}; a line
+ * without terminator is followed by a {@code "\ No newline at end of file"}
+ * marker. The output can be applied with a
+ * {@link UnifiedDiffPatcher UnifiedDiffPatcher}.
+ * </p>
+ * <p>
+ * The following is an example which writes the differences between two texts:
+ * </p>
+ * <pre>
+ * SequenceComparator&lt;String&gt; comparator = SequenceComparator.ofLines(before, after);
+ * UnifiedDiffWriter.write(comparator.getLeft(), comparator.getRight(), comparator.getRangeScript(), writer, 3);
+ * </pre>
+ * <p>
+ * When visiting a script directly, {@link #finish()} must be called once the
+ * script is visited, to write the last hunk. As the methods of
+ * {@link RangeVisitor RangeVisitor} cannot throw {@link IOException}, I/O
+ * errors are then thrown as {@link UncheckedIOException}.
+ * </p>
+ *
+ * @see UnifiedDiffPatcher
+ * @see SequenceComparator
+ * @since 1.13.0
+ */
+public final class UnifiedDiffWriter implements RangeVisitor {
+
+    /** Marker following a line without terminator. */
+    private static final String NO_NEWLINE = "\\ No newline at end of file\n";
+
+    /** Kind of a run of kept lines in a hunk. */
+    private static final int KEEP = 0;
+
+    /** Kind of a run of deleted lines in a hunk. */
+    private static final int DELETE = 1;
+
+    /** Kind of a run of inserted lines in a hunk. */
+    private static final int INSERT = 2;
+
+    /** Number of ints describing a run in a hunk. */
+    private static final int RUN_SIZE = 3;
+
+    /** Initial number of runs of a hunk. */
+    private static final int INITIAL_RUNS = 8;
+
+    /**
+     * Writes the differences between two lists of lines.
+     *
+     * @param left the lines of the first text, must not be null
+     * @param right the lines of the second text, must not be null
+     * @param script the differences between the lines, must not be null
+     * @param out the writer, must not be null
+     * @param context the number of unchanged lines around each change, must not be negative
+     * @throws IOException if an I/O error occurs
+     * @throws IllegalArgumentException if the number of context lines is negative
+     */
+    public static void write(final List<String> left, final List<String> right, final RangeEditScript script,
+            final Writer out, final int context) throws IOException {
+        Objects.requireNonNull(script, "script");
+        final UnifiedDiffWriter writer = new UnifiedDiffWriter(out, left, right, context);
+        try {
+            script.visit(writer);
+            writer.finish();
+        } catch (final UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /** The writer. */
+    private final Writer out;
+
+    /** The lines of the first text. */
+    private final List<String> left;
+
+    /** The lines of the second text. */
+    private final List<String> right;
+
+    /** The number of unchanged lines around each change. */
+    private final int context;
+
+    /** The position of the next line of the first text. */
+    private int leftPosition;
+
+    /** The position of the next line of the second text. */
+    private int rightPosition;
+
+    /** The start in the first text of the last run of kept lines not in a hunk yet. */
+    private int keepStart;
+
+    /** The length of the last run of kept lines not in a hunk yet. */
+    private int keepLength;
+
+    /** The runs of the current hunk, each as kind, start and length. */
+    private int[] runs = new int[RUN_SIZE * INITIAL_RUNS];
+
+    /** The number of ints in {@link #runs}. */
+    private int runsSize;
+
+    /** Whether a hunk is open. */
+    private boolean hunkOpen;
+
+    /** The start of the current hunk in the first text. */
+    private int hunkLeftStart;
+
+    /** The start of the current hunk in the second text. */
+    private int hunkRightStart;
+
+    /** The number of lines of the current hunk in the first text. */
+    private int hunkLeftLength;
+
+    /** The number of lines of the current hunk in the second text. */
+    private int hunkRightLength;
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param out the writer, must not be null
+     * @param left the lines of the first text, must not be null
+     * @param right the lines of the second text, must not be null
+     * @param context the number of unchanged lines around each change, must not be negative
+     * @throws IllegalArgumentException if the number of context lines is negative
+     */
+    public UnifiedDiffWriter(final Writer out, final List<String> left, final List<String> right, final int context) {
+        if (context < 0) {
+            throw new IllegalArgumentException("Context must not be negative: " + context);
+        }
+        this.out = Objects.requireNonNull(out, "out");
+        this.left = Objects.requireNonNull(left, "left");
+        this.right = Objects.requireNonNull(right, "right");
+        this.context = context;
+    }
+
+    /**
+     * Adds a run to the current hunk.
+     *
+     * @param kind the kind of the run
+     * @param start the start of the run
+     * @param length the length of the run
+     */
+    private void add(final int kind, final int start, final int length) {
+        if (length == 0) {
+            return;
+        }
+        if (runsSize == runs.length) {
+            runs = Arrays.copyOf(runs, runs.length * 2);
+        }
+        runs[runsSize++] = kind;
+        runs[runsSize++] = start;
+        runs[runsSize++] = length;
+        if (kind != INSERT) {
+            hunkLeftLength += length;
+        }
+        if (kind != DELETE) {
+            hunkRightLength += length;
+        }
+    }
+
+    /**
+     * Adds the pending kept lines to the current hunk, or closes it and opens
+     * a new one, before a change.
+     */
+    private void beginChange() {
+        if (hunkOpen) {
+            if (keepLength <= 2 * context) {
+                add(KEEP, keepStart, keepLength);
+                keepLength = 0;
+                return;
+            }
+            add(KEEP, keepStart, context);
+            writeHunk();
+        }
+        final int leading = Math.min(context, keepLength);
+        hunkLeftStart = leftPosition - leading;
+        hunkRightStart = rightPosition - leading;
+        hunkLeftLength = 0;
+        hunkRightLength = 0;
+        runsSize = 0;
+        hunkOpen = true;
+        add(KEEP, leftPosition - leading, leading);
+        keepLength = 0;
+    }
+
+    /**
+     * Writes the last hunk. Must be called once the script is visited.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public void finish() throws IOException {
+        try {
+            if (hunkOpen) {
+                add(KEEP, keepStart, Math.min(context, keepLength));
+                writeHunk();
+            }
+            keepLength = 0;
+            out.flush();
+        } catch (final UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Formats the range of a hunk in a text.
+     *
+     * @param start the start of the range
+     * @param length the length of the range
+     * @return the range, 1-based
+     */
+    private static String range(final int start, final int length) {
+        if (length == 1) {
+            return Integer.toString(start + 1);
+        }
+        // an empty range starts at the line before it
+        return (length == 0 ? start : start + 1) + "," + length;
+    }
+
+    @Override
+    public void visitDeleteRange(final int leftStart, final int length) {
+        beginChange();
+        add(DELETE, leftStart, length);
+        leftPosition += length;
+    }
+
+    @Override
+    public void visitInsertRange(final int rightStart, final int length) {
+        beginChange();
+        add(INSERT, rightStart, length);
+        rightPosition += length;
+    }
+
+    @Override
+    public void visitKeepRange(final int leftStart, final int rightStart, final int length) {
+        keepStart = leftStart;
+        keepLength = length;
+        leftPosition += length;
+        rightPosition += length;
+    }
+
+    /**
+     * Writes the header naming the texts, before visiting the script.
+     *
+     * @param leftName the name of the first text
+     * @param rightName the name of the second text
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeHeader(final String leftName, final String rightName) throws IOException {
+        out.write("--- " + leftName + "\n+++ " + rightName + "\n");
+    }
+
+    /**
+     * Writes the current hunk and closes it.
+     */
+    private void writeHunk() {
+        try {
+            out.write("@@ -" + range(hunkLeftStart, hunkLeftLength) + " +" + range(hunkRightStart, hunkRightLength)
+                + " @@\n");
+            int i = 0;
+            while (i < runsSize) {
+                if (runs[i] == KEEP) {
+                    writeLines(' ', left, i);
+                    i += RUN_SIZE;
+                    continue;
+                }
+                // deleted lines are written before inserted lines between two runs of kept lines
+                int end = i;
+                while (end < runsSize && runs[end] != KEEP) {
+                    end += RUN_SIZE;
+                }
+                for (int j = i; j < end; j += RUN_SIZE) {
+                    if (runs[j] == DELETE) {
+                        writeLines('-', left, j);
+                    }
+                }
+                for (int j = i; j < end; j += RUN_SIZE) {
+                    if (runs[j] == INSERT) {
+                        writeLines('+', right, j);
+                    }
+                }
+                i = end;
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        runsSize = 0;
+        hunkOpen = false;
+    }
+
+    /**
+     * Writes the lines of a run of a hunk.
+     *
+     * @param prefix the prefix of the lines
+     * @param lines the lines of the text of the run
+     * @param run the index of the run in {@link #runs}
+     * @throws IOException if an I/O error occurs
+     */
+    private void writeLines(final char prefix, final List<String> lines, final int run) throws IOException {
+        final int start = runs[run + 1];
+        final int end = start + runs[run + 2];
+        for (int i = start; i < end; i++) {
+            writeLine(prefix, lines.get(i));
+        }
+    }
+
+    /**
+     * Writes a line of a hunk.
+     *
+     * @param prefix the prefix of the line
+     * @param line the line
+     * @throws IOException if an I/O error occurs
+     */
+    private void writeLine(final char prefix, final String line) throws IOException {
+        out.write(prefix);
+        out.write(line);
+        if (line.isEmpty() || line.charAt(line.length() - 1) != '\n' && line.charAt(line.length() - 1) != '\r') {
+            out.write('\n');
+            out.write(NO_NEWLINE);
+        }
+    }
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.similarity;
+
+import java.util.Arrays;
+
+/**
+ * Computes the length of the longest common subsequence of two CharSequences with the bit-parallel algorithm of
+ * Allison and Dix, in the form of Hyyr&ouml;.
+ * <p>
+ * Each row of the dynamic programming matrix is encoded as a bit vector, 64 characters of the shorter input to a
+ * {@code long}, whose zero bits mark where the length of the common subsequence grows; a character of the longer
+ * input then takes a handful of word operations per 64 characters instead of one comparison per cell.
+ * </p>
+ *
+ * @see <a href="https://doi.org/10.1016/0020-0190(86)90091-8">L. Allison, T. I. Dix, A bit-string
+ *      longest-common-subsequence algorithm, Information Processing Letters 23(5), 1986</a>
+ * @see <a href="https://www.researchgate.net/publication/228965939">H. Hyyr&ouml;, Bit-parallel LCS-length
+ *      computation revisited, Proceedings of the 15th Australasian Workshop on Combinatorial Algorithms, 2004</a>
+ */
+final class BitParallelLcs {
+
+    /**
+     * Computes the length of the longest common subsequence of two CharSequences.
+     *
+     * @param left the first CharSequence, not null
+     * @param right the second CharSequence, not null
+     * @return the length of the longest common subsequence
+     */
+    static int length(final CharSequence left, final CharSequence right) {
+        int leftEnd = left.length();
+        int rightEnd = right.length();
+        // the common prefix and suffix are part of a longest common subsequence
+        int start = 0;
+        while (start < leftEnd && start < rightEnd && left.charAt(start) == right.charAt(start)) {
+            start++;
+        }
+        final int prefix = start;
+        while (leftEnd > start && rightEnd > start && left.charAt(leftEnd - 1) == right.charAt(rightEnd - 1)) {
+            leftEnd--;
+            rightEnd--;
+        }
+        final int affixes = prefix + left.length() - leftEnd;
+        if (leftEnd == start || rightEnd == start) {
+            return affixes;
+        }
+        // the shorter input is the pattern, to use fewer words
+        if (leftEnd - start <= rightEnd - start) {
+            return affixes + length(new MatchVectors(left, start, leftEnd), right, start, rightEnd);
+        }
+        return affixes + length(new MatchVectors(right, start, rightEnd), left, start, leftEnd);
+    }
+
+    /**
+     * Computes the length of the longest common subsequence of a pattern and a text.
+     *
+     * @param vectors the match vectors of the pattern
+     * @param text the text
+     * @param start the index of the first text character
+     * @param end the index after the last text character
+     * @return the length of the longest common subsequence
+     */
+    private static int length(final MatchVectors vectors, final CharSequence text, final int start, final int end) {
+        final int words = vectors.words;
+        final long[] peq = vectors.peq;
+        if (words == 1) {
+            long v = -1L;
+            for (int j = start; j < end; j++) {
+                final int id = vectors.id(text.charAt(j));
+                if (id >= 0) {
+                    final long u = v & peq[id];
+                    v = v + u | v - u;
+                }
+            }
+            // each zero bit is one more common character; the bits above the pattern length stay ones
+            return Long.bitCount(~v);
+        }
+        final long[] v = new long[words];
+        Arrays.fill(v, -1L);
+        for (int j = start; j < end; j++) {
+            final int id = vectors.id(text.charAt(j));
+            if (id < 0) {
+                continue;
+            }
+            final int base = id * words;
+            long carry = 0;
+            for (int w = 0; w < words; w++) {
+                final long vw = v[w];
+                final long u = vw & peq[base + w];
+                final long x = vw + u + carry;
+                // carry out of the unsigned 64-bit addition vw + u + carry
+                carry = (vw & u | (vw | u) & ~x) >>> Long.SIZE - 1;
+                v[w] = x | vw - u;
+            }
+        }
+        int zeros = 0;
+        for (int w = 0; w < words; w++) {
+            zeros += Long.bitCount(~v[w]);
+        }
+        return zeros;
+    }
+
+    /**
+     * No instances.
+     */
+    private BitParallelLcs() {
+        // empty
+    }
+
+}
@@ -0,0 +1,332 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.similarity;
+
+/**
+ * Computes the Levenshtein distance of a pattern to texts with the bit-parallel algorithm of Myers, in the block
+ * form described by Hyyr&ouml;.
+ * <p>
+ * Each column of the dynamic programming matrix is encoded as bit vectors of vertical deltas, 64 pattern characters
+ * to a {@code long}, so a column takes a handful of word operations per 64 characters instead of one comparison per
+ * cell.
+ * </p>
+ * <p>
+ * Instances hold scratch buffers and are not thread-safe.
+ * </p>
+ *
+ * @see <a href="https://doi.org/10.1145/316542.316550">G. Myers, A fast bit-vector algorithm for approximate string
+ *      matching based on dynamic programming, J. ACM 46(3), 1999</a>
+ * @see <a href="https://doi.org/10.1016/S0304-3975(02)00582-9">H. Hyyr&ouml;, A bit-vector algorithm for computing
+ *      Levenshtein and Damerau edit distances, Nordic Journal of Computing 10(1), 2003</a>
+ */
+final class BitParallelLevenshtein {
+
+    /**
+     * Looks for an early cut off every 8 columns.
+     */
+    private static final int CUT_OFF_MASK = 7;
+
+    /**
+     * Computes the Levenshtein distance between two CharSequences if it's less than or equal to a threshold.
+     *
+     * @param left the first CharSequence, not null
+     * @param right the second CharSequence, not null
+     * @param threshold the threshold, not negative, {@link Integer#MAX_VALUE} for none
+     * @return the distance, or -1 if it is greater than the threshold
+     */
+    static int distance(final CharSequence left, final CharSequence right, final int threshold) {
+        int leftEnd = left.length();
+        int rightEnd = right.length();
+        // the common prefix and suffix do not change the distance
+        int start = 0;
+        while (start < leftEnd && start < rightEnd && left.charAt(start) == right.charAt(start)) {
+            start++;
+        }
+        while (leftEnd > start && rightEnd > start && left.charAt(leftEnd - 1) == right.charAt(rightEnd - 1)) {
+            leftEnd--;
+            rightEnd--;
+        }
+        final int leftLength = leftEnd - start;
+        final int rightLength = rightEnd - start;
+        if (Math.abs(leftLength - rightLength) > threshold) {
+            return -1;
+        }
+        if (leftLength == 0 || rightLength == 0) {
+            return Math.max(leftLength, rightLength);
+        }
+        // the shorter input is the pattern, to use fewer words
+        if (leftLength <= rightLength) {
+            return new BitParallelLevenshtein(left, start, leftEnd).distance(right, start, rightEnd, threshold);
+        }
+        return new BitParallelLevenshtein(right, start, rightEnd).distance(left, start, leftEnd, threshold);
+    }
+
+    /**
+     * Tests whether to look for an early cut off at a column: the band must be narrow for the test to be cheap, and
+     * it is only run every few columns.
+     *
+     * @param column the 1-based index of the column
+     * @param threshold the threshold
+     * @return whether to look for an early cut off
+     */
+    private static boolean isCutOff(final long column, final int threshold) {
+        return threshold < Long.SIZE && (column & CUT_OFF_MASK) == 0;
+    }
+
+    /**
+     * The length of the pattern.
+     */
+    private final int length;
+
+    /**
+     * The number of 64-bit words per column.
+     */
+    private final int words;
+
+    /**
+     * The index of the bit of the last pattern character in the last word.
+     */
+    private final int lastShift;
+
+    /**
+     * The match vectors of the pattern.
+     */
+    private final MatchVectors vectors;
+
+    /**
+     * The match vectors, {@code words} per character id: bit {@code i} is set where the pattern character {@code i}
+     * is that character.
+     */
+    private final long[] peq;
+
+    /**
+     * The positive vertical deltas of the current column, for patterns longer than 64 characters.
+     */
+    private final long[] pv;
+
+    /**
+     * The negative vertical deltas of the current column, for patterns longer than 64 characters.
+     */
+    private final long[] mv;
+
+    /**
+     * The distances at the last row of each block in the current column, for patterns longer than 64 characters.
+     */
+    private final int[] scores;
+
+    /**
+     * Constructs a new instance for a pattern.
+     *
+     * @param pattern the pattern
+     * @param start the index of the first pattern character
+     * @param end the index after the last pattern character
+     */
+    BitParallelLevenshtein(final CharSequence pattern, final int start, final int end) {
+        vectors = new MatchVectors(pattern, start, end);
+        length = vectors.length;
+        words = vectors.words;
+        lastShift = length - 1 & Long.SIZE - 1;
+        peq = vectors.peq;
+        if (words > 1) {
+            pv = new long[words];
+            mv = new long[words];
+            scores = new int[words];
+        } else {
+            pv = null;
+            mv = null;
+            scores = null;
+        }
+    }
+
+    /**
+     * Computes the Levenshtein distance between the pattern and a text if it's less than or equal to a threshold.
+     *
+     * @param text the text
+     * @param start the index of the first text character
+     * @param end the index after the last text character
+     * @param threshold the threshold, not negative, {@link Integer#MAX_VALUE} for none
+     * @return the distance, or -1 if it is greater than the threshold
+     */
+    int distance(final CharSequence text, final int start, final int end, final int threshold) {
+        if (Math.abs(end - start - length) > threshold) {
+            return -1;
+        }
+        if (length == 0) {
+            return end - start;
+        }
+        return words == 1 ? distanceSingleWord(text, start, end, threshold)
+            : distanceMultiWord(text, start, end, threshold);
+    }
+
+    /**
+     * Computes the distance for a pattern of more than 64 characters.
+     * <p>
+     * Only the blocks crossing the diagonal band of the threshold are computed. Cells outside the band exceed the
+     * threshold, so they only need to keep values above it: a block entering the band starts from the cell above it
+     * plus one per row, and the block below the last one leaving it sees its bottom row grow by one per column.
+     * </p>
+     *
+     * @param text the text
+     * @param start the index of the first text character
+     * @param end the index after the last text character
+     * @param threshold the threshold, not negative, {@link Integer#MAX_VALUE} for none
+     * @return the distance, or -1 if it is greater than the threshold
+     */
+    private int distanceMultiWord(final CharSequence text, final int start, final int end, final int threshold) {
+        final long band = threshold;
+        final int last = words - 1;
+        int firstBlock = 0;
+        int lastBlock = (int) Math.min(last, band / Long.SIZE);
+        for (int b = 0; b <= lastBlock; b++) {
+            pv[b] = -1L;
+            mv[b] = 0L;
+            scores[b] = Math.min((b + 1) * Long.SIZE, length);
+        }
+        for (int j = start; j < end; j++) {
+            final long column = j - start + 1;
+            while (lastBlock < last && (long) Long.SIZE * (lastBlock + 1) <= column + band) {
+                lastBlock++;
+                pv[lastBlock] = -1L;
+                mv[lastBlock] = 0L;
+                scores[lastBlock] = scores[lastBlock - 1] + Math.min(Long.SIZE, length - lastBlock * Long.SIZE);
+            }
+            firstBlock = (int) Math.max(firstBlock, Math.min(lastBlock, Math.max(0, column - band - 1) / Long.SIZE));
+            final int id = vectors.id(text.charAt(j));
+            // the distance to the empty pattern grows by one per text character
+            int hin = 1;
+            for (int b = firstBlock; b <= lastBlock; b++) {
+                final long hinNegative = hin >>> Integer.SIZE - 1;
+                final long hinPositive = -hin >>> Integer.SIZE - 1;
+                final long match = id < 0 ? 0 : peq[id * words + b];
+                final long pvb = pv[b];
+                final long mvb = mv[b];
+                final long xv = match | mvb;
+                // a negative horizontal delta into the block acts as a match at its first row
+                final long eq = match | hinNegative;
+                final long xh = ((eq & pvb) + pvb ^ pvb) | eq;
+                final long ph = mvb | ~(xh | pvb);
+                final long mh = pvb & xh;
+                final int high = b == last ? lastShift : Long.SIZE - 1;
+                final int hout = (int) (ph >>> high & 1L) - (int) (mh >>> high & 1L);
+                final long phShifted = ph << 1 | hinPositive;
+                final long mhShifted = mh << 1 | hinNegative;
+                pv[b] = mhShifted | ~(xv | phShifted);
+                mv[b] = phShifted & xv;
+                scores[b] += hout;
+                hin = hout;
+            }
+            // each remaining text character lowers the distance by one at most
+            if (lastBlock == last && scores[last] - (end - j - 1) > threshold
+                || isCutOff(column, threshold) && exceeds(column, threshold, firstBlock, lastBlock)) {
+                return -1;
+            }
+        }
+        return scores[last] <= threshold ? scores[last] : -1;
+    }
+
+    /**
+     * Computes the distance for a pattern of at most 64 characters.
+     *
+     * @param text the text
+     * @param start the index of the first text character
+     * @param end the index after the last text character
+     * @param threshold the threshold, not negative, {@link Integer#MAX_VALUE} for none
+     * @return the distance, or -1 if it is greater than the threshold
+     */
+    private int distanceSingleWord(final CharSequence text, final int start, final int end, final int threshold) {
+        long pv1 = -1L;
+        long mv1 = 0L;
+        int score = length;
+        for (int j = start; j < end; j++) {
+            final int id = vectors.id(text.charAt(j));
+            final long eq = id < 0 ? 0 : peq[id];
+            final long xv = eq | mv1;
+            final long xh = ((eq & pv1) + pv1 ^ pv1) | eq;
+            final long ph = mv1 | ~(xh | pv1);
+            final long mh = pv1 & xh;
+            score += (int) (ph >>> lastShift & 1L) - (int) (mh >>> lastShift & 1L);
+            final long phShifted = ph << 1 | 1L;
+            pv1 = mh << 1 | ~(xv | phShifted);
+            mv1 = phShifted & xv;
+            if (score - (end - j - 1) > threshold) {
+                return -1;
+            }
+            final int column = j - start + 1;
+            if (isCutOff(column, threshold) && exceeds(0, pv1, mv1, score, column, threshold)) {
+                return -1;
+            }
+        }
+        return score <= threshold ? score : -1;
+    }
+
+    /**
+     * Tests whether all the cells of the current column within the band of the threshold exceed it, in which case
+     * so does the distance, since any alignment crosses each column.
+     *
+     * @param column the 1-based index of the current column
+     * @param threshold the threshold
+     * @param firstBlock the first computed block
+     * @param lastBlock the last computed block
+     * @return whether the distance exceeds the threshold
+     */
+    private boolean exceeds(final long column, final int threshold, final int firstBlock, final int lastBlock) {
+        for (int b = firstBlock; b <= lastBlock; b++) {
+            if (!exceeds(b, pv[b], mv[b], scores[b], column, threshold)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tests whether the cells of a block in the current column within the band of the threshold all exceed it.
+     *
+     * @param block the index of the block
+     * @param pvb the positive vertical deltas of the block
+     * @param mvb the negative vertical deltas of the block
+     * @param score the distance at the last row of the block
+     * @param column the 1-based index of the current column
+     * @param threshold the threshold
+     * @return whether the cells within the band all exceed the threshold
+     */
+    private boolean exceeds(final int block, final long pvb, final long mvb, final int score, final long column,
+            final int threshold) {
+        final int top = block * Long.SIZE + 1;
+        final int bottom = Math.min(top + Long.SIZE - 1, length);
+        final long lo = Math.max(1, column - threshold);
+        final long hi = Math.min(length, column + threshold);
+        if (bottom < lo || top > hi) {
+            return true;
+        }
+        int row = (int) Math.min(bottom, hi);
+        final int below = bottom - row;
+        // the bottom row distance, less the vertical deltas of the rows below the band
+        final long maskBelow = below == 0 ? 0 : -1L >>> Long.SIZE - below << row - top + 1;
+        int value = score - Long.bitCount(pvb & maskBelow) + Long.bitCount(mvb & maskBelow);
+        final int stop = (int) Math.max(top, lo);
+        while (value > threshold) {
+            if (row == stop) {
+                return true;
+            }
+            final int bit = row - top;
+            value -= (int) (pvb >>> bit & 1L) - (int) (mvb >>> bit & 1L);
+            row--;
+        }
+        return false;
+    }
+
+}
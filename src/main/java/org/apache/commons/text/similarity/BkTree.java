@@ -0,0 +1,479 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.similarity;
+
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * An index of terms under an edit distance which is a metric, a Burkhard-Keller tree, to find the terms close to a
+ * query without comparing it to all of them.
+ * <p>
+ * Each node keeps its children by their distance to it. By the triangle inequality, the terms within {@code k} of a
+ * query at distance {@code d} from a node are under the children at distances {@code d - k} to {@code d + k} from it,
+ * so a search only visits a small part of the tree when {@code k} is small. The distance must be a metric, such as
+ * {@link LevenshteinDistance} without a threshold, or {@link HammingDistance} over terms of the same length; a
+ * {@link LevenshteinDistance} computes each distance with the bit-parallel algorithm, only as far as it can still
+ * matter.
+ * </p>
+ * <p>
+ * The following is an example which suggests the three words closest to a misspelling, at a distance of at most 2:
+ * </p>
+ * <pre>
+ * BkTree&lt;String&gt; tree = BkTree.of(LevenshteinDistance.getDefaultInstance(), words);
+ * List&lt;Map.Entry&lt;String, Integer&gt;&gt; suggestions = tree.nearest("aplpe", 3, 2);
+ * </pre>
+ * <p>
+ * This class is thread-safe: searches run concurrently without locking, and see the terms added before they
+ * started; additions are serialized.
+ * </p>
+ *
+ * @param <T> the type of the terms.
+ * @since 1.13.0
+ */
+public final class BkTree<T extends CharSequence> {
+
+    /**
+     * A term of the tree.
+     *
+     * @param <T> the type of the term.
+     */
+    private static final class Node<T> {
+
+        /** The term. */
+        private final T term;
+
+        /** The distance to the parent, 0 for the root. */
+        private final int key;
+
+        /** The position of the term in the additions. */
+        private final int index;
+
+        /** The children, by increasing key; replaced, never modified, once published. */
+        private volatile Node<T>[] children;
+
+        @SuppressWarnings("unchecked")
+        private Node(final T term, final int key, final int index) {
+            this.term = term;
+            this.key = key;
+            this.index = index;
+            this.children = new Node[0];
+        }
+
+        /**
+         * Gets the child at a distance.
+         *
+         * @param distance the distance to this node.
+         * @return the child, or {@code null} if there is none.
+         */
+        private Node<T> child(final int distance) {
+            final Node<T>[] nodes = children;
+            final int i = lowerBound(nodes, distance);
+            return i < nodes.length && nodes[i].key == distance ? nodes[i] : null;
+        }
+
+        /**
+         * Adds a child, publishing a new array of children.
+         *
+         * @param child the child, whose key is not one of those of the other children.
+         */
+        private void addChild(final Node<T> child) {
+            final Node<T>[] nodes = children;
+            final int i = lowerBound(nodes, child.key);
+            final Node<T>[] copy = Arrays.copyOf(nodes, nodes.length + 1);
+            System.arraycopy(nodes, i, copy, i + 1, nodes.length - i);
+            copy[i] = child;
+            children = copy;
+        }
+    }
+
+    /**
+     * A node to visit, with a lower bound of the distances of the terms under it to the query.
+     *
+     * @param <T> the type of the terms.
+     */
+    private static final class Pending<T> {
+
+        /** The node. */
+        private final Node<T> node;
+
+        /** The lower bound of the distances of the terms under the node to the query. */
+        private final int bound;
+
+        private Pending(final Node<T> node, final int bound) {
+            this.node = node;
+            this.bound = bound;
+        }
+    }
+
+    /**
+     * A term and its distance to the query.
+     *
+     * @param <T> the type of the term.
+     */
+    private static final class Match<T> {
+
+        /** The term. */
+        private final Node<T> node;
+
+        /** The distance to the query. */
+        private final int distance;
+
+        private Match(final Node<T> node, final int distance) {
+            this.node = node;
+            this.distance = distance;
+        }
+    }
+
+    /**
+     * Measures the distances of terms to a query, with the scratch state of a single search.
+     */
+    @FunctionalInterface
+    private interface Measure {
+
+        /**
+         * Measures the distance of a term to the query.
+         *
+         * @param term the term.
+         * @param limit the greatest distance worth computing exactly.
+         * @return the distance, or any value greater than the limit if it is greater.
+         */
+        int distance(CharSequence term, int limit);
+    }
+
+    /**
+     * Orders matches by distance, then by position in the additions.
+     */
+    private static final Comparator<Match<?>> MATCH_ORDER = Comparator.<Match<?>>comparingInt(m -> m.distance)
+        .thenComparingInt(m -> m.node.index);
+
+    /**
+     * The maximum initial capacity of the queue of matches of a search.
+     */
+    private static final int MAX_INITIAL_CAPACITY = 1024;
+
+    /**
+     * Adds two non-negative ints, saturating at {@link Integer#MAX_VALUE}.
+     *
+     * @param a the first int.
+     * @param b the second int.
+     * @return the sum, or {@link Integer#MAX_VALUE} if it overflows.
+     */
+    private static int add(final int a, final int b) {
+        final int sum = a + b;
+        return sum < 0 ? Integer.MAX_VALUE : sum;
+    }
+
+    /**
+     * Gets the index of the first node with a key greater than or equal to a key.
+     *
+     * @param <T> the type of the terms.
+     * @param nodes the nodes, by increasing key.
+     * @param key the key.
+     * @return the index, {@code nodes.length} if there is none.
+     */
+    private static <T> int lowerBound(final Node<T>[] nodes, final int key) {
+        int low = 0;
+        int high = nodes.length;
+        while (low < high) {
+            final int middle = low + high >>> 1;
+            if (nodes[middle].key < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Creates a tree of terms.
+     *
+     * @param <T> the type of the terms.
+     * @param editDistance the edit distance, a metric, must not be null.
+     * @param terms the terms, none of which may be null.
+     * @return a new tree.
+     * @throws IllegalArgumentException if the edit distance or a term is {@code null}, or a distance is negative.
+     */
+    public static <T extends CharSequence> BkTree<T> of(final EditDistance<Integer> editDistance, final Iterable<? extends T> terms) {
+        final BkTree<T> tree = new BkTree<>(editDistance);
+        tree.addAll(terms);
+        return tree;
+    }
+
+    /**
+     * Converts matches to entries, by increasing distance then by position in the additions.
+     *
+     * @param <T> the type of the terms.
+     * @param matches the matches.
+     * @return the entries of the terms and their distances.
+     */
+    private static <T> List<Map.Entry<T, Integer>> toEntries(final List<Match<T>> matches) {
+        matches.sort(MATCH_ORDER);
+        final List<Map.Entry<T, Integer>> result = new ArrayList<>(matches.size());
+        for (final Match<T> match : matches) {
+            result.add(new AbstractMap.SimpleImmutableEntry<>(match.node.term, match.distance));
+        }
+        return result;
+    }
+
+    /**
+     * The edit distance.
+     */
+    private final EditDistance<Integer> editDistance;
+
+    /**
+     * Creates the measure of a search for a query.
+     */
+    private final Function<CharSequence, Measure> measureFactory;
+
+    /**
+     * The root, or {@code null} if the tree is empty.
+     */
+    private volatile Node<T> root;
+
+    /**
+     * The number of terms.
+     */
+    private volatile int size;
+
+    /**
+     * Constructs an empty tree.
+     *
+     * @param editDistance the edit distance, a metric, must not be null.
+     * @throws IllegalArgumentException if the edit distance is {@code null}, or is a {@link LevenshteinDistance} with
+     *         a threshold, which is not a metric.
+     */
+    public BkTree(final EditDistance<Integer> editDistance) {
+        Validate.isTrue(editDistance != null, "The edit distance must not be null");
+        this.editDistance = editDistance;
+        if (editDistance instanceof LevenshteinDistance) {
+            final LevenshteinDistance levenshtein = (LevenshteinDistance) editDistance;
+            Validate.isTrue(levenshtein.getThreshold() == null, "The Levenshtein distance must not have a threshold");
+            measureFactory = query -> {
+                final LevenshteinDistanceFrom from = levenshtein.from(query);
+                return (term, limit) -> {
+                    final int d = from.applyAsInt(term, limit);
+                    return d >= 0 ? d : add(limit, 1);
+                };
+            };
+        } else {
+            measureFactory = query -> (term, limit) -> distance(query, term);
+        }
+    }
+
+    /**
+     * Adds a term, unless the tree has a term at distance 0 from it.
+     *
+     * @param term the term, must not be null.
+     * @return whether the term was added.
+     * @throws IllegalArgumentException if the term is {@code null}, or a distance is negative.
+     */
+    public synchronized boolean add(final T term) {
+        Validate.isTrue(term != null, "The term must not be null");
+        Node<T> node = root;
+        if (node == null) {
+            root = new Node<>(term, 0, size);
+            size++;
+            return true;
+        }
+        while (true) {
+            final int d = distance(term, node.term);
+            if (d == 0) {
+                return false;
+            }
+            final Node<T> child = node.child(d);
+            if (child == null) {
+                node.addChild(new Node<>(term, d, size));
+                size++;
+                return true;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Adds terms, but those at distance 0 from a term of the tree.
+     *
+     * @param terms the terms, none of which may be null.
+     * @return the number of terms added.
+     * @throws IllegalArgumentException if a term is {@code null}, or a distance is negative.
+     */
+    public synchronized int addAll(final Iterable<? extends T> terms) {
+        Validate.isTrue(terms != null, "The terms must not be null");
+        int added = 0;
+        for (final T term : terms) {
+            if (add(term)) {
+                added++;
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Computes the distance between two terms.
+     *
+     * @param left the first term.
+     * @param right the second term.
+     * @return the distance.
+     * @throws IllegalArgumentException if the distance is negative.
+     */
+    private int distance(final CharSequence left, final CharSequence right) {
+        final Integer d = editDistance.apply(left, right);
+        Validate.isTrue(d != null && d >= 0, "The edit distance must not be negative: %s", d);
+        return d;
+    }
+
+    /**
+     * Gets the edit distance.
+     *
+     * @return the edit distance.
+     */
+    public EditDistance<Integer> getEditDistance() {
+        return editDistance;
+    }
+
+    /**
+     * Finds the terms closest to a query.
+     *
+     * @param query the query, must not be null.
+     * @param k the maximum number of terms to return, must not be negative.
+     * @return at most {@code k} terms with their distances, by increasing distance then by order of addition.
+     * @throws IllegalArgumentException if the query is {@code null} or {@code k} is negative.
+     */
+    public List<Map.Entry<T, Integer>> nearest(final CharSequence query, final int k) {
+        return nearest(query, k, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Finds the terms closest to a query, within a distance.
+     * <p>
+     * The children closest to the distance of their parent are searched first; once {@code k} terms are found, the
+     * farthest of them bounds the distances worth computing, and prunes the nodes not yet searched.
+     * </p>
+     *
+     * @param query the query, must not be null.
+     * @param k the maximum number of terms to return, must not be negative.
+     * @param maxDistance the maximum distance of a term, must not be negative.
+     * @return at most {@code k} terms within {@code maxDistance} with their distances, by increasing distance then by
+     *         order of addition.
+     * @throws IllegalArgumentException if the query is {@code null}, or {@code k} or {@code maxDistance} is negative.
+     */
+    public List<Map.Entry<T, Integer>> nearest(final CharSequence query, final int k, final int maxDistance) {
+        Validate.isTrue(query != null, "The query must not be null");
+        Validate.isTrue(k >= 0, "k must not be negative: %d", k);
+        Validate.isTrue(maxDistance >= 0, "The maximum distance must not be negative: %d", maxDistance);
+        final Node<T> start = root;
+        if (k == 0 || start == null) {
+            return Collections.emptyList();
+        }
+        final Measure measure = measureFactory.apply(query);
+        // the farthest kept match is at the head
+        final PriorityQueue<Match<T>> kept = new PriorityQueue<>(Math.min(k, MAX_INITIAL_CAPACITY), MATCH_ORDER.reversed());
+        final Deque<Pending<T>> pending = new ArrayDeque<>();
+        pending.push(new Pending<>(start, 0));
+        int radius = maxDistance;
+        while (!pending.isEmpty()) {
+            final Pending<T> next = pending.pop();
+            if (next.bound > radius) {
+                continue;
+            }
+            final Node<T> node = next.node;
+            final Node<T>[] children = node.children;
+            final int limit = children.length == 0 ? radius : add(children[children.length - 1].key, radius);
+            final int d = measure.distance(node.term, limit);
+            if (d <= radius) {
+                kept.add(new Match<>(node, d));
+                if (kept.size() > k) {
+                    kept.poll();
+                }
+                if (kept.size() == k) {
+                    // ties go to the earlier terms, which may still be found at the same distance
+                    radius = kept.peek().distance;
+                }
+            }
+            if (d <= limit) {
+                // push the farthest children first, so that the closest are searched first and shrink the radius
+                int low = lowerBound(children, d - radius);
+                int high = lowerBound(children, add(add(d, radius), 1)) - 1;
+                while (low <= high) {
+                    final Node<T> child = Math.abs(d - children[low].key) > Math.abs(d - children[high].key) ? children[low++] : children[high--];
+                    pending.push(new Pending<>(child, Math.max(next.bound, Math.abs(d - child.key))));
+                }
+            }
+        }
+        return toEntries(new ArrayList<>(kept));
+    }
+
+    /**
+     * Finds the terms within a distance of a query.
+     *
+     * @param query the query, must not be null.
+     * @param maxDistance the maximum distance of a term, must not be negative.
+     * @return the terms within {@code maxDistance} with their distances, by increasing distance then by order of
+     *         addition.
+     * @throws IllegalArgumentException if the query is {@code null} or {@code maxDistance} is negative.
+     */
+    public List<Map.Entry<T, Integer>> search(final CharSequence query, final int maxDistance) {
+        Validate.isTrue(query != null, "The query must not be null");
+        Validate.isTrue(maxDistance >= 0, "The maximum distance must not be negative: %d", maxDistance);
+        final Node<T> start = root;
+        if (start == null) {
+            return Collections.emptyList();
+        }
+        final Measure measure = measureFactory.apply(query);
+        final List<Match<T>> matches = new ArrayList<>();
+        final Deque<Node<T>> stack = new ArrayDeque<>();
+        stack.push(start);
+        while (!stack.isEmpty()) {
+            final Node<T> node = stack.pop();
+            final Node<T>[] children = node.children;
+            final int limit = children.length == 0 ? maxDistance : add(children[children.length - 1].key, maxDistance);
+            final int d = measure.distance(node.term, limit);
+            if (d <= maxDistance) {
+                matches.add(new Match<>(node, d));
+            }
+            if (d <= limit) {
+                for (int i = lowerBound(children, d - maxDistance); i < children.length && children[i].key <= add(d, maxDistance); i++) {
+                    stack.push(children[i]);
+                }
+            }
+        }
+        return toEntries(matches);
+    }
+
+    /**
+     * Gets the number of terms.
+     *
+     * @return the number of terms.
+     */
+    public int size() {
+        return size;
+    }
+
+}
@@ -16,9 +16,7 @@
  */
 package org.apache.commons.text.similarity;
 
-import java.util.HashSet;
 import java.util.Map;
-import java.util.Set;
 
 /**
  * Measures the Cosine similarity of two vectors of an inner product space and compares the angle between them.
@@ -26,6 +24,10 @@ import java.util.Set;
  * For further explanation about the Cosine Similarity, refer to https://en.wikipedia.org/wiki/Cosine_similarity.
  * </p>
  * <p>
+ * To compare many vectors, such as a query to a corpus, build them once as {@link SparseVector}s with a
+ * {@link TermDictionary}, whose cosine similarities do not allocate.
+ * </p>
+ * <p>
  * Instances of this class are immutable and are safe for use by multiple concurrent threads.
  * </p>
  *
@@ -51,16 +53,14 @@ public class CosineSimilarity {
             throw new IllegalArgumentException("Vectors must not be null");
         }
 
-        final Set<CharSequence> intersection = getIntersection(leftVector, rightVector);
-
-        final double dotProduct = dot(leftVector, rightVector, intersection);
+        final double dotProduct = dot(leftVector, rightVector);
         double d1 = 0.0d;
         for (final Integer value : leftVector.values()) {
-            d1 += Math.pow(value, 2);
+            d1 += (double) value * value;
         }
         double d2 = 0.0d;
         for (final Integer value : rightVector.values()) {
-            d2 += Math.pow(value, 2);
+            d2 += (double) value * value;
         }
         final double cosineSimilarity;
         if (d1 <= 0.0 || d2 <= 0.0) {
@@ -72,36 +72,24 @@ public class CosineSimilarity {
     }
 
     /**
-     * Computes the dot product of two vectors. It ignores remaining elements. It means
-     * that if a vector is longer than other, then a smaller part of it will be used to compute
-     * the dot product.
+     * Computes the dot product of two vectors, over the keys common to both, by looking up the keys of the smaller
+     * one in the larger one.
      *
      * @param leftVector left vector
      * @param rightVector right vector
-     * @param intersection common elements
      * @return The dot product
      */
-    private double dot(final Map<CharSequence, Integer> leftVector, final Map<CharSequence, Integer> rightVector,
-            final Set<CharSequence> intersection) {
+    private double dot(final Map<CharSequence, Integer> leftVector, final Map<CharSequence, Integer> rightVector) {
+        final Map<CharSequence, Integer> smaller = leftVector.size() <= rightVector.size() ? leftVector : rightVector;
+        final Map<CharSequence, Integer> larger = smaller == leftVector ? rightVector : leftVector;
         long dotProduct = 0;
-        for (final CharSequence key : intersection) {
-            dotProduct += leftVector.get(key) * (long) rightVector.get(key);
+        for (final Map.Entry<CharSequence, Integer> entry : smaller.entrySet()) {
+            final Integer value = larger.get(entry.getKey());
+            if (value != null) {
+                dotProduct += entry.getValue() * (long) value;
+            }
         }
         return dotProduct;
     }
 
-    /**
-     * Returns a set with keys common to the two given maps.
-     *
-     * @param leftVector left vector map
-     * @param rightVector right vector map
-     * @return common strings
-     */
-    private Set<CharSequence> getIntersection(final Map<CharSequence, Integer> leftVector,
-            final Map<CharSequence, Integer> rightVector) {
-        final Set<CharSequence> intersection = new HashSet<>(leftVector.keySet());
-        intersection.retainAll(rightVector.keySet());
-        return intersection;
-    }
-
 }
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.similarity;
+
+/**
+ * Decorates an {@link EditDistance} with a bounded cache of its results, so that the decorated distance is still an
+ * {@link EditDistance}, for instance to index terms in a {@link BkTree}.
+ * <p>
+ * The following is an example which caches a Levenshtein distance, keying both orders of a pair on one entry:
+ * </p>
+ * <pre>
+ * EditDistanceCache&lt;Integer&gt; distance = new EditDistanceCache&lt;&gt;(LevenshteinDistance.getDefaultInstance(), 10_000, true);
+ * </pre>
+ * <p>
+ * This class is thread-safe if the decorated distance is.
+ * </p>
+ *
+ * @param <R> The type of similarity score unit used by the edit distance.
+ * @see SimilarityScoreCache
+ * @since 1.13.0
+ */
+public final class EditDistanceCache<R> extends SimilarityScoreCache<R> implements EditDistance<R> {
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param editDistance the distance to decorate, may not be null.
+     * @param maximumSize the maximum number of cached pairs, at least 1.
+     * @param symmetric whether both orders of a pair share an entry, which is only valid if
+     *        {@code apply(a, b).equals(apply(b, a))} for all pairs; it is not for a {@link LevenshteinDetailedDistance},
+     *        whose results for the two orders swap their insert and delete counts.
+     * @throws IllegalArgumentException if the distance is null or the maximum size is less than 1.
+     */
+    public EditDistanceCache(final EditDistance<R> editDistance, final int maximumSize, final boolean symmetric) {
+        super(editDistance, maximumSize, symmetric);
+    }
+
+    /**
+     * Gets the decorated distance.
+     *
+     * @return the decorated distance.
+     */
+    public EditDistance<R> getEditDistance() {
+        return (EditDistance<R>) getSimilarityScore();
+    }
+
+}
@@ -55,6 +55,19 @@ public class FuzzyScore {
         this.locale = locale;
     }
 
+    /**
+     * Creates a score from a query to many terms, which changes the case of the query once and the case of the terms
+     * character by character, without allocating.
+     *
+     * @param query the query that will be matched against terms, must not be null.
+     * @return a new score from the query.
+     * @throws IllegalArgumentException if the query is {@code null}.
+     * @since 1.13.0
+     */
+    public FuzzyScoreFrom from(final CharSequence query) {
+        return new FuzzyScoreFrom(this, query);
+    }
+
     /**
      * Find the Fuzzy Score which indicates the similarity score between two
      * Strings.
@@ -90,6 +103,26 @@ public class FuzzyScore {
         final String termLowerCase = term.toString().toLowerCase(locale);
         final String queryLowerCase = query.toString().toLowerCase(locale);
 
+        return score(termLowerCase, queryLowerCase);
+    }
+
+    /**
+     * Gets the locale.
+     *
+     * @return The locale
+     */
+    public Locale getLocale() {
+        return locale;
+    }
+
+    /**
+     * Scores a term against a query, both already in lower case.
+     *
+     * @param termLowerCase the term in lower case.
+     * @param queryLowerCase the query in lower case.
+     * @return result score
+     */
+    static int score(final String termLowerCase, final String queryLowerCase) {
         // the resulting score
         int score = 0;
 
@@ -130,13 +163,4 @@ public class FuzzyScore {
         return score;
     }
 
-    /**
-     * Gets the locale.
-     *
-     * @return The locale
-     */
-    public Locale getLocale() {
-        return locale;
-    }
-
 }
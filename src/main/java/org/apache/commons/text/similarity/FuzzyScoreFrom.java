@@ -0,0 +1,347 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.similarity;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.ObjIntConsumer;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Computes the {@link FuzzyScore} of many terms against a fixed query.
+ * <p>
+ * The query is changed to lower case once, by {@link FuzzyScore#from(CharSequence)}, and the characters of each term
+ * are changed to lower case one by one as they are scanned, so that scoring a term does not allocate. The few
+ * characters whose lower case depends on their context or spans several characters, such as a Greek capital sigma
+ * or, in the Turkish, Azerbaijani and Lithuanian locales, some forms of the letter I, make the term be changed to lower
+ * case as a whole, so that the scores are always those of {@link FuzzyScore#fuzzyScore(CharSequence, CharSequence)}.
+ * </p>
+ * <p>
+ * The following is an example which ranks the ten best completions of what a user typed:
+ * </p>
+ * <pre>
+ * FuzzyScoreFrom from = new FuzzyScore(Locale.ENGLISH).from("asf");
+ * List&lt;Map.Entry&lt;String, Integer&gt;&gt; best = from.topK(names, 10);
+ * </pre>
+ * <p>
+ * This class is immutable and thread-safe.
+ * </p>
+ *
+ * @since 1.13.0
+ */
+public class FuzzyScoreFrom {
+
+    /**
+     * A candidate kept by {@link FuzzyScoreFrom#topK(Iterable, int)}.
+     *
+     * @param <T> the type of the candidate.
+     */
+    private static final class Candidate<T> {
+
+        /** The candidate. */
+        private final T value;
+
+        /** The score against the query. */
+        private final int score;
+
+        /** The position of the candidate in the input. */
+        private final long index;
+
+        private Candidate(final T value, final int score, final long index) {
+            this.value = value;
+            this.score = score;
+            this.index = index;
+        }
+    }
+
+    /**
+     * Orders candidates by decreasing score, then by position in the input.
+     */
+    private static final Comparator<Candidate<?>> CANDIDATE_ORDER = Comparator.<Candidate<?>>comparingInt(c -> -c.score)
+        .thenComparingLong(c -> c.index);
+
+    /**
+     * The most points a query character can add to a score: one for the match and two for following the previous one.
+     */
+    private static final int MAX_POINTS = 3;
+
+    /**
+     * Marks a character which must be changed to lower case with its term.
+     */
+    private static final int IN_CONTEXT = -1;
+
+    /**
+     * Tests whether a character is a combining mark.
+     *
+     * @param c the character.
+     * @return whether the character is a combining mark.
+     */
+    private static boolean isMark(final char c) {
+        final int type = Character.getType(c);
+        return type == Character.NON_SPACING_MARK || type == Character.ENCLOSING_MARK || type == Character.COMBINING_SPACING_MARK;
+    }
+
+    /**
+     * The fuzzy score.
+     */
+    private final FuzzyScore fuzzyScore;
+
+    /**
+     * The query.
+     */
+    private final CharSequence query;
+
+    /**
+     * The query in lower case.
+     */
+    private final String queryLowerCase;
+
+    /**
+     * Whether the locale is Turkish or Azerbaijani, where I has a dotless lower case.
+     */
+    private final boolean turkic;
+
+    /**
+     * Whether the locale is Lithuanian, where I and J keep a dot under accents.
+     */
+    private final boolean lithuanian;
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param fuzzyScore the fuzzy score.
+     * @param query the query, must not be null.
+     */
+    FuzzyScoreFrom(final FuzzyScore fuzzyScore, final CharSequence query) {
+        Validate.isTrue(query != null, "The query must not be null");
+        this.fuzzyScore = fuzzyScore;
+        this.query = query;
+        final Locale locale = fuzzyScore.getLocale();
+        this.queryLowerCase = query.toString().toLowerCase(locale);
+        final String language = locale.getLanguage();
+        this.turkic = language.equals("tr") || language.equals("az");
+        this.lithuanian = language.equals("lt");
+    }
+
+    /**
+     * Scores a term against the query.
+     *
+     * @param term the term, must not be null.
+     * @return result score
+     * @throws IllegalArgumentException if the term is {@code null}.
+     */
+    public Integer apply(final CharSequence term) {
+        return applyAsInt(term);
+    }
+
+    /**
+     * Scores terms against the query.
+     *
+     * @param terms the terms, none of which may be null.
+     * @return the scores, in the order of the terms.
+     * @throws IllegalArgumentException if a term is {@code null}.
+     */
+    public int[] applyAll(final List<? extends CharSequence> terms) {
+        final int[] scores = new int[terms.size()];
+        int i = 0;
+        for (final CharSequence term : terms) {
+            scores[i++] = applyAsInt(term);
+        }
+        return scores;
+    }
+
+    /**
+     * Scores terms against the query, passing each term and its score to a consumer.
+     *
+     * @param <T> the type of the terms.
+     * @param terms the terms, none of which may be null.
+     * @param consumer receives each term and its score.
+     * @throws IllegalArgumentException if a term is {@code null}.
+     */
+    public <T extends CharSequence> void applyAll(final Iterable<T> terms, final ObjIntConsumer<? super T> consumer) {
+        for (final T term : terms) {
+            consumer.accept(term, applyAsInt(term));
+        }
+    }
+
+    /**
+     * Scores a term against the query, without boxing.
+     *
+     * @param term the term, must not be null.
+     * @return result score
+     * @throws IllegalArgumentException if the term is {@code null}.
+     */
+    public int applyAsInt(final CharSequence term) {
+        return applyAsInt(term, -1);
+    }
+
+    /**
+     * Scores a term against the query if it's greater than a floor.
+     *
+     * @param term the term, must not be null.
+     * @param floor the floor.
+     * @return result score, or -1 if it is not greater than the floor.
+     */
+    private int applyAsInt(final CharSequence term, final int floor) {
+        if (term == null) {
+            throw new IllegalArgumentException("CharSequences must not be null");
+        }
+        final int queryLength = queryLowerCase.length();
+        final int termLength = term.length();
+        int score = 0;
+        int termIndex = 0;
+        int previousMatchingCharacterIndex = Integer.MIN_VALUE;
+        for (int queryIndex = 0; queryIndex < queryLength && termIndex < termLength; queryIndex++) {
+            if (score + MAX_POINTS * (queryLength - queryIndex) <= floor) {
+                return -1;
+            }
+            final char queryChar = queryLowerCase.charAt(queryIndex);
+            while (termIndex < termLength) {
+                final int termChar = toLowerCase(term, termIndex);
+                if (termChar == IN_CONTEXT) {
+                    final int slow = FuzzyScore.score(term.toString().toLowerCase(fuzzyScore.getLocale()), queryLowerCase);
+                    return slow > floor ? slow : -1;
+                }
+                if (termChar == queryChar) {
+                    score++;
+                    if (previousMatchingCharacterIndex + 1 == termIndex) {
+                        score += 2;
+                    }
+                    previousMatchingCharacterIndex = termIndex++;
+                    break;
+                }
+                termIndex++;
+            }
+        }
+        return score > floor ? score : -1;
+    }
+
+    /**
+     * Gets the fuzzy score.
+     *
+     * @return the fuzzy score.
+     */
+    public FuzzyScore getFuzzyScore() {
+        return fuzzyScore;
+    }
+
+    /**
+     * Gets the query.
+     *
+     * @return the query.
+     */
+    public CharSequence getQuery() {
+        return query;
+    }
+
+    /**
+     * Changes a character of a term to lower case, as {@link String#toLowerCase(Locale)} does for the whole term.
+     *
+     * @param term the term.
+     * @param index the index of the character.
+     * @return the character in lower case, or {@link #IN_CONTEXT} if only the whole term can be changed to lower case.
+     */
+    private int toLowerCase(final CharSequence term, final int index) {
+        final char c = term.charAt(index);
+        if (c < 'A') {
+            return c;
+        }
+        if (c <= 'Z') {
+            if (c == 'I' || c == 'J') {
+                if (lithuanian) {
+                    return IN_CONTEXT;
+                }
+                if (turkic && c == 'I') {
+                    // lower case dotless, unless a combining dot above follows
+                    return index + 1 < term.length() && isMark(term.charAt(index + 1)) ? IN_CONTEXT : '\u0131';
+                }
+            }
+            return c + ('a' - 'A');
+        }
+        if (c < '\u00C0') {
+            return c;
+        }
+        switch (c) {
+        case '\u0130': // capital I with dot above, which is two characters in lower case outside of Turkic locales
+        case '\u03A3': // capital sigma, which has a final form
+            return IN_CONTEXT;
+        case '\u0307': // combining dot above, dropped after an I in Turkic locales
+            return turkic ? IN_CONTEXT : c;
+        case '\u00CC':
+        case '\u00CD':
+        case '\u0128':
+        case '\u012E': // Lithuanian I with accents or ogonek, which keep their dot
+            return lithuanian ? IN_CONTEXT : Character.toLowerCase(c);
+        default:
+            return Character.isSurrogate(c) ? IN_CONTEXT : Character.toLowerCase(c);
+        }
+    }
+
+    /**
+     * Finds the terms which best match the query.
+     * <p>
+     * Once {@code k} terms are found, the score of the worst one becomes a floor for the next terms, so that they are
+     * discarded as soon as they cannot exceed it.
+     * </p>
+     *
+     * @param <T> the type of the terms.
+     * @param terms the terms, none of which may be null.
+     * @param k the maximum number of terms to return, must not be negative.
+     * @return at most {@code k} terms with their scores, by decreasing score then by position in the input; terms which
+     *         do not match any character of the query are excluded.
+     * @throws IllegalArgumentException if a term is {@code null} or {@code k} is negative.
+     */
+    public <T extends CharSequence> List<Map.Entry<T, Integer>> topK(final Iterable<T> terms, final int k) {
+        Validate.isTrue(k >= 0, "k must not be negative: %d", k);
+        if (k == 0) {
+            return Collections.emptyList();
+        }
+        // the worst kept term is at the head
+        final PriorityQueue<Candidate<T>> kept = new PriorityQueue<>(Math.min(k, 1024), CANDIDATE_ORDER.reversed());
+        int floor = 0;
+        long index = 0;
+        for (final T term : terms) {
+            final int score = applyAsInt(term, floor);
+            if (score > 0) {
+                kept.add(new Candidate<>(term, score, index));
+                if (kept.size() > k) {
+                    kept.poll();
+                }
+                if (kept.size() == k) {
+                    // ties go to the earlier terms
+                    floor = kept.peek().score;
+                }
+            }
+            index++;
+        }
+        final List<Candidate<T>> sorted = new ArrayList<>(kept);
+        sorted.sort(CANDIDATE_ORDER);
+        final List<Map.Entry<T, Integer>> result = new ArrayList<>(sorted.size());
+        for (final Candidate<T> candidate : sorted) {
+            result.add(new AbstractMap.SimpleImmutableEntry<>(candidate.value, candidate.score));
+        }
+        return result;
+    }
+
+}
@@ -91,6 +91,26 @@ public class HammingDistance implements EditDistance<Integer> {
             throw new IllegalArgumentException("SimilarityInput must have the same length");
         }
         int distance = 0;
+        if (left instanceof SimilarityCharacterInput && right instanceof SimilarityCharacterInput) {
+            final CharSequence leftChars = ((SimilarityCharacterInput) left).getCharSequence();
+            final CharSequence rightChars = ((SimilarityCharacterInput) right).getCharSequence();
+            for (int i = 0; i < leftChars.length(); i++) {
+                if (leftChars.charAt(i) != rightChars.charAt(i)) {
+                    distance++;
+                }
+            }
+            return distance;
+        }
+        if (left instanceof IntSimilarityInput && right instanceof IntSimilarityInput) {
+            final IntSimilarityInput leftInts = (IntSimilarityInput) left;
+            final IntSimilarityInput rightInts = (IntSimilarityInput) right;
+            for (int i = 0; i < leftInts.length(); i++) {
+                if (leftInts.getAsInt(i) != rightInts.getAsInt(i)) {
+                    distance++;
+                }
+            }
+            return distance;
+        }
         for (int i = 0; i < left.length(); i++) {
             if (!left.at(i).equals(right.at(i))) {
                 distance++;
@@ -0,0 +1,333 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.similarity;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Computes the Levenshtein distance of two inputs and the insertions, deletions and substitutions of an alignment
+ * with the divide and conquer algorithm of Hirschberg, in space linear in the lengths of the inputs.
+ * <p>
+ * The left input is split in half; the last rows of the dynamic programming matrices of its first half against the
+ * right input and of its reversed second half against the reversed right input give the point where an optimal
+ * alignment crosses the middle, and the two halves are then aligned independently, in parallel in the common
+ * {@link java.util.concurrent.ForkJoinPool} when they are large.
+ * </p>
+ * <p>
+ * Minimal alignments may differ in their numbers of operations, "ab" to "ba" takes two substitutions or one deletion
+ * and one insertion: the cost of a cell packs the distance in its high 32 bits and the number of insertions and
+ * deletions in its low 32 bits, so that of the minimal alignments, the one with the fewest insertions and deletions is
+ * chosen, and the counts do not depend on the order in which the halves are solved.
+ * </p>
+ *
+ * @see <a href="https://doi.org/10.1145/360825.360861">D. S. Hirschberg, A linear space algorithm for computing
+ *      maximal common subsequences, CACM 18(6), 1975</a>
+ */
+final class HirschbergLevenshtein {
+
+    /**
+     * Solves the regions of at most this many cells with a full matrix.
+     */
+    private static final int BASE_CELLS = 1 << 12;
+
+    /**
+     * Solves the halves of the regions of at least this many cells in parallel.
+     */
+    private static final long PARALLEL_CELLS = 1L << 20;
+
+    /**
+     * The cost of a substitution: one more edit.
+     */
+    private static final long SUBSTITUTION = 1L << Integer.SIZE;
+
+    /**
+     * The cost of an insertion or a deletion: one more edit, and one more insertion or deletion.
+     */
+    private static final long INDEL = SUBSTITUTION + 1;
+
+    /**
+     * The index of the insertion count in the counts.
+     */
+    private static final int INSERT = 0;
+
+    /**
+     * The index of the deletion count in the counts.
+     */
+    private static final int DELETE = 1;
+
+    /**
+     * The index of the substitution count in the counts.
+     */
+    private static final int SUBSTITUTE = 2;
+
+    /**
+     * Aligns a region of the inputs, forking the halves of large regions.
+     */
+    private static final class Solver extends RecursiveTask<int[]> {
+
+        private static final long serialVersionUID = 1L;
+
+        /** The left input, as element ids. */
+        private final int[] left;
+
+        /** The right input, as element ids. */
+        private final int[] right;
+
+        /** The start of the region in the left input. */
+        private final int leftStart;
+
+        /** The end of the region in the left input. */
+        private final int leftEnd;
+
+        /** The start of the region in the right input. */
+        private final int rightStart;
+
+        /** The end of the region in the right input. */
+        private final int rightEnd;
+
+        Solver(final int[] left, final int[] right, final int leftStart, final int leftEnd, final int rightStart,
+                final int rightEnd) {
+            this.left = left;
+            this.right = right;
+            this.leftStart = leftStart;
+            this.leftEnd = leftEnd;
+            this.rightStart = rightStart;
+            this.rightEnd = rightEnd;
+        }
+
+        @Override
+        protected int[] compute() {
+            final int[] counts = new int[SUBSTITUTE + 1];
+            int lStart = leftStart;
+            int lEnd = leftEnd;
+            int rStart = rightStart;
+            int rEnd = rightEnd;
+            // the common prefix and suffix are kept by a minimal alignment
+            while (lStart < lEnd && rStart < rEnd && left[lStart] == right[rStart]) {
+                lStart++;
+                rStart++;
+            }
+            while (lStart < lEnd && rStart < rEnd && left[lEnd - 1] == right[rEnd - 1]) {
+                lEnd--;
+                rEnd--;
+            }
+            final int leftLength = lEnd - lStart;
+            final int rightLength = rEnd - rStart;
+            if (leftLength == 0 || rightLength == 0) {
+                counts[INSERT] = rightLength;
+                counts[DELETE] = leftLength;
+                return counts;
+            }
+            final long cells = (long) leftLength * rightLength;
+            if (leftLength == 1 || cells <= BASE_CELLS) {
+                align(left, right, lStart, lEnd, rStart, rEnd, counts);
+                return counts;
+            }
+            final int middle = lStart + leftLength / 2;
+            final int[] forward;
+            final int[] backward;
+            final long[] head;
+            final long[] tail;
+            final boolean parallel = cells >= PARALLEL_CELLS;
+            if (parallel) {
+                final int ls = lStart;
+                final int le = lEnd;
+                final int rs = rStart;
+                final int re = rEnd;
+                final ForkJoinTask<long[]> tailTask = ForkJoinTask.adapt(() -> lastRow(left, right, middle, le, rs, re,
+                        true)).fork();
+                head = lastRow(left, right, ls, middle, rs, re, false);
+                tail = tailTask.join();
+            } else {
+                head = lastRow(left, right, lStart, middle, rStart, rEnd, false);
+                tail = lastRow(left, right, middle, lEnd, rStart, rEnd, true);
+            }
+            // the first minimum, so that the split does not depend on how the rows were computed
+            int split = 0;
+            long best = Long.MAX_VALUE;
+            for (int k = 0; k <= rightLength; k++) {
+                final long cost = head[k] + tail[rightLength - k];
+                if (cost < best) {
+                    best = cost;
+                    split = k;
+                }
+            }
+            final Solver first = new Solver(left, right, lStart, middle, rStart, rStart + split);
+            final Solver second = new Solver(left, right, middle, lEnd, rStart + split, rEnd);
+            if (parallel) {
+                second.fork();
+                forward = first.compute();
+                backward = second.join();
+            } else {
+                forward = first.compute();
+                backward = second.compute();
+            }
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = forward[i] + backward[i];
+            }
+            return counts;
+        }
+    }
+
+    /**
+     * Aligns a small region of the inputs with a full matrix, adding its operations to counts.
+     *
+     * @param left the left input
+     * @param right the right input
+     * @param leftStart the start of the region in the left input
+     * @param leftEnd the end of the region in the left input
+     * @param rightStart the start of the region in the right input
+     * @param rightEnd the end of the region in the right input
+     * @param counts the insertion, deletion and substitution counts
+     */
+    private static void align(final int[] left, final int[] right, final int leftStart, final int leftEnd,
+            final int rightStart, final int rightEnd, final int[] counts) {
+        final int rows = leftEnd - leftStart;
+        final int columns = rightEnd - rightStart;
+        final int width = columns + 1;
+        final long[] matrix = new long[(rows + 1) * width];
+        for (int j = 0; j <= columns; j++) {
+            matrix[j] = j * INDEL;
+        }
+        for (int i = 1; i <= rows; i++) {
+            final int row = i * width;
+            final int element = left[leftStart + i - 1];
+            matrix[row] = i * INDEL;
+            for (int j = 1; j <= columns; j++) {
+                matrix[row + j] = cell(element == right[rightStart + j - 1], matrix[row - width + j - 1],
+                        matrix[row - width + j], matrix[row + j - 1]);
+            }
+        }
+        int i = rows;
+        int j = columns;
+        while (i > 0 || j > 0) {
+            final long cost = matrix[i * width + j];
+            if (i > 0 && j > 0 && left[leftStart + i - 1] == right[rightStart + j - 1]
+                    && cost == matrix[(i - 1) * width + j - 1]) {
+                i--;
+                j--;
+            } else if (i > 0 && j > 0 && cost == matrix[(i - 1) * width + j - 1] + SUBSTITUTION) {
+                counts[SUBSTITUTE]++;
+                i--;
+                j--;
+            } else if (i > 0 && cost == matrix[(i - 1) * width + j] + INDEL) {
+                counts[DELETE]++;
+                i--;
+            } else {
+                counts[INSERT]++;
+                j--;
+            }
+        }
+    }
+
+    /**
+     * Computes the Levenshtein distance between two inputs and the operations of a minimal alignment.
+     *
+     * @param <E> the type of similarity score unit
+     * @param left the first input, not null
+     * @param right the second input, not null
+     * @return the distance and the insertion, deletion and substitution counts
+     */
+    static <E> LevenshteinResults apply(final SimilarityInput<E> left, final SimilarityInput<E> right) {
+        // element ids make the comparisons of the inner loops primitive
+        final Map<E, Integer> ids = new HashMap<>();
+        final int[] leftIds = ids(left, ids);
+        final int[] rightIds = ids(right, ids);
+        final int[] counts = new Solver(leftIds, rightIds, 0, leftIds.length, 0, rightIds.length).invoke();
+        return new LevenshteinResults(counts[INSERT] + counts[DELETE] + counts[SUBSTITUTE], counts[INSERT],
+                counts[DELETE], counts[SUBSTITUTE]);
+    }
+
+    /**
+     * Computes the cost of a cell from its neighbors.
+     *
+     * @param equal whether the elements of the row and the column are equal
+     * @param diagonal the cost of the cell above and to the left
+     * @param above the cost of the cell above
+     * @param before the cost of the cell to the left
+     * @return the cost of the cell
+     */
+    private static long cell(final boolean equal, final long diagonal, final long above, final long before) {
+        if (equal) {
+            return diagonal;
+        }
+        return Math.min(diagonal + SUBSTITUTION, Math.min(above, before) + INDEL);
+    }
+
+    /**
+     * Maps the elements of an input to ids.
+     *
+     * @param <E> the type of similarity score unit
+     * @param input the input
+     * @param ids the ids of the elements seen so far
+     * @return the ids of the elements of the input
+     */
+    private static <E> int[] ids(final SimilarityInput<E> input, final Map<E, Integer> ids) {
+        final int[] result = new int[input.length()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = ids.computeIfAbsent(input.at(i), k -> ids.size());
+        }
+        return result;
+    }
+
+    /**
+     * Computes the last row of the cost matrix of a region of the left input against a region of the right input,
+     * or of both regions reversed.
+     *
+     * @param left the left input
+     * @param right the right input
+     * @param leftStart the start of the region in the left input
+     * @param leftEnd the end of the region in the left input
+     * @param rightStart the start of the region in the right input
+     * @param rightEnd the end of the region in the right input
+     * @param reverse whether to read both regions from their ends
+     * @return the costs of aligning the left region with the first {@code k} elements of the right region, read in
+     *         the same direction, for each {@code k}
+     */
+    private static long[] lastRow(final int[] left, final int[] right, final int leftStart, final int leftEnd,
+            final int rightStart, final int rightEnd, final boolean reverse) {
+        final int columns = rightEnd - rightStart;
+        final long[] row = new long[columns + 1];
+        for (int j = 0; j <= columns; j++) {
+            row[j] = j * INDEL;
+        }
+        final int rows = leftEnd - leftStart;
+        for (int i = 1; i <= rows; i++) {
+            final int element = reverse ? left[leftEnd - i] : left[leftStart + i - 1];
+            long diagonal = row[0];
+            row[0] = i * INDEL;
+            for (int j = 1; j <= columns; j++) {
+                final long above = row[j];
+                row[j] = cell(element == (reverse ? right[rightEnd - j] : right[rightStart + j - 1]), diagonal,
+                        above, row[j - 1]);
+                diagonal = above;
+            }
+        }
+        return row;
+    }
+
+    /**
+     * No instances.
+     */
+    private HirschbergLevenshtein() {
+        // empty
+    }
+
+}
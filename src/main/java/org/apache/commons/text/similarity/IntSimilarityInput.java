@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.similarity;
+
+/**
+ * An ordered input of int elements, such as the code points of a text or the ids of its tokens, which the edit
+ * distances and similarities of this package compare as ints, without boxing them.
+ * <p>
+ * {@link LevenshteinDistance}, {@link LevenshteinDetailedDistance}, {@link JaroWinklerSimilarity},
+ * {@link JaroWinklerDistance} and {@link HammingDistance} recognize a pair of such inputs and compare their elements
+ * with the primitive algorithms of character sequences; other scores use {@link #at(int)}.
+ * </p>
+ * <p>
+ * The following is an example which counts a character outside the Basic Multilingual Plane, such as an emoji, as one
+ * element instead of two surrogates:
+ * </p>
+ * <pre>
+ * LevenshteinDistance.getDefaultInstance().apply(SimilarityInput.codePoints("\uD83D\uDE00!"), SimilarityInput.codePoints("!")) = 1
+ * </pre>
+ *
+ * @since 1.13.0
+ */
+public interface IntSimilarityInput extends SimilarityInput<Integer> {
+
+    /**
+     * Creates a new input of ints.
+     *
+     * @param values the elements, which are copied, must not be null.
+     * @return a new input.
+     * @throws IllegalArgumentException if the array is {@code null}.
+     */
+    static IntSimilarityInput of(final int... values) {
+        if (values == null) {
+            throw new IllegalArgumentException("values");
+        }
+        return new SimilarityIntInput(values.clone());
+    }
+
+    /**
+     * Gets the element in the input at the given 0-based index, boxed.
+     *
+     * @param index a 0-based index.
+     * @return the element in the input at the given 0-based index.
+     */
+    @Override
+    default Integer at(final int index) {
+        return getAsInt(index);
+    }
+
+    /**
+     * Gets the element in the input at the given 0-based index.
+     *
+     * @param index a 0-based index.
+     * @return the element in the input at the given 0-based index.
+     */
+    int getAsInt(int index);
+
+}
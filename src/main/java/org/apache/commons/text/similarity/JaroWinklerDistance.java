@@ -78,7 +78,7 @@ public class JaroWinklerDistance implements EditDistance<Double> {
      */
     @Override
     public Double apply(final CharSequence left, final CharSequence right) {
-        return apply(SimilarityInput.input(left), SimilarityInput.input(right));
+        return 1 - JaroWinklerSimilarity.INSTANCE.applyAsDouble(left, right);
     }
 
     /**
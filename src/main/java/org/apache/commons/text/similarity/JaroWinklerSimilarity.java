@@ -38,11 +38,60 @@ import java.util.Objects;
  */
 public class JaroWinklerSimilarity implements SimilarityScore<Double> {
 
+    /**
+     * The match flags of the characters of two inputs, reused from call to call.
+     */
+    static final class Scratch {
+
+        /** The match flags of the left input. */
+        private boolean[] left = new boolean[0];
+
+        /** The match flags of the right input. */
+        private boolean[] right = new boolean[0];
+
+        /**
+         * Gets the match flags of the left input.
+         *
+         * @param length the length of the input
+         * @return flags for at least {@code length} characters
+         */
+        boolean[] left(final int length) {
+            if (left.length < length) {
+                left = new boolean[length];
+            }
+            return left;
+        }
+
+        /**
+         * Gets the match flags of the right input.
+         *
+         * @param length the length of the input
+         * @return flags for at least {@code length} characters
+         */
+        boolean[] right(final int length) {
+            if (right.length < length) {
+                right = new boolean[length];
+            }
+            return right;
+        }
+    }
+
     /**
      * Singleton instance.
      */
     static final JaroWinklerSimilarity INSTANCE = new JaroWinklerSimilarity();
 
+    /**
+     * The longest input whose match flags are kept by a thread; longer inputs get one-off flags so a thread does not
+     * hold on to its largest buffer.
+     */
+    static final int MAX_RETAINED_LENGTH = 4096;
+
+    /**
+     * The scratch match flags of each thread.
+     */
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
     /**
      * Computes the Jaro-Winkler string matches, half transpositions, prefix array.
      *
@@ -128,7 +177,7 @@ private static int countHalfTranspositions(Object[] ms1, Object[] ms2) {
 
 private static <E> int countPrefix(SimilarityInput<E> first, SimilarityInput<E> second) {
     int prefix = 0;
-    for (int mi = 0; mi < Math.min(4, first.length()); mi++) {
+    for (int mi = 0, mn = Math.min(4, Math.min(first.length(), second.length())); mi < mn; mi++) {
         if (!first.at(mi).equals(second.at(mi))) {
             break;
         }
@@ -137,6 +186,71 @@ private static <E> int countPrefix(SimilarityInput<E> first, SimilarityInput<E>
     return prefix;
 }
 
+    /**
+     * Computes the Jaro Winkler Similarity between two character sequences, comparing chars without boxing them.
+     * <p>
+     * This computes the same result as {@link #apply(SimilarityInput, SimilarityInput)} for the inputs of the
+     * characters of the sequences, without allocating: the matched characters are marked in the caller's flags, and
+     * the half transpositions are counted by walking the flags of both inputs in step.
+     * </p>
+     *
+     * @param left the first input, not null.
+     * @param right the second input, not null.
+     * @param leftFlags the match flags of the left input, at least as long as it.
+     * @param rightFlags the match flags of the right input, at least as long as it.
+     * @return result similarity.
+     */
+    static double similarity(final CharSequence left, final CharSequence right, final boolean[] leftFlags,
+            final boolean[] rightFlags) {
+        final double defaultScalingFactor = 0.1;
+        final int leftLength = left.length();
+        final int rightLength = right.length();
+        final boolean leftLonger = leftLength > rightLength;
+        final CharSequence max = leftLonger ? left : right;
+        final CharSequence min = leftLonger ? right : left;
+        final boolean[] maxFlags = leftLonger ? leftFlags : rightFlags;
+        final boolean[] minFlags = leftLonger ? rightFlags : leftFlags;
+        final int maxLength = max.length();
+        final int minLength = min.length();
+        Arrays.fill(maxFlags, 0, maxLength, false);
+        Arrays.fill(minFlags, 0, minLength, false);
+        final int range = Math.max(maxLength / 2 - 1, 0);
+        int matches = 0;
+        for (int mi = 0; mi < minLength; mi++) {
+            final char c1 = min.charAt(mi);
+            for (int xi = Math.max(mi - range, 0), xn = Math.min(mi + range + 1, maxLength); xi < xn; xi++) {
+                if (!maxFlags[xi] && c1 == max.charAt(xi)) {
+                    minFlags[mi] = true;
+                    maxFlags[xi] = true;
+                    matches++;
+                    break;
+                }
+            }
+        }
+        if (matches == 0) {
+            return 0d;
+        }
+        int halfTranspositions = 0;
+        for (int mi = 0, xi = 0; mi < minLength; mi++) {
+            if (minFlags[mi]) {
+                while (!maxFlags[xi]) {
+                    xi++;
+                }
+                if (min.charAt(mi) != max.charAt(xi)) {
+                    halfTranspositions++;
+                }
+                xi++;
+            }
+        }
+        int prefix = 0;
+        for (final int pn = Math.min(4, minLength); prefix < pn && left.charAt(prefix) == right.charAt(prefix);) {
+            prefix++;
+        }
+        final double m = matches;
+        final double j = (m / leftLength + m / rightLength + (m - (double) halfTranspositions / 2) / m) / 3;
+        return j < 0.7d ? j : j + defaultScalingFactor * prefix * (1d - j);
+    }
+
     /**
      * Computes the Jaro Winkler Similarity between two character sequences.
      *
@@ -171,7 +285,45 @@ private static <E> int countPrefix(SimilarityInput<E> first, SimilarityInput<E>
      */
     @Override
     public Double apply(final CharSequence left, final CharSequence right) {
-        return apply(SimilarityInput.input(left), SimilarityInput.input(right));
+        return applyAsDouble(left, right);
+    }
+
+    /**
+     * Computes the Jaro Winkler Similarity between two character sequences, without boxing.
+     * <p>
+     * The characters are compared as chars, and the match flags are kept in buffers of the calling thread, so that
+     * this method does not allocate once the buffers have grown to the lengths of the inputs.
+     * </p>
+     *
+     * @param left  the first input, must not be null.
+     * @param right the second input, must not be null.
+     * @return result similarity.
+     * @throws IllegalArgumentException if either CharSequence input is {@code null}.
+     * @see #apply(CharSequence, CharSequence)
+     * @since 1.13.0
+     */
+    public double applyAsDouble(final CharSequence left, final CharSequence right) {
+        if (left == null || right == null) {
+            throw new IllegalArgumentException("CharSequences must not be null");
+        }
+        if (Objects.equals(left, right)) {
+            return 1d;
+        }
+        final Scratch scratch = Math.max(left.length(), right.length()) > MAX_RETAINED_LENGTH ? new Scratch() : SCRATCH.get();
+        return similarity(left, right, scratch.left(left.length()), scratch.right(right.length()));
+    }
+
+    /**
+     * Creates a similarity from a query to many candidates, which reuses the query and its match flags for each
+     * candidate.
+     *
+     * @param query the query, must not be null.
+     * @return a new similarity from the query.
+     * @throws IllegalArgumentException if the query is {@code null}.
+     * @since 1.13.0
+     */
+    public JaroWinklerSimilarityFrom from(final CharSequence query) {
+        return new JaroWinklerSimilarityFrom(this, query);
     }
 
     /**
@@ -216,6 +368,15 @@ private static <E> int countPrefix(SimilarityInput<E> first, SimilarityInput<E>
         if (Objects.equals(left, right)) {
             return 1d;
         }
+        if (left instanceof SimilarityCharacterInput && right instanceof SimilarityCharacterInput) {
+            return applyAsDouble(((SimilarityCharacterInput) left).getCharSequence(), ((SimilarityCharacterInput) right).getCharSequence());
+        }
+        if (left instanceof IntSimilarityInput && right instanceof IntSimilarityInput) {
+            final String[] chars = SimilarityIntInput.toChars((IntSimilarityInput) left, (IntSimilarityInput) right, false);
+            if (chars != null) {
+                return applyAsDouble(chars[0], chars[1]);
+            }
+        }
         final int[] mtp = matches(left, right);
         final double m = mtp[0];
         if (m == 0) {
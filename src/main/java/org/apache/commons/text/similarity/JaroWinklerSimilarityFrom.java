@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.similarity;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.ObjDoubleConsumer;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Computes the {@link JaroWinklerSimilarity} from a fixed query to many candidates.
+ * <p>
+ * The match flags of the query and of the candidates are allocated by the instance and reused for each candidate,
+ * and the characters are compared as chars, so that scoring a candidate does not allocate.
+ * </p>
+ * <p>
+ * The following is an example which scores names against a query:
+ * </p>
+ * <pre>
+ * JaroWinklerSimilarityFrom from = new JaroWinklerSimilarity().from("Apache");
+ * double[] scores = from.applyAll(names);
+ * </pre>
+ * <p>
+ * Instances hold scratch buffers and are not thread-safe; use one instance per thread.
+ * </p>
+ *
+ * @since 1.13.0
+ */
+public class JaroWinklerSimilarityFrom extends SimilarityScoreFrom<Double> {
+
+    /**
+     * The query.
+     */
+    private final CharSequence query;
+
+    /**
+     * The match flags of the query and of the candidates.
+     */
+    private final JaroWinklerSimilarity.Scratch scratch = new JaroWinklerSimilarity.Scratch();
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param similarity the similarity.
+     * @param query the query, must not be null.
+     */
+    JaroWinklerSimilarityFrom(final JaroWinklerSimilarity similarity, final CharSequence query) {
+        super(similarity, query);
+        Validate.isTrue(query != null, "The query must not be null");
+        this.query = query;
+    }
+
+    /**
+     * Computes the similarity of the query and a candidate.
+     *
+     * @param right the candidate, must not be null.
+     * @return result similarity.
+     * @throws IllegalArgumentException if the candidate is {@code null}.
+     */
+    @Override
+    public Double apply(final CharSequence right) {
+        return applyAsDouble(right);
+    }
+
+    /**
+     * Computes the similarities of the query and candidates.
+     *
+     * @param candidates the candidates, none of which may be null.
+     * @return the similarities, in the order of the candidates.
+     * @throws IllegalArgumentException if a candidate is {@code null}.
+     */
+    public double[] applyAll(final List<? extends CharSequence> candidates) {
+        final double[] similarities = new double[candidates.size()];
+        int i = 0;
+        for (final CharSequence candidate : candidates) {
+            similarities[i++] = applyAsDouble(candidate);
+        }
+        return similarities;
+    }
+
+    /**
+     * Computes the similarities of the query and candidates, passing each candidate and its similarity to a consumer.
+     *
+     * @param <T> the type of the candidates.
+     * @param candidates the candidates, none of which may be null.
+     * @param consumer receives each candidate and its similarity.
+     * @throws IllegalArgumentException if a candidate is {@code null}.
+     */
+    public <T extends CharSequence> void applyAll(final Iterable<T> candidates, final ObjDoubleConsumer<? super T> consumer) {
+        for (final T candidate : candidates) {
+            consumer.accept(candidate, applyAsDouble(candidate));
+        }
+    }
+
+    /**
+     * Computes the similarity of the query and a candidate, without boxing.
+     *
+     * @param right the candidate, must not be null.
+     * @return result similarity.
+     * @throws IllegalArgumentException if the candidate is {@code null}.
+     */
+    public double applyAsDouble(final CharSequence right) {
+        if (right == null) {
+            throw new IllegalArgumentException("CharSequences must not be null");
+        }
+        if (Objects.equals(query, right)) {
+            return 1d;
+        }
+        return JaroWinklerSimilarity.similarity(query, right, scratch.left(query.length()), scratch.right(right.length()));
+    }
+
+}
@@ -36,6 +36,11 @@ public class LevenshteinDetailedDistance implements EditDistance<LevenshteinResu
      */
     private static final LevenshteinDetailedDistance INSTANCE = new LevenshteinDetailedDistance();
 
+    /**
+     * Singleton linear space instance.
+     */
+    private static final LevenshteinDetailedDistance LINEAR_SPACE_INSTANCE = new LevenshteinDetailedDistance(null, true);
+
     /**
      * Finds count for each of the three [insert, delete, substitute] operations
      * needed. This is based on the matrix formed based on the two character
@@ -146,6 +151,17 @@ public class LevenshteinDetailedDistance implements EditDistance<LevenshteinResu
         return INSTANCE;
     }
 
+    /**
+     * Gets the linear space instance, without a threshold.
+     *
+     * @return The linear space instance
+     * @see #LevenshteinDetailedDistance(Integer, boolean)
+     * @since 1.13.0
+     */
+    public static LevenshteinDetailedDistance getLinearSpaceInstance() {
+        return LINEAR_SPACE_INSTANCE;
+    }
+
     /**
      * Finds the Levenshtein distance between two CharSequences if it's less than or
      * equal to a given threshold.
@@ -326,6 +342,28 @@ public class LevenshteinDetailedDistance implements EditDistance<LevenshteinResu
         return new LevenshteinResults(-1, 0, 0, 0);
     }
 
+    /**
+     * Finds the Levenshtein distance between two inputs, and the operations of an alignment, in linear space.
+     *
+     * @param <E> The type of similarity score unit.
+     * @param left the first input, must not be null
+     * @param right the second input, must not be null
+     * @param threshold the target threshold, must not be negative, or null for none
+     * @return result distance, or -1
+     * @throws IllegalArgumentException if either input is {@code null}
+     */
+    private static <E> LevenshteinResults linearSpaceCompare(final SimilarityInput<E> left, final SimilarityInput<E> right,
+            final Integer threshold) {
+        if (left == null || right == null) {
+            throw new IllegalArgumentException("CharSequences must not be null");
+        }
+        // the banded distance is cheaper than the alignment when the threshold rules the inputs out
+        if (threshold != null && new LevenshteinDistance(threshold).apply(left, right) < 0) {
+            return new LevenshteinResults(-1, 0, 0, 0);
+        }
+        return HirschbergLevenshtein.apply(left, right);
+    }
+
     /**
      * Finds the Levenshtein distance between two Strings.
      *
@@ -450,6 +488,11 @@ public class LevenshteinDetailedDistance implements EditDistance<LevenshteinResu
      */
     private final Integer threshold;
 
+    /**
+     * Whether to align the inputs in linear space.
+     */
+    private final boolean linearSpace;
+
     /**
      * <p>
      * This returns the default instance that uses a version
@@ -472,10 +515,34 @@ public class LevenshteinDetailedDistance implements EditDistance<LevenshteinResu
      * @param threshold If this is null then distances calculations will not be limited. This may not be negative.
      */
     public LevenshteinDetailedDistance(final Integer threshold) {
+        this(threshold, false);
+    }
+
+    /**
+     * If the threshold is not null, distance calculations will be limited to a maximum length.
+     *
+     * <p>If the threshold is null, the unlimited version of the algorithm will be used.</p>
+     *
+     * <p>
+     * The default algorithm keeps the whole matrix of the distances between the prefixes of the inputs to find their
+     * alignment, which takes {@code left.length() * right.length()} ints: two inputs of 50,000 characters need 10 GB.
+     * In linear space, the divide and conquer algorithm of Hirschberg only keeps rows of the matrix, about twice as
+     * much work, and aligns the halves of large inputs in parallel in the common
+     * {@link java.util.concurrent.ForkJoinPool}. The distances are the same; when minimal alignments differ in their
+     * operations, as "ab" to "ba" takes two substitutions or one deletion and one insertion, the linear space algorithm
+     * reports the one with the fewest insertions and deletions.
+     * </p>
+     *
+     * @param threshold If this is null then distances calculations will not be limited. This may not be negative.
+     * @param linearSpace Whether to align the inputs in space linear in their lengths.
+     * @since 1.13.0
+     */
+    public LevenshteinDetailedDistance(final Integer threshold, final boolean linearSpace) {
         if (threshold != null && threshold < 0) {
             throw new IllegalArgumentException("Threshold must not be negative");
         }
         this.threshold = threshold;
+        this.linearSpace = linearSpace;
     }
 
     /**
@@ -550,6 +617,16 @@ public class LevenshteinDetailedDistance implements EditDistance<LevenshteinResu
      * @since 1.13.0
      */
     public <E> LevenshteinResults apply(final SimilarityInput<E> left, final SimilarityInput<E> right) {
+        if (left instanceof IntSimilarityInput && right instanceof IntSimilarityInput) {
+            final String[] chars = SimilarityIntInput.toChars((IntSimilarityInput) left, (IntSimilarityInput) right, true);
+            if (chars != null) {
+                // the elements of small alphabets map to the cached Characters
+                return apply(chars[0], chars[1]);
+            }
+        }
+        if (linearSpace) {
+            return linearSpaceCompare(left, right, threshold);
+        }
         if (threshold != null) {
             return limitedCompare(left, right, threshold);
         }
@@ -564,4 +641,15 @@ public class LevenshteinDetailedDistance implements EditDistance<LevenshteinResu
     public Integer getThreshold() {
         return threshold;
     }
+
+    /**
+     * Tests whether the inputs are aligned in linear space.
+     *
+     * @return whether the inputs are aligned in linear space
+     * @see #LevenshteinDetailedDistance(Integer, boolean)
+     * @since 1.13.0
+     */
+    public boolean isLinearSpace() {
+        return linearSpace;
+    }
 }
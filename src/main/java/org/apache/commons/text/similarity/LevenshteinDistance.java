@@ -26,6 +26,10 @@ import java.util.Arrays;
  * substitution).
  * </p>
  * <p>
+ * {@link CharSequence} inputs use the bit-parallel algorithm of Myers and Hyyr&ouml;, which processes 64 characters of
+ * the shorter input per {@code long} operation; other {@link SimilarityInput}s use a row by row dynamic program.
+ * </p>
+ * <p>
  * This code has been adapted from Apache Commons Lang 3.3.
  * </p>
  *
@@ -327,7 +331,10 @@ public class LevenshteinDistance implements EditDistance<Integer> {
      */
     @Override
     public Integer apply(final CharSequence left, final CharSequence right) {
-        return apply(SimilarityInput.input(left), SimilarityInput.input(right));
+        if (left == null || right == null) {
+            throw new IllegalArgumentException("CharSequences must not be null");
+        }
+        return BitParallelLevenshtein.distance(left, right, threshold != null ? threshold : Integer.MAX_VALUE);
     }
 
     /**
@@ -359,12 +366,35 @@ public class LevenshteinDistance implements EditDistance<Integer> {
      * @since 1.13.0
      */
     public <E> Integer apply(final SimilarityInput<E> left, final SimilarityInput<E> right) {
+        if (left instanceof SimilarityCharacterInput && right instanceof SimilarityCharacterInput) {
+            return apply(((SimilarityCharacterInput) left).getCharSequence(),
+                ((SimilarityCharacterInput) right).getCharSequence());
+        }
+        if (left instanceof IntSimilarityInput && right instanceof IntSimilarityInput) {
+            final String[] chars = SimilarityIntInput.toChars((IntSimilarityInput) left, (IntSimilarityInput) right, false);
+            if (chars != null) {
+                return apply(chars[0], chars[1]);
+            }
+        }
         if (threshold != null) {
             return limitedCompare(left, right, threshold);
         }
         return unlimitedCompare(left, right);
     }
 
+    /**
+     * Creates a reusable computation of the distance from a query to many candidates, which compiles the query once
+     * and scores each candidate without allocating.
+     *
+     * @param query the query, must not be null.
+     * @return a new computation, which is not thread-safe.
+     * @throws IllegalArgumentException if the query is {@code null}.
+     * @since 1.13.0
+     */
+    public LevenshteinDistanceFrom from(final CharSequence query) {
+        return new LevenshteinDistanceFrom(this, query);
+    }
+
     /**
      * Gets the distance threshold.
      *
@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.similarity;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.ObjIntConsumer;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Computes the {@link LevenshteinDistance} from a fixed query to many candidates.
+ * <p>
+ * The query's character table and bit vectors are built once, by {@link LevenshteinDistance#from(CharSequence)}, and
+ * reused for each candidate, so that scoring a candidate does not allocate.
+ * </p>
+ * <p>
+ * The following is an example which finds the three names closest to a query:
+ * </p>
+ * <pre>
+ * LevenshteinDistanceFrom from = LevenshteinDistance.getDefaultInstance().from("Apache");
+ * List&lt;Map.Entry&lt;String, Integer&gt;&gt; closest = from.topK(names, 3);
+ * </pre>
+ * <p>
+ * Instances hold scratch buffers and are not thread-safe; use one instance per thread.
+ * </p>
+ *
+ * @since 1.13.0
+ */
+public class LevenshteinDistanceFrom extends EditDistanceFrom<Integer> {
+
+    /**
+     * A candidate kept by {@link LevenshteinDistanceFrom#topK(Iterable, int)}.
+     *
+     * @param <T> the type of the candidate.
+     */
+    private static final class Candidate<T> {
+
+        /** The candidate. */
+        private final T value;
+
+        /** The distance to the query. */
+        private final int distance;
+
+        /** The position of the candidate in the input. */
+        private final long index;
+
+        private Candidate(final T value, final int distance, final long index) {
+            this.value = value;
+            this.distance = distance;
+            this.index = index;
+        }
+    }
+
+    /**
+     * Orders candidates by distance, then by position in the input.
+     */
+    private static final Comparator<Candidate<?>> CANDIDATE_ORDER = Comparator.<Candidate<?>>comparingInt(c -> c.distance)
+        .thenComparingLong(c -> c.index);
+
+    /**
+     * The query compiled for the bit-parallel algorithm.
+     */
+    private final BitParallelLevenshtein pattern;
+
+    /**
+     * The threshold, {@link Integer#MAX_VALUE} for none.
+     */
+    private final int threshold;
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param levenshteinDistance the distance.
+     * @param query the query, must not be null.
+     */
+    LevenshteinDistanceFrom(final LevenshteinDistance levenshteinDistance, final CharSequence query) {
+        super(levenshteinDistance, query);
+        Validate.isTrue(query != null, "The query must not be null");
+        final Integer limit = levenshteinDistance.getThreshold();
+        this.threshold = limit != null ? limit : Integer.MAX_VALUE;
+        this.pattern = new BitParallelLevenshtein(query, 0, query.length());
+    }
+
+    /**
+     * Computes the distance from the query to a candidate.
+     *
+     * @param right the candidate, must not be null.
+     * @return the distance, or -1 if it is greater than the threshold.
+     * @throws IllegalArgumentException if the candidate is {@code null}.
+     */
+    @Override
+    public Integer apply(final CharSequence right) {
+        return applyAsInt(right);
+    }
+
+    /**
+     * Computes the distances from the query to candidates.
+     *
+     * @param candidates the candidates, none of which may be null.
+     * @return the distances, or -1 for those greater than the threshold, in the order of the candidates.
+     * @throws IllegalArgumentException if a candidate is {@code null}.
+     */
+    public int[] applyAll(final List<? extends CharSequence> candidates) {
+        final int[] distances = new int[candidates.size()];
+        int i = 0;
+        for (final CharSequence candidate : candidates) {
+            distances[i++] = applyAsInt(candidate);
+        }
+        return distances;
+    }
+
+    /**
+     * Computes the distances from the query to candidates, passing each candidate and its distance to a consumer.
+     *
+     * @param <T> the type of the candidates.
+     * @param candidates the candidates, none of which may be null.
+     * @param consumer receives each candidate and its distance, or -1 if it is greater than the threshold.
+     * @throws IllegalArgumentException if a candidate is {@code null}.
+     */
+    public <T extends CharSequence> void applyAll(final Iterable<T> candidates, final ObjIntConsumer<? super T> consumer) {
+        for (final T candidate : candidates) {
+            consumer.accept(candidate, applyAsInt(candidate));
+        }
+    }
+
+    /**
+     * Computes the distance from the query to a candidate, without boxing.
+     *
+     * @param right the candidate, must not be null.
+     * @return the distance, or -1 if it is greater than the threshold.
+     * @throws IllegalArgumentException if the candidate is {@code null}.
+     */
+    public int applyAsInt(final CharSequence right) {
+        return applyAsInt(right, threshold);
+    }
+
+    /**
+     * Computes the distance from the query to a candidate if it's less than or equal to a threshold.
+     *
+     * @param right the candidate, must not be null.
+     * @param limit the threshold.
+     * @return the distance, or -1 if it is greater than the threshold.
+     */
+    int applyAsInt(final CharSequence right, final int limit) {
+        if (right == null) {
+            throw new IllegalArgumentException("CharSequences must not be null");
+        }
+        return pattern.distance(right, 0, right.length(), limit);
+    }
+
+    /**
+     * Finds the candidates closest to the query.
+     * <p>
+     * Once {@code k} candidates are found, the distance of the farthest one becomes the threshold for the next
+     * candidates, so that they are discarded as early as possible.
+     * </p>
+     *
+     * @param <T> the type of the candidates.
+     * @param candidates the candidates, none of which may be null.
+     * @param k the maximum number of candidates to return, must not be negative.
+     * @return at most {@code k} candidates with their distances, by increasing distance then by position in the input;
+     *         candidates farther than the threshold are excluded.
+     * @throws IllegalArgumentException if a candidate is {@code null} or {@code k} is negative.
+     */
+    public <T extends CharSequence> List<Map.Entry<T, Integer>> topK(final Iterable<T> candidates, final int k) {
+        Validate.isTrue(k >= 0, "k must not be negative: %d", k);
+        if (k == 0) {
+            return Collections.emptyList();
+        }
+        // the farthest kept candidate is at the head
+        final PriorityQueue<Candidate<T>> kept = new PriorityQueue<>(Math.min(k, 1024), CANDIDATE_ORDER.reversed());
+        int limit = threshold;
+        long index = 0;
+        for (final T candidate : candidates) {
+            final int distance = applyAsInt(candidate, limit);
+            if (distance >= 0) {
+                kept.add(new Candidate<>(candidate, distance, index));
+                if (kept.size() > k) {
+                    kept.poll();
+                }
+                if (kept.size() == k) {
+                    // ties go to the earlier candidates
+                    limit = kept.peek().distance - 1;
+                    if (limit < 0) {
+                        break;
+                    }
+                }
+            }
+            index++;
+        }
+        final List<Candidate<T>> sorted = new ArrayList<>(kept);
+        sorted.sort(CANDIDATE_ORDER);
+        final List<Map.Entry<T, Integer>> result = new ArrayList<>(sorted.size());
+        for (final Candidate<T> candidate : sorted) {
+            result.add(new AbstractMap.SimpleImmutableEntry<>(candidate.value, candidate.distance));
+        }
+        return result;
+    }
+
+}
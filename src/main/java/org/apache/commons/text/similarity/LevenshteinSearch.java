@@ -0,0 +1,301 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.similarity;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Finds the approximate occurrences of a pattern in a text: the positions where a substring of the text ends whose
+ * {@link LevenshteinDistance} to the pattern is at most a maximum distance.
+ * <p>
+ * The text is scanned once, from a {@link CharSequence} or a {@link Reader}, with the dynamic programming of Sellers,
+ * in which a match may start anywhere in the text, computed with the bit-parallel algorithm of Myers: each text
+ * character takes a handful of word operations per 64 pattern characters. The memory used depends on the pattern
+ * only, not on the text.
+ * </p>
+ * <p>
+ * The following is an example which prints the lines of a log where "connection refused" occurs with at most two
+ * typos:
+ * </p>
+ * <pre>
+ * LevenshteinSearch search = new LevenshteinSearch("connection refused", 2);
+ * search.search(reader, (end, distance) -&gt; System.out.println("match ending at " + end + ", distance " + distance));
+ * </pre>
+ * <p>
+ * Instances of this class are immutable and are safe for use by multiple concurrent threads.
+ * </p>
+ *
+ * @see <a href="https://doi.org/10.1016/0196-6774(80)90002-X">P. H. Sellers, The theory and computation of
+ *      evolutionary distances: pattern recognition, Journal of Algorithms 1(4), 1980</a>
+ * @see <a href="https://doi.org/10.1145/316542.316550">G. Myers, A fast bit-vector algorithm for approximate string
+ *      matching based on dynamic programming, J. ACM 46(3), 1999</a>
+ * @since 1.13.0
+ */
+public final class LevenshteinSearch {
+
+    /**
+     * Receives the matches of a search.
+     */
+    @FunctionalInterface
+    public interface MatchConsumer {
+
+        /**
+         * Receives a match.
+         *
+         * @param end the index in the text after the last character of the match.
+         * @param distance the smallest distance from the pattern to a substring of the text ending there.
+         */
+        void accept(long end, int distance);
+    }
+
+    /**
+     * The state of a search, one column of the dynamic programming matrix.
+     */
+    private final class Scanner {
+
+        /** The positive vertical deltas, for patterns of at most 64 characters. */
+        private long pv1 = -1L;
+
+        /** The negative vertical deltas, for patterns of at most 64 characters. */
+        private long mv1;
+
+        /** The positive vertical deltas, for patterns longer than 64 characters. */
+        private final long[] pv;
+
+        /** The negative vertical deltas, for patterns longer than 64 characters. */
+        private final long[] mv;
+
+        /** The distance at the last row. */
+        private int score = vectors.length;
+
+        /** The number of text characters scanned. */
+        private long position;
+
+        private Scanner() {
+            if (vectors.words > 1) {
+                pv = new long[vectors.words];
+                mv = new long[vectors.words];
+                Arrays.fill(pv, -1L);
+            } else {
+                pv = null;
+                mv = null;
+            }
+        }
+
+        /**
+         * Scans characters of the text.
+         *
+         * @param text the characters.
+         * @param end the number of characters.
+         * @param consumer the consumer of the matches.
+         */
+        private void scan(final CharSequence text, final int end, final MatchConsumer consumer) {
+            if (vectors.length == 0) {
+                // the empty pattern matches everywhere
+                for (int j = 0; j < end; j++) {
+                    consumer.accept(position + j + 1, 0);
+                }
+                position += end;
+                return;
+            }
+            if (pv != null) {
+                scanMultiWord(text, end, consumer);
+                return;
+            }
+            final long[] peq = vectors.peq;
+            final int lastShift = LevenshteinSearch.this.lastShift;
+            final int k = maxDistance;
+            long pvj = pv1;
+            long mvj = mv1;
+            int s = score;
+            for (int j = 0; j < end; j++) {
+                final int id = vectors.id(text.charAt(j));
+                final long eq = id < 0 ? 0 : peq[id];
+                final long xv = eq | mvj;
+                final long xh = ((eq & pvj) + pvj ^ pvj) | eq;
+                final long ph = mvj | ~(xh | pvj);
+                final long mh = pvj & xh;
+                s += (int) (ph >>> lastShift & 1L) - (int) (mh >>> lastShift & 1L);
+                // a match may start anywhere: the first row stays 0, so no horizontal delta enters it
+                final long phShifted = ph << 1;
+                pvj = mh << 1 | ~(xv | phShifted);
+                mvj = phShifted & xv;
+                if (s <= k) {
+                    consumer.accept(position + j + 1, s);
+                }
+            }
+            pv1 = pvj;
+            mv1 = mvj;
+            score = s;
+            position += end;
+        }
+
+        /**
+         * Scans characters of the text for a pattern longer than 64 characters, one block of 64 rows at a time.
+         *
+         * @param text the characters.
+         * @param end the number of characters.
+         * @param consumer the consumer of the matches.
+         */
+        private void scanMultiWord(final CharSequence text, final int end, final MatchConsumer consumer) {
+            final long[] peq = vectors.peq;
+            final int words = vectors.words;
+            final int last = words - 1;
+            for (int j = 0; j < end; j++) {
+                final int id = vectors.id(text.charAt(j));
+                int hin = 0;
+                for (int b = 0; b < words; b++) {
+                    final long hinNegative = hin >>> Integer.SIZE - 1;
+                    final long hinPositive = -hin >>> Integer.SIZE - 1;
+                    final long match = id < 0 ? 0 : peq[id * words + b];
+                    final long pvb = pv[b];
+                    final long mvb = mv[b];
+                    final long xv = match | mvb;
+                    // a negative horizontal delta into the block acts as a match at its first row
+                    final long eq = match | hinNegative;
+                    final long xh = ((eq & pvb) + pvb ^ pvb) | eq;
+                    final long ph = mvb | ~(xh | pvb);
+                    final long mh = pvb & xh;
+                    final int high = b == last ? lastShift : Long.SIZE - 1;
+                    final int hout = (int) (ph >>> high & 1L) - (int) (mh >>> high & 1L);
+                    final long phShifted = ph << 1 | hinPositive;
+                    final long mhShifted = mh << 1 | hinNegative;
+                    pv[b] = mhShifted | ~(xv | phShifted);
+                    mv[b] = phShifted & xv;
+                    hin = hout;
+                }
+                score += hin;
+                if (score <= maxDistance) {
+                    consumer.accept(position + j + 1, score);
+                }
+            }
+            position += end;
+        }
+    }
+
+    /**
+     * The size of the buffer reading a {@link Reader}.
+     */
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * The pattern.
+     */
+    private final String pattern;
+
+    /**
+     * The maximum distance of a match.
+     */
+    private final int maxDistance;
+
+    /**
+     * The match vectors of the pattern.
+     */
+    private final MatchVectors vectors;
+
+    /**
+     * The index of the bit of the last pattern character in the last word.
+     */
+    private final int lastShift;
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param pattern the pattern, must not be null.
+     * @param maxDistance the maximum distance of a match, must not be negative.
+     * @throws IllegalArgumentException if the pattern is {@code null} or the distance is negative.
+     */
+    public LevenshteinSearch(final CharSequence pattern, final int maxDistance) {
+        Validate.isTrue(pattern != null, "The pattern must not be null");
+        Validate.isTrue(maxDistance >= 0, "The maximum distance must not be negative: %d", maxDistance);
+        this.pattern = pattern.toString();
+        this.maxDistance = maxDistance;
+        this.vectors = new MatchVectors(this.pattern, 0, this.pattern.length());
+        this.lastShift = Math.max(0, vectors.length - 1) & Long.SIZE - 1;
+    }
+
+    /**
+     * Gets the maximum distance of a match.
+     *
+     * @return the maximum distance.
+     */
+    public int getMaxDistance() {
+        return maxDistance;
+    }
+
+    /**
+     * Gets the pattern.
+     *
+     * @return the pattern.
+     */
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * Finds the approximate occurrences of the pattern in a text.
+     *
+     * @param text the text, must not be null.
+     * @param consumer the consumer of the matches, which receives them by increasing end, must not be null.
+     * @throws IllegalArgumentException if the text or the consumer is {@code null}.
+     */
+    public void search(final CharSequence text, final MatchConsumer consumer) {
+        Validate.isTrue(text != null, "The text must not be null");
+        Validate.isTrue(consumer != null, "The consumer must not be null");
+        start(consumer).scan(text, text.length(), consumer);
+    }
+
+    /**
+     * Finds the approximate occurrences of the pattern in the text read from a reader, which is read to its end but
+     * not closed.
+     *
+     * @param reader the reader, must not be null.
+     * @param consumer the consumer of the matches, which receives them by increasing end, must not be null.
+     * @throws IllegalArgumentException if the reader or the consumer is {@code null}.
+     * @throws IOException if the reader cannot be read.
+     */
+    public void search(final Reader reader, final MatchConsumer consumer) throws IOException {
+        Validate.isTrue(reader != null, "The reader must not be null");
+        Validate.isTrue(consumer != null, "The consumer must not be null");
+        final Scanner scanner = start(consumer);
+        final char[] buffer = new char[BUFFER_SIZE];
+        final CharBuffer chars = CharBuffer.wrap(buffer);
+        int read;
+        while ((read = reader.read(buffer)) != -1) {
+            scanner.scan(chars, read, consumer);
+        }
+    }
+
+    /**
+     * Starts a search, reporting the empty match at the start of the text if the pattern is short enough.
+     *
+     * @param consumer the consumer of the matches.
+     * @return the state of the search.
+     */
+    private Scanner start(final MatchConsumer consumer) {
+        if (vectors.length <= maxDistance) {
+            consumer.accept(0, vectors.length);
+        }
+        return new Scanner();
+    }
+
+}
@@ -154,13 +154,10 @@ public class LongestCommonSubsequence implements SimilarityScore<Integer> {
      * input.
      *
      * <p>
-     * This method implements a more efficient version of LCS algorithm which has quadratic time and
-     * linear space complexity.
-     * </p>
-     *
-     * <p>
-     * This method is based on newly implemented {@link #algorithmB(CharSequence, CharSequence)}.
-     * An evaluation using JMH revealed that this method is almost two times faster than its previous version.
+     * This method computes the last entry of the dynamic programming table of
+     * {@link #algorithmB(CharSequence, CharSequence)} with the bit-parallel algorithm of Allison and Dix, which
+     * encodes 64 cells of a row in a {@code long}: it takes <em>O(m*n/64)</em> time and linear space, after
+     * skipping the common prefix and suffix of the inputs.
      * </p>
      *
      * @param left first character sequence
@@ -174,18 +171,7 @@ public class LongestCommonSubsequence implements SimilarityScore<Integer> {
         if (left == null || right == null) {
             throw new IllegalArgumentException("Inputs must not be null");
         }
-        // Find lengths of two strings
-        final int leftSz = left.length();
-        final int rightSz = right.length();
-        // Check if we can avoid calling algorithmB which involves heap space allocation
-        if (leftSz == 0 || rightSz == 0) {
-            return 0;
-        }
-        // Check if we can save even more space
-        if (leftSz < rightSz) {
-            return algorithmB(right, left)[leftSz];
-        }
-        return algorithmB(left, right)[rightSz];
+        return BitParallelLcs.length(left, right);
     }
 
     /**
@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.similarity;
+
+/**
+ * The match vectors of a pattern, for bit-parallel algorithms: for each distinct pattern character, bit vectors in
+ * which bit {@code i} is set where the pattern character {@code i} is that character, 64 pattern characters to a
+ * {@code long}.
+ * <p>
+ * ASCII characters are looked up in a direct table and the others in a hash table sized by the pattern, so that
+ * building the vectors and looking up a character of the text both take constant time.
+ * </p>
+ *
+ * @see BitParallelLevenshtein
+ * @see BitParallelLcs
+ */
+final class MatchVectors {
+
+    /**
+     * The number of characters with a direct entry in the character table.
+     */
+    private static final int ASCII_SIZE = 128;
+
+    /**
+     * The multiplier of the Fibonacci hash of characters.
+     */
+    private static final int GOLDEN_RATIO = 0x9E3779B1;
+
+    /**
+     * Gets the size of the hash table for a pattern.
+     *
+     * @param length the length of the pattern
+     * @return a power of two at least twice the length
+     */
+    private static int tableSize(final int length) {
+        return Integer.highestOneBit(Math.max(length, 1) * 2 - 1) << 1;
+    }
+
+    /**
+     * The length of the pattern.
+     */
+    final int length;
+
+    /**
+     * The number of 64-bit words per vector, at least 1.
+     */
+    final int words;
+
+    /**
+     * The match vectors, {@code words} per character id.
+     */
+    final long[] peq;
+
+    /**
+     * The ids plus one of the ASCII pattern characters, 0 for characters not in the pattern.
+     */
+    private final int[] asciiIds;
+
+    /**
+     * The hash table of the other distinct pattern characters: pairs of the character plus one, 0 for an empty slot,
+     * and its id; {@code null} if there are none.
+     */
+    private final int[] table;
+
+    /**
+     * The hash table mask.
+     */
+    private final int mask;
+
+    /**
+     * The shift keeping the high bits of a hash code for the table size.
+     */
+    private final int shift;
+
+    /**
+     * Constructs the match vectors of a pattern.
+     *
+     * @param pattern the pattern
+     * @param start the index of the first pattern character
+     * @param end the index after the last pattern character
+     */
+    MatchVectors(final CharSequence pattern, final int start, final int end) {
+        length = end - start;
+        words = Math.max(1, (length + Long.SIZE - 1) / Long.SIZE);
+        asciiIds = new int[ASCII_SIZE];
+        final int[] patternIds = new int[length];
+        int[] hashTable = null;
+        int hashMask = 0;
+        int hashShift = 0;
+        int distinct = 0;
+        for (int i = 0; i < length; i++) {
+            final char c = pattern.charAt(start + i);
+            if (c < ASCII_SIZE) {
+                if (asciiIds[c] == 0) {
+                    asciiIds[c] = ++distinct;
+                }
+                patternIds[i] = asciiIds[c] - 1;
+                continue;
+            }
+            if (hashTable == null) {
+                final int size = tableSize(length - i);
+                hashTable = new int[size * 2];
+                hashMask = size - 1;
+                hashShift = Integer.numberOfLeadingZeros(hashMask);
+            }
+            final int key = c + 1;
+            int slot = key * GOLDEN_RATIO >>> hashShift;
+            while (hashTable[slot * 2] != 0 && hashTable[slot * 2] != key) {
+                slot = slot + 1 & hashMask;
+            }
+            if (hashTable[slot * 2] == 0) {
+                hashTable[slot * 2] = key;
+                hashTable[slot * 2 + 1] = distinct++;
+            }
+            patternIds[i] = hashTable[slot * 2 + 1];
+        }
+        table = hashTable;
+        mask = hashMask;
+        shift = hashShift;
+        peq = new long[distinct * words];
+        for (int i = 0; i < length; i++) {
+            peq[patternIds[i] * words + i / Long.SIZE] |= 1L << (i & Long.SIZE - 1);
+        }
+    }
+
+    /**
+     * Gets the id of a character, the index of its vectors in {@link #peq} divided by {@link #words}.
+     *
+     * @param c the character
+     * @return the id, or -1 if the character is not in the pattern
+     */
+    int id(final char c) {
+        if (c < ASCII_SIZE) {
+            return asciiIds[c] - 1;
+        }
+        if (table == null) {
+            return -1;
+        }
+        final int key = c + 1;
+        int slot = key * GOLDEN_RATIO >>> shift;
+        int found;
+        while ((found = table[slot * 2]) != 0) {
+            if (found == key) {
+                return table[slot * 2 + 1];
+            }
+            slot = slot + 1 & mask;
+        }
+        return -1;
+    }
+
+}
@@ -0,0 +1,411 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.similarity;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Computes MinHash signatures of character sequences, which estimate the Jaccard similarity of their sets of shingles
+ * without comparing the sets.
+ * <p>
+ * The shingles of a sequence are its character n-grams, by default its characters as for {@link JaccardSimilarity},
+ * or the tokens of a tokenizer. Each shingle is hashed to 64 bits, and each of the {@code k} values of a signature is
+ * the minimum over the shingles of a hash function {@code (a * x + b) >>> 33} with random odd {@code a} and random
+ * {@code b}. The probability that two signatures agree at a position is the Jaccard similarity of the shingle sets,
+ * so the fraction of agreeing positions estimates it with a standard deviation of at most {@code 1 / (2 * sqrt(k))}.
+ * </p>
+ * <p>
+ * Signatures are {@code int[]} of {@code k} non-negative values, or {@code k} consecutive values of a larger array, so
+ * that the signatures of a corpus take {@code 4 * k} bytes per document. The hashes of the shingles and the hash
+ * functions drawn from the seed are fully specified, so signatures computed by different processes with the same
+ * shingles, number of hash functions and seed can be compared, and persisted.
+ * </p>
+ * <p>
+ * The following is an example which estimates the similarity of two documents from their character 5-grams:
+ * </p>
+ * <pre>
+ * MinHash minHash = MinHash.builder().setShingleLength(5).get();
+ * double estimate = MinHash.estimate(minHash.signature(left), minHash.signature(right));
+ * </pre>
+ * <p>
+ * This class is immutable and thread-safe, provided the tokenizer is.
+ * </p>
+ *
+ * @see MinHashIndex
+ * @see <a href="https://doi.org/10.1109/SEQUEN.1997.666900">A. Z. Broder, On the resemblance and containment of
+ *      documents, Compression and Complexity of Sequences, 1997</a>
+ * @since 1.13.0
+ */
+public final class MinHash {
+
+    /**
+     * Builds {@link MinHash} instances.
+     */
+    public static final class Builder implements Supplier<MinHash> {
+
+        /** The number of hash functions. */
+        private int hashCount = DEFAULT_HASH_COUNT;
+
+        /** The seed of the hash functions. */
+        private long seed = DEFAULT_SEED;
+
+        /** The length of the character n-grams. */
+        private int shingleLength = 1;
+
+        /** The tokenizer, or {@code null} for character n-grams. */
+        private Function<CharSequence, ? extends Collection<? extends CharSequence>> tokenizer;
+
+        private Builder() {
+            // use MinHash.builder()
+        }
+
+        /**
+         * Builds a new MinHash.
+         *
+         * @return a new MinHash.
+         */
+        @Override
+        public MinHash get() {
+            return new MinHash(this);
+        }
+
+        /**
+         * Sets the number of hash functions, the length of the signatures; defaults to 128.
+         *
+         * @param hashCount the number of hash functions, must be positive.
+         * @return {@code this} instance.
+         * @throws IllegalArgumentException if the number is not positive.
+         */
+        public Builder setHashCount(final int hashCount) {
+            Validate.isTrue(hashCount > 0, "The hash count must be positive: %d", hashCount);
+            this.hashCount = hashCount;
+            return this;
+        }
+
+        /**
+         * Sets the seed from which the hash functions are drawn.
+         *
+         * @param seed the seed.
+         * @return {@code this} instance.
+         */
+        public Builder setSeed(final long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * Sets the length of the character n-grams which are the shingles; defaults to 1, the characters. A sequence
+         * shorter than the length is its only shingle, unless it is empty.
+         *
+         * @param shingleLength the length, must be positive.
+         * @return {@code this} instance.
+         * @throws IllegalArgumentException if the length is not positive.
+         */
+        public Builder setShingleLength(final int shingleLength) {
+            Validate.isTrue(shingleLength > 0, "The shingle length must be positive: %d", shingleLength);
+            this.shingleLength = shingleLength;
+            return this;
+        }
+
+        /**
+         * Sets a tokenizer whose tokens are the shingles, instead of character n-grams.
+         *
+         * @param tokenizer the tokenizer, or {@code null} for character n-grams.
+         * @return {@code this} instance.
+         */
+        public Builder setTokenizer(final Function<CharSequence, ? extends Collection<? extends CharSequence>> tokenizer) {
+            this.tokenizer = tokenizer;
+            return this;
+        }
+    }
+
+    /**
+     * The default number of hash functions.
+     */
+    private static final int DEFAULT_HASH_COUNT = 128;
+
+    /**
+     * The default seed.
+     */
+    private static final long DEFAULT_SEED = 0x5DEECE66DL;
+
+    /**
+     * The offset basis of the 64-bit FNV-1a hash.
+     */
+    private static final long FNV_OFFSET = 0xCBF29CE484222325L;
+
+    /**
+     * The prime of the 64-bit FNV-1a hash.
+     */
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    /**
+     * Creates a new builder.
+     *
+     * @return a new builder.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Estimates the Jaccard similarity of two sequences from their signatures.
+     *
+     * @param left the signature of the first sequence, must not be null.
+     * @param right the signature of the second sequence, of the same length, must not be null.
+     * @return the fraction of the positions where the signatures agree.
+     * @throws IllegalArgumentException if a signature is {@code null}, or their lengths differ.
+     */
+    public static double estimate(final int[] left, final int[] right) {
+        Validate.isTrue(left != null && right != null, "Signatures must not be null");
+        Validate.isTrue(left.length == right.length, "Signatures must have the same length: %d, %d", left.length, right.length);
+        return estimate(left, 0, right, 0, left.length);
+    }
+
+    /**
+     * Estimates the Jaccard similarity of two sequences from signatures stored in larger arrays.
+     *
+     * @param left the array of the signature of the first sequence.
+     * @param leftOffset the index of the signature in the first array.
+     * @param right the array of the signature of the second sequence.
+     * @param rightOffset the index of the signature in the second array.
+     * @param length the length of the signatures.
+     * @return the fraction of the positions where the signatures agree.
+     */
+    static double estimate(final int[] left, final int leftOffset, final int[] right, final int rightOffset, final int length) {
+        int agree = 0;
+        for (int i = 0; i < length; i++) {
+            if (left[leftOffset + i] == right[rightOffset + i]) {
+                agree++;
+            }
+        }
+        return length == 0 ? 1d : (double) agree / length;
+    }
+
+    /**
+     * Hashes the characters of a sequence to 64 bits, with FNV-1a followed by the finalizer of MurmurHash3.
+     *
+     * @param cs the sequence.
+     * @param start the index of the first character.
+     * @param end the index after the last character.
+     * @return the hash.
+     */
+    static long hash(final CharSequence cs, final int start, final int end) {
+        long h = FNV_OFFSET;
+        for (int i = start; i < end; i++) {
+            final char c = cs.charAt(i);
+            h = (h ^ (c & 0xFF)) * FNV_PRIME;
+            h = (h ^ c >>> 8) * FNV_PRIME;
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        return h ^ h >>> 33;
+    }
+
+    /**
+     * The multipliers of the hash functions, odd.
+     */
+    private final long[] multipliers;
+
+    /**
+     * The increments of the hash functions.
+     */
+    private final long[] increments;
+
+    /**
+     * The seed of the hash functions.
+     */
+    private final long seed;
+
+    /**
+     * The length of the character n-grams.
+     */
+    private final int shingleLength;
+
+    /**
+     * The tokenizer, or {@code null} for character n-grams.
+     */
+    private final Function<CharSequence, ? extends Collection<? extends CharSequence>> tokenizer;
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param builder the builder.
+     */
+    private MinHash(final Builder builder) {
+        this.seed = builder.seed;
+        this.shingleLength = builder.shingleLength;
+        this.tokenizer = builder.tokenizer;
+        this.multipliers = new long[builder.hashCount];
+        this.increments = new long[builder.hashCount];
+        // java.util.Random is specified exactly, so the functions are the same in every JVM
+        final Random random = new Random(seed);
+        for (int i = 0; i < multipliers.length; i++) {
+            multipliers[i] = random.nextLong() | 1L;
+            increments[i] = random.nextLong();
+        }
+    }
+
+    /**
+     * Gets the number of hash functions, the length of the signatures.
+     *
+     * @return the number of hash functions.
+     */
+    public int getHashCount() {
+        return multipliers.length;
+    }
+
+    /**
+     * Gets the seed of the hash functions.
+     *
+     * @return the seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the length of the character n-grams, unused if there is a tokenizer.
+     *
+     * @return the length of the character n-grams.
+     */
+    public int getShingleLength() {
+        return shingleLength;
+    }
+
+    /**
+     * Gets the tokenizer whose tokens are the shingles.
+     *
+     * @return the tokenizer, or {@code null} for character n-grams.
+     */
+    public Function<CharSequence, ? extends Collection<? extends CharSequence>> getTokenizer() {
+        return tokenizer;
+    }
+
+    /**
+     * Computes the exact Jaccard similarity of the shingle sets of two sequences, which signatures estimate: the
+     * {@link JaccardSimilarity} for single characters, otherwise from the {@link IntersectionSimilarity} of the sets.
+     *
+     * @param left the first sequence, must not be null.
+     * @param right the second sequence, must not be null.
+     * @return the size of the intersection of the shingle sets divided by the size of their union, 1 if both are
+     *         empty.
+     * @throws IllegalArgumentException if either sequence is {@code null}.
+     */
+    public double jaccard(final CharSequence left, final CharSequence right) {
+        if (tokenizer == null && shingleLength == 1) {
+            return JaccardSimilarity.INSTANCE.apply(left, right);
+        }
+        final IntersectionResult result = new IntersectionSimilarity<>(this::shingles).apply(left, right);
+        final int union = result.getSizeA() + result.getSizeB() - result.getIntersection();
+        return union == 0 ? 1d : (double) result.getIntersection() / union;
+    }
+
+    /**
+     * Gets the set of shingles of a sequence.
+     *
+     * @param cs the sequence.
+     * @return the shingles.
+     */
+    private Set<String> shingles(final CharSequence cs) {
+        final Set<String> shingles = new HashSet<>();
+        if (tokenizer != null) {
+            for (final CharSequence token : tokenizer.apply(cs)) {
+                shingles.add(token.toString());
+            }
+        } else if (cs.length() > 0) {
+            final int last = Math.max(0, cs.length() - shingleLength);
+            for (int i = 0; i <= last; i++) {
+                shingles.add(cs.subSequence(i, Math.min(i + shingleLength, cs.length())).toString());
+            }
+        }
+        return shingles;
+    }
+
+    /**
+     * Computes the signature of a sequence.
+     *
+     * @param cs the sequence, must not be null.
+     * @return the signature, {@link #getHashCount()} values; all are {@link Integer#MAX_VALUE} if the sequence has no
+     *         shingles.
+     * @throws IllegalArgumentException if the sequence is {@code null}.
+     */
+    public int[] signature(final CharSequence cs) {
+        final int[] signature = new int[multipliers.length];
+        signature(cs, signature, 0);
+        return signature;
+    }
+
+    /**
+     * Computes the signature of a sequence into a larger array, such as the signatures of a corpus.
+     *
+     * @param cs the sequence, must not be null.
+     * @param destination the array receiving the signature, must not be null.
+     * @param offset the index of the signature in the array.
+     * @throws IllegalArgumentException if the sequence or the array is {@code null}.
+     * @throws IndexOutOfBoundsException if the signature does not fit in the array at the offset.
+     */
+    public void signature(final CharSequence cs, final int[] destination, final int offset) {
+        Validate.isTrue(cs != null, "The sequence must not be null");
+        Validate.isTrue(destination != null, "The destination must not be null");
+        final int count = multipliers.length;
+        if (offset < 0 || offset > destination.length - count) {
+            throw new IndexOutOfBoundsException("offset " + offset + ", length " + destination.length);
+        }
+        Arrays.fill(destination, offset, offset + count, Integer.MAX_VALUE);
+        if (tokenizer != null) {
+            for (final CharSequence token : tokenizer.apply(cs)) {
+                update(hash(token, 0, token.length()), destination, offset);
+            }
+        } else if (cs.length() > 0) {
+            final int last = Math.max(0, cs.length() - shingleLength);
+            for (int i = 0; i <= last; i++) {
+                update(hash(cs, i, Math.min(i + shingleLength, cs.length())), destination, offset);
+            }
+        }
+    }
+
+    /**
+     * Lowers the values of a signature to the hashes of a shingle.
+     *
+     * @param shingle the hash of the shingle.
+     * @param signature the array of the signature.
+     * @param offset the index of the signature in the array.
+     */
+    private void update(final long shingle, final int[] signature, final int offset) {
+        final long[] a = multipliers;
+        final long[] b = increments;
+        for (int i = 0; i < a.length; i++) {
+            // the high 31 bits of a multiply-shift hash
+            final int value = (int) ((a[i] * shingle + b[i]) >>> Integer.SIZE + 1);
+            if (value < signature[offset + i]) {
+                signature[offset + i] = value;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,574 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.similarity;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Indexes {@link MinHash} signatures with locality-sensitive hashing, to find the documents of a corpus which may be
+ * similar to a query without comparing it to every document.
+ * <p>
+ * The signatures of {@code k} values are cut into {@code b} bands of {@code r = k / b} rows, and a document is a
+ * candidate for a query when all the rows of at least one band agree. A document whose Jaccard similarity to the query
+ * is {@code s} is a candidate with probability {@code 1 - (1 - s^r)^b}, an S-curve whose threshold is near
+ * {@code (1 / b)^(1 / r)}: more bands find less similar documents, with more false candidates. The candidates are
+ * then verified with the exact {@link MinHash#jaccard(CharSequence, CharSequence) Jaccard similarity}.
+ * </p>
+ * <p>
+ * Documents are identified by their order of addition, from 0. The index keeps {@code 4 * k} bytes of signature and
+ * {@code 4 * b} bytes of bucket links per document, and can be {@link #writeTo(OutputStream) written} and read back,
+ * including from a memory-mapped file with {@link #read(ByteBuffer, MinHash)}, with the same MinHash.
+ * </p>
+ * <p>
+ * This class is not thread-safe: searches may run concurrently, but not with additions.
+ * </p>
+ *
+ * @see MinHash
+ * @since 1.13.0
+ */
+public final class MinHashIndex {
+
+    /**
+     * Identifies the serialized form.
+     */
+    private static final int MAGIC = 0x4D484958;
+
+    /**
+     * The version of the serialized form.
+     */
+    private static final int VERSION = 2;
+
+    /**
+     * The length of the serialized header.
+     */
+    private static final int HEADER_BYTES = 6 * Integer.BYTES + Long.BYTES;
+
+    /**
+     * The initial capacity in documents.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Orders matches by decreasing similarity, then increasing id.
+     */
+    private static final Comparator<Map.Entry<Integer, Double>> MATCH_ORDER = Comparator
+        .comparing((Map.Entry<Integer, Double> e) -> e.getValue()).reversed().thenComparing(Map.Entry::getKey);
+
+    /**
+     * Describes serialized shingles.
+     *
+     * @param shingles the length of the character n-grams, or 0 for a tokenizer.
+     * @return the description.
+     */
+    private static String describe(final int shingles) {
+        return shingles == 0 ? "of a tokenizer" : "of " + shingles + " characters";
+    }
+
+    /**
+     * Reads an index written by {@link #writeTo(OutputStream)}.
+     *
+     * @param input the stream, must not be null.
+     * @param minHash the MinHash of the signatures, must not be null.
+     * @return a new index.
+     * @throws IOException if the stream cannot be read, or is not an index of signatures of the MinHash.
+     * @throws IllegalArgumentException if the index was written with other shingles than those of the MinHash.
+     */
+    public static MinHashIndex readFrom(final InputStream input, final MinHash minHash) throws IOException {
+        Validate.isTrue(input != null, "The input must not be null");
+        final DataInputStream data = new DataInputStream(input);
+        final MinHashIndex index = readHeader(header(data), minHash);
+        final int[] signatures = index.signatures;
+        for (int i = 0; i < index.size * minHash.getHashCount(); i++) {
+            signatures[i] = data.readInt();
+        }
+        index.rebuild();
+        return index;
+    }
+
+    /**
+     * Reads an index written by {@link #writeTo(OutputStream)} from a buffer, such as a memory-mapped file, from its
+     * position, which is advanced past the index. The buffer's byte order must be big-endian, its default.
+     *
+     * @param buffer the buffer, must not be null.
+     * @param minHash the MinHash of the signatures, must not be null.
+     * @return a new index.
+     * @throws IOException if the buffer is not an index of signatures of the MinHash.
+     * @throws IllegalArgumentException if the index was written with other shingles than those of the MinHash.
+     * @throws java.nio.BufferUnderflowException if the buffer is truncated.
+     */
+    public static MinHashIndex read(final ByteBuffer buffer, final MinHash minHash) throws IOException {
+        Validate.isTrue(buffer != null, "The buffer must not be null");
+        final MinHashIndex index = readHeader(buffer, minHash);
+        final int length = index.size * minHash.getHashCount();
+        buffer.asIntBuffer().get(index.signatures, 0, length);
+        buffer.position(buffer.position() + length * Integer.BYTES);
+        index.rebuild();
+        return index;
+    }
+
+    /**
+     * Reads the header of a serialized index from a stream.
+     *
+     * @param data the stream.
+     * @return the header.
+     * @throws IOException if the stream cannot be read.
+     */
+    private static ByteBuffer header(final DataInputStream data) throws IOException {
+        final byte[] header = new byte[HEADER_BYTES];
+        data.readFully(header);
+        return ByteBuffer.wrap(header);
+    }
+
+    /**
+     * Reads and validates the header of a serialized index and creates an index with room for its signatures.
+     *
+     * @param header the buffer of the header, advanced past it.
+     * @param minHash the MinHash of the signatures.
+     * @return a new index.
+     * @throws IOException if the header does not match.
+     * @throws IllegalArgumentException if the shingles do not match.
+     */
+    private static MinHashIndex readHeader(final ByteBuffer header, final MinHash minHash) throws IOException {
+        Validate.isTrue(minHash != null, "The MinHash must not be null");
+        final int magic = header.getInt();
+        final int version = header.getInt();
+        final int hashCount = header.getInt();
+        final long seed = header.getLong();
+        final int shingles = header.getInt();
+        final int bands = header.getInt();
+        final int size = header.getInt();
+        if (magic != MAGIC || version != VERSION) {
+            throw new IOException("Not a MinHashIndex");
+        }
+        if (hashCount != minHash.getHashCount() || seed != minHash.getSeed()) {
+            throw new IOException(String.format("The index has %d hash functions with seed %d, not %d with seed %d", hashCount, seed,
+                minHash.getHashCount(), minHash.getSeed()));
+        }
+        Validate.isTrue(shingles == shingles(minHash), "The index has shingles %s, not %s", describe(shingles), describe(shingles(minHash)));
+        if (bands <= 0 || hashCount % bands != 0 || size < 0) {
+            throw new IOException(String.format("Invalid index of %d bands and %d documents", bands, size));
+        }
+        final MinHashIndex index = new MinHashIndex(minHash, bands);
+        index.ensureCapacity(size);
+        index.size = size;
+        return index;
+    }
+
+    /**
+     * Gets the shingles of a MinHash as serialized: the length of its character n-grams, or 0 for a tokenizer.
+     *
+     * @param minHash the MinHash.
+     * @return the serialized shingles.
+     */
+    private static int shingles(final MinHash minHash) {
+        return minHash.getTokenizer() == null ? minHash.getShingleLength() : 0;
+    }
+
+    /**
+     * The MinHash of the signatures.
+     */
+    private final MinHash minHash;
+
+    /**
+     * The number of bands.
+     */
+    private final int bands;
+
+    /**
+     * The number of rows of a band.
+     */
+    private final int rows;
+
+    /**
+     * The number of documents.
+     */
+    private int size;
+
+    /**
+     * The signatures of the documents, consecutive.
+     */
+    private int[] signatures;
+
+    /**
+     * For each document and band, at {@code document * bands + band}, the next document of the bucket plus one, or 0.
+     */
+    private int[] next;
+
+    /**
+     * The keys of the buckets, an open-addressing table of a power of two length.
+     */
+    private long[] bucketKeys;
+
+    /**
+     * The last document added to each bucket plus one, or 0 for an empty slot.
+     */
+    private int[] bucketHeads;
+
+    /**
+     * The number of buckets.
+     */
+    private int buckets;
+
+    /**
+     * Constructs a new empty index.
+     *
+     * @param minHash the MinHash of the signatures, must not be null.
+     * @param bands the number of bands, which must divide the number of hash functions.
+     * @throws IllegalArgumentException if the MinHash is {@code null}, or the number of bands does not divide the number
+     *         of hash functions.
+     */
+    public MinHashIndex(final MinHash minHash, final int bands) {
+        Validate.isTrue(minHash != null, "The MinHash must not be null");
+        Validate.isTrue(bands > 0 && minHash.getHashCount() % bands == 0, "The bands must divide the hash count %d: %d", minHash.getHashCount(), bands);
+        this.minHash = minHash;
+        this.bands = bands;
+        this.rows = minHash.getHashCount() / bands;
+        this.signatures = new int[INITIAL_CAPACITY * minHash.getHashCount()];
+        this.next = new int[INITIAL_CAPACITY * bands];
+        this.bucketKeys = new long[INITIAL_CAPACITY];
+        this.bucketHeads = new int[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Adds a document.
+     *
+     * @param document the document, must not be null.
+     * @return the id of the document.
+     * @throws IllegalArgumentException if the document is {@code null}.
+     */
+    public int add(final CharSequence document) {
+        ensureCapacity(size + 1);
+        minHash.signature(document, signatures, size * minHash.getHashCount());
+        link(size);
+        return size++;
+    }
+
+    /**
+     * Adds the signature of a document.
+     *
+     * @param signature the signature computed by the MinHash of this index, must not be null.
+     * @return the id of the document.
+     * @throws IllegalArgumentException if the signature is {@code null} or does not have the length of the signatures.
+     */
+    public int add(final int[] signature) {
+        checkSignature(signature);
+        ensureCapacity(size + 1);
+        System.arraycopy(signature, 0, signatures, size * signature.length, signature.length);
+        link(size);
+        return size++;
+    }
+
+    /**
+     * Tests whether the rows of a band of a stored signature equal those of another signature.
+     *
+     * @param stored the index of the band in the stored signatures.
+     * @param signature the other signature.
+     * @param start the index of the band in the other signature.
+     * @return whether the rows are equal.
+     */
+    private boolean bandEquals(final int stored, final int[] signature, final int start) {
+        for (int i = 0; i < rows; i++) {
+            if (signatures[stored + i] != signature[start + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Hashes a band of a signature.
+     *
+     * @param signature the array of the signature.
+     * @param offset the index of the signature in the array.
+     * @param band the band.
+     * @return the key of the bucket.
+     */
+    private long bandKey(final int[] signature, final int offset, final int band) {
+        long h = band;
+        final int start = offset + band * rows;
+        for (int i = start; i < start + rows; i++) {
+            h = (h ^ signature[i]) * 0x9E3779B97F4A7C15L;
+            h ^= h >>> 29;
+        }
+        return h;
+    }
+
+    /**
+     * Finds the candidates of a query: the documents which agree with it on all the rows of a band.
+     *
+     * @param query the query, must not be null.
+     * @return the ids of the candidates, in increasing order.
+     * @throws IllegalArgumentException if the query is {@code null}.
+     */
+    public int[] candidates(final CharSequence query) {
+        return candidates(minHash.signature(query));
+    }
+
+    /**
+     * Finds the candidates of a signature: the documents which agree with it on all the rows of a band.
+     *
+     * @param signature the signature computed by the MinHash of this index, must not be null.
+     * @return the ids of the candidates, in increasing order.
+     * @throws IllegalArgumentException if the signature is {@code null} or does not have the length of the signatures.
+     */
+    public int[] candidates(final int[] signature) {
+        checkSignature(signature);
+        int[] found = new int[INITIAL_CAPACITY];
+        int count = 0;
+        for (int band = 0; band < bands; band++) {
+            final long key = bandKey(signature, 0, band);
+            final int start = band * rows;
+            for (int d = bucketHeads[slot(key)]; d != 0; d = next[(d - 1) * bands + band]) {
+                final int document = d - 1;
+                // skip other bands whose keys collide
+                if (!bandEquals(document * signature.length + start, signature, start)) {
+                    continue;
+                }
+                if (count == found.length) {
+                    found = Arrays.copyOf(found, count * 2);
+                }
+                found[count++] = document;
+            }
+        }
+        Arrays.sort(found, 0, count);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || found[i] != found[distinct - 1]) {
+                found[distinct++] = found[i];
+            }
+        }
+        return Arrays.copyOf(found, distinct);
+    }
+
+    /**
+     * Checks the length of a signature.
+     *
+     * @param signature the signature.
+     */
+    private void checkSignature(final int[] signature) {
+        Validate.isTrue(signature != null, "The signature must not be null");
+        Validate.isTrue(signature.length == minHash.getHashCount(), "The signature must have %d values: %d", minHash.getHashCount(), signature.length);
+    }
+
+    /**
+     * Grows the arrays to hold a number of documents.
+     *
+     * @param capacity the number of documents.
+     */
+    private void ensureCapacity(final int capacity) {
+        final int hashCount = minHash.getHashCount();
+        if (capacity * (long) hashCount > signatures.length) {
+            final long grown = Math.max(capacity, (long) signatures.length / hashCount * 2);
+            if (grown * hashCount > Integer.MAX_VALUE - 8) {
+                throw new IllegalStateException("Too many documents: " + capacity);
+            }
+            signatures = Arrays.copyOf(signatures, (int) grown * hashCount);
+            next = Arrays.copyOf(next, (int) grown * bands);
+        }
+    }
+
+    /**
+     * Estimates the Jaccard similarity of a query to a document from their signatures.
+     *
+     * @param signature the signature of the query computed by the MinHash of this index, must not be null.
+     * @param document the id of the document.
+     * @return the fraction of the positions where the signatures agree.
+     * @throws IllegalArgumentException if the signature is {@code null} or does not have the length of the signatures.
+     * @throws IndexOutOfBoundsException if there is no such document.
+     */
+    public double estimate(final int[] signature, final int document) {
+        checkSignature(signature);
+        if (document < 0 || document >= size) {
+            throw new IndexOutOfBoundsException("document " + document + ", size " + size);
+        }
+        return MinHash.estimate(signature, 0, signatures, document * signature.length, signature.length);
+    }
+
+    /**
+     * Gets the number of bands.
+     *
+     * @return the number of bands.
+     */
+    public int getBands() {
+        return bands;
+    }
+
+    /**
+     * Gets the MinHash of the signatures.
+     *
+     * @return the MinHash.
+     */
+    public MinHash getMinHash() {
+        return minHash;
+    }
+
+    /**
+     * Copies the signature of a document.
+     *
+     * @param document the id of the document.
+     * @return the signature.
+     * @throws IndexOutOfBoundsException if there is no such document.
+     */
+    public int[] getSignature(final int document) {
+        if (document < 0 || document >= size) {
+            throw new IndexOutOfBoundsException("document " + document + ", size " + size);
+        }
+        final int hashCount = minHash.getHashCount();
+        return Arrays.copyOfRange(signatures, document * hashCount, (document + 1) * hashCount);
+    }
+
+    /**
+     * Adds a document to the buckets of its bands.
+     *
+     * @param document the id of the document, whose signature is stored.
+     */
+    private void link(final int document) {
+        if ((buckets + bands) * 2L > bucketKeys.length) {
+            resize(Math.max(bucketKeys.length * 2, Integer.highestOneBit((buckets + bands) * 2) * 2));
+        }
+        final int offset = document * minHash.getHashCount();
+        for (int band = 0; band < bands; band++) {
+            final long key = bandKey(signatures, offset, band);
+            final int slot = slot(key);
+            if (bucketHeads[slot] == 0) {
+                bucketKeys[slot] = key;
+                buckets++;
+            }
+            next[document * bands + band] = bucketHeads[slot];
+            bucketHeads[slot] = document + 1;
+        }
+    }
+
+    /**
+     * Finds and verifies the documents similar to a query: the candidates whose exact Jaccard similarity to it is at
+     * least a minimum. Documents which are not candidates are missed, with a probability which decreases with their
+     * similarity.
+     *
+     * @param query the query, must not be null.
+     * @param minSimilarity the minimum similarity.
+     * @param documents the documents by id, which the index does not keep, must not be null.
+     * @return the ids of the similar documents with their similarity, by decreasing similarity then increasing id.
+     * @throws IllegalArgumentException if the query or the documents are {@code null}.
+     */
+    public List<Map.Entry<Integer, Double>> query(final CharSequence query, final double minSimilarity,
+        final IntFunction<? extends CharSequence> documents) {
+        Validate.isTrue(documents != null, "The documents must not be null");
+        final List<Map.Entry<Integer, Double>> result = new ArrayList<>();
+        for (final int document : candidates(query)) {
+            final double similarity = minHash.jaccard(query, documents.apply(document));
+            if (similarity >= minSimilarity) {
+                result.add(new AbstractMap.SimpleImmutableEntry<>(document, similarity));
+            }
+        }
+        result.sort(MATCH_ORDER);
+        return result;
+    }
+
+    /**
+     * Rebuilds the buckets from the stored signatures.
+     */
+    private void rebuild() {
+        final int count = size;
+        size = 0;
+        for (int document = 0; document < count; document++) {
+            link(document);
+            size++;
+        }
+    }
+
+    /**
+     * Rehashes the buckets into a larger table.
+     *
+     * @param length the new length, a power of two.
+     */
+    private void resize(final int length) {
+        final long[] oldKeys = bucketKeys;
+        final int[] oldHeads = bucketHeads;
+        bucketKeys = new long[length];
+        bucketHeads = new int[length];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldHeads[i] != 0) {
+                final int slot = slot(oldKeys[i]);
+                bucketKeys[slot] = oldKeys[i];
+                bucketHeads[slot] = oldHeads[i];
+            }
+        }
+    }
+
+    /**
+     * Gets the number of documents.
+     *
+     * @return the number of documents.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Finds the slot of a bucket key: its slot if present, otherwise the empty slot where it belongs.
+     *
+     * @param key the key.
+     * @return the slot.
+     */
+    private int slot(final long key) {
+        final int mask = bucketKeys.length - 1;
+        int slot = (int) (key ^ key >>> 32) & mask;
+        while (bucketHeads[slot] != 0 && bucketKeys[slot] != key) {
+            slot = slot + 1 & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Writes the index: a header of the MinHash parameters, its shingle length or whether it has a tokenizer, and the
+     * number of bands, then the signatures, as big-endian values. The buckets are rebuilt when read. The tokenizer
+     * itself is not written, so an index must be read with a MinHash with the same tokenizer.
+     *
+     * @param output the stream, must not be null.
+     * @throws IOException if the stream cannot be written.
+     */
+    public void writeTo(final OutputStream output) throws IOException {
+        Validate.isTrue(output != null, "The output must not be null");
+        final DataOutputStream data = new DataOutputStream(output);
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(minHash.getHashCount());
+        data.writeLong(minHash.getSeed());
+        data.writeInt(shingles(minHash));
+        data.writeInt(bands);
+        data.writeInt(size);
+        for (int i = 0; i < size * minHash.getHashCount(); i++) {
+            data.writeInt(signatures[i]);
+        }
+        data.flush();
+    }
+
+}
@@ -0,0 +1,419 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.similarity;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * An inverted index of the q-grams of terms, which finds the terms within a {@link LevenshteinDistance} of a query by
+ * verifying only the few candidates which share enough q-grams with it, instead of every term.
+ * <p>
+ * Terms are padded on both sides with {@code q - 1} characters, so that a term of length {@code n} has
+ * {@code n + q - 1} q-grams. An edit changes at most {@code q} of them, so a term within distance {@code k} of a query
+ * of length {@code m} has a length in {@code [m - k, m + k]} and shares at least {@code max(m, n) + q - 1 - k * q}
+ * q-grams with it, counted with multiplicity (the count filter). The candidates which pass both filters are verified
+ * with the exact distance, or rescored with another {@link SimilarityScore}, such as {@link JaroWinklerSimilarity}.
+ * </p>
+ * <p>
+ * The filter prunes when {@code k * q} is small compared to the length of the query; otherwise, when
+ * {@code m + q - 1 - k * q <= 0}, a term may share no q-gram with the query and every term of a compatible length is a
+ * candidate. Larger {@code q} give shorter posting lists but weaker filters: 2 or 3 suit most words.
+ * </p>
+ * <p>
+ * Each posting list holds the ids of the terms containing a q-gram, once per occurrence, as variable-length deltas of
+ * one byte for most entries. Terms are identified by their order of addition, from 0.
+ * </p>
+ * <p>
+ * This class is not thread-safe: searches may run concurrently, but not with additions.
+ * </p>
+ *
+ * @param <T> the type of the terms.
+ * @see <a href="https://doi.org/10.1016/0304-3975(92)90143-4">E. Ukkonen, Approximate string-matching with q-grams and
+ *      maximal matches, Theoretical Computer Science 92, 1992</a>
+ * @since 1.13.0
+ */
+public final class QGramIndex<T extends CharSequence> {
+
+    /**
+     * The initial capacity of the arrays.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The number of q-grams shared by the query with the terms it touches, by increasing id.
+     */
+    private static final class Counts {
+
+        /**
+         * Decodes the ids of a posting list with their number of occurrences, at most a limit.
+         *
+         * @param list the posting list.
+         * @param limit the number of occurrences of the q-gram in the query.
+         * @return the counts.
+         */
+        private static Counts decode(final Postings list, final int limit) {
+            // at most one id per encoded byte
+            final Counts counts = new Counts(list.length);
+            final byte[] bytes = list.bytes;
+            int id = 0;
+            int run = 0;
+            for (int i = 0; i <= list.length;) {
+                int delta = 0;
+                if (i < list.length) {
+                    int shift = 0;
+                    byte b;
+                    do {
+                        b = bytes[i++];
+                        delta |= (b & 0x7F) << shift;
+                        shift += 7;
+                    } while (b < 0);
+                } else {
+                    // flush the last run
+                    i++;
+                    delta = 1;
+                }
+                if (delta != 0 && run > 0) {
+                    counts.ids[counts.size] = id;
+                    counts.counts[counts.size++] = Math.min(run, limit);
+                    run = 0;
+                }
+                id += delta;
+                run++;
+            }
+            return counts;
+        }
+
+        /**
+         * Merges two counts, summing those of the same term.
+         *
+         * @param left the first counts.
+         * @param right the second counts.
+         * @return the merged counts.
+         */
+        private static Counts merge(final Counts left, final Counts right) {
+            final Counts merged = new Counts(left.size + right.size);
+            int i = 0;
+            int j = 0;
+            while (i < left.size && j < right.size) {
+                final int a = left.ids[i];
+                final int b = right.ids[j];
+                if (a < b) {
+                    merged.append(a, left.counts[i++]);
+                } else if (a > b) {
+                    merged.append(b, right.counts[j++]);
+                } else {
+                    merged.append(a, left.counts[i++] + right.counts[j++]);
+                }
+            }
+            while (i < left.size) {
+                merged.append(left.ids[i], left.counts[i++]);
+            }
+            while (j < right.size) {
+                merged.append(right.ids[j], right.counts[j++]);
+            }
+            return merged;
+        }
+
+        /** The ids of the terms, increasing. */
+        private final int[] ids;
+
+        /** The counts of the terms. */
+        private final int[] counts;
+
+        /** The number of terms. */
+        private int size;
+
+        /**
+         * Constructs new empty counts.
+         *
+         * @param capacity the maximum number of terms.
+         */
+        private Counts(final int capacity) {
+            ids = new int[capacity];
+            counts = new int[capacity];
+        }
+
+        /**
+         * Appends the count of a term greater than the last one.
+         *
+         * @param id the id of the term.
+         * @param count the count.
+         */
+        private void append(final int id, final int count) {
+            ids[size] = id;
+            counts[size++] = count;
+        }
+    }
+
+    /**
+     * The ids of the terms containing a q-gram, in increasing order and once per occurrence, as variable-length deltas.
+     */
+    private static final class Postings {
+
+        /** The encoded deltas. */
+        private byte[] bytes = new byte[4];
+
+        /** The number of bytes used. */
+        private int length;
+
+        /** The last id added. */
+        private int last;
+
+        /**
+         * Appends an occurrence of the q-gram.
+         *
+         * @param id the id of the term, greater than or equal to the last one.
+         */
+        private void add(final int id) {
+            int delta = id - last;
+            last = id;
+            if (length + 5 > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + 5));
+            }
+            while ((delta & ~0x7F) != 0) {
+                bytes[length++] = (byte) (delta & 0x7F | 0x80);
+                delta >>>= 7;
+            }
+            bytes[length++] = (byte) delta;
+        }
+    }
+
+    /**
+     * Creates an index of terms.
+     *
+     * @param <T> the type of the terms.
+     * @param q the length of the q-grams, must be positive.
+     * @param terms the terms, none of which may be null.
+     * @return a new index.
+     * @throws IllegalArgumentException if {@code q} is not positive or a term is {@code null}.
+     */
+    public static <T extends CharSequence> QGramIndex<T> of(final int q, final Iterable<? extends T> terms) {
+        final QGramIndex<T> index = new QGramIndex<>(q);
+        index.addAll(terms);
+        return index;
+    }
+
+    /**
+     * The tokenizer of the q-grams.
+     */
+    private final QGramTokenizer tokenizer;
+
+    /**
+     * The postings of the q-grams.
+     */
+    private final Map<String, Postings> postings = new HashMap<>();
+
+    /**
+     * The terms by id.
+     */
+    private final List<T> terms = new ArrayList<>();
+
+    /**
+     * The lengths of the terms by id, as added.
+     */
+    private int[] lengths = new int[INITIAL_CAPACITY];
+
+    /**
+     * Constructs a new empty index.
+     *
+     * @param q the length of the q-grams, must be positive.
+     * @throws IllegalArgumentException if {@code q} is not positive.
+     */
+    public QGramIndex(final int q) {
+        this.tokenizer = new QGramTokenizer(q);
+    }
+
+    /**
+     * Adds a term.
+     *
+     * @param term the term, must not be null.
+     * @return the id of the term.
+     * @throws IllegalArgumentException if the term is {@code null}.
+     */
+    public int add(final T term) {
+        Validate.isTrue(term != null, "The term must not be null");
+        final int id = terms.size();
+        for (final CharSequence gram : tokenizer.apply(term)) {
+            postings.computeIfAbsent(gram.toString(), k -> new Postings()).add(id);
+        }
+        if (id == lengths.length) {
+            lengths = Arrays.copyOf(lengths, id * 2);
+        }
+        lengths[id] = term.length();
+        terms.add(term);
+        return id;
+    }
+
+    /**
+     * Adds terms.
+     *
+     * @param terms the terms, none of which may be null.
+     * @throws IllegalArgumentException if a term is {@code null}.
+     */
+    public void addAll(final Iterable<? extends T> terms) {
+        Validate.isTrue(terms != null, "The terms must not be null");
+        for (final T term : terms) {
+            add(term);
+        }
+    }
+
+    /**
+     * Finds the candidates of a query: the terms whose length and number of q-grams shared with the query allow them
+     * to be within a distance of it.
+     *
+     * @param query the query, must not be null.
+     * @param maxDistance the maximum distance, must not be negative.
+     * @return the ids of the candidates, in increasing order; a superset of the ids of the terms within the distance.
+     * @throws IllegalArgumentException if the query is {@code null} or the distance is negative.
+     */
+    public int[] candidates(final CharSequence query, final int maxDistance) {
+        Validate.isTrue(query != null, "The query must not be null");
+        Validate.isTrue(maxDistance >= 0, "The maximum distance must not be negative: %d", maxDistance);
+        final int m = query.length();
+        final int q = tokenizer.getQ();
+        // a term may share no q-gram with the query; only the length filter applies
+        if ((long) m + q - 1 - (long) maxDistance * q <= 0) {
+            final int[] found = new int[terms.size()];
+            int count = 0;
+            for (int id = 0; id < terms.size(); id++) {
+                if (Math.abs(lengths[id] - m) <= maxDistance) {
+                    found[count++] = id;
+                }
+            }
+            return Arrays.copyOf(found, count);
+        }
+        final Map<String, Integer> queryCounts = new HashMap<>();
+        for (final CharSequence gram : tokenizer.apply(query)) {
+            queryCounts.merge(gram.toString(), 1, Integer::sum);
+        }
+        // the number of q-grams shared by each term sharing any, merged pairwise from the posting lists
+        List<Counts> runs = new ArrayList<>(queryCounts.size());
+        for (final Map.Entry<String, Integer> entry : queryCounts.entrySet()) {
+            final Postings list = postings.get(entry.getKey());
+            if (list != null) {
+                runs.add(Counts.decode(list, entry.getValue()));
+            }
+        }
+        if (runs.isEmpty()) {
+            return new int[0];
+        }
+        while (runs.size() > 1) {
+            final List<Counts> merged = new ArrayList<>((runs.size() + 1) / 2);
+            for (int i = 0; i < runs.size(); i += 2) {
+                merged.add(i + 1 < runs.size() ? Counts.merge(runs.get(i), runs.get(i + 1)) : runs.get(i));
+            }
+            runs = merged;
+        }
+        final Counts shared = runs.get(0);
+        final int[] found = new int[shared.size];
+        int size = 0;
+        for (int i = 0; i < shared.size; i++) {
+            final int id = shared.ids[i];
+            final int n = lengths[id];
+            if (Math.abs(n - m) <= maxDistance && shared.counts[i] >= (long) Math.max(m, n) + q - 1 - (long) maxDistance * q) {
+                found[size++] = id;
+            }
+        }
+        return Arrays.copyOf(found, size);
+    }
+
+    /**
+     * Gets the length of the q-grams.
+     *
+     * @return the length.
+     */
+    public int getQ() {
+        return tokenizer.getQ();
+    }
+
+    /**
+     * Gets a term.
+     *
+     * @param id the id of the term.
+     * @return the term.
+     * @throws IndexOutOfBoundsException if there is no such term.
+     */
+    public T getTerm(final int id) {
+        return terms.get(id);
+    }
+
+    /**
+     * Rescores the candidates of a query, which include the terms within a distance of it, with another score.
+     *
+     * @param <R> the type of the score.
+     * @param query the query, must not be null.
+     * @param maxDistance the maximum distance of the candidates, must not be negative.
+     * @param score the score, must not be null.
+     * @return the candidates with their scores, by increasing id.
+     * @throws IllegalArgumentException if the query or the score is {@code null}, or the distance is negative.
+     */
+    public <R> List<Map.Entry<T, R>> rescore(final CharSequence query, final int maxDistance, final SimilarityScore<R> score) {
+        Validate.isTrue(score != null, "The score must not be null");
+        final int[] candidates = candidates(query, maxDistance);
+        final List<Map.Entry<T, R>> result = new ArrayList<>(candidates.length);
+        for (final int id : candidates) {
+            final T term = terms.get(id);
+            result.add(new AbstractMap.SimpleImmutableEntry<>(term, score.apply(query, term)));
+        }
+        return result;
+    }
+
+    /**
+     * Finds the terms within a {@link LevenshteinDistance} of a query.
+     *
+     * @param query the query, must not be null.
+     * @param maxDistance the maximum distance, must not be negative.
+     * @return the terms with their distances, by increasing distance then increasing id.
+     * @throws IllegalArgumentException if the query is {@code null} or the distance is negative.
+     */
+    public List<Map.Entry<T, Integer>> search(final CharSequence query, final int maxDistance) {
+        final int[] candidates = candidates(query, maxDistance);
+        final LevenshteinDistanceFrom from = LevenshteinDistance.getDefaultInstance().from(query);
+        final long[] matches = new long[candidates.length];
+        int count = 0;
+        for (final int id : candidates) {
+            final int distance = from.applyAsInt(terms.get(id), maxDistance);
+            if (distance >= 0) {
+                matches[count++] = (long) distance << Integer.SIZE | id;
+            }
+        }
+        Arrays.sort(matches, 0, count);
+        final List<Map.Entry<T, Integer>> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final int distance = (int) (matches[i] >>> Integer.SIZE);
+            result.add(new AbstractMap.SimpleImmutableEntry<>(terms.get((int) matches[i]), distance));
+        }
+        return result;
+    }
+
+    /**
+     * Gets the number of terms.
+     *
+     * @return the number of terms.
+     */
+    public int size() {
+        return terms.size();
+    }
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.similarity;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * A {@link Tokenizer} which splits a character sequence into its overlapping q-grams, after padding it on both sides
+ * with {@code q - 1} copies of {@link #PADDING}, so that a sequence of length {@code n} has {@code n + q - 1} q-grams
+ * and each character is in {@code q} of them.
+ * <p>
+ * Instances of this class are immutable and are safe for use by multiple concurrent threads.
+ * </p>
+ *
+ * @since 1.13.0
+ */
+final class QGramTokenizer implements CharSequenceTokenizer<CharSequence> {
+
+    /**
+     * The padding character, a noncharacter which should not occur in text.
+     */
+    static final char PADDING = '\uFFFF';
+
+    /**
+     * The length of the q-grams.
+     */
+    private final int q;
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param q the length of the q-grams, must be positive.
+     * @throws IllegalArgumentException if the length is not positive.
+     */
+    QGramTokenizer(final int q) {
+        Validate.isTrue(q > 0, "q must be positive: %d", q);
+        this.q = q;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if the input text is {@code null}
+     */
+    @Override
+    public CharSequence[] apply(final CharSequence text) {
+        Validate.isTrue(text != null, "The text must not be null");
+        final int length = text.length();
+        final char[] padded = new char[length + 2 * (q - 1)];
+        for (int i = 0; i < q - 1; i++) {
+            padded[i] = PADDING;
+            padded[padded.length - 1 - i] = PADDING;
+        }
+        for (int i = 0; i < length; i++) {
+            padded[q - 1 + i] = text.charAt(i);
+        }
+        final CharSequence[] grams = new CharSequence[Math.max(0, padded.length - q + 1)];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = new String(padded, i, q);
+        }
+        return grams;
+    }
+
+    /**
+     * Gets the length of the q-grams.
+     *
+     * @return the length.
+     */
+    int getQ() {
+        return q;
+    }
+
+}
@@ -57,6 +57,15 @@ final class SimilarityCharacterInput implements SimilarityInput<Character> {
         return Objects.equals(cs, other.cs);
     }
 
+    /**
+     * Gets the source.
+     *
+     * @return the source
+     */
+    CharSequence getCharSequence() {
+        return cs;
+    }
+
     @Override
     public int hashCode() {
         return Objects.hash(cs);
@@ -30,6 +30,23 @@ import java.util.Objects;
  */
 public interface SimilarityInput<E> {
 
+    /**
+     * Creates a new input of the code points of a {@link CharSequence}, so that a supplementary character is one
+     * element instead of two surrogates. The edit distances compare such inputs as ints, without boxing.
+     *
+     * @param cs input character sequence, must not be null.
+     * @return a new input.
+     * @throws IllegalArgumentException if the input is {@code null}.
+     * @see IntSimilarityInput
+     * @since 1.13.0
+     */
+    static IntSimilarityInput codePoints(final CharSequence cs) {
+        if (cs == null) {
+            throw new IllegalArgumentException("CharSequence");
+        }
+        return new SimilarityIntInput(cs.codePoints().toArray());
+    }
+
     /**
      * Creates a new input for a {@link CharSequence}.
      *
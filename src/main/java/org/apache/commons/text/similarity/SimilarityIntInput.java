@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.similarity;
+
+import java.util.Arrays;
+
+/**
+ * An {@link IntSimilarityInput} of an array of ints.
+ */
+final class SimilarityIntInput implements IntSimilarityInput {
+
+    /**
+     * The largest number of distinct elements which can be mapped to chars.
+     */
+    private static final int MAX_DISTINCT = Character.MAX_VALUE + 1;
+
+    /**
+     * The multiplier of the Fibonacci hash of elements.
+     */
+    private static final int GOLDEN_RATIO = 0x9E3779B1;
+
+    /**
+     * Maps the elements of two inputs to chars, so that equal elements map to equal chars, to compare them with the
+     * algorithms of character sequences: elements which all fit in a char map to themselves, unless dense ids are
+     * required.
+     *
+     * @param left the first input.
+     * @param right the second input.
+     * @param dense whether to map the elements to their ids by order of appearance, so that the ids of small alphabets
+     *        are ASCII characters.
+     * @return the mapped inputs, or {@code null} if they have more than 65536 distinct elements.
+     */
+    static String[] toChars(final IntSimilarityInput left, final IntSimilarityInput right, final boolean dense) {
+        final int leftLength = left.length();
+        final int rightLength = right.length();
+        final char[] leftChars = new char[leftLength];
+        final char[] rightChars = new char[rightLength];
+        if (!dense && copy(left, leftChars) && copy(right, rightChars)) {
+            return new String[] {new String(leftChars), new String(rightChars)};
+        }
+        // an open-addressing table of the elements and their ids plus one
+        final int size = Integer.highestOneBit(Math.max(leftLength + rightLength, 1) * 2 - 1) << 1;
+        final int[] keys = new int[size];
+        final int[] ids = new int[size];
+        final int[] distinct = new int[1];
+        for (int i = 0; i < leftLength; i++) {
+            final int id = id(left.getAsInt(i), keys, ids, distinct);
+            if (id < 0) {
+                return null;
+            }
+            leftChars[i] = (char) id;
+        }
+        for (int i = 0; i < rightLength; i++) {
+            final int id = id(right.getAsInt(i), keys, ids, distinct);
+            if (id < 0) {
+                return null;
+            }
+            rightChars[i] = (char) id;
+        }
+        return new String[] {new String(leftChars), new String(rightChars)};
+    }
+
+    /**
+     * Copies the elements of an input to chars if they all fit.
+     *
+     * @param input the input.
+     * @param chars the chars, as long as the input.
+     * @return whether the elements fit.
+     */
+    private static boolean copy(final IntSimilarityInput input, final char[] chars) {
+        for (int i = 0; i < chars.length; i++) {
+            final int value = input.getAsInt(i);
+            if (value >>> Character.SIZE != 0) {
+                return false;
+            }
+            chars[i] = (char) value;
+        }
+        return true;
+    }
+
+    /**
+     * Gets the id of an element, adding it to the table if it is new.
+     *
+     * @param key the element.
+     * @param keys the elements of the table.
+     * @param ids the ids plus one of the elements of the table, 0 for an empty slot.
+     * @param distinct the number of distinct elements, updated.
+     * @return the id, or -1 if there are too many distinct elements.
+     */
+    private static int id(final int key, final int[] keys, final int[] ids, final int[] distinct) {
+        final int mask = keys.length - 1;
+        int slot = key * GOLDEN_RATIO >>> Integer.numberOfLeadingZeros(mask) & mask;
+        while (ids[slot] != 0) {
+            if (keys[slot] == key) {
+                return ids[slot] - 1;
+            }
+            slot = slot + 1 & mask;
+        }
+        if (distinct[0] == MAX_DISTINCT) {
+            return -1;
+        }
+        keys[slot] = key;
+        ids[slot] = ++distinct[0];
+        return distinct[0] - 1;
+    }
+
+    /**
+     * The elements.
+     */
+    private final int[] values;
+
+    /**
+     * Constructs a new instance, which takes ownership of the array.
+     *
+     * @param values the elements.
+     */
+    SimilarityIntInput(final int[] values) {
+        this.values = values;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final SimilarityIntInput other = (SimilarityIntInput) obj;
+        return Arrays.equals(values, other.values);
+    }
+
+    @Override
+    public int getAsInt(final int index) {
+        return values[index];
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(values);
+    }
+
+    @Override
+    public int length() {
+        return values.length;
+    }
+
+    @Override
+    public String toString() {
+        for (final int value : values) {
+            if (!Character.isValidCodePoint(value)) {
+                return Arrays.toString(values);
+            }
+        }
+        return new String(values, 0, values.length);
+    }
+}
@@ -0,0 +1,306 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.similarity;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Finds the candidates closest to a query among many, in parallel.
+ * <p>
+ * The candidates are split over the {@link java.util.concurrent.ForkJoinPool} of a parallel stream: the common pool,
+ * or the pool running the calling task. Each split scores its candidates with its own scratch state and keeps its
+ * own best {@code k}. Once a split has {@code k} matches, the worst of them bounds the scores worth computing for
+ * all splits, so that hopeless candidates are abandoned early; a {@link LevenshteinDistance} uses this bound as the
+ * threshold of its bit-parallel algorithm.
+ * </p>
+ * <p>
+ * The following is an example which finds the ten names closest to a query, at a distance of at most 3:
+ * </p>
+ * <pre>
+ * SimilarityMatcher&lt;Integer&gt; matcher = SimilarityMatcher.forDistance(LevenshteinDistance.getDefaultInstance(), 3);
+ * List&lt;Map.Entry&lt;String, Integer&gt;&gt; closest = matcher.topK("Apache", names, 10);
+ * </pre>
+ * <p>
+ * This class is immutable and thread-safe, provided the score is.
+ * </p>
+ *
+ * @param <R> the type of the score.
+ * @since 1.13.0
+ */
+public final class SimilarityMatcher<R> {
+
+    /**
+     * A candidate and its score.
+     *
+     * @param <T> the type of the candidate.
+     * @param <R> the type of the score.
+     */
+    private static final class Match<T, R> {
+
+        /** The candidate. */
+        private final T candidate;
+
+        /** The score. */
+        private final R score;
+
+        /** The position of the candidate in the input, or 0 if unknown. */
+        private final int index;
+
+        private Match(final T candidate, final R score, final int index) {
+            this.candidate = candidate;
+            this.score = score;
+            this.index = index;
+        }
+    }
+
+    /**
+     * Scores candidates against a query, with the scratch state of a single thread.
+     *
+     * @param <R> the type of the score.
+     */
+    @FunctionalInterface
+    private interface Scorer<R> {
+
+        /**
+         * Scores a candidate.
+         *
+         * @param candidate the candidate.
+         * @param bound the worst score worth returning, or {@code null} for none.
+         * @return the score, or {@code null} if it is worse than the bound.
+         */
+        R score(CharSequence candidate, R bound);
+    }
+
+    /**
+     * Keeps the best matches of a split.
+     *
+     * @param <T> the type of the candidates.
+     */
+    private final class Worker<T extends CharSequence> {
+
+        /** The scorer. */
+        private final Scorer<R> scorer;
+
+        /** The best matches, the worst first. */
+        private final PriorityQueue<Match<T, R>> matches;
+
+        /** The worst score worth computing, shared by all splits. */
+        private final AtomicReference<R> sharedBound;
+
+        /** The number of matches to keep. */
+        private final int k;
+
+        private Worker(final CharSequence query, final int k, final AtomicReference<R> sharedBound) {
+            this.scorer = scorerFactory.apply(query);
+            this.matches = new PriorityQueue<>(Math.min(k, MAX_INITIAL_CAPACITY), matchOrder.reversed());
+            this.sharedBound = sharedBound;
+            this.k = k;
+        }
+
+        private void accept(final T candidate, final int index) {
+            Validate.isTrue(candidate != null, "Candidates must not be null");
+            final R score = scorer.score(candidate, sharedBound.get());
+            if (score != null) {
+                add(new Match<>(candidate, score, index));
+            }
+        }
+
+        private void add(final Match<T, R> match) {
+            matches.add(match);
+            if (matches.size() > k) {
+                matches.poll();
+            }
+            if (matches.size() == k) {
+                // k matches at least as good as this one exist, so worse candidates cannot make it
+                final R worst = matches.peek().score;
+                sharedBound.accumulateAndGet(worst, (current, candidate) -> current == null
+                    || scoreOrder.compare(candidate, current) < 0 ? candidate : current);
+            }
+        }
+
+        private void merge(final Worker<T> other) {
+            for (final Match<T, R> match : other.matches) {
+                add(match);
+            }
+        }
+
+        private List<Map.Entry<T, R>> toList() {
+            final List<Match<T, R>> sorted = new ArrayList<>(matches);
+            sorted.sort(matchOrder);
+            final List<Map.Entry<T, R>> result = new ArrayList<>(sorted.size());
+            for (final Match<T, R> match : sorted) {
+                result.add(new AbstractMap.SimpleImmutableEntry<>(match.candidate, match.score));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * The maximum initial capacity of the queue of matches of a split.
+     */
+    private static final int MAX_INITIAL_CAPACITY = 1024;
+
+    /**
+     * Creates a matcher ranking candidates by increasing distance.
+     *
+     * @param distance the distance, must not be null; negative distances, such as those returned by
+     *        {@link LevenshteinDistance} above its threshold, never match.
+     * @param maxDistance the maximum distance of a match, or {@code null} for none.
+     * @return a new matcher.
+     */
+    public static SimilarityMatcher<Integer> forDistance(final EditDistance<Integer> distance, final Integer maxDistance) {
+        Validate.isTrue(distance != null, "The distance must not be null");
+        Validate.isTrue(maxDistance == null || maxDistance >= 0, "The maximum distance must not be negative");
+        final Function<CharSequence, Scorer<Integer>> factory;
+        if (distance instanceof LevenshteinDistance) {
+            final LevenshteinDistance levenshtein = (LevenshteinDistance) distance;
+            final int ownThreshold = levenshtein.getThreshold() != null ? levenshtein.getThreshold() : Integer.MAX_VALUE;
+            factory = query -> {
+                final LevenshteinDistanceFrom from = levenshtein.from(query);
+                return (candidate, bound) -> {
+                    final int limit = bound != null ? Math.min(bound, ownThreshold) : ownThreshold;
+                    final int d = from.applyAsInt(candidate, limit);
+                    return d >= 0 ? d : null;
+                };
+            };
+        } else {
+            factory = query -> (candidate, bound) -> {
+                final Integer d = distance.apply(query, candidate);
+                return d != null && d >= 0 && (bound == null || d <= bound) ? d : null;
+            };
+        }
+        return new SimilarityMatcher<>(factory, Comparator.naturalOrder(), maxDistance);
+    }
+
+    /**
+     * Creates a matcher ranking candidates by decreasing similarity.
+     *
+     * @param <R> the type of the score.
+     * @param similarity the similarity score, must not be null; {@code null} scores never match.
+     * @param minScore the minimum score of a match, or {@code null} for none.
+     * @return a new matcher.
+     */
+    public static <R extends Comparable<? super R>> SimilarityMatcher<R> forSimilarity(final SimilarityScore<R> similarity,
+            final R minScore) {
+        Validate.isTrue(similarity != null, "The similarity score must not be null");
+        return new SimilarityMatcher<>(query -> (candidate, bound) -> {
+            final R score = similarity.apply(query, candidate);
+            return score != null && (bound == null || score.compareTo(bound) >= 0) ? score : null;
+        }, Comparator.<R>reverseOrder(), minScore);
+    }
+
+    /**
+     * Creates the scorer of a split for a query.
+     */
+    private final Function<CharSequence, Scorer<R>> scorerFactory;
+
+    /**
+     * Orders scores, the best first.
+     */
+    private final Comparator<R> scoreOrder;
+
+    /**
+     * Orders matches by score, then by position in the input.
+     */
+    private final Comparator<Match<?, R>> matchOrder;
+
+    /**
+     * The worst score of a match, or {@code null} for none.
+     */
+    private final R threshold;
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param scorerFactory creates the scorer of a split for a query.
+     * @param scoreOrder orders scores, the best first.
+     * @param threshold the worst score of a match, or {@code null} for none.
+     */
+    private SimilarityMatcher(final Function<CharSequence, Scorer<R>> scorerFactory, final Comparator<R> scoreOrder,
+            final R threshold) {
+        this.scorerFactory = scorerFactory;
+        this.scoreOrder = scoreOrder;
+        this.matchOrder = Comparator.<Match<?, R>, R>comparing(m -> m.score, scoreOrder).thenComparingInt(m -> m.index);
+        this.threshold = threshold;
+    }
+
+    /**
+     * Finds the candidates closest to a query, in parallel.
+     *
+     * @param <T> the type of the candidates.
+     * @param query the query, must not be null.
+     * @param candidates the candidates, none of which may be null.
+     * @param k the maximum number of matches to return, must not be negative.
+     * @return at most {@code k} matches with their scores, the best first; equal scores are in the order of the
+     *         candidates.
+     * @throws IllegalArgumentException if the query or a candidate is {@code null}, or {@code k} is negative.
+     */
+    public <T extends CharSequence> List<Map.Entry<T, R>> topK(final CharSequence query, final List<T> candidates,
+            final int k) {
+        return topK(query, k, worker -> IntStream.range(0, candidates.size()).parallel()
+            .collect(worker, (w, i) -> w.accept(candidates.get(i), i), Worker::merge));
+    }
+
+    /**
+     * Finds the candidates closest to a query, in parallel unless the stream is sequential.
+     *
+     * @param <T> the type of the candidates.
+     * @param query the query, must not be null.
+     * @param candidates the candidates, none of which may be null.
+     * @param k the maximum number of matches to return, must not be negative.
+     * @return at most {@code k} matches with their scores, the best first; the order of equal scores is unspecified.
+     * @throws IllegalArgumentException if the query or a candidate is {@code null}, or {@code k} is negative.
+     */
+    public <T extends CharSequence> List<Map.Entry<T, R>> topK(final CharSequence query, final Stream<T> candidates,
+            final int k) {
+        return topK(query, k, worker -> candidates.collect(worker, (w, c) -> w.accept(c, 0), Worker::merge));
+    }
+
+    /**
+     * Validates the arguments and collects the matches.
+     *
+     * @param <T> the type of the candidates.
+     * @param query the query.
+     * @param k the maximum number of matches to return.
+     * @param collect collects the candidates into workers created by the given supplier.
+     * @return the matches.
+     */
+    private <T extends CharSequence> List<Map.Entry<T, R>> topK(final CharSequence query, final int k,
+            final Function<Supplier<Worker<T>>, Worker<T>> collect) {
+        Validate.isTrue(query != null, "The query must not be null");
+        Validate.isTrue(k >= 0, "k must not be negative: %d", k);
+        if (k == 0) {
+            return Collections.emptyList();
+        }
+        final AtomicReference<R> sharedBound = new AtomicReference<>(threshold);
+        return collect.apply(() -> new Worker<>(query, k, sharedBound)).toList();
+    }
+
+}
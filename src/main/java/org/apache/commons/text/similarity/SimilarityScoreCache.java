@@ -0,0 +1,375 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.similarity;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Decorates a {@link SimilarityScore} with a bounded cache of its results, for workloads which score the same pairs
+ * over and over.
+ * <p>
+ * The pairs are keyed on the strings of the inputs, in order, or regardless of their order when the score is
+ * symmetric, that is when {@code apply(a, b).equals(apply(b, a))} for all pairs. The cache is split in segments, each
+ * guarded by its own lock, and each evicts with a segmented LRU policy: a new pair enters a probationary segment and
+ * is only promoted to the protected segment, which keeps about 80% of the entries, when it is scored again, so that a
+ * scan of pairs seen once does not flush the hot pairs. A miss computes the score without holding a lock, so
+ * concurrent misses on the same pair may compute it more than once.
+ * Pairs with a {@code null} input, and {@code null} results, are not cached.
+ * </p>
+ * <p>
+ * The following is an example which caches a Jaro-Winkler similarity, and a fuzzy score which is not a
+ * {@link SimilarityScore} itself:
+ * </p>
+ * <pre>
+ * SimilarityScoreCache&lt;Double&gt; similarity = new SimilarityScoreCache&lt;&gt;(new JaroWinklerSimilarity(), 10_000, true);
+ * SimilarityScoreCache&lt;Integer&gt; fuzzy = new SimilarityScoreCache&lt;&gt;(new FuzzyScore(Locale.ENGLISH)::fuzzyScore, 10_000, false);
+ * </pre>
+ * <p>
+ * This class is thread-safe if the decorated score is.
+ * </p>
+ *
+ * @param <R> The type of similarity score unit.
+ * @see EditDistanceCache
+ * @since 1.13.0
+ */
+public class SimilarityScoreCache<R> implements SimilarityScore<R> {
+
+    /**
+     * A pair of inputs.
+     */
+    private static final class Key {
+
+        /** The left input. */
+        private final String left;
+
+        /** The right input. */
+        private final String right;
+
+        /** The hash code. */
+        private final int hash;
+
+        /**
+         * Constructs a new instance.
+         *
+         * @param left the left input.
+         * @param right the right input.
+         */
+        Key(final String left, final String right) {
+            this.left = left;
+            this.right = right;
+            this.hash = 31 * left.hashCode() + right.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            return hash == other.hash && left.equals(other.left) && right.equals(other.right);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * A segment of the cache, evicting with a segmented LRU policy.
+     *
+     * @param <R> The type of similarity score unit.
+     */
+    private static final class Segment<R> {
+
+        /** The maximum number of entries. */
+        private final int capacity;
+
+        /** The maximum number of protected entries. */
+        private final int protectedCapacity;
+
+        /** The entries scored once since they entered or were demoted, from the least recently added. */
+        private final LinkedHashMap<Key, R> probation = new LinkedHashMap<>();
+
+        /** The entries scored again, from the least recently used. */
+        private final LinkedHashMap<Key, R> protectedEntries = new LinkedHashMap<>(16, 0.75f, true);
+
+        /**
+         * Constructs a new instance.
+         *
+         * @param capacity the maximum number of entries.
+         */
+        Segment(final int capacity) {
+            this.capacity = capacity;
+            this.protectedCapacity = (int) (capacity * 4L / 5);
+        }
+
+        /**
+         * Removes all the entries.
+         */
+        synchronized void clear() {
+            probation.clear();
+            protectedEntries.clear();
+        }
+
+        /**
+         * Gets the cached result of a pair, promoting it.
+         *
+         * @param key the pair.
+         * @return the result, or {@code null} if the pair is not cached.
+         */
+        synchronized R get(final Key key) {
+            R result = protectedEntries.get(key);
+            if (result != null) {
+                return result;
+            }
+            result = probation.remove(key);
+            if (result != null) {
+                if (protectedCapacity == 0) {
+                    probation.put(key, result);
+                } else {
+                    protectedEntries.put(key, result);
+                    if (protectedEntries.size() > protectedCapacity) {
+                        final Iterator<Map.Entry<Key, R>> eldest = protectedEntries.entrySet().iterator();
+                        final Map.Entry<Key, R> demoted = eldest.next();
+                        eldest.remove();
+                        probation.put(demoted.getKey(), demoted.getValue());
+                    }
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Caches the result of a pair on probation, evicting the least recently used entries if the segment is full.
+         *
+         * @param key the pair.
+         * @param result the result.
+         * @return the number of evicted entries.
+         */
+        synchronized int put(final Key key, final R result) {
+            if (protectedEntries.containsKey(key) || probation.putIfAbsent(key, result) != null) {
+                return 0;
+            }
+            int evicted = 0;
+            while (probation.size() + protectedEntries.size() > capacity) {
+                final Iterator<Key> eldest = (probation.isEmpty() ? protectedEntries : probation).keySet().iterator();
+                eldest.next();
+                eldest.remove();
+                evicted++;
+            }
+            return evicted;
+        }
+
+        /**
+         * Gets the number of entries.
+         *
+         * @return the number of entries.
+         */
+        synchronized int size() {
+            return probation.size() + protectedEntries.size();
+        }
+    }
+
+    /**
+     * The least number of entries per segment when there are several.
+     */
+    private static final int MIN_SEGMENT_CAPACITY = 16;
+
+    /**
+     * The decorated score.
+     */
+    private final SimilarityScore<R> similarityScore;
+
+    /**
+     * The maximum number of cached pairs.
+     */
+    private final int maximumSize;
+
+    /**
+     * Whether pairs are keyed regardless of their order.
+     */
+    private final boolean symmetric;
+
+    /**
+     * The segments, a power of two.
+     */
+    private final Segment<R>[] segments;
+
+    /**
+     * The number of results found in the cache.
+     */
+    private final LongAdder hitCount = new LongAdder();
+
+    /**
+     * The number of results computed by the decorated score.
+     */
+    private final LongAdder missCount = new LongAdder();
+
+    /**
+     * The number of entries evicted to make room for others.
+     */
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param similarityScore the score to decorate, may not be null.
+     * @param maximumSize the maximum number of cached pairs, at least 1.
+     * @param symmetric whether both orders of a pair share an entry, which is only valid if
+     *        {@code apply(a, b).equals(apply(b, a))} for all pairs: a reversed pair gets the cached result of the other
+     *        order unchanged.
+     * @throws IllegalArgumentException if the score is null or the maximum size is less than 1.
+     */
+    @SuppressWarnings("unchecked")
+    public SimilarityScoreCache(final SimilarityScore<R> similarityScore, final int maximumSize, final boolean symmetric) {
+        Validate.isTrue(similarityScore != null, "The similarity score may not be null.");
+        Validate.isTrue(maximumSize > 0, "The maximum size must be at least 1: %d", maximumSize);
+        this.similarityScore = similarityScore;
+        this.maximumSize = maximumSize;
+        this.symmetric = symmetric;
+        final int maxSegments = Runtime.getRuntime().availableProcessors() * 4;
+        int segmentCount = 1;
+        while (segmentCount < maxSegments && (long) segmentCount * 2 * MIN_SEGMENT_CAPACITY <= maximumSize) {
+            segmentCount <<= 1;
+        }
+        segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>(maximumSize / segmentCount + (i < maximumSize % segmentCount ? 1 : 0));
+        }
+    }
+
+    /**
+     * Gets the score of a pair from the cache, or computes and caches it.
+     *
+     * @param left the "left" or "first" input.
+     * @param right the "right" or "second" input.
+     * @return the score of the decorated similarity score.
+     */
+    @Override
+    public R apply(final CharSequence left, final CharSequence right) {
+        if (left == null || right == null) {
+            missCount.increment();
+            return similarityScore.apply(left, right);
+        }
+        final String leftString = left.toString();
+        final String rightString = right.toString();
+        final Key key = symmetric && leftString.compareTo(rightString) > 0 ? new Key(rightString, leftString)
+                : new Key(leftString, rightString);
+        final int hash = key.hash ^ key.hash >>> 16;
+        final Segment<R> segment = segments[hash & segments.length - 1];
+        R result = segment.get(key);
+        if (result != null) {
+            hitCount.increment();
+            return result;
+        }
+        missCount.increment();
+        result = similarityScore.apply(left, right);
+        if (result != null) {
+            final int evicted = segment.put(key, result);
+            if (evicted > 0) {
+                evictionCount.add(evicted);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Removes all the cached pairs, keeping the counters.
+     */
+    public void clear() {
+        for (final Segment<R> segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * Gets the number of entries evicted to make room for others.
+     *
+     * @return the number of evictions.
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * Gets the number of results found in the cache.
+     *
+     * @return the number of hits.
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * Gets the maximum number of cached pairs.
+     *
+     * @return the maximum size.
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Gets the number of results computed by the decorated score, including those of pairs with a {@code null} input.
+     *
+     * @return the number of misses.
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * Gets the decorated score.
+     *
+     * @return the decorated score.
+     */
+    public SimilarityScore<R> getSimilarityScore() {
+        return similarityScore;
+    }
+
+    /**
+     * Tests whether both orders of a pair share an entry.
+     *
+     * @return whether the cache is symmetric.
+     */
+    public boolean isSymmetric() {
+        return symmetric;
+    }
+
+    /**
+     * Gets the number of cached pairs.
+     *
+     * @return the number of cached pairs.
+     */
+    public int size() {
+        int size = 0;
+        for (final Segment<R> segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+}
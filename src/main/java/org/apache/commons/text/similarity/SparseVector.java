@@ -0,0 +1,212 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.similarity;
+
+import java.util.Arrays;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * An immutable sparse vector of term weights, whose terms are the int ids of a {@link TermDictionary}, for computing
+ * cosine similarities without boxing or hashing.
+ * <p>
+ * The ids are sorted, so that a dot product is a merge of the two vectors, and the Euclidean norm is computed once,
+ * so that {@link #cosineSimilarity(SparseVector)} does not allocate. A vector of {@code n} terms takes {@code 8 * n}
+ * bytes.
+ * </p>
+ * <p>
+ * Instances of this class are immutable and are safe for use by multiple concurrent threads.
+ * </p>
+ *
+ * @see CosineSimilarity
+ * @see TermDictionary
+ * @since 1.13.0
+ */
+public final class SparseVector {
+
+    /**
+     * The ratio of lengths from which a dot product searches the longer vector instead of merging.
+     */
+    private static final int SEARCH_RATIO = 16;
+
+    /**
+     * Creates a vector from term ids and weights, in any order; the weights of repeated ids are summed.
+     *
+     * @param ids the term ids, must not be null or negative.
+     * @param weights the weights of the terms, of the same length, must not be null.
+     * @return a new vector.
+     * @throws IllegalArgumentException if an array is {@code null}, their lengths differ, or an id is negative.
+     */
+    public static SparseVector of(final int[] ids, final float[] weights) {
+        Validate.isTrue(ids != null && weights != null, "Ids and weights must not be null");
+        Validate.isTrue(ids.length == weights.length, "Ids and weights must have the same length: %d, %d", ids.length, weights.length);
+        final long[] entries = new long[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            Validate.isTrue(ids[i] >= 0, "Ids must not be negative: %d", ids[i]);
+            // sort positions by id
+            entries[i] = (long) ids[i] << Integer.SIZE | i;
+        }
+        Arrays.sort(entries);
+        final int[] sortedIds = new int[ids.length];
+        final float[] sortedWeights = new float[ids.length];
+        int size = 0;
+        for (final long entry : entries) {
+            final int id = (int) (entry >>> Integer.SIZE);
+            final float weight = weights[(int) entry];
+            if (size > 0 && sortedIds[size - 1] == id) {
+                sortedWeights[size - 1] += weight;
+            } else {
+                sortedIds[size] = id;
+                sortedWeights[size++] = weight;
+            }
+        }
+        return new SparseVector(Arrays.copyOf(sortedIds, size), Arrays.copyOf(sortedWeights, size), 0);
+    }
+
+    /**
+     * The term ids, sorted and distinct.
+     */
+    private final int[] ids;
+
+    /**
+     * The weights of the terms.
+     */
+    private final float[] weights;
+
+    /**
+     * The Euclidean norm.
+     */
+    private final double norm;
+
+    /**
+     * Constructs a new instance, which takes ownership of the arrays.
+     *
+     * @param ids the term ids, sorted and distinct.
+     * @param weights the weights of the terms.
+     * @param extraSquares the sum of the squared weights of terms which are not in the vector, such as the terms of a
+     *        query which are not in a dictionary.
+     */
+    SparseVector(final int[] ids, final float[] weights, final double extraSquares) {
+        this.ids = ids;
+        this.weights = weights;
+        double squares = extraSquares;
+        for (final float weight : weights) {
+            squares += (double) weight * weight;
+        }
+        this.norm = Math.sqrt(squares);
+    }
+
+    /**
+     * Computes the cosine similarity of this vector and another: their dot product divided by the product of their
+     * norms, or 0 if either norm is 0, as {@link CosineSimilarity#cosineSimilarity(java.util.Map, java.util.Map)}.
+     *
+     * @param other the other vector, must not be null.
+     * @return the cosine similarity.
+     * @throws IllegalArgumentException if the other vector is {@code null}.
+     */
+    public double cosineSimilarity(final SparseVector other) {
+        Validate.isTrue(other != null, "Vectors must not be null");
+        if (norm <= 0 || other.norm <= 0) {
+            return 0;
+        }
+        return dot(other) / (norm * other.norm);
+    }
+
+    /**
+     * Computes the dot product of this vector and another.
+     *
+     * @param other the other vector, must not be null.
+     * @return the dot product.
+     * @throws IllegalArgumentException if the other vector is {@code null}.
+     */
+    public double dot(final SparseVector other) {
+        Validate.isTrue(other != null, "Vectors must not be null");
+        final SparseVector shorter = ids.length <= other.ids.length ? this : other;
+        final SparseVector longer = shorter == this ? other : this;
+        final int[] a = shorter.ids;
+        final int[] b = longer.ids;
+        double dot = 0;
+        if (b.length / SEARCH_RATIO > a.length) {
+            // look up each term of a much shorter vector, such as a query
+            int from = 0;
+            for (int i = 0; i < a.length && from < b.length; i++) {
+                final int j = Arrays.binarySearch(b, from, b.length, a[i]);
+                if (j >= 0) {
+                    dot += (double) shorter.weights[i] * longer.weights[j];
+                    from = j + 1;
+                } else {
+                    from = -j - 1;
+                }
+            }
+            return dot;
+        }
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.length) {
+            final int x = a[i];
+            final int y = b[j];
+            if (x == y) {
+                dot += (double) shorter.weights[i] * longer.weights[j];
+            }
+            // advance without a hard to predict branch
+            i += x <= y ? 1 : 0;
+            j += y <= x ? 1 : 0;
+        }
+        return dot;
+    }
+
+    /**
+     * Gets the id of a term of this vector.
+     *
+     * @param index the index of the term, from 0 to {@link #size()} excluded, in increasing order of ids.
+     * @return the id.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public int getId(final int index) {
+        return ids[index];
+    }
+
+    /**
+     * Gets the Euclidean norm of this vector.
+     *
+     * @return the norm.
+     */
+    public double getNorm() {
+        return norm;
+    }
+
+    /**
+     * Gets the weight of a term of this vector.
+     *
+     * @param index the index of the term, from 0 to {@link #size()} excluded, in increasing order of ids.
+     * @return the weight.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public float getWeight(final int index) {
+        return weights[index];
+    }
+
+    /**
+     * Gets the number of terms of this vector.
+     *
+     * @return the number of terms.
+     */
+    public int size() {
+        return ids.length;
+    }
+
+}
@@ -0,0 +1,245 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.similarity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Assigns int ids to terms, to build the {@link SparseVector}s of term counts of documents and queries once, and
+ * compare them without hashing terms.
+ * <p>
+ * Texts are split into words as by {@link CosineDistance}, or vectors are built from tokens or from the term counts of
+ * {@link CosineSimilarity#cosineSimilarity(Map, Map)}. The vectors of documents add their new terms to the dictionary;
+ * the vectors of queries do not, but their unknown terms count in their norms, so that their cosine similarities are
+ * those of the term counts. For example:
+ * </p>
+ * <pre>
+ * TermDictionary dictionary = new TermDictionary();
+ * SparseVector[] vectors = documents.stream().map(dictionary::vectorize).toArray(SparseVector[]::new);
+ * SparseVector query = dictionary.vectorizeQuery(text);
+ * for (SparseVector vector : vectors) {
+ *     double similarity = query.cosineSimilarity(vector);
+ *     ...
+ * }
+ * </pre>
+ * <p>
+ * This class is not thread-safe: vectors of queries may be built concurrently, but not with vectors of documents.
+ * </p>
+ *
+ * @see SparseVector
+ * @since 1.13.0
+ */
+public final class TermDictionary {
+
+    /**
+     * The initial capacity of the token ids of a vector.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Splits a text into words, as {@link CosineDistance}; a blank text has none.
+     *
+     * @param text the text.
+     * @return the words.
+     */
+    private static CharSequence[] words(final CharSequence text) {
+        Validate.isTrue(text != null, "The text must not be null");
+        return StringUtils.isBlank(text) ? new CharSequence[0] : RegexTokenizer.INSTANCE.apply(text);
+    }
+
+    /**
+     * The ids of the terms.
+     */
+    private final Map<String, Integer> ids = new HashMap<>();
+
+    /**
+     * The terms by id.
+     */
+    private final List<String> terms = new ArrayList<>();
+
+    /**
+     * Gets the id of a term.
+     *
+     * @param term the term, must not be null.
+     * @return the id, or -1 if the term is not in this dictionary.
+     * @throws IllegalArgumentException if the term is {@code null}.
+     */
+    public int getId(final CharSequence term) {
+        Validate.isTrue(term != null, "The term must not be null");
+        final Integer id = ids.get(term.toString());
+        return id != null ? id : -1;
+    }
+
+    /**
+     * Gets a term.
+     *
+     * @param id the id of the term.
+     * @return the term.
+     * @throws IndexOutOfBoundsException if there is no such term.
+     */
+    public String getTerm(final int id) {
+        return terms.get(id);
+    }
+
+    /**
+     * Gets the id of a term, adding it if it is new.
+     *
+     * @param term the term, must not be null.
+     * @return the id.
+     * @throws IllegalArgumentException if the term is {@code null}.
+     */
+    public int intern(final CharSequence term) {
+        Validate.isTrue(term != null, "The term must not be null");
+        final String key = term.toString();
+        final Integer id = ids.get(key);
+        if (id != null) {
+            return id;
+        }
+        ids.put(key, terms.size());
+        terms.add(key);
+        return terms.size() - 1;
+    }
+
+    /**
+     * Gets the number of terms.
+     *
+     * @return the number of terms.
+     */
+    public int size() {
+        return terms.size();
+    }
+
+    /**
+     * Builds the vector of the word counts of a document, adding its new words to this dictionary.
+     *
+     * @param text the document, must not be null.
+     * @return the vector.
+     * @throws IllegalArgumentException if the document is {@code null}.
+     */
+    public SparseVector vectorize(final CharSequence text) {
+        return vectorize(Arrays.asList(words(text)));
+    }
+
+    /**
+     * Builds the vector of the token counts of a document, adding its new tokens to this dictionary.
+     *
+     * @param tokens the tokens, must not be null.
+     * @return the vector.
+     * @throws IllegalArgumentException if the tokens or a token are {@code null}.
+     */
+    public SparseVector vectorize(final Iterable<? extends CharSequence> tokens) {
+        return vectorize(tokens, true);
+    }
+
+    /**
+     * Builds the vector of token counts.
+     *
+     * @param tokens the tokens.
+     * @param add whether to add new tokens to this dictionary, otherwise their counts only add to the norm.
+     * @return the vector.
+     */
+    private SparseVector vectorize(final Iterable<? extends CharSequence> tokens, final boolean add) {
+        Validate.isTrue(tokens != null, "The tokens must not be null");
+        int[] found = new int[INITIAL_CAPACITY];
+        int count = 0;
+        Map<String, Integer> unknown = null;
+        for (final CharSequence token : tokens) {
+            final int id = add ? intern(token) : getId(token);
+            if (id < 0) {
+                if (unknown == null) {
+                    unknown = new HashMap<>();
+                }
+                unknown.merge(token.toString(), 1, Integer::sum);
+                continue;
+            }
+            if (count == found.length) {
+                found = Arrays.copyOf(found, count * 2);
+            }
+            found[count++] = id;
+        }
+        Arrays.sort(found, 0, count);
+        final int[] vectorIds = new int[count];
+        final float[] weights = new float[count];
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            if (size > 0 && vectorIds[size - 1] == found[i]) {
+                weights[size - 1]++;
+            } else {
+                vectorIds[size] = found[i];
+                weights[size++] = 1;
+            }
+        }
+        double extraSquares = 0;
+        if (unknown != null) {
+            for (final int n : unknown.values()) {
+                extraSquares += (double) n * n;
+            }
+        }
+        return new SparseVector(Arrays.copyOf(vectorIds, size), Arrays.copyOf(weights, size), extraSquares);
+    }
+
+    /**
+     * Builds the vector of term counts, such as those of {@link CosineSimilarity#cosineSimilarity(Map, Map)}, of a
+     * document, adding its new terms to this dictionary.
+     *
+     * @param counts the counts of the terms, must not be null.
+     * @return the vector.
+     * @throws IllegalArgumentException if the counts, a term or a count are {@code null}.
+     */
+    public SparseVector vectorize(final Map<? extends CharSequence, Integer> counts) {
+        Validate.isTrue(counts != null, "The counts must not be null");
+        final int[] vectorIds = new int[counts.size()];
+        final float[] weights = new float[counts.size()];
+        int i = 0;
+        for (final Map.Entry<? extends CharSequence, Integer> entry : counts.entrySet()) {
+            Validate.isTrue(entry.getValue() != null, "Counts must not be null");
+            vectorIds[i] = intern(entry.getKey());
+            weights[i++] = entry.getValue();
+        }
+        return SparseVector.of(vectorIds, weights);
+    }
+
+    /**
+     * Builds the vector of the word counts of a query, without adding its new words to this dictionary.
+     *
+     * @param text the query, must not be null.
+     * @return the vector, whose norm includes the counts of the words which are not in this dictionary.
+     * @throws IllegalArgumentException if the query is {@code null}.
+     */
+    public SparseVector vectorizeQuery(final CharSequence text) {
+        return vectorizeQuery(Arrays.asList(words(text)));
+    }
+
+    /**
+     * Builds the vector of the token counts of a query, without adding its new tokens to this dictionary.
+     *
+     * @param tokens the tokens, must not be null.
+     * @return the vector, whose norm includes the counts of the tokens which are not in this dictionary.
+     * @throws IllegalArgumentException if the tokens or a token are {@code null}.
+     */
+    public SparseVector vectorizeQuery(final Iterable<? extends CharSequence> tokens) {
+        return vectorize(tokens, false);
+    }
+
+}
@@ -19,6 +19,7 @@ package org.apache.commons.text.translate;
 import java.io.IOException;
 import java.io.Writer;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Stream;
@@ -36,6 +37,11 @@ public class AggregateTranslator extends CharSequenceTranslator {
      */
     private final List<CharSequenceTranslator> translators = new ArrayList<>();
 
+    /**
+     * The union of the translatable characters of all translators, null if any of them may translate any character.
+     */
+    private final BitSet translatableChars;
+
     /**
      * Specify the translators to be used at creation time.
      *
@@ -45,6 +51,26 @@ public class AggregateTranslator extends CharSequenceTranslator {
         if (translators != null) {
             Stream.of(translators).filter(Objects::nonNull).forEach(this.translators::add);
         }
+        BitSet chars = new BitSet();
+        for (final CharSequenceTranslator translator : this.translators) {
+            final BitSet translatorChars = translator.getTranslatableChars();
+            if (translatorChars == null) {
+                chars = null;
+                break;
+            }
+            chars.or(translatorChars);
+        }
+        this.translatableChars = chars;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 1.13.0
+     */
+    @Override
+    protected BitSet getTranslatableChars() {
+        return translatableCharsFor(translatableChars, AggregateTranslator.class);
     }
 
     /**
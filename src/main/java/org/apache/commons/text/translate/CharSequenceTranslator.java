@@ -20,6 +20,7 @@ import java.io.IOException;
 import java.io.StringWriter;
 import java.io.UncheckedIOException;
 import java.io.Writer;
+import java.util.BitSet;
 import java.util.Locale;
 
 import org.apache.commons.lang3.Validate;
@@ -28,11 +29,88 @@ import org.apache.commons.lang3.Validate;
  * An API for translating text.
  * Its core use is to escape and unescape text. Because escaping and unescaping
  * is completely contextual, the API does not present two separate signatures.
+ * <p>
+ * Translators that only act on a known set of characters can advertise it through
+ * {@link #getTranslatableChars()}; runs of other characters are then copied to the
+ * output in bulk instead of one character at a time.
+ * </p>
  *
  * @since 1.0
  */
 public abstract class CharSequenceTranslator {
 
+    /**
+     * Adapts an {@link Appendable} to a {@link Writer}, without synchronization or intermediate buffers.
+     */
+    private static final class AppendableWriter extends Writer {
+
+        /** The target. */
+        private final Appendable appendable;
+
+        /**
+         * Constructs a new instance.
+         *
+         * @param appendable the target
+         */
+        private AppendableWriter(final Appendable appendable) {
+            this.appendable = appendable;
+        }
+
+        @Override
+        public Writer append(final char c) throws IOException {
+            appendable.append(c);
+            return this;
+        }
+
+        @Override
+        public Writer append(final CharSequence csq) throws IOException {
+            appendable.append(csq);
+            return this;
+        }
+
+        @Override
+        public Writer append(final CharSequence csq, final int start, final int end) throws IOException {
+            appendable.append(csq, start, end);
+            return this;
+        }
+
+        @Override
+        public void close() {
+            // noop
+        }
+
+        @Override
+        public void flush() {
+            // noop
+        }
+
+        @Override
+        public void write(final char[] cbuf, final int off, final int len) throws IOException {
+            if (appendable instanceof StringBuilder) {
+                ((StringBuilder) appendable).append(cbuf, off, len);
+                return;
+            }
+            for (int i = off; i < off + len; i++) {
+                appendable.append(cbuf[i]);
+            }
+        }
+
+        @Override
+        public void write(final int c) throws IOException {
+            appendable.append((char) c);
+        }
+
+        @Override
+        public void write(final String str) throws IOException {
+            appendable.append(str);
+        }
+
+        @Override
+        public void write(final String str, final int off, final int len) throws IOException {
+            appendable.append(str, off, off + len);
+        }
+    }
+
     /**
      * Array containing the hexadecimal alphabet.
      */
@@ -49,6 +127,94 @@ public abstract class CharSequenceTranslator {
         return Integer.toHexString(codePoint).toUpperCase(Locale.ENGLISH);
     }
 
+    /**
+     * Finds the next index at or after {@code pos} holding a character in the given set,
+     * skipping whole code points.
+     *
+     * @param input CharSequence that is being translated
+     * @param pos int index to start from
+     * @param chars BitSet of translatable characters
+     * @return the index of the next translatable character, or the input length if there is none
+     */
+    private static int skip(final CharSequence input, int pos, final BitSet chars) {
+        final int len = input.length();
+        while (pos < len) {
+            final char c1 = input.charAt(pos);
+            if (chars.get(c1)) {
+                return pos;
+            }
+            pos++;
+            if (Character.isHighSurrogate(c1) && pos < len && Character.isLowSurrogate(input.charAt(pos))) {
+                pos++;
+            }
+        }
+        return len;
+    }
+
+    /**
+     * Writes a range of the input to the writer in one call.
+     *
+     * @param input CharSequence that is being translated
+     * @param start int index of the first character to write
+     * @param end int index after the last character to write
+     * @param writer Writer to translate the text to
+     * @throws IOException if and only if the Writer produces an IOException
+     */
+    private static void write(final CharSequence input, final int start, final int end, final Writer writer)
+            throws IOException {
+        if (start < end) {
+            if (input instanceof String) {
+                writer.write((String) input, start, end - start);
+            } else {
+                writer.append(input, start, end);
+            }
+        }
+    }
+
+    /**
+     * Gets the characters at which this translator may consume input, or {@code null} if it may consume
+     * input at any character.
+     * <p>
+     * A translator returning a set promises that {@link #translate(CharSequence, int, Writer)} returns 0
+     * and writes nothing whenever the character at the given index is not in the set. For a supplementary
+     * code point, that character is its high surrogate. The set may contain more characters than are
+     * actually translated.
+     * </p>
+     * <p>
+     * Implementations should return the same, precomputed, instance on each call; callers must not
+     * modify it. This implementation returns {@code null}.
+     * </p>
+     * <p>
+     * The translators of this library return their set only for their own class, through
+     * {@link #translatableCharsFor(BitSet, Class...)}, since a subclass may translate other characters;
+     * a subclass which does not can override this method to return the characters it translates.
+     * </p>
+     *
+     * @return the characters at which this translator may consume input, or {@code null}.
+     * @since 1.13.0
+     */
+    protected BitSet getTranslatableChars() {
+        return null;
+    }
+
+    /**
+     * Gets the translatable characters of a translator class for {@link #getTranslatableChars()}, unless this
+     * translator is of a subclass, which may translate other characters.
+     *
+     * @param chars the characters at which instances of the classes may consume input.
+     * @param types the classes translating only the given characters.
+     * @return {@code chars} if this translator is of one of the classes, {@code null} otherwise.
+     * @since 1.13.0
+     */
+    protected final BitSet translatableCharsFor(final BitSet chars, final Class<?>... types) {
+        for (final Class<?> type : types) {
+            if (getClass() == type) {
+                return chars;
+            }
+        }
+        return null;
+    }
+
     /**
      * Helper for non-Writer usage.
      * @param input CharSequence to be translated
@@ -58,9 +224,19 @@ public abstract class CharSequenceTranslator {
         if (input == null) {
             return null;
         }
+        final BitSet chars = getTranslatableChars();
+        final int first = chars == null ? 0 : skip(input, 0, chars);
+        if (first == input.length()) {
+            // nothing to translate
+            return input.toString();
+        }
         try {
             final StringWriter writer = new StringWriter(input.length() * 2);
-            translate(input, writer);
+            if (chars == null) {
+                translate(input, writer);
+            } else {
+                translateRuns(input, first, writer, chars);
+            }
             return writer.toString();
         } catch (final IOException ioe) {
             // this should never ever happen while writing to a StringWriter
@@ -68,6 +244,20 @@ public abstract class CharSequenceTranslator {
         }
     }
 
+    /**
+     * Translate an input onto an Appendable, such as a {@link StringBuilder}, without creating
+     * an intermediate {@code String}.
+     *
+     * @param input CharSequence that is being translated, null writes nothing
+     * @param appendable Appendable to translate the text to
+     * @throws IOException if and only if the Appendable produces an IOException
+     * @since 1.13.0
+     */
+    public final void translate(final CharSequence input, final Appendable appendable) throws IOException {
+        Validate.isTrue(appendable != null, "The Appendable must not be null");
+        translate(input, appendable instanceof Writer ? (Writer) appendable : new AppendableWriter(appendable));
+    }
+
     /**
      * Translate a set of code points, represented by an int index into a CharSequence,
      * into another set of code points. The number of code points consumed must be returned,
@@ -82,6 +272,45 @@ public abstract class CharSequenceTranslator {
      */
     public abstract int translate(CharSequence input, int index, Writer writer) throws IOException;
 
+    /**
+     * Translates an input onto a Writer, copying runs of characters that are not in the given set
+     * to the Writer in bulk.
+     *
+     * @param input CharSequence that is being translated
+     * @param from int index of the first character to translate, the characters before it are copied
+     * @param writer Writer to translate the text to
+     * @param chars BitSet of translatable characters
+     * @throws IOException if and only if the Writer produces an IOException
+     */
+    private void translateRuns(final CharSequence input, final int from, final Writer writer, final BitSet chars)
+            throws IOException {
+        final int len = input.length();
+        int start = 0;
+        int pos = from;
+        while (pos < len) {
+            pos = skip(input, pos, chars);
+            if (pos == len) {
+                break;
+            }
+            write(input, start, pos, writer);
+            final int consumed = translate(input, pos, writer);
+            if (consumed == 0) {
+                // the character stays in the run to be copied
+                start = pos;
+                pos += Character.isHighSurrogate(input.charAt(pos)) && pos + 1 < len
+                    && Character.isLowSurrogate(input.charAt(pos + 1)) ? 2 : 1;
+                continue;
+            }
+            // contract with translators is that they have to understand code points
+            // and they just took care of a surrogate pair
+            for (int pt = 0; pt < consumed; pt++) {
+                pos += Character.charCount(Character.codePointAt(input, pos));
+            }
+            start = pos;
+        }
+        write(input, start, len, writer);
+    }
+
     /**
      * Translate an input onto a Writer. This is intentionally final as its algorithm is
      * tightly coupled with the abstract method of this class.
@@ -95,6 +324,11 @@ public abstract class CharSequenceTranslator {
         if (input == null) {
             return;
         }
+        final BitSet chars = getTranslatableChars();
+        if (chars != null) {
+            translateRuns(input, 0, writer, chars);
+            return;
+        }
         int pos = 0;
         final int len = input.length();
         while (pos < len) {
@@ -18,6 +18,7 @@ package org.apache.commons.text.translate;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.util.BitSet;
 
 /**
  * Helper subclass to CharSequenceTranslator to allow for translations that
@@ -27,6 +28,49 @@ import java.io.Writer;
  */
 public abstract class CodePointTranslator extends CharSequenceTranslator {
 
+    /**
+     * Creates the set of characters at which a code point in, or outside of, the given range may start.
+     * Supplementary code points are represented by all high surrogates.
+     *
+     * @param below int value representing the lowest code point boundary
+     * @param above int value representing the highest code point boundary
+     * @param between whether the code points are between the boundaries (inclusive) or outside them (exclusive)
+     * @return the set of characters
+     */
+    static BitSet translatableChars(final int below, final int above, final boolean between) {
+        final BitSet chars = new BitSet();
+        if (between) {
+            setCodePoints(chars, below, above);
+        } else {
+            if (below > 0) {
+                setCodePoints(chars, 0, below - 1);
+            }
+            if (above < Character.MAX_CODE_POINT) {
+                setCodePoints(chars, above + 1, Character.MAX_CODE_POINT);
+            }
+        }
+        return chars;
+    }
+
+    /**
+     * Adds the characters at which a code point in the given inclusive range may start.
+     *
+     * @param chars the set to add to
+     * @param low the lowest code point
+     * @param high the highest code point
+     */
+    private static void setCodePoints(final BitSet chars, final int low, final int high) {
+        if (low > high || high < 0) {
+            return;
+        }
+        if (low <= Character.MAX_VALUE) {
+            chars.set(Math.max(low, 0), Math.min(high, Character.MAX_VALUE) + 1);
+        }
+        if (high > Character.MAX_VALUE && low <= Character.MAX_CODE_POINT) {
+            chars.set(Character.MIN_HIGH_SURROGATE, Character.MAX_HIGH_SURROGATE + 1);
+        }
+    }
+
     @Override
     public final int translate(final CharSequence input, final int index, final Writer writer) throws IOException {
         final int codePoint = Character.codePointAt(input, index);
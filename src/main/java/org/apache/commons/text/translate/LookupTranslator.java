@@ -19,28 +19,50 @@ package org.apache.commons.text.translate;
 import java.io.IOException;
 import java.io.Writer;
 import java.security.InvalidParameterException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.BitSet;
-import java.util.HashMap;
+import java.util.Deque;
 import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * Translates a value using a lookup table.
+ * <p>
+ * The keys of the lookup table are compiled into a character trie when the translator is constructed, so that the
+ * longest key matching at a given index is found in a single walk over the input, without allocating substrings.
+ * </p>
  *
  * @since 1.0
  */
 public class LookupTranslator extends CharSequenceTranslator {
 
-    /** The mapping to be used in translation. */
-    private final Map<String, String> lookupMap;
+    /**
+     * A node of the trie used while building the lookup table.
+     */
+    private static final class Node {
+
+        /** The children of this node, sorted by character. */
+        private final TreeMap<Character, Node> children = new TreeMap<>();
+
+        /** The translation of the key ending at this node, null if no key ends here. */
+        private String value;
+    }
 
     /** The first character of each key in the lookupMap. */
     private final BitSet prefixSet;
 
-    /** The length of the shortest key in the lookupMap. */
-    private final int shortest;
+    /** The label of each trie node, the root node at index 0 has no label. */
+    private final char[] labels;
+
+    /** The index of the first child of each trie node, children of a node are contiguous and sorted by label. */
+    private final int[] firstChild;
 
-    /** The length of the longest key in the lookupMap. */
-    private final int longest;
+    /** The number of children of each trie node. */
+    private final int[] childCount;
+
+    /** The translation of the key ending at each trie node, null if no key ends there. */
+    private final String[] values;
 
     /**
      * Constructs the lookup table to be used in translation
@@ -57,24 +79,53 @@ public class LookupTranslator extends CharSequenceTranslator {
         if (lookupMap == null) {
             throw new InvalidParameterException("lookupMap cannot be null");
         }
-        this.lookupMap = new HashMap<>();
         this.prefixSet = new BitSet();
-        int currentShortest = Integer.MAX_VALUE;
-        int currentLongest = 0;
-
+        final Node root = new Node();
+        int nodeCount = 1;
         for (final Map.Entry<CharSequence, CharSequence> pair : lookupMap.entrySet()) {
-            this.lookupMap.put(pair.getKey().toString(), pair.getValue().toString());
-            this.prefixSet.set(pair.getKey().charAt(0));
-            final int sz = pair.getKey().length();
-            if (sz < currentShortest) {
-                currentShortest = sz;
+            final String key = pair.getKey().toString();
+            this.prefixSet.set(key.charAt(0));
+            Node node = root;
+            for (int i = 0; i < key.length(); i++) {
+                Node child = node.children.get(key.charAt(i));
+                if (child == null) {
+                    child = new Node();
+                    node.children.put(key.charAt(i), child);
+                    nodeCount++;
+                }
+                node = child;
             }
-            if (sz > currentLongest) {
-                currentLongest = sz;
+            node.value = pair.getValue().toString();
+        }
+
+        // flatten the trie breadth first so that the children of each node are stored contiguously
+        this.labels = new char[nodeCount];
+        this.firstChild = new int[nodeCount];
+        this.childCount = new int[nodeCount];
+        this.values = new String[nodeCount];
+        final Deque<Node> queue = new ArrayDeque<>();
+        queue.add(root);
+        int next = 1;
+        for (int index = 0; index < nodeCount; index++) {
+            final Node node = queue.remove();
+            values[index] = node.value;
+            firstChild[index] = next;
+            childCount[index] = node.children.size();
+            for (final Map.Entry<Character, Node> child : node.children.entrySet()) {
+                labels[next++] = child.getKey();
+                queue.add(child.getValue());
             }
         }
-        this.shortest = currentShortest;
-        this.longest = currentLongest;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 1.13.0
+     */
+    @Override
+    protected BitSet getTranslatableChars() {
+        return translatableCharsFor(prefixSet, LookupTranslator.class);
     }
 
     /**
@@ -84,19 +135,25 @@ public class LookupTranslator extends CharSequenceTranslator {
     public int translate(final CharSequence input, final int index, final Writer writer) throws IOException {
         // check if translation exists for the input at position index
         if (prefixSet.get(input.charAt(index))) {
-            int max = longest;
-            if (index + longest > input.length()) {
-                max = input.length() - index;
-            }
-            // implement greedy algorithm by trying maximum match first
-            for (int i = max; i >= shortest; i--) {
-                final CharSequence subSeq = input.subSequence(index, index + i);
-                final String result = lookupMap.get(subSeq.toString());
-
-                if (result != null) {
-                    writer.write(result);
-                    return Character.codePointCount(subSeq, 0, subSeq.length());
+            // implement greedy algorithm by remembering the longest match while walking the trie
+            final int len = input.length();
+            String result = null;
+            int end = index;
+            int node = 0;
+            for (int i = index; i < len && childCount[node] > 0; i++) {
+                final int from = firstChild[node];
+                node = Arrays.binarySearch(labels, from, from + childCount[node], input.charAt(i));
+                if (node < 0) {
+                    break;
                 }
+                if (values[node] != null) {
+                    result = values[node];
+                    end = i + 1;
+                }
+            }
+            if (result != null) {
+                writer.write(result);
+                return Character.codePointCount(input, index, end);
             }
         }
         return 0;
@@ -18,6 +18,7 @@ package org.apache.commons.text.translate;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.util.BitSet;
 
 import org.apache.commons.lang3.Range;
 
@@ -76,6 +77,9 @@ public class NumericEntityEscaper extends CodePointTranslator {
     /** Range from lowest code point to highest code point. */
     private final Range<Integer> range;
 
+    /** The characters at which an escaped code point may start. */
+    private final BitSet translatableChars;
+
     /**
      * Constructs a {@code NumericEntityEscaper} for all characters.
      */
@@ -96,6 +100,17 @@ public class NumericEntityEscaper extends CodePointTranslator {
     private NumericEntityEscaper(final int below, final int above, final boolean between) {
         this.range = Range.between(below, above);
         this.between = between;
+        this.translatableChars = translatableChars(range.getMinimum(), range.getMaximum(), between);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 1.13.0
+     */
+    @Override
+    protected BitSet getTranslatableChars() {
+        return translatableCharsFor(translatableChars, NumericEntityEscaper.class);
     }
 
     /**
@@ -19,6 +19,7 @@ package org.apache.commons.text.translate;
 import java.io.IOException;
 import java.io.Writer;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.EnumSet;
 
@@ -34,6 +35,13 @@ import org.apache.commons.lang3.ArrayUtils;
  */
 public class NumericEntityUnescaper extends CharSequenceTranslator {
 
+    /** The ampersand character at which every escape sequence starts. */
+    private static final BitSet TRANSLATABLE_CHARS = new BitSet();
+
+    static {
+        TRANSLATABLE_CHARS.set('&');
+    }
+
     /** Enumerates NumericEntityUnescaper options for unescaping. */
     public enum OPTION {
 
@@ -90,6 +98,16 @@ public class NumericEntityUnescaper extends CharSequenceTranslator {
         return options.contains(option);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @since 1.13.0
+     */
+    @Override
+    protected BitSet getTranslatableChars() {
+        return translatableCharsFor(TRANSLATABLE_CHARS, NumericEntityUnescaper.class);
+    }
+
     /**
      * {@inheritDoc}
      */
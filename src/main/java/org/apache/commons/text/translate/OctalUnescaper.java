@@ -18,6 +18,7 @@ package org.apache.commons.text.translate;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.util.BitSet;
 
 /**
  * Translate escaped octal Strings back to their octal values.
@@ -31,6 +32,13 @@ import java.io.Writer;
  */
 public class OctalUnescaper extends CharSequenceTranslator {
 
+    /** The backslash character at which every escape sequence starts. */
+    private static final BitSet TRANSLATABLE_CHARS = new BitSet();
+
+    static {
+        TRANSLATABLE_CHARS.set('\\');
+    }
+
     /**
      * Tests if the given char is an octal digit. Octal digits are the character representations of the digits 0 to 7.
      *
@@ -51,6 +59,16 @@ public class OctalUnescaper extends CharSequenceTranslator {
         return ch >= '0' && ch <= '3';
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @since 1.13.0
+     */
+    @Override
+    protected BitSet getTranslatableChars() {
+        return translatableCharsFor(TRANSLATABLE_CHARS, OctalUnescaper.class);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -18,6 +18,7 @@ package org.apache.commons.text.translate;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.util.BitSet;
 
 /**
  * Translates code points to their Unicode escaped value.
@@ -75,6 +76,9 @@ public class UnicodeEscaper extends CodePointTranslator {
     /** Whether to escape between the boundaries or outside them. */
     private final boolean between;
 
+    /** The characters at which an escaped code point may start. */
+    private final BitSet translatableChars;
+
     /**
      * Constructs a {@code UnicodeEscaper} for all characters.
      */
@@ -96,6 +100,17 @@ public class UnicodeEscaper extends CodePointTranslator {
         this.below = below;
         this.above = above;
         this.between = between;
+        this.translatableChars = translatableChars(below, above, between);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 1.13.0
+     */
+    @Override
+    protected BitSet getTranslatableChars() {
+        return translatableCharsFor(translatableChars, UnicodeEscaper.class, JavaUnicodeEscaper.class);
     }
 
     /**
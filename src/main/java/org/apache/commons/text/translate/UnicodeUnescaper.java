@@ -18,6 +18,7 @@ package org.apache.commons.text.translate;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.util.BitSet;
 
 /**
  * Translates escaped Unicode values of the form \\u+\d\d\d\d back to
@@ -28,6 +29,13 @@ import java.io.Writer;
  */
 public class UnicodeUnescaper extends CharSequenceTranslator {
 
+    /** The backslash character at which every escape sequence starts. */
+    private static final BitSet TRANSLATABLE_CHARS = new BitSet();
+
+    static {
+        TRANSLATABLE_CHARS.set('\\');
+    }
+
     /**
      * Constructs a new instance.
      */
@@ -35,6 +43,16 @@ public class UnicodeUnescaper extends CharSequenceTranslator {
         // empty
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @since 1.13.0
+     */
+    @Override
+    protected BitSet getTranslatableChars() {
+        return translatableCharsFor(TRANSLATABLE_CHARS, UnicodeUnescaper.class);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -18,6 +18,7 @@ package org.apache.commons.text.translate;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.util.BitSet;
 
 /**
  * Helper subclass to CharSequenceTranslator to remove unpaired surrogates.
@@ -26,6 +27,19 @@ import java.io.Writer;
  */
 public class UnicodeUnpairedSurrogateRemover extends CodePointTranslator {
 
+    /** The surrogate characters. */
+    private static final BitSet SURROGATES = translatableChars(Character.MIN_SURROGATE, Character.MAX_SURROGATE, true);
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 1.13.0
+     */
+    @Override
+    protected BitSet getTranslatableChars() {
+        return translatableCharsFor(SURROGATES, UnicodeUnpairedSurrogateRemover.class);
+    }
+
     /**
      * Implements translate to throw out unpaired surrogates.
      * {@inheritDoc}
@@ -0,0 +1,500 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.translate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.util.BitSet;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Escapes UTF-8 encoded bytes directly into UTF-8 encoded bytes, without decoding the input to a
+ * {@code String} or encoding the result back.
+ * <p>
+ * The output is the same as encoding {@code translator.translate(new String(bytes, UTF_8))} as UTF-8:
+ * malformed input is replaced by U+FFFD before it is translated. Runs of bytes the translator leaves
+ * unchanged, as advertised by {@link CharSequenceTranslator#getTranslatableChars()}, are copied in bulk;
+ * only the code points that may be translated are decoded.
+ * </p>
+ * <p>
+ * The translator must translate one code point at a time, as escapers such as
+ * {@code StringEscapeUtils.ESCAPE_JSON}, {@code ESCAPE_XML10} and {@code ESCAPE_HTML4} do; it is never
+ * shown the input that follows the code point being translated. Unescapers need that context and are not
+ * supported.
+ * </p>
+ * <p>
+ * This class is immutable and thread-safe.
+ * </p>
+ *
+ * @since 1.13.0
+ */
+public final class Utf8Escaper {
+
+    /**
+     * Holds the code point being translated.
+     */
+    private static final class CodePointSequence implements CharSequence {
+
+        /** The UTF-16 form of the code point. */
+        private final char[] chars = new char[2];
+
+        /** The number of chars used. */
+        private int length;
+
+        @Override
+        public char charAt(final int index) {
+            return chars[index];
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        /**
+         * Sets the code point.
+         *
+         * @param codePoint the code point
+         */
+        private void set(final int codePoint) {
+            length = Character.toChars(codePoint, chars, 0);
+        }
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+            return new String(chars, start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            return new String(chars, 0, length);
+        }
+    }
+
+    /**
+     * Reads the remaining bytes of a {@link ByteBuffer}.
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+
+        /** The source. */
+        private final ByteBuffer buffer;
+
+        /**
+         * Constructs a new instance.
+         *
+         * @param buffer the source
+         */
+        private ByteBufferInputStream(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            final int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+    }
+
+    /**
+     * Writes to a {@link ByteBuffer}, throwing {@link java.nio.BufferOverflowException} when it is full.
+     */
+    private static final class ByteBufferOutputStream extends OutputStream {
+
+        /** The target. */
+        private final ByteBuffer buffer;
+
+        /**
+         * Constructs a new instance.
+         *
+         * @param buffer the target
+         */
+        private ByteBufferOutputStream(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) {
+            buffer.put(b, off, len);
+        }
+
+        @Override
+        public void write(final int b) {
+            buffer.put((byte) b);
+        }
+    }
+
+    /**
+     * Encodes the characters written by a translator as UTF-8.
+     */
+    private static final class Utf8Writer extends Writer {
+
+        /** The target. */
+        private final OutputStream out;
+
+        /** A high surrogate waiting for its low surrogate, or 0. */
+        private char highSurrogate;
+
+        /**
+         * Constructs a new instance.
+         *
+         * @param out the target
+         */
+        private Utf8Writer(final OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void close() {
+            // noop
+        }
+
+        /**
+         * Encodes a pending high surrogate that was not followed by a low surrogate as {@code '?'},
+         * like {@link String#getBytes(java.nio.charset.Charset)} does.
+         */
+        @Override
+        public void flush() throws IOException {
+            if (highSurrogate != 0) {
+                highSurrogate = 0;
+                out.write('?');
+            }
+        }
+
+        @Override
+        public void write(final char[] cbuf, final int off, final int len) throws IOException {
+            for (int i = off; i < off + len; i++) {
+                write(cbuf[i]);
+            }
+        }
+
+        @Override
+        public void write(final int c) throws IOException {
+            final char ch = (char) c;
+            if (ch < 0x80 && highSurrogate == 0) {
+                out.write(ch);
+            } else if (Character.isLowSurrogate(ch) && highSurrogate != 0) {
+                final int codePoint = Character.toCodePoint(highSurrogate, ch);
+                highSurrogate = 0;
+                writeCodePoint(out, codePoint);
+            } else {
+                flush();
+                if (Character.isHighSurrogate(ch)) {
+                    highSurrogate = ch;
+                } else if (Character.isLowSurrogate(ch)) {
+                    out.write('?');
+                } else {
+                    writeCodePoint(out, ch);
+                }
+            }
+        }
+
+        @Override
+        public void write(final String str, final int off, final int len) throws IOException {
+            for (int i = off; i < off + len; i++) {
+                write(str.charAt(i));
+            }
+        }
+    }
+
+    /**
+     * The size of the buffer used to read streams.
+     */
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * The replacement for malformed input.
+     */
+    private static final int REPLACEMENT = 0xFFFD;
+
+    /**
+     * Gets the length of the UTF-8 sequence at the given index.
+     *
+     * @param src the bytes
+     * @param pos the index of the lead byte, which is not ASCII
+     * @param end the index after the last available byte
+     * @param endOfInput whether no bytes follow {@code end}
+     * @return the length of a well-formed sequence, minus the length of the malformed bytes replaced by one
+     *         U+FFFD, or 0 if the sequence is incomplete and more input may follow
+     */
+    private static int sequenceLength(final byte[] src, final int pos, final int end, final boolean endOfInput) {
+        final int lead = src[pos] & 0xFF;
+        final int length;
+        int min = 0x80;
+        int max = 0xBF;
+        if (lead >= 0xC2 && lead <= 0xDF) {
+            length = 2;
+        } else if (lead >= 0xE0 && lead <= 0xEF) {
+            length = 3;
+            if (lead == 0xE0) {
+                min = 0xA0;
+            }
+        } else if (lead >= 0xF0 && lead <= 0xF4) {
+            length = 4;
+            if (lead == 0xF0) {
+                min = 0x90;
+            } else if (lead == 0xF4) {
+                max = 0x8F;
+            }
+        } else {
+            return -1;
+        }
+        for (int i = 1; i < length; i++) {
+            if (pos + i >= end) {
+                return endOfInput ? -i : 0;
+            }
+            final int b = src[pos + i] & 0xFF;
+            if (b < min || b > max) {
+                return -i;
+            }
+            min = 0x80;
+            max = 0xBF;
+        }
+        if (lead == 0xED && (src[pos + 1] & 0xFF) >= 0xA0) {
+            // an encoded surrogate is malformed as a whole, like the JDK decoder does
+            return -length;
+        }
+        return length;
+    }
+
+    /**
+     * Decodes a well-formed UTF-8 sequence.
+     *
+     * @param src the bytes
+     * @param pos the index of the lead byte
+     * @param length the length of the sequence
+     * @return the code point
+     */
+    private static int decode(final byte[] src, final int pos, final int length) {
+        int codePoint = src[pos] & (0xFF >> length + 1);
+        for (int i = 1; i < length; i++) {
+            codePoint = codePoint << 6 | src[pos + i] & 0x3F;
+        }
+        return codePoint;
+    }
+
+    /**
+     * Encodes a code point as UTF-8.
+     *
+     * @param out the target
+     * @param codePoint the code point, which is not a surrogate
+     * @throws IOException if and only if the OutputStream produces an IOException
+     */
+    private static void writeCodePoint(final OutputStream out, final int codePoint) throws IOException {
+        if (codePoint < 0x80) {
+            out.write(codePoint);
+        } else if (codePoint < 0x800) {
+            out.write(0xC0 | codePoint >> 6);
+            out.write(0x80 | codePoint & 0x3F);
+        } else if (codePoint < 0x10000) {
+            out.write(0xE0 | codePoint >> 12);
+            out.write(0x80 | codePoint >> 6 & 0x3F);
+            out.write(0x80 | codePoint & 0x3F);
+        } else {
+            out.write(0xF0 | codePoint >> 18);
+            out.write(0x80 | codePoint >> 12 & 0x3F);
+            out.write(0x80 | codePoint >> 6 & 0x3F);
+            out.write(0x80 | codePoint & 0x3F);
+        }
+    }
+
+    /**
+     * The translator.
+     */
+    private final CharSequenceTranslator translator;
+
+    /**
+     * The characters the translator may consume, or {@code null} for all.
+     */
+    private final BitSet translatableChars;
+
+    /**
+     * The ASCII bytes the translator may consume.
+     */
+    private final boolean[] translatableAscii = new boolean[0x80];
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param translator the translator, which translates one code point at a time
+     */
+    public Utf8Escaper(final CharSequenceTranslator translator) {
+        Validate.isTrue(translator != null, "The translator must not be null");
+        this.translator = translator;
+        this.translatableChars = translator.getTranslatableChars();
+        for (int c = 0; c < translatableAscii.length; c++) {
+            translatableAscii[c] = isTranslatable(c);
+        }
+    }
+
+    /**
+     * Escapes the remaining bytes of a buffer into another buffer.
+     * <p>
+     * On return, {@code in} has no remaining bytes and the position of {@code out} is after the escaped
+     * bytes. An incomplete sequence at the end of {@code in} is malformed.
+     * </p>
+     *
+     * @param in the UTF-8 input
+     * @param out the UTF-8 output
+     * @throws java.nio.BufferOverflowException if {@code out} is too small, the positions of both buffers
+     *         are then undefined
+     */
+    public void escape(final ByteBuffer in, final ByteBuffer out) {
+        Validate.isTrue(in != null, "The input must not be null");
+        Validate.isTrue(out != null, "The output must not be null");
+        final OutputStream sink = new ByteBufferOutputStream(out);
+        try {
+            if (in.hasArray()) {
+                final int offset = in.arrayOffset();
+                escape(in.array(), offset + in.position(), offset + in.limit(), true, sink, new Utf8Writer(sink),
+                    new CodePointSequence());
+                in.position(in.limit());
+            } else {
+                escape(new ByteBufferInputStream(in), sink);
+            }
+        } catch (final IOException e) {
+            // the streams over buffers never throw
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Escapes bytes in a range of an array.
+     *
+     * @param src the bytes
+     * @param pos the index of the first byte
+     * @param end the index after the last byte
+     * @param endOfInput whether no bytes follow {@code end}
+     * @param out the target
+     * @param writer the target, for translated code points
+     * @param codePoint holds the code point being translated
+     * @return the index after the last byte escaped, only less than {@code end} when the bytes left form an
+     *         incomplete sequence and {@code endOfInput} is false
+     * @throws IOException if and only if the OutputStream produces an IOException
+     */
+    private int escape(final byte[] src, int pos, final int end, final boolean endOfInput, final OutputStream out,
+            final Utf8Writer writer, final CodePointSequence codePoint) throws IOException {
+        int start = pos;
+        while (pos < end) {
+            final int b = src[pos];
+            if (b >= 0) {
+                if (!translatableAscii[b]) {
+                    pos++;
+                    continue;
+                }
+                out.write(src, start, pos - start);
+                translate(b, src, pos, 1, out, writer, codePoint);
+                start = ++pos;
+                continue;
+            }
+            final int length = sequenceLength(src, pos, end, endOfInput);
+            if (length == 0) {
+                break;
+            }
+            if (length > 0) {
+                final int c = decode(src, pos, length);
+                if (!isTranslatable(c)) {
+                    pos += length;
+                    continue;
+                }
+                out.write(src, start, pos - start);
+                translate(c, src, pos, length, out, writer, codePoint);
+                pos += length;
+            } else {
+                out.write(src, start, pos - start);
+                translate(REPLACEMENT, null, pos, 0, out, writer, codePoint);
+                pos -= length;
+            }
+            start = pos;
+        }
+        out.write(src, start, pos - start);
+        return pos;
+    }
+
+    /**
+     * Escapes a stream into another stream. Neither stream is closed.
+     *
+     * @param in the UTF-8 input
+     * @param out the UTF-8 output
+     * @throws IOException if and only if one of the streams produces an IOException
+     */
+    public void escape(final InputStream in, final OutputStream out) throws IOException {
+        Validate.isTrue(in != null, "The InputStream must not be null");
+        Validate.isTrue(out != null, "The OutputStream must not be null");
+        final Utf8Writer writer = new Utf8Writer(out);
+        final CodePointSequence codePoint = new CodePointSequence();
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        int end = 0;
+        int read;
+        while ((read = in.read(buffer, end, buffer.length - end)) != -1) {
+            end += read;
+            final int pos = escape(buffer, 0, end, false, out, writer, codePoint);
+            // keep an incomplete sequence for the next read
+            System.arraycopy(buffer, pos, buffer, 0, end - pos);
+            end -= pos;
+        }
+        escape(buffer, 0, end, true, out, writer, codePoint);
+    }
+
+    /**
+     * Tests whether the translator may consume a code point.
+     *
+     * @param codePoint the code point
+     * @return whether the translator may consume the code point
+     */
+    private boolean isTranslatable(final int codePoint) {
+        return translatableChars == null || translatableChars.get(
+            Character.isBmpCodePoint(codePoint) ? codePoint : Character.highSurrogate(codePoint));
+    }
+
+    /**
+     * Translates one code point, writing its original form when the translator leaves it unchanged.
+     *
+     * @param c the code point
+     * @param src the bytes, or {@code null} if the code point replaces malformed input
+     * @param pos the index of the code point in {@code src}
+     * @param length the length of the code point in {@code src}
+     * @param out the target
+     * @param writer the target, for translated code points
+     * @param codePoint holds the code point being translated
+     * @throws IOException if and only if the OutputStream produces an IOException
+     */
+    private void translate(final int c, final byte[] src, final int pos, final int length, final OutputStream out,
+            final Utf8Writer writer, final CodePointSequence codePoint) throws IOException {
+        codePoint.set(c);
+        if (isTranslatable(c) && translator.translate(codePoint, 0, writer) > 0) {
+            writer.flush();
+        } else if (src != null) {
+            out.write(src, pos, length);
+        } else {
+            writeCodePoint(out, c);
+        }
+    }
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.text;
+
+import java.util.Random;
+
+/**
+ * Creates random strings for the tests which compare an implementation with a reference on many inputs, from a seeded
+ * {@link Random} so that failures reproduce.
+ */
+public final class RandomStrings {
+
+    /**
+     * The lower case letters.
+     */
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyz";
+
+    /**
+     * Gets the first lower case letters.
+     *
+     * @param count the number of letters, at most 26.
+     * @return the letters.
+     */
+    public static String letters(final int count) {
+        return LETTERS.substring(0, count);
+    }
+
+    /**
+     * Creates a random string of characters of an alphabet.
+     *
+     * @param random the source of randomness.
+     * @param length the length of the string.
+     * @param alphabet the characters to choose from.
+     * @return a new string.
+     */
+    public static String random(final Random random, final int length, final String alphabet) {
+        final StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Creates a random string of tokens, appending them until it is at least as long as a length.
+     *
+     * @param random the source of randomness.
+     * @param length the minimum length of the string.
+     * @param tokens the tokens to choose from.
+     * @return a new string.
+     */
+    public static String tokens(final Random random, final int length, final String... tokens) {
+        final StringBuilder builder = new StringBuilder(length);
+        while (builder.length() < length) {
+            builder.append(tokens[random.nextInt(tokens.length)]);
+        }
+        return builder.toString();
+    }
+
+    private RandomStrings() {
+        // no instances
+    }
+}
@@ -34,6 +34,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 
+import org.apache.commons.lang3.function.FailableConsumer;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -61,6 +62,15 @@ public class StringEscapeUtilsTest {
             {"8-bit ascii shouldn't number-escape", "\u0080\u009F", "\u0080\u009F"},
     };
 
+    private void assertAppendable(final String expected, final FailableConsumer<Appendable, IOException> escaper) throws IOException {
+        final StringBuilder sb = new StringBuilder();
+        escaper.accept(sb);
+        assertEquals(expected, sb.toString());
+        final TextStringBuilder tsb = new TextStringBuilder();
+        escaper.accept(tsb);
+        assertEquals(expected, tsb.toString());
+    }
+
     private void assertEscapeJava(final String escaped, final String original) throws IOException {
         assertEscapeJava(escaped, original, null);
     }
@@ -104,12 +114,53 @@ public class StringEscapeUtilsTest {
         assertEquals(expected, writer.toString());
     }
 
+    @Test
+    public void testAppendable() throws IOException {
+        final String input = "He didn't say, \"Stop!\" <b>&amp;</b> \u00e9\t/\\n \ud83d\ude00,x";
+        final StringBuilder sb = new StringBuilder("<");
+        StringEscapeUtils.escapeJson(input, sb);
+        assertEquals("<" + StringEscapeUtils.escapeJson(input), sb.toString());
+        final TextStringBuilder tsb = new TextStringBuilder(">");
+        StringEscapeUtils.escapeHtml4(input, tsb);
+        assertEquals(">" + StringEscapeUtils.escapeHtml4(input), tsb.toString());
+        final char[] buffer = new char[4];
+        final TextStringBuilder wrapped = TextStringBuilder.wrap(buffer, 0);
+        StringEscapeUtils.escapeXml10(input, wrapped);
+        assertEquals(StringEscapeUtils.escapeXml10(input), wrapped.toString());
+        final StringWriter writer = new StringWriter();
+        StringEscapeUtils.escapeJava(input, writer);
+        StringEscapeUtils.escapeJava(null, writer);
+        assertEquals(StringEscapeUtils.escapeJava(input), writer.toString());
+        assertThrows(IllegalArgumentException.class, () -> StringEscapeUtils.escapeJson(input, null));
+
+        assertAppendable(StringEscapeUtils.escapeCsv(input), appendable -> StringEscapeUtils.escapeCsv(input, appendable));
+        assertAppendable(StringEscapeUtils.escapeEcmaScript(input), appendable -> StringEscapeUtils.escapeEcmaScript(input, appendable));
+        assertAppendable(StringEscapeUtils.escapeHtml3(input), appendable -> StringEscapeUtils.escapeHtml3(input, appendable));
+        assertAppendable(StringEscapeUtils.escapeXml11(input), appendable -> StringEscapeUtils.escapeXml11(input, appendable));
+        assertAppendable(StringEscapeUtils.escapeXSI(input), appendable -> StringEscapeUtils.escapeXSI(input, appendable));
+        final String escaped = "\"a,\"\"b\"\" &lt;&eacute;&#233;&gt; \\u00e9\\t\\\\ \\\"";
+        assertAppendable(StringEscapeUtils.unescapeCsv(escaped), appendable -> StringEscapeUtils.unescapeCsv(escaped, appendable));
+        assertAppendable(StringEscapeUtils.unescapeEcmaScript(escaped), appendable -> StringEscapeUtils.unescapeEcmaScript(escaped, appendable));
+        assertAppendable(StringEscapeUtils.unescapeHtml3(escaped), appendable -> StringEscapeUtils.unescapeHtml3(escaped, appendable));
+        assertAppendable(StringEscapeUtils.unescapeHtml4(escaped), appendable -> StringEscapeUtils.unescapeHtml4(escaped, appendable));
+        assertAppendable(StringEscapeUtils.unescapeJava(escaped), appendable -> StringEscapeUtils.unescapeJava(escaped, appendable));
+        assertAppendable(StringEscapeUtils.unescapeJson(escaped), appendable -> StringEscapeUtils.unescapeJson(escaped, appendable));
+        assertAppendable(StringEscapeUtils.unescapeXml(escaped), appendable -> StringEscapeUtils.unescapeXml(escaped, appendable));
+        assertAppendable(StringEscapeUtils.unescapeXSI(escaped), appendable -> StringEscapeUtils.unescapeXSI(escaped, appendable));
+    }
+
     @Test
     public void testBuilder() {
         final String result = StringEscapeUtils.builder(StringEscapeUtils.ESCAPE_XML10).escape("<").append(">").toString();
         assertEquals("&lt;>", result);
     }
 
+    @Test
+    public void testBuilderNull() {
+        assertEquals("<null&lt;null", StringEscapeUtils.builder(StringEscapeUtils.ESCAPE_XML10).append("<").escape(null).escape("<")
+            .append(null).toString());
+    }
+
     @Test
     public void testConstructor() {
         assertNotNull(new StringEscapeUtils());
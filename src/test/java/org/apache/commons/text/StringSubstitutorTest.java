@@ -88,6 +88,7 @@ public class StringSubstitutorTest {
             assertFalse(substitutor.replaceIn((TextStringBuilder) null, 0, 100));
         } else {
             assertEquals(replaceTemplate, replace(substitutor, replaceTemplate));
+            assertEquals(replaceTemplate, substitutor.compile(replaceTemplate).replace());
             final TextStringBuilder builder = new TextStringBuilder(replaceTemplate);
             assertFalse(substitutor.replaceIn(builder));
             assertEquals(replaceTemplate, builder.toString());
@@ -105,6 +106,12 @@ public class StringSubstitutorTest {
             assertEquals(expectedShortResult, sub.replace(replaceTemplate, 1, replaceTemplate.length() - 2));
         }
 
+        // replace using a compiled template
+        final StringSubstitutor.CompiledTemplate template = sub.compile(replaceTemplate);
+        assertEquals(expectedResult, template.replace());
+        assertEquals(expectedResult, template.replace());
+        assertEquals("<" + expectedResult, template.appendTo(new TextStringBuilder("<")).toString());
+
         // replace using char[]
         final char[] chars = replaceTemplate.toCharArray();
         assertEquals(expectedResult, sub.replace(chars));
@@ -198,6 +205,88 @@ public class StringSubstitutorTest {
         values = null;
     }
 
+    /**
+     * Tests that a compiled template gives the same result as replacing the template text.
+     */
+    @Test
+    public void testCompile() {
+        values.put("animal.1", "fox");
+        values.put("animal.2", "mouse");
+        values.put("species", "2");
+        values.put("recursive", "${animal.${species}}");
+        final StringSubstitutor sub = new StringSubstitutor(values);
+        final String[] templates = {"", "no variables", CLASSIC_TEMPLATE, "${a}${b}", "$${a}", "$$${a}", "$${a$${a}}",
+            "${unknown}", "${unknown:-default ${a}}", "${animal.${species}}", "${animal.${species:-1}}",
+            "${animal.${unknown:-1}:-x}", "${recursive}", "${incomplete", "${a}}"};
+        for (final String template : templates) {
+            assertEquals(sub.replace(template), sub.compile(template).replace(), template);
+        }
+        sub.setEnableSubstitutionInVariables(true);
+        for (final String template : templates) {
+            assertEquals(sub.replace(template), sub.compile(template).replace(), template);
+        }
+        sub.setPreserveEscapes(true);
+        for (final String template : templates) {
+            assertEquals(sub.replace(template), sub.compile(template).replace(), template);
+        }
+        sub.setDisableSubstitutionInValues(true);
+        for (final String template : templates) {
+            assertEquals(sub.replace(template), sub.compile(template).replace(), template);
+        }
+    }
+
+    /**
+     * Tests that a compiled template detects cyclic substitution.
+     */
+    @Test
+    public void testCompileCyclicReplacement() {
+        final Map<String, String> map = new HashMap<>();
+        map.put("animal", "${critter}");
+        map.put("target", "${pet}");
+        map.put("pet", "${petCharacteristic} dog");
+        map.put("petCharacteristic", "lazy");
+        map.put("critter", "${critterSpeed} ${critterColor} ${critterType}");
+        map.put("critterSpeed", "quick");
+        map.put("critterColor", "brown");
+        map.put("critterType", "${animal}");
+        final StringSubstitutor sub = new StringSubstitutor(map);
+        final StringSubstitutor.CompiledTemplate template = sub.compile("The ${animal} jumps over the ${target}.");
+        assertThrows(IllegalStateException.class, template::replace);
+    }
+
+    /**
+     * Tests that a compiled template fails on undefined variables if enabled.
+     */
+    @Test
+    public void testCompileFailOnUndefinedVariable() {
+        values.put("animal.1", "fox");
+        values.put("species", "2");
+        final StringSubstitutor sub = new StringSubstitutor(values);
+        sub.setEnableUndefinedVariableException(true);
+        assertEquals("Cannot resolve variable 'unknown' (enableSubstitutionInVariables=false).",
+            assertThrows(IllegalArgumentException.class, () -> sub.compile("Missing ${unknown}.").replace()).getMessage());
+        sub.setEnableSubstitutionInVariables(true);
+        assertEquals("Cannot resolve variable 'animal.2' (enableSubstitutionInVariables=true).",
+            assertThrows(IllegalArgumentException.class, () -> sub.compile("The ${animal.${species}}.").replace()).getMessage());
+        assertEqualsCharSeq("The fox.", sub.compile("The ${animal.${unknown:-1}:-x}.").replace());
+    }
+
+    /**
+     * Tests that a compiled template can be rendered with another lookup.
+     */
+    @Test
+    public void testCompileWithLookup() {
+        final StringSubstitutor.CompiledTemplate template = new StringSubstitutor(values).compile(CLASSIC_TEMPLATE);
+        assertEquals(CLASSIC_TEMPLATE, template.getSource());
+        assertEqualsCharSeq(CLASSIC_RESULT, template.replace());
+        final Map<String, String> map = new HashMap<>();
+        map.put("animal", "cat");
+        map.put("target", "${animal}");
+        assertEqualsCharSeq("The cat jumps over the cat.", template.replace(StringLookupFactory.INSTANCE.mapStringLookup(map)));
+        assertEqualsCharSeq(CLASSIC_TEMPLATE, template.replace(null));
+        assertThrows(NullPointerException.class, () -> new StringSubstitutor(values).compile(null));
+    }
+
     @Test
     public void testConstructorNullMap() {
         final Map<String, Object> parameters = null;
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.diff;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link DiffAlgorithm}.
+ */
+public class DiffAlgorithmTest {
+
+    private static final DiffOptions HISTOGRAM = DiffOptions.builder().setAlgorithm(DiffAlgorithm.HISTOGRAM).get();
+
+    /**
+     * Applies a script to the first sequence, checking that kept objects are equal.
+     */
+    private static <T> List<T> apply(final RangeEditScript script, final List<T> left, final List<T> right) {
+        final List<T> result = new ArrayList<>();
+        script.visit(new RangeVisitor() {
+            @Override
+            public void visitDeleteRange(final int leftStart, final int length) {
+                // noop
+            }
+
+            @Override
+            public void visitInsertRange(final int rightStart, final int length) {
+                result.addAll(right.subList(rightStart, rightStart + length));
+            }
+
+            @Override
+            public void visitKeepRange(final int leftStart, final int rightStart, final int length) {
+                assertEquals(left.subList(leftStart, leftStart + length), right.subList(rightStart, rightStart + length));
+                result.addAll(left.subList(leftStart, leftStart + length));
+            }
+        });
+        assertEquals(left.size(), script.getLeftLength());
+        return result;
+    }
+
+    private static List<Integer> randomTokens(final Random random, final int length, final int alphabet) {
+        final List<Integer> tokens = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            tokens.add(random.nextInt(alphabet) * 1_000_003);
+        }
+        return tokens;
+    }
+
+    @Test
+    public void testHistogramAnchorsOnUniqueLines() {
+        final String before = "int a() {\n    return 1;\n}\n\nint b() {\n    return 2;\n}\n";
+        final String after = "int a() {\n    return 1;\n}\n\nint c() {\n    return 3;\n}\n\nint b() {\n    return 2;\n}\n";
+        final SequenceComparator<String> comparator = SequenceComparator.ofLines(before, after);
+        final RangeEditScript script = comparator.getRangeScript(HISTOGRAM);
+        assertEquals(comparator.getRight(), apply(script, comparator.getLeft(), comparator.getRight()));
+        final List<String> inserted = new ArrayList<>();
+        script.visit(new RangeVisitor() {
+            @Override
+            public void visitDeleteRange(final int leftStart, final int length) {
+                // noop
+            }
+
+            @Override
+            public void visitInsertRange(final int rightStart, final int length) {
+                inserted.addAll(comparator.getRight().subList(rightStart, rightStart + length));
+            }
+
+            @Override
+            public void visitKeepRange(final int leftStart, final int rightStart, final int length) {
+                // noop
+            }
+        });
+        assertEquals(Arrays.asList("int c() {\n", "    return 3;\n", "}\n", "\n"), inserted);
+        assertEquals(4, script.getModifications());
+    }
+
+    @Test
+    public void testHistogramMatchesMyersOnSimpleEdits() {
+        final StringsComparator comparator = new StringsComparator("the quick brown fox", "the quick red fox!");
+        final RangeEditScript script = comparator.getRangeScript(HISTOGRAM);
+        assertEquals(comparator.getRangeScript().getModifications(), script.getModifications());
+        assertEquals(0, new StringsComparator("", "").getRangeScript(HISTOGRAM).getRunCount());
+        assertEquals(3, new StringsComparator("", "abc").getRangeScript(HISTOGRAM).getModifications());
+        assertEquals(6, new StringsComparator("abc", "xyz").getRangeScript(HISTOGRAM).getModifications());
+    }
+
+    @Test
+    public void testHistogramProducesValidScripts() {
+        final Random random = new Random(13);
+        for (int i = 0; i < 500; i++) {
+            final int alphabet = 1 + random.nextInt(i % 2 == 0 ? 4 : 200);
+            final List<Integer> left = randomTokens(random, random.nextInt(300), alphabet);
+            final List<Integer> right = random.nextBoolean() ? randomTokens(random, random.nextInt(300), alphabet)
+                : new ArrayList<>(left);
+            for (int j = random.nextInt(5); j > 0 && !right.isEmpty(); j--) {
+                right.set(random.nextInt(right.size()), random.nextInt(alphabet));
+            }
+            final SequenceComparator<Integer> comparator = SequenceComparator.of(left, right);
+            final RangeEditScript script = comparator.getRangeScript(HISTOGRAM);
+            assertEquals(right, apply(script, left, right));
+            assertTrue(script.getModifications() >= comparator.getRangeScript().getModifications());
+        }
+    }
+
+    @Test
+    public void testHistogramWithFrequentObjectsAndBounds() {
+        final Random random = new Random(17);
+        // every object occurs far more often than the histogram indexes, which falls back to Myers
+        final List<Integer> left = randomTokens(random, 2000, 2);
+        final List<Integer> right = randomTokens(random, 2000, 2);
+        final SequenceComparator<Integer> comparator = SequenceComparator.of(left, right);
+        assertEquals(comparator.getRangeScript().getModifications(),
+            comparator.getRangeScript(HISTOGRAM).getModifications());
+        final DiffOptions bounded = DiffOptions.builder().setAlgorithm(DiffAlgorithm.HISTOGRAM).setMaxCost(8)
+            .setTimeout(Duration.ZERO).get();
+        assertEquals(right, apply(comparator.getRangeScript(bounded), left, right));
+        final int[] tokens = {Integer.MIN_VALUE, -1, 0, 1, Integer.MAX_VALUE};
+        final int[] reversed = {Integer.MAX_VALUE, 1, 0, -1, Integer.MIN_VALUE};
+        final SequenceComparator<Integer> extreme = SequenceComparator.ofTokens(tokens, reversed);
+        assertEquals(extreme.getRight(), apply(extreme.getRangeScript(HISTOGRAM), extreme.getLeft(), extreme.getRight()));
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.diff;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Random;
+
+import org.apache.commons.text.RandomStrings;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link DiffOptions} and the bounded comparisons using it.
+ */
+public class DiffOptionsTest {
+
+    /**
+     * Applies a script to the first string, checking that kept characters are equal.
+     */
+    private static String apply(final RangeEditScript script, final String left, final String right) {
+        final StringBuilder result = new StringBuilder();
+        script.visit(new RangeVisitor() {
+            @Override
+            public void visitDeleteRange(final int leftStart, final int length) {
+                // noop
+            }
+
+            @Override
+            public void visitInsertRange(final int rightStart, final int length) {
+                result.append(right, rightStart, rightStart + length);
+            }
+
+            @Override
+            public void visitKeepRange(final int leftStart, final int rightStart, final int length) {
+                assertEquals(left.substring(leftStart, leftStart + length), right.substring(rightStart, rightStart + length));
+                result.append(left, leftStart, leftStart + length);
+            }
+        });
+        assertEquals(left.length(), script.getLeftLength());
+        return result.toString();
+    }
+
+    @Test
+    public void testBuilder() {
+        final DiffOptions defaults = DiffOptions.getDefault();
+        assertFalse(defaults.isTrimCommonAffixes());
+        assertEquals(Integer.MAX_VALUE, defaults.getMaxCost());
+        assertNull(defaults.getTimeout());
+        final DiffOptions options = DiffOptions.builder().setTrimCommonAffixes(true).setMaxCost(10)
+            .setTimeout(Duration.ofSeconds(1)).get();
+        assertTrue(options.isTrimCommonAffixes());
+        assertEquals(10, options.getMaxCost());
+        assertEquals(Duration.ofSeconds(1), options.getTimeout());
+        assertThrows(IllegalArgumentException.class, () -> DiffOptions.builder().setMaxCost(0));
+        assertThrows(IllegalArgumentException.class, () -> DiffOptions.builder().setTimeout(Duration.ofMillis(-1)));
+        assertThrows(NullPointerException.class, () -> new StringsComparator("a", "b").getRangeScript(null));
+    }
+
+    @Test
+    public void testDefaultsMatchUnboundedScript() {
+        final Random random = new Random(11);
+        for (int i = 0; i < 100; i++) {
+            final String left = RandomStrings.random(random, random.nextInt(50), "abcd");
+            final String right = RandomStrings.random(random, random.nextInt(50), "abcd");
+            final StringsComparator comparator = new StringsComparator(left, right);
+            assertEquals(comparator.getRangeScript().getModifications(),
+                comparator.getRangeScript(DiffOptions.getDefault()).getModifications());
+            // trimming keeps the script optimal
+            final RangeEditScript trimmed = comparator.getRangeScript(DiffOptions.builder().setTrimCommonAffixes(true).get());
+            assertEquals(comparator.getRangeScript().getModifications(), trimmed.getModifications());
+            assertEquals(right, apply(trimmed, left, right));
+        }
+    }
+
+    @Test
+    public void testMaxCost() {
+        final Random random = new Random(5);
+        for (int maxCost = 1; maxCost <= 8; maxCost++) {
+            final DiffOptions options = DiffOptions.builder().setMaxCost(maxCost).get();
+            for (int i = 0; i < 100; i++) {
+                final String left = RandomStrings.random(random, random.nextInt(80), "abc");
+                final String right = random.nextBoolean() ? RandomStrings.random(random, random.nextInt(80), "abc")
+                    : new StringBuilder(left).insert(left.length() / 3, "xyz").toString();
+                final StringsComparator comparator = new StringsComparator(left, right);
+                final RangeEditScript script = comparator.getRangeScript(options);
+                assertEquals(right, apply(script, left, right));
+                assertTrue(script.getModifications() >= comparator.getRangeScript().getModifications());
+            }
+        }
+    }
+
+    @Test
+    public void testMaxCostOnUnrelatedLargeStrings() {
+        final Random random = new Random(1);
+        final String left = RandomStrings.random(random, 1 << 18, RandomStrings.letters(26));
+        final String right = RandomStrings.random(random, 1 << 18, RandomStrings.letters(26));
+        final DiffOptions options = DiffOptions.builder().setTrimCommonAffixes(true).setMaxCost(64).get();
+        final RangeEditScript script = assertTimeoutPreemptively(Duration.ofSeconds(30),
+            () -> new StringsComparator(left, right).getRangeScript(options));
+        assertEquals(right, apply(script, left, right));
+    }
+
+    @Test
+    public void testTimeout() {
+        final Random random = new Random(2);
+        final String common = RandomStrings.random(random, 1000, RandomStrings.letters(26));
+        final String left = common + RandomStrings.random(random, 1 << 16, RandomStrings.letters(26)) + common;
+        final String right = common + RandomStrings.random(random, 1 << 16, RandomStrings.letters(26)) + common;
+        final RangeEditScript script = new StringsComparator(left, right)
+            .getRangeScript(DiffOptions.builder().setTimeout(Duration.ZERO).get());
+        assertEquals(right, apply(script, left, right));
+        assertTrue(script.getLCSLength() >= 2 * common.length());
+        final SequenceComparator<String> lines = SequenceComparator.ofLines("a\nb\nc\n", "a\nx\nc\n");
+        final RangeEditScript lineScript = lines.getRangeScript(DiffOptions.builder().setTimeout(Duration.ZERO).get());
+        assertEquals(2, lineScript.getLCSLength());
+        assertEquals(2, lineScript.getModifications());
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.diff;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link RangeEditScript}.
+ */
+public class RangeEditScriptTest {
+
+    private static class RecordingVisitor implements RangeVisitor {
+
+        private final StringBuilder log = new StringBuilder();
+
+        @Override
+        public void visitDeleteRange(final int leftStart, final int length) {
+            log.append("-").append(leftStart).append(',').append(length).append(' ');
+        }
+
+        @Override
+        public void visitInsertRange(final int rightStart, final int length) {
+            log.append("+").append(rightStart).append(',').append(length).append(' ');
+        }
+
+        @Override
+        public void visitKeepRange(final int leftStart, final int rightStart, final int length) {
+            log.append("=").append(leftStart).append(',').append(rightStart).append(',').append(length).append(' ');
+        }
+    }
+
+    @Test
+    public void testAppendMergesRuns() {
+        final RangeEditScript script = new RangeEditScript();
+        script.appendKeep(2);
+        script.appendKeep(1);
+        script.appendDelete(1);
+        script.appendInsert(0);
+        script.appendDelete(2);
+        script.appendInsert(4);
+        script.appendKeep(1);
+        assertEquals(4, script.getRunCount());
+        assertEquals(4, script.getLCSLength());
+        assertEquals(7, script.getModifications());
+        assertEquals(7, script.getLeftLength());
+        assertEquals(8, script.getRightLength());
+        final RecordingVisitor visitor = new RecordingVisitor();
+        script.visit(visitor);
+        assertEquals("=0,0,3 -3,3 +3,4 =6,7,1 ", visitor.log.toString());
+    }
+
+    @Test
+    public void testEmpty() {
+        final RangeEditScript script = new RangeEditScript();
+        assertEquals(0, script.getRunCount());
+        assertEquals(0, script.getModifications());
+        final RecordingVisitor visitor = new RecordingVisitor();
+        script.visit(visitor);
+        assertEquals("", visitor.log.toString());
+    }
+
+    @Test
+    public void testGrowsAndHandlesLongRuns() {
+        final RangeEditScript script = new RangeEditScript();
+        for (int i = 0; i < 1000; i++) {
+            script.appendKeep(Integer.MAX_VALUE / 2000);
+            script.appendInsert(1);
+        }
+        assertEquals(2000, script.getRunCount());
+        assertEquals(1000 * (Integer.MAX_VALUE / 2000), script.getLCSLength());
+        final List<Integer> lengths = new ArrayList<>();
+        script.visit(new RecordingVisitor() {
+            @Override
+            public void visitKeepRange(final int leftStart, final int rightStart, final int length) {
+                lengths.add(length);
+            }
+        });
+        assertEquals(1000, lengths.size());
+        lengths.forEach(length -> assertEquals(Integer.MAX_VALUE / 2000, length));
+    }
+
+    @Test
+    public void testNegativeLength() {
+        final RangeEditScript script = new RangeEditScript();
+        assertThrows(IllegalArgumentException.class, () -> script.appendKeep(-1));
+        assertThrows(IllegalArgumentException.class, () -> script.appendDelete(-1));
+        assertThrows(IllegalArgumentException.class, () -> script.appendInsert(-1));
+    }
+
+    @Test
+    public void testToEditScript() {
+        final RangeEditScript script = new RangeEditScript();
+        script.appendKeep(1);
+        script.appendDelete(2);
+        script.appendInsert(1);
+        script.appendKeep(1);
+        final String left = "abcd";
+        final String right = "aXd";
+        final EditScript<Character> editScript = script.toEditScript(left::charAt, right::charAt);
+        assertEquals(2, editScript.getLCSLength());
+        assertEquals(3, editScript.getModifications());
+        final StringBuilder log = new StringBuilder();
+        editScript.visit(new CommandVisitor<Character>() {
+            @Override
+            public void visitDeleteCommand(final Character object) {
+                log.append('-').append(object);
+            }
+
+            @Override
+            public void visitInsertCommand(final Character object) {
+                log.append('+').append(object);
+            }
+
+            @Override
+            public void visitKeepCommand(final Character object) {
+                log.append('=').append(object);
+            }
+        });
+        assertEquals("=a-b-c+X=d", log.toString());
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.diff;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link SequenceComparator}.
+ */
+public class SequenceComparatorTest {
+
+    private static final class ReplacementsLog implements ReplacementsHandler<Object> {
+
+        private final List<String> log = new ArrayList<>();
+
+        @Override
+        public void handleReplacement(final int skipped, final List<Object> from, final List<Object> to) {
+            log.add(skipped + " " + from + " -> " + to);
+        }
+    }
+
+    private static final class ExecutionVisitor<T> implements CommandVisitor<T> {
+
+        private final List<T> result = new ArrayList<>();
+
+        @Override
+        public void visitDeleteCommand(final T object) {
+            // noop
+        }
+
+        @Override
+        public void visitInsertCommand(final T object) {
+            result.add(object);
+        }
+
+        @Override
+        public void visitKeepCommand(final T object) {
+            result.add(object);
+        }
+    }
+
+    private static List<Character> chars(final String s) {
+        final List<Character> chars = new ArrayList<>();
+        for (final char c : s.toCharArray()) {
+            chars.add(c);
+        }
+        return chars;
+    }
+
+    @Test
+    public void testLines() {
+        final String before = "a\nb\nc\r\nd\re";
+        final String after = "a\nc\nd\rx\ne";
+        final SequenceComparator<String> comparator = SequenceComparator.ofLines(before, after);
+        assertEquals(Arrays.asList("a\n", "b\n", "c\r\n", "d\r", "e"), comparator.getLeft());
+        assertEquals(Arrays.asList("a\n", "c\n", "d\r", "x\n", "e"), comparator.getRight());
+        final EditScript<String> script = comparator.getScript();
+        assertEquals(3, script.getLCSLength());
+        assertEquals(4, script.getModifications());
+        final ReplacementsLog log = new ReplacementsLog();
+        comparator.getRangeScript().visit(new ReplacementsFinder<>(log), comparator.getLeft()::get,
+            comparator.getRight()::get);
+        assertEquals(Arrays.asList("1 [b\n, c\r\n] -> [c\n]", "1 [] -> [x\n]"), log.log);
+        final ExecutionVisitor<String> ev = new ExecutionVisitor<>();
+        script.visit(ev);
+        assertEquals(after, String.join("", ev.result));
+        assertEquals(Collections.emptyList(), SequenceComparator.ofLines("", "").getLeft());
+        assertEquals(Arrays.asList("\n", "\n"), SequenceComparator.ofLines("\n\n", "").getLeft());
+        assertEquals(2, SequenceComparator.ofLines("x", "x\n").getRangeScript().getModifications());
+    }
+
+    @Test
+    public void testMatchesStringsComparator() {
+        final Random random = new Random(3);
+        for (int i = 0; i < 200; i++) {
+            final StringBuilder left = new StringBuilder();
+            final StringBuilder right = new StringBuilder();
+            for (int j = random.nextInt(40); j > 0; j--) {
+                left.append((char) ('a' + random.nextInt(5)));
+            }
+            for (int j = random.nextInt(40); j > 0; j--) {
+                right.append((char) ('a' + random.nextInt(5)));
+            }
+            final List<String> expected = new ArrayList<>();
+            new StringsComparator(left.toString(), right.toString()).getScript()
+                .visit(new ReplacementsFinder<>((skipped, from, to) -> expected.add(skipped + " " + from + " " + to)));
+            final List<String> actual = new ArrayList<>();
+            SequenceComparator.of(chars(left.toString()), chars(right.toString())).getScript()
+                .visit(new ReplacementsFinder<>((skipped, from, to) -> actual.add(skipped + " " + from + " " + to)));
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void testNull() {
+        assertThrows(NullPointerException.class, () -> SequenceComparator.of(null, Collections.emptyList()));
+        assertThrows(NullPointerException.class, () -> SequenceComparator.ofLines("", null));
+        assertThrows(NullPointerException.class, () -> SequenceComparator.ofTokens(new int[0], null));
+    }
+
+    @Test
+    public void testInputsCopied() {
+        final List<String> before = new LinkedList<>(Arrays.asList("the", "quick", "brown", "fox"));
+        final List<String> after = new LinkedList<>(Arrays.asList("the", "slow", "brown", "fox", "jumps"));
+        final SequenceComparator<String> comparator = SequenceComparator.of(before, after);
+        final List<String> expected = new ArrayList<>(after);
+        before.set(1, "slow");
+        after.clear();
+        assertEquals(Arrays.asList("the", "quick", "brown", "fox"), comparator.getLeft());
+        assertEquals(expected, comparator.getRight());
+        final EditScript<String> script = comparator.getScript();
+        assertEquals(3, script.getModifications());
+        final ExecutionVisitor<String> ev = new ExecutionVisitor<>();
+        script.visit(ev);
+        assertEquals(expected, ev.result);
+    }
+
+    @Test
+    public void testObjects() {
+        final List<String> before = Arrays.asList("the", "quick", "brown", "fox");
+        final List<String> after = Arrays.asList("the", "slow", "brown", "fox", "jumps");
+        final EditScript<String> script = SequenceComparator.of(before, after).getScript();
+        assertEquals(3, script.getLCSLength());
+        assertEquals(3, script.getModifications());
+        final ExecutionVisitor<String> ev = new ExecutionVisitor<>();
+        script.visit(ev);
+        assertEquals(after, ev.result);
+    }
+
+    @Test
+    public void testTokens() {
+        final int[] left = {1, 2, 3, 4, 5};
+        final int[] right = {0, 1, 3, 4, 6};
+        final SequenceComparator<Integer> comparator = SequenceComparator.ofTokens(left, right);
+        left[0] = 9;
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5), comparator.getLeft());
+        final RangeEditScript script = comparator.getRangeScript();
+        assertEquals(3, script.getLCSLength());
+        assertEquals(4, script.getModifications());
+        final ExecutionVisitor<Integer> ev = new ExecutionVisitor<>();
+        comparator.getScript().visit(ev);
+        assertEquals(comparator.getRight(), ev.result);
+    }
+}
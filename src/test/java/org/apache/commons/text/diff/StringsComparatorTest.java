@@ -18,9 +18,12 @@ package org.apache.commons.text.diff;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
+import org.apache.commons.text.RandomStrings;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -137,4 +140,56 @@ public class StringsComparatorTest {
             assertEquals(lcs[i], comparator.getScript().getLCSLength());
         }
     }
+
+    @Test
+    public void testRangeScript() {
+        for (int i = 0; i < before.size(); ++i) {
+            final RangeEditScript script = new StringsComparator(before.get(i), after.get(i)).getRangeScript();
+            assertEquals(length[i], script.getModifications());
+            assertEquals(lcs[i], script.getLCSLength());
+            assertEquals(before.get(i).length(), script.getLeftLength());
+            assertEquals(after.get(i).length(), script.getRightLength());
+            final ExecutionVisitor<Character> ev = new ExecutionVisitor<>();
+            script.visit(ev, before.get(i)::charAt, after.get(i)::charAt);
+            assertEquals(after.get(i), ev.getString());
+        }
+    }
+
+    @Test
+    public void testRangeScriptMatchesScript() {
+        final Random random = new Random(7);
+        for (int i = 0; i < 200; ++i) {
+            final String left = RandomStrings.random(random, random.nextInt(60), "abcd");
+            final String right = random.nextBoolean() ? RandomStrings.random(random, random.nextInt(60), "abcd")
+                : left.substring(0, left.length() / 2) + RandomStrings.random(random, 3, "abcd") + left.substring(left.length() / 2);
+            final StringsComparator comparator = new StringsComparator(left, right);
+            final List<String> expected = new ArrayList<>();
+            comparator.getScript().visit(new ReplacementsFinder<>((skipped, from, to) ->
+                expected.add(skipped + " " + from + " " + to)));
+            final List<String> actual = new ArrayList<>();
+            comparator.getRangeScript().visit(new ReplacementsFinder<Character>((skipped, from, to) ->
+                actual.add(skipped + " " + from + " " + to)), left::charAt, right::charAt);
+            assertEquals(expected, actual);
+            final StringBuilder rebuilt = new StringBuilder();
+            comparator.getRangeScript().visit(new RangeVisitor() {
+                @Override
+                public void visitDeleteRange(final int leftStart, final int length) {
+                    // noop
+                }
+
+                @Override
+                public void visitInsertRange(final int rightStart, final int length) {
+                    rebuilt.append(right, rightStart, rightStart + length);
+                }
+
+                @Override
+                public void visitKeepRange(final int leftStart, final int rightStart, final int length) {
+                    assertEquals(left.substring(leftStart, leftStart + length),
+                        right.substring(rightStart, rightStart + length));
+                    rebuilt.append(left, leftStart, leftStart + length);
+                }
+            });
+            assertEquals(right, rebuilt.toString());
+        }
+    }
 }
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.diff;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link UnifiedDiffPatcher}.
+ */
+public class UnifiedDiffPatcherTest {
+
+    /**
+     * A reader returning one char per read, to split lines and terminators across reads.
+     */
+    private static final class SlowReader extends StringReader {
+
+        SlowReader(final String s) {
+            super(s);
+        }
+
+        @Override
+        public int read(final char[] cbuf, final int off, final int len) throws IOException {
+            return super.read(cbuf, off, Math.min(len, 1));
+        }
+    }
+
+    private static String apply(final String original, final String patch) throws IOException {
+        final StringWriter out = new StringWriter();
+        UnifiedDiffPatcher.apply(new StringReader(original), new StringReader(patch), out);
+        return out.toString();
+    }
+
+    private static String diff(final String before, final String after, final int context, final DiffOptions options)
+            throws IOException {
+        final SequenceComparator<String> comparator = SequenceComparator.ofLines(before, after);
+        final StringWriter out = new StringWriter();
+        UnifiedDiffWriter.write(comparator.getLeft(), comparator.getRight(), comparator.getRangeScript(options), out,
+            context);
+        return out.toString();
+    }
+
+    private static String randomText(final Random random) {
+        final String[] terminators = {"\n", "\r\n", "\r", ""};
+        final StringBuilder builder = new StringBuilder();
+        for (int i = random.nextInt(40); i > 0; i--) {
+            builder.append((char) ('a' + random.nextInt(6)));
+            if (random.nextInt(4) == 0) {
+                builder.append((char) ('a' + random.nextInt(6)));
+            }
+            builder.append(terminators[random.nextInt(10) == 0 ? random.nextInt(3) : 0]);
+        }
+        if (random.nextBoolean()) {
+            builder.append("last");
+        }
+        return builder.toString();
+    }
+
+    @Test
+    public void testApply() throws IOException {
+        final String patch = "--- a.txt\n+++ b.txt\n@@ -1,3 +1,3 @@\n a\n-b\n+x\n c\n@@ -6,0 +7,2 @@\n+y\n+z\n";
+        assertEquals("a\nx\nc\nd\ne\nf\ny\nz\ng\n", apply("a\nb\nc\nd\ne\nf\ng\n", patch));
+        // an empty context line whose prefix was stripped
+        assertEquals("a\n\nx\n", apply("a\n\nb\n", "@@ -1,3 +1,3 @@\n a\n\n-b\n+x\n"));
+        assertEquals("same\n", apply("same\n", ""));
+        assertEquals("a\nb", apply("a\nb\n", "@@ -2 +2 @@\n-b\n+b\n\\ No newline at end of file\n"));
+    }
+
+    @Test
+    public void testMismatch() {
+        assertThrows(IllegalArgumentException.class, () -> apply("a\nb\n", "@@ -1,2 +1,2 @@\n a\n-c\n+x\n"));
+        assertThrows(IllegalArgumentException.class, () -> apply("a\n", "@@ -3 +3 @@\n-c\n+x\n"));
+        assertThrows(IllegalArgumentException.class, () -> apply("a\nb\n", "@@ -1,2 +1,2 @@\n a\n"));
+        assertThrows(IllegalArgumentException.class, () -> apply("a\nb\n", "@@ -1,2 +1,2 @@\n a\n?b\n"));
+        assertThrows(IllegalArgumentException.class,
+            () -> apply("a\nb\nc\n", "@@ -2 +2 @@\n-b\n+x\n@@ -1 +1 @@\n-a\n+y\n"));
+        assertThrows(NullPointerException.class, () -> UnifiedDiffPatcher.apply(null, new StringReader(""),
+            new StringWriter()));
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        final Random random = new Random(19);
+        final DiffOptions histogram = DiffOptions.builder().setAlgorithm(DiffAlgorithm.HISTOGRAM).get();
+        for (int i = 0; i < 1000; i++) {
+            final String before = randomText(random);
+            final String after = random.nextBoolean() ? randomText(random) : before.replace("a", "x");
+            final int context = random.nextInt(4);
+            final String patch = diff(before, after, context, i % 2 == 0 ? DiffOptions.getDefault() : histogram);
+            assertEquals(after, apply(before, patch), patch);
+            final StringWriter out = new StringWriter();
+            final Reader original = new SlowReader(before);
+            UnifiedDiffPatcher.apply(original, new SlowReader(patch), out);
+            assertEquals(after, out.toString());
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.diff;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link UnifiedDiffWriter}.
+ */
+public class UnifiedDiffWriterTest {
+
+    private static String diff(final String before, final String after, final int context) throws IOException {
+        final SequenceComparator<String> comparator = SequenceComparator.ofLines(before, after);
+        final StringWriter out = new StringWriter();
+        UnifiedDiffWriter.write(comparator.getLeft(), comparator.getRight(), comparator.getRangeScript(), out, context);
+        return out.toString();
+    }
+
+    private static String lines(final int from, final int to) {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = from; i <= to; i++) {
+            builder.append(i).append('\n');
+        }
+        return builder.toString();
+    }
+
+    @Test
+    public void testContext() throws IOException {
+        final String before = lines(1, 20);
+        final String after = before.replace("\n3\n", "\nthree\n").replace("\n17\n", "\nseventeen\n");
+        assertEquals("@@ -1,6 +1,6 @@\n 1\n 2\n-3\n+three\n 4\n 5\n 6\n"
+            + "@@ -14,7 +14,7 @@\n 14\n 15\n 16\n-17\n+seventeen\n 18\n 19\n 20\n", diff(before, after, 3));
+        // changes closer than twice the context share a hunk
+        assertEquals("@@ -1,20 +1,20 @@\n 1\n 2\n-3\n+three\n" + lines(4, 16).replaceAll("(?m)^(?=.)", " ")
+            + "-17\n+seventeen\n 18\n 19\n 20\n", diff(before, after, 7));
+        assertEquals("@@ -3 +3 @@\n-3\n+three\n@@ -17 +17 @@\n-17\n+seventeen\n", diff(before, after, 0));
+    }
+
+    @Test
+    public void testEmptyRanges() throws IOException {
+        assertEquals("@@ -0,0 +1,2 @@\n+a\n+b\n", diff("", "a\nb\n", 3));
+        assertEquals("@@ -1,2 +0,0 @@\n-a\n-b\n", diff("a\nb\n", "", 3));
+        assertEquals("@@ -1,0 +2 @@\n+x\n", diff("a\nb\n", "a\nx\nb\n", 0));
+        assertEquals("", diff("a\nb\n", "a\nb\n", 3));
+    }
+
+    @Test
+    public void testHeaderAndArguments() throws IOException {
+        final StringWriter out = new StringWriter();
+        final UnifiedDiffWriter writer = new UnifiedDiffWriter(out, Collections.singletonList("a\n"),
+            Collections.singletonList("b\n"), 1);
+        writer.writeHeader("a.txt", "b.txt");
+        writer.visitDeleteRange(0, 1);
+        writer.visitInsertRange(0, 1);
+        writer.finish();
+        assertEquals("--- a.txt\n+++ b.txt\n@@ -1 +1 @@\n-a\n+b\n", out.toString());
+        assertThrows(IllegalArgumentException.class,
+            () -> new UnifiedDiffWriter(out, Collections.emptyList(), Collections.emptyList(), -1));
+        assertThrows(NullPointerException.class,
+            () -> new UnifiedDiffWriter(null, Collections.emptyList(), Collections.emptyList(), 1));
+    }
+
+    @Test
+    public void testNoNewlineAtEndOfFile() throws IOException {
+        assertEquals("@@ -1,2 +1,2 @@\n a\n-b\n\\ No newline at end of file\n+b\n", diff("a\nb", "a\nb\n", 3));
+        assertEquals("@@ -1 +1 @@\n-a\r\n+a\n", diff("a\r\n", "a\n", 3));
+    }
+}
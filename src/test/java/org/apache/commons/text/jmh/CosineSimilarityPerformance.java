@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.jmh;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.text.similarity.CosineSimilarity;
+import org.apache.commons.text.similarity.SparseVector;
+import org.apache.commons.text.similarity.TermDictionary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks scoring a query against a corpus of term count maps with {@link CosineSimilarity} against
+ * {@link SparseVector}s built with a {@link TermDictionary}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms1G", "-Xmx1G"})
+public class CosineSimilarityPerformance {
+
+    /** The similarity of term count maps. */
+    private static final CosineSimilarity COSINE_SIMILARITY = new CosineSimilarity();
+
+    /** Benchmark input: documents of words drawn from a Zipf-like vocabulary. */
+    @State(Scope.Thread)
+    public static class Input {
+
+        /** The number of documents. */
+        @Param({"1000", "10000"})
+        private int size;
+
+        /** The term counts of the documents. */
+        private List<Map<CharSequence, Integer>> maps;
+
+        /** The term counts of the query. */
+        private Map<CharSequence, Integer> queryMap;
+
+        /** The vectors of the documents. */
+        private SparseVector[] vectors;
+
+        /** The vector of the query. */
+        private SparseVector queryVector;
+
+        /**
+         * Creates the term counts of a random document.
+         *
+         * @param random the random generator
+         * @return the term counts
+         */
+        private static Map<CharSequence, Integer> document(final Random random) {
+            final Map<CharSequence, Integer> counts = new HashMap<>();
+            for (int i = 0; i < 100; i++) {
+                // squaring favors small ids, as word frequencies favor common words
+                final int word = (int) (Math.pow(random.nextDouble(), 2) * 20000);
+                counts.merge("w" + word, 1, Integer::sum);
+            }
+            return counts;
+        }
+
+        /** Sets up the instance for the benchmark. */
+        @Setup(Level.Trial)
+        public void setup() {
+            final Random random = new Random(size);
+            final TermDictionary dictionary = new TermDictionary();
+            maps = new ArrayList<>(size);
+            vectors = new SparseVector[size];
+            for (int i = 0; i < size; i++) {
+                maps.add(document(random));
+                vectors[i] = dictionary.vectorize(maps.get(i));
+            }
+            queryMap = document(random);
+            queryVector = dictionary.vectorize(queryMap);
+        }
+    }
+
+    /**
+     * Scores the query against the term count maps.
+     *
+     * @param input the benchmark input
+     * @return the sum of the scores
+     */
+    @Benchmark
+    public double maps(final Input input) {
+        double sum = 0;
+        for (final Map<CharSequence, Integer> map : input.maps) {
+            sum += COSINE_SIMILARITY.cosineSimilarity(input.queryMap, map);
+        }
+        return sum;
+    }
+
+    /**
+     * Scores the query against the sparse vectors.
+     *
+     * @param input the benchmark input
+     * @return the sum of the scores
+     */
+    @Benchmark
+    public double vectors(final Input input) {
+        double sum = 0;
+        for (final SparseVector vector : input.vectors) {
+            sum += input.queryVector.cosineSimilarity(vector);
+        }
+        return sum;
+    }
+}
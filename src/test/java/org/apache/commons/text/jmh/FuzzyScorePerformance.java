@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.text.similarity.FuzzyScore;
+import org.apache.commons.text.similarity.FuzzyScoreFrom;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks scoring terms against a query with {@link FuzzyScore#fuzzyScore(CharSequence, CharSequence)} and with a
+ * {@link FuzzyScoreFrom}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms1G", "-Xmx1G"})
+public class FuzzyScorePerformance {
+
+    /** Benchmark input: 10,000 capitalized names and a query. */
+    @State(Scope.Thread)
+    public static class Input {
+
+        /** The query. */
+        @Param({"jsm", "johnsmith"})
+        private String query;
+
+        /** The terms. */
+        private final List<String> terms = new ArrayList<>();
+
+        /** The fuzzy score. */
+        private final FuzzyScore fuzzyScore = new FuzzyScore(Locale.ENGLISH);
+
+        /** The fuzzy score from the query. */
+        private FuzzyScoreFrom from;
+
+        /** Sets up the instance for the benchmark. */
+        @Setup(Level.Trial)
+        public void setup() {
+            final Random random = new Random(42);
+            for (int i = 0; i < 10_000; i++) {
+                final StringBuilder name = new StringBuilder();
+                for (int word = 0; word < 2; word++) {
+                    name.append((char) ('A' + random.nextInt(26)));
+                    final int length = 3 + random.nextInt(7);
+                    for (int j = 0; j < length; j++) {
+                        name.append((char) ('a' + random.nextInt(26)));
+                    }
+                    name.append(' ');
+                }
+                terms.add(name.toString().trim());
+            }
+            from = fuzzyScore.from(query);
+        }
+    }
+
+    /**
+     * Scores the terms with a fuzzy score from the query.
+     *
+     * @param input the benchmark input
+     * @return the sum of the scores
+     */
+    @Benchmark
+    public int from(final Input input) {
+        int sum = 0;
+        for (final String term : input.terms) {
+            sum += input.from.applyAsInt(term);
+        }
+        return sum;
+    }
+
+    /**
+     * Scores the terms with the fuzzy score.
+     *
+     * @param input the benchmark input
+     * @return the sum of the scores
+     */
+    @Benchmark
+    public int fuzzyScore(final Input input) {
+        int sum = 0;
+        for (final String term : input.terms) {
+            sum += input.fuzzyScore.fuzzyScore(term, input.query);
+        }
+        return sum;
+    }
+
+    /**
+     * Finds the ten best terms with a fuzzy score from the query.
+     *
+     * @param input the benchmark input
+     * @return the best terms
+     */
+    @Benchmark
+    public List<Map.Entry<String, Integer>> topK(final Input input) {
+        return input.from.topK(input.terms, 10);
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.jmh;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.text.similarity.JaroWinklerSimilarity;
+import org.apache.commons.text.similarity.JaroWinklerSimilarityFrom;
+import org.apache.commons.text.similarity.SimilarityInput;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@link JaroWinklerSimilarity} on CharSequences, which compare chars in reused buffers, against the
+ * boxed elements used for other {@link SimilarityInput}s.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms512M", "-Xmx512M"})
+public class JaroWinklerSimilarityPerformance {
+
+    /** Benchmark input: two similar random strings. */
+    @State(Scope.Thread)
+    public static class Input {
+
+        /** The length of the strings. */
+        @Param({"8", "32", "256"})
+        private int length;
+
+        /** The left string. */
+        private String left;
+
+        /** The right string. */
+        private String right;
+
+        /** The similarity. */
+        private JaroWinklerSimilarity similarity;
+
+        /** The similarity from the left string. */
+        private JaroWinklerSimilarityFrom from;
+
+        /** Sets up the instance for the benchmark. */
+        @Setup(Level.Trial)
+        public void setup() {
+            final Random random = new Random(length);
+            final char[] chars = new char[length];
+            for (int i = 0; i < length; i++) {
+                chars[i] = (char) ('a' + random.nextInt(26));
+            }
+            left = new String(chars);
+            for (int i = 0; i < Math.max(1, length / 8); i++) {
+                chars[random.nextInt(length)] = (char) ('a' + random.nextInt(26));
+            }
+            right = new String(chars);
+            similarity = new JaroWinklerSimilarity();
+            from = similarity.from(left);
+        }
+    }
+
+    /**
+     * Computes the similarity of the boxed characters.
+     *
+     * @param input the benchmark input
+     * @return the similarity
+     */
+    @Benchmark
+    public Double boxed(final Input input) {
+        return input.similarity.apply(SimilarityInput.input(input.left), SimilarityInput.input(input.right));
+    }
+
+    /**
+     * Computes the similarity of the chars, in the buffers of the thread.
+     *
+     * @param input the benchmark input
+     * @return the similarity
+     */
+    @Benchmark
+    public double primitive(final Input input) {
+        return input.similarity.applyAsDouble(input.left, input.right);
+    }
+
+    /**
+     * Computes the similarity of the chars, from the left string.
+     *
+     * @param input the benchmark input
+     * @return the similarity
+     */
+    @Benchmark
+    public double primitiveFrom(final Input input) {
+        return input.from.applyAsDouble(input.right);
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.jmh;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.text.similarity.LevenshteinDistance;
+import org.apache.commons.text.similarity.LevenshteinDistanceFrom;
+import org.apache.commons.text.similarity.LevenshteinSearch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks finding the approximate occurrences of a pattern in a text with {@link LevenshteinSearch} against the
+ * distances of sliding windows of the text.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms1G", "-Xmx1G"})
+public class LevenshteinSearchPerformance {
+
+    /** The maximum distance of a match. */
+    private static final int MAX_DISTANCE = 2;
+
+    /** Benchmark input: a random text of a million characters, and a pattern. */
+    @State(Scope.Thread)
+    public static class Input {
+
+        /** The length of the pattern. */
+        @Param({"16", "100"})
+        private int length;
+
+        /** The text. */
+        private String text;
+
+        /** The search of the pattern. */
+        private LevenshteinSearch search;
+
+        /** The distance from the pattern. */
+        private LevenshteinDistanceFrom from;
+
+        /** Sets up the instance for the benchmark. */
+        @Setup(Level.Trial)
+        public void setup() {
+            final Random random = new Random(length);
+            final StringBuilder text = new StringBuilder();
+            while (text.length() < 1_000_000) {
+                text.append((char) ('a' + random.nextInt(26)));
+            }
+            this.text = text.toString();
+            final String pattern = this.text.substring(500_000, 500_000 + length);
+            search = new LevenshteinSearch(pattern, MAX_DISTANCE);
+            from = new LevenshteinDistance(MAX_DISTANCE).from(pattern);
+        }
+    }
+
+    /**
+     * Counts the matches with the search.
+     *
+     * @param input the benchmark input
+     * @return the number of matches
+     */
+    @Benchmark
+    public int search(final Input input) {
+        final int[] count = new int[1];
+        input.search.search(input.text, (end, distance) -> count[0]++);
+        return count[0];
+    }
+
+    /**
+     * Counts the windows of the length of the pattern within the maximum distance of it, which finds only part of the
+     * matches of the search.
+     *
+     * @param input the benchmark input
+     * @return the number of matching windows
+     */
+    @Benchmark
+    public int windows(final Input input) {
+        int count = 0;
+        for (int i = 0; i + input.length <= input.text.length(); i++) {
+            if (input.from.applyAsInt(input.text.subSequence(i, i + input.length)) >= 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.text.similarity.MinHash;
+import org.apache.commons.text.similarity.MinHashIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks near-duplicate detection with a {@link MinHashIndex} against a scan computing the Jaccard similarity of
+ * every document.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms1G", "-Xmx1G"})
+public class MinHashIndexPerformance {
+
+    /** The minimum similarity of a near duplicate. */
+    private static final double MIN_SIMILARITY = 0.8;
+
+    /** Benchmark input: random documents, and edited copies of some of them. */
+    @State(Scope.Thread)
+    public static class Input {
+
+        /** The number of documents. */
+        @Param({"1000", "10000"})
+        private int size;
+
+        /** The documents. */
+        private List<String> documents;
+
+        /** The edited queries. */
+        private String[] queries;
+
+        /** The index of the next query. */
+        private int next;
+
+        /** The MinHash of character 5-grams. */
+        private MinHash minHash;
+
+        /** The index of the documents. */
+        private MinHashIndex index;
+
+        /** Sets up the instance for the benchmark. */
+        @Setup(Level.Trial)
+        public void setup() {
+            final Random random = new Random(size);
+            documents = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                final StringBuilder document = new StringBuilder();
+                while (document.length() < 200) {
+                    for (int j = 2 + random.nextInt(6); j > 0; j--) {
+                        document.append((char) ('a' + random.nextInt(26)));
+                    }
+                    document.append(' ');
+                }
+                documents.add(document.toString());
+            }
+            queries = new String[256];
+            for (int i = 0; i < queries.length; i++) {
+                final char[] chars = documents.get(random.nextInt(size)).toCharArray();
+                chars[random.nextInt(chars.length)] = '#';
+                queries[i] = new String(chars);
+            }
+            minHash = MinHash.builder().setShingleLength(5).get();
+            index = new MinHashIndex(minHash, 32);
+            documents.forEach(index::add);
+        }
+
+        /**
+         * Gets the next query.
+         *
+         * @return the query
+         */
+        private String query() {
+            return queries[next++ & queries.length - 1];
+        }
+    }
+
+    /**
+     * Finds the near duplicates of a query with the index.
+     *
+     * @param input the benchmark input
+     * @return the near duplicates
+     */
+    @Benchmark
+    public List<Map.Entry<Integer, Double>> index(final Input input) {
+        return input.index.query(input.query(), MIN_SIMILARITY, input.documents::get);
+    }
+
+    /**
+     * Finds the near duplicates of a query by scanning the documents.
+     *
+     * @param input the benchmark input
+     * @return the number of near duplicates
+     */
+    @Benchmark
+    public int scan(final Input input) {
+        final String query = input.query();
+        int count = 0;
+        for (final String document : input.documents) {
+            if (input.minHash.jaccard(query, document) >= MIN_SIMILARITY) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
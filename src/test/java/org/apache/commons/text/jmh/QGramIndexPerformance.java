@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.text.similarity.LevenshteinDistance;
+import org.apache.commons.text.similarity.QGramIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks fuzzy lookups in a {@link QGramIndex} against a scan of all the terms.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms1G", "-Xmx1G"})
+public class QGramIndexPerformance {
+
+    /** Benchmark input: random names, and misspellings of some of them. */
+    @State(Scope.Thread)
+    public static class Input {
+
+        /** The number of terms. */
+        @Param({"10000", "200000"})
+        private int size;
+
+        /** The maximum distance of a match. */
+        @Param({"1", "2"})
+        private int maxDistance;
+
+        /** The terms. */
+        private List<String> terms;
+
+        /** The misspelled queries. */
+        private String[] queries;
+
+        /** The index of the next query. */
+        private int next;
+
+        /** The index of the terms. */
+        private QGramIndex<String> index;
+
+        /** Sets up the instance for the benchmark. */
+        @Setup(Level.Trial)
+        public void setup() {
+            final Random random = new Random(size);
+            terms = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                final StringBuilder term = new StringBuilder();
+                for (int j = 8 + random.nextInt(8); j > 0; j--) {
+                    term.append((char) ('a' + random.nextInt(26)));
+                }
+                terms.add(term.toString());
+            }
+            queries = new String[256];
+            for (int i = 0; i < queries.length; i++) {
+                final char[] chars = terms.get(random.nextInt(size)).toCharArray();
+                chars[random.nextInt(chars.length)] = (char) ('a' + random.nextInt(26));
+                queries[i] = new String(chars);
+            }
+            index = QGramIndex.of(3, terms);
+        }
+
+        /**
+         * Gets the next query.
+         *
+         * @return the query
+         */
+        private String query() {
+            return queries[next++ & queries.length - 1];
+        }
+    }
+
+    /**
+     * Finds the terms within the maximum distance of a query with the index.
+     *
+     * @param input the benchmark input
+     * @return the terms
+     */
+    @Benchmark
+    public List<Map.Entry<String, Integer>> index(final Input input) {
+        return input.index.search(input.query(), input.maxDistance);
+    }
+
+    /**
+     * Finds the terms within the maximum distance of a query by scanning the terms.
+     *
+     * @param input the benchmark input
+     * @return the terms
+     */
+    @Benchmark
+    public List<Map.Entry<String, Integer>> scan(final Input input) {
+        return new LevenshteinDistance(input.maxDistance).from(input.query()).topK(input.terms, Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.text.diff.DiffAlgorithm;
+import org.apache.commons.text.diff.DiffOptions;
+import org.apache.commons.text.diff.RangeEditScript;
+import org.apache.commons.text.diff.SequenceComparator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the line diff of {@link SequenceComparator} with each {@link DiffAlgorithm}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms512M", "-Xmx512M"})
+public class SequenceComparatorPerformance {
+
+    /** Benchmark input: a source-like file and a revision with edits spread over it. */
+    @State(Scope.Thread)
+    public static class Input {
+
+        /** The number of methods in the file. */
+        @Param({"100", "10000"})
+        private int methods;
+
+        /** The algorithm. */
+        @Param({"MYERS", "HISTOGRAM"})
+        private DiffAlgorithm algorithm;
+
+        /** The comparator of the file and its revision. */
+        private SequenceComparator<String> comparator;
+
+        /** The options selecting the algorithm. */
+        private DiffOptions options;
+
+        /** Sets up the instance for the benchmark. */
+        @Setup(Level.Trial)
+        public void setup() {
+            final Random random = new Random(methods);
+            final List<String> before = new ArrayList<>();
+            final List<String> after = new ArrayList<>();
+            for (int i = 0; i < methods; i++) {
+                final List<String> method = new ArrayList<>();
+                method.add("    public int method" + i + "(final int value) {\n");
+                for (int j = random.nextInt(8); j >= 0; j--) {
+                    method.add("        if (value > " + random.nextInt(1000) + ") {\n");
+                    method.add("            return value;\n");
+                    method.add("        }\n");
+                }
+                method.add("        return 0;\n");
+                method.add("    }\n");
+                method.add("\n");
+                before.addAll(method);
+                if (random.nextInt(20) == 0) {
+                    method.add(1, "        // changed " + i + "\n");
+                }
+                if (random.nextInt(50) != 0) {
+                    after.addAll(method);
+                }
+            }
+            comparator = SequenceComparator.of(before, after);
+            options = DiffOptions.builder().setAlgorithm(algorithm).get();
+        }
+    }
+
+    /**
+     * Computes the edit script of the lines.
+     *
+     * @param input the benchmark input
+     * @return the edit script
+     */
+    @Benchmark
+    public RangeEditScript diff(final Input input) {
+        return input.comparator.getRangeScript(input.options);
+    }
+}
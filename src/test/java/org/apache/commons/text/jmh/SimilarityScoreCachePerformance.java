@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.jmh;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.text.similarity.JaroWinklerSimilarity;
+import org.apache.commons.text.similarity.LevenshteinDetailedDistance;
+import org.apache.commons.text.similarity.SimilarityScore;
+import org.apache.commons.text.similarity.SimilarityScoreCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks scoring pairs of names which mostly repeat, with and without a {@link SimilarityScoreCache}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms1G", "-Xmx1G"})
+public class SimilarityScoreCachePerformance {
+
+    /** The number of pairs scored per operation. */
+    private static final int PAIRS = 10_000;
+
+    /** Benchmark input: pairs of names, 90% of them among 1,000 hot pairs, and the scores. */
+    @State(Scope.Thread)
+    public static class Input {
+
+        /** The score. */
+        @Param({"jaroWinkler", "levenshteinDetailed"})
+        private String score;
+
+        /** The left names. */
+        private final String[] left = new String[PAIRS];
+
+        /** The right names. */
+        private final String[] right = new String[PAIRS];
+
+        /** The score, undecorated. */
+        private SimilarityScore<?> direct;
+
+        /** The score, cached. */
+        private SimilarityScoreCache<?> cached;
+
+        /** Sets up the instance for the benchmark. */
+        @Setup(Level.Trial)
+        public void setup() {
+            final Random random = new Random(42);
+            final String[] names = new String[20_000];
+            for (int i = 0; i < names.length; i++) {
+                final StringBuilder name = new StringBuilder();
+                final int length = 12 + random.nextInt(12);
+                while (name.length() < length) {
+                    name.append((char) ('a' + random.nextInt(26)));
+                }
+                names[i] = name.toString();
+            }
+            for (int i = 0; i < PAIRS; i++) {
+                final int range = random.nextInt(10) == 0 ? names.length / 2 : 1_000;
+                final int pair = random.nextInt(range);
+                left[i] = names[pair];
+                right[i] = names[names.length / 2 + pair];
+            }
+            if (score.equals("jaroWinkler")) {
+                final JaroWinklerSimilarity similarity = new JaroWinklerSimilarity();
+                direct = similarity;
+                cached = new SimilarityScoreCache<>(similarity, 2_000, true);
+            } else {
+                final LevenshteinDetailedDistance distance = LevenshteinDetailedDistance.getDefaultInstance();
+                direct = distance;
+                // detailed results depend on the order of the pair
+                cached = new SimilarityScoreCache<>(distance, 2_000, false);
+            }
+        }
+    }
+
+    /**
+     * Scores the pairs through the cache.
+     *
+     * @param input the benchmark input
+     * @return the number of scores
+     */
+    @Benchmark
+    public int cached(final Input input) {
+        int count = 0;
+        for (int i = 0; i < PAIRS; i++) {
+            if (input.cached.apply(input.left[i], input.right[i]) != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Scores the pairs directly.
+     *
+     * @param input the benchmark input
+     * @return the number of scores
+     */
+    @Benchmark
+    public int direct(final Input input) {
+        int count = 0;
+        for (int i = 0; i < PAIRS; i++) {
+            if (input.direct.apply(input.left[i], input.right[i]) != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.jmh;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.text.StringEscapeUtils;
+import org.apache.commons.text.translate.CharSequenceTranslator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarks for the {@link StringEscapeUtils} translators.
+ * <p>
+ * Each translator runs over generated corpora of various sizes; unescapers run over the output of the matching
+ * escaper. Run {@link #main(String[])}, or the {@code benchmark} profile with {@code -prof gc}, to report the
+ * allocation per operation ({@code gc.alloc.rate.norm}) next to the throughput.
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms512M", "-Xmx512M"})
+public class StringEscapeUtilsPerformance {
+
+    /** Kinds of generated text. */
+    public enum Corpus {
+
+        /** Plain ASCII prose, with hardly anything to translate. */
+        ASCII("the", "quick", "brown", "fox", "jumps", "over", "lazy", "dog", "1234", " ", " ", " ", ",", "."),
+
+        /** Markup and quoting characters, control characters and Latin-1 letters. */
+        ENTITY_DENSE("<a href=\"x\">", "</a>", "&", "'", "\"", "\\", "/", "\t", "\n", "\u00e9", "\u00a0", "\u00fc",
+            "\u20ac", "a", "b", " "),
+
+        /** CJK ideographs with some ASCII punctuation. */
+        CJK("\u4e2d", "\u6587", "\u5b57", "\u7b26", "\u6d4b", "\u8bd5", "\u65e5", "\u672c", "\u8a9e", "\u3002",
+            "\uff0c", " ", "1"),
+
+        /** Emoji encoded as surrogate pairs, mixed with ASCII. */
+        EMOJI("\ud83d\ude00", "\ud83d\ude02", "\ud83d\udc4d", "\ud83c\udf89", "\ud83d\ude80", "\u2764\ufe0f", "ok",
+            " ", "!");
+
+        /** The tokens the text is made of. */
+        private final String[] tokens;
+
+        Corpus(final String... tokens) {
+            this.tokens = tokens;
+        }
+
+        /**
+         * Generates text made of random tokens.
+         *
+         * @param length the length of the text, in chars
+         * @param random the source of randomness
+         * @return the text
+         */
+        String generate(final int length, final Random random) {
+            final StringBuilder builder = new StringBuilder(length + 16);
+            while (builder.length() < length) {
+                builder.append(tokens[random.nextInt(tokens.length)]);
+            }
+            // do not split a surrogate pair
+            return builder.substring(0, Character.isHighSurrogate(builder.charAt(length - 1)) ? length - 1 : length);
+        }
+    }
+
+    /** Benchmark input: a translator and the text it translates. */
+    @State(Scope.Benchmark)
+    public static class Input {
+
+        /** The name of the {@link StringEscapeUtils} translator constant. */
+        @Param({"ESCAPE_JAVA", "ESCAPE_JSON", "ESCAPE_XML10", "ESCAPE_XML11", "ESCAPE_HTML4", "ESCAPE_CSV",
+            "UNESCAPE_JAVA", "UNESCAPE_JSON", "UNESCAPE_XML", "UNESCAPE_HTML4", "UNESCAPE_CSV"})
+        private String translatorName;
+
+        /** The kind of text. */
+        @Param({"ASCII", "ENTITY_DENSE", "CJK", "EMOJI"})
+        private Corpus corpus;
+
+        /** The length of the text before escaping, in chars. */
+        @Param({"16", "1024", "65536", "1048576"})
+        private int size;
+
+        /** The translator. */
+        private CharSequenceTranslator translator;
+
+        /** The text to translate. */
+        private String text;
+
+        /** The reused output buffer. */
+        private StringBuilder output;
+
+        /** Sets up the instance for the benchmark. */
+        @Setup(Level.Trial)
+        public void setup() {
+            translator = translator(translatorName);
+            String source = corpus.generate(size, new Random(size));
+            if (translatorName.startsWith("UN")) {
+                final String escaperName = translatorName.substring(2).replace("ESCAPE_XML", "ESCAPE_XML10");
+                source = translator(escaperName).translate(source);
+            }
+            text = source;
+            output = new StringBuilder(text.length() * 2);
+        }
+    }
+
+    /**
+     * Runs all benchmarks of this class with the GC profiler.
+     *
+     * @param args ignored
+     * @throws RunnerException if the benchmarks fail
+     */
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(StringEscapeUtilsPerformance.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build()).run();
+    }
+
+    /**
+     * Gets a {@link StringEscapeUtils} translator constant.
+     *
+     * @param name the name of the constant
+     * @return the translator
+     */
+    private static CharSequenceTranslator translator(final String name) {
+        try {
+            return (CharSequenceTranslator) StringEscapeUtils.class.getField(name).get(null);
+        } catch (final ReflectiveOperationException e) {
+            throw new IllegalArgumentException(name, e);
+        }
+    }
+
+    /**
+     * Translates into a reused {@link StringBuilder}.
+     *
+     * @param input the benchmark input
+     * @return the output
+     * @throws IOException never
+     */
+    @Benchmark
+    public StringBuilder translateAppendable(final Input input) throws IOException {
+        input.output.setLength(0);
+        input.translator.translate(input.text, input.output);
+        return input.output;
+    }
+
+    /**
+     * Translates to a new {@code String}.
+     *
+     * @param input the benchmark input
+     * @return the output
+     */
+    @Benchmark
+    public String translateString(final Input input) {
+        return input.translator.translate(input.text);
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.jmh;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.text.diff.EditScript;
+import org.apache.commons.text.diff.RangeEditScript;
+import org.apache.commons.text.diff.StringsComparator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the {@link EditScript} of {@link StringsComparator} against its compact {@link RangeEditScript}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgs = {"-server", "-Xms512M", "-Xmx512M"})
+public class StringsComparatorPerformance {
+
+    /** Benchmark input: a random document and a revision with a few edits. */
+    @State(Scope.Thread)
+    public static class Input {
+
+        /** The length of the document. */
+        @Param({"1024", "65536"})
+        private int length;
+
+        /** The document. */
+        private String left;
+
+        /** The revision. */
+        private String right;
+
+        /** Sets up the instance for the benchmark. */
+        @Setup(Level.Trial)
+        public void setup() {
+            final Random random = new Random(length);
+            final StringBuilder builder = new StringBuilder(length);
+            for (int i = 0; i < length; i++) {
+                builder.append((char) ('a' + random.nextInt(26)));
+            }
+            left = builder.toString();
+            for (int i = 0; i < 8; i++) {
+                final int start = random.nextInt(builder.length() - 16);
+                builder.replace(start, start + random.nextInt(16), "revision");
+            }
+            right = builder.toString();
+        }
+    }
+
+    /**
+     * Computes the compact edit script.
+     *
+     * @param input the benchmark input
+     * @return the edit script
+     */
+    @Benchmark
+    public RangeEditScript rangeScript(final Input input) {
+        return new StringsComparator(input.left, input.right).getRangeScript();
+    }
+
+    /**
+     * Computes the edit script with one command per character.
+     *
+     * @param input the benchmark input
+     * @return the edit script
+     */
+    @Benchmark
+    public EditScript<Character> script(final Input input) {
+        return new StringsComparator(input.left, input.right).getScript();
+    }
+}
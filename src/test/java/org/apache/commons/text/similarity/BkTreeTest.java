@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.similarity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.apache.commons.text.RandomStrings;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link BkTree}.
+ */
+public class BkTreeTest {
+
+    /** The characters of the random strings. */
+    private static final String ALPHABET = "abcde";
+
+    private static final List<String> ANIMALS = Arrays.asList("elephant", "hippo", "fog", "frog", "", "ant", "hallo",
+        "hello", "fly", "flog");
+
+    /**
+     * Finds the terms within a distance by scanning them all, in the order of the tree's results.
+     */
+    private static List<Map.Entry<String, Integer>> scan(final EditDistance<Integer> distance, final List<String> terms,
+            final String query, final int maxDistance) {
+        final List<String> distinct = terms.stream().distinct().collect(Collectors.toList());
+        final List<Map.Entry<String, Integer>> result = new ArrayList<>();
+        for (final String term : distinct) {
+            final int d = distance.apply(query, term);
+            if (d <= maxDistance) {
+                result.add(new AbstractMap.SimpleImmutableEntry<>(term, d));
+            }
+        }
+        result.sort(Comparator.comparingInt(e -> e.getValue()));
+        return result;
+    }
+
+    @Test
+    public void testAdd() {
+        final BkTree<String> tree = new BkTree<>(LevenshteinDistance.getDefaultInstance());
+        assertSame(LevenshteinDistance.getDefaultInstance(), tree.getEditDistance());
+        assertEquals(0, tree.size());
+        assertTrue(tree.search("frog", 3).isEmpty());
+        assertTrue(tree.nearest("frog", 3).isEmpty());
+        assertTrue(tree.add("frog"));
+        assertFalse(tree.add("frog"));
+        assertEquals(ANIMALS.size() - 1, tree.addAll(ANIMALS));
+        assertEquals(ANIMALS.size(), tree.size());
+        assertThrows(IllegalArgumentException.class, () -> tree.add(null));
+        assertThrows(IllegalArgumentException.class, () -> tree.addAll(Arrays.asList("a", null)));
+    }
+
+    @Test
+    public void testConstructor() {
+        assertThrows(IllegalArgumentException.class, () -> new BkTree<>(null));
+        assertThrows(IllegalArgumentException.class, () -> new BkTree<>(new LevenshteinDistance(2)));
+        // a distance which is not a metric is rejected when it returns a negative distance
+        final BkTree<String> tree = new BkTree<>((left, right) -> -1);
+        tree.add("a");
+        assertThrows(IllegalArgumentException.class, () -> tree.add("b"));
+    }
+
+    @Test
+    public void testHamming() {
+        final Random random = new Random(2);
+        final List<String> terms = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            terms.add(RandomStrings.random(random, 8, ALPHABET));
+        }
+        final BkTree<String> tree = BkTree.of(new HammingDistance(), terms);
+        for (int i = 0; i < 50; i++) {
+            final String query = RandomStrings.random(random, 8, ALPHABET);
+            assertEquals(scan(new HammingDistance(), terms, query, 4), tree.search(query, 4));
+        }
+    }
+
+    @Test
+    public void testNearest() {
+        final BkTree<String> tree = BkTree.of(LevenshteinDistance.getDefaultInstance(), ANIMALS);
+        final List<Map.Entry<String, Integer>> nearest = tree.nearest("frog", 3);
+        assertEquals(3, nearest.size());
+        assertEquals(new AbstractMap.SimpleImmutableEntry<>("frog", 0), nearest.get(0));
+        // ties keep the order of addition
+        assertEquals(new AbstractMap.SimpleImmutableEntry<>("fog", 1), nearest.get(1));
+        assertEquals(new AbstractMap.SimpleImmutableEntry<>("flog", 1), nearest.get(2));
+        assertEquals(1, tree.nearest("frog", 10, 0).size());
+        assertEquals(ANIMALS.size(), tree.nearest("frog", 100).size());
+        assertTrue(tree.nearest("frog", 0).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> tree.nearest(null, 1));
+        assertThrows(IllegalArgumentException.class, () -> tree.nearest("frog", -1));
+        assertThrows(IllegalArgumentException.class, () -> tree.nearest("frog", 1, -1));
+    }
+
+    @Test
+    public void testNearestRandom() {
+        final Random random = new Random(5);
+        final List<String> terms = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            terms.add(RandomStrings.random(random, 1 + random.nextInt(10), ALPHABET));
+        }
+        final LevenshteinDistance distance = LevenshteinDistance.getDefaultInstance();
+        final BkTree<String> tree = BkTree.of(distance, terms);
+        for (int i = 0; i < 50; i++) {
+            final String query = RandomStrings.random(random, random.nextInt(12), ALPHABET);
+            final int k = 1 + random.nextInt(20);
+            final List<Map.Entry<String, Integer>> all = scan(distance, terms, query, Integer.MAX_VALUE);
+            final List<Map.Entry<String, Integer>> nearest = tree.nearest(query, k);
+            assertEquals(all.subList(0, k), nearest);
+            assertEquals(scan(distance, terms, query, 2).subList(0, Math.min(k, scan(distance, terms, query, 2).size())),
+                    tree.nearest(query, k, 2));
+        }
+    }
+
+    @Test
+    public void testSearch() {
+        final BkTree<String> tree = BkTree.of(LevenshteinDistance.getDefaultInstance(), ANIMALS);
+        assertEquals(scan(LevenshteinDistance.getDefaultInstance(), ANIMALS, "hullo", 1), tree.search("hullo", 1));
+        assertEquals(2, tree.search("hullo", 1).size());
+        assertEquals(ANIMALS.size(), tree.search("", 100).size());
+        assertThrows(IllegalArgumentException.class, () -> tree.search(null, 1));
+        assertThrows(IllegalArgumentException.class, () -> tree.search("frog", -1));
+    }
+
+    @Test
+    public void testSearchConcurrently() throws Exception {
+        final Random random = new Random(7);
+        final List<String> terms = new ArrayList<>();
+        for (int i = 0; i < 4000; i++) {
+            terms.add(RandomStrings.random(random, 1 + random.nextInt(10), ALPHABET));
+        }
+        final BkTree<String> tree = BkTree.of(LevenshteinDistance.getDefaultInstance(), terms.subList(0, 2000));
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            futures.add(executor.submit(() -> tree.addAll(terms.subList(2000, 4000))));
+            for (int t = 0; t < 3; t++) {
+                final String query = RandomStrings.random(random, 6, ALPHABET);
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 100; i++) {
+                        // the terms added before the search are found
+                        final List<Map.Entry<String, Integer>> found = tree.search(query, 2);
+                        assertTrue(found.containsAll(scan(LevenshteinDistance.getDefaultInstance(), terms.subList(0, 2000), query, 2)));
+                    }
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+        }
+        assertEquals(scan(LevenshteinDistance.getDefaultInstance(), terms, "abc", 2), tree.search("abc", 2));
+    }
+
+}
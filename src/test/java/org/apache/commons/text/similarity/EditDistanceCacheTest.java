@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.similarity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link EditDistanceCache}.
+ */
+public class EditDistanceCacheTest {
+
+    @Test
+    void testBkTree() {
+        final EditDistanceCache<Integer> distance = new EditDistanceCache<>(LevenshteinDistance.getDefaultInstance(), 100, true);
+        final List<String> words = Arrays.asList("apple", "apply", "ample", "maple", "angle", "apples");
+        final BkTree<String> tree = BkTree.of(distance, words);
+        final List<Map.Entry<String, Integer>> expected = BkTree.of(LevenshteinDistance.getDefaultInstance(), words).search("appel", 2);
+        assertEquals(expected, tree.search("appel", 2));
+        final long misses = distance.getMissCount();
+        assertEquals(expected, tree.search("appel", 2));
+        assertEquals(misses, distance.getMissCount());
+    }
+
+    @Test
+    void testGetEditDistance() {
+        final LevenshteinDistance levenshtein = LevenshteinDistance.getDefaultInstance();
+        final EditDistanceCache<Integer> distance = new EditDistanceCache<>(levenshtein, 10, true);
+        assertSame(levenshtein, distance.getEditDistance());
+        assertEquals(3, distance.apply("kitten", "sitting"));
+    }
+
+}
@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.similarity;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import org.apache.commons.text.RandomStrings;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link FuzzyScoreFrom}.
+ */
+public class FuzzyScoreFromTest {
+
+    private static final Locale[] LOCALES = {Locale.ROOT, Locale.ENGLISH, new Locale("tr"), new Locale("az"), new Locale("lt"),
+        new Locale("el")};
+
+    /** Characters whose lower case depends on the locale or on their context, and some which they combine with. */
+    private static final String ALPHABET = "aAbBiIjJsS\u0130\u0131\u0307\u0300\u00CC\u00CD\u0128\u012E\u03A3\u03C3\u03C2 "
+        + "\uD801\uDC00\uD801\uDC28";
+
+    @Test
+    void testApplyAll() {
+        final FuzzyScoreFrom from = new FuzzyScore(Locale.ENGLISH).from("asf");
+        final List<String> terms = Arrays.asList("Apache Software Foundation", "Workshop", "ASF", "");
+        assertArrayEquals(new int[] {3, 0, 7, 0}, from.applyAll(terms));
+        final List<Integer> scores = new ArrayList<>();
+        from.applyAll(terms, (term, score) -> scores.add(score));
+        assertEquals(Arrays.asList(3, 0, 7, 0), scores);
+    }
+
+    @Test
+    void testApplyAsIntEveryCharacter() {
+        for (final Locale locale : LOCALES) {
+            final FuzzyScore fuzzyScore = new FuzzyScore(locale);
+            for (char c = 0; c < Character.MAX_VALUE; c++) {
+                for (final String term : new String[] {String.valueOf(c), "I" + c, c + "\u0307"}) {
+                    final String query = term.toLowerCase(locale);
+                    assertEquals(fuzzyScore.fuzzyScore(term, query), fuzzyScore.from(query).applyAsInt(term),
+                        () -> locale + " " + term);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testApplyAsIntRandom() {
+        final Random random = new Random(25);
+        for (final Locale locale : LOCALES) {
+            final FuzzyScore fuzzyScore = new FuzzyScore(locale);
+            for (int i = 0; i < 2_000; i++) {
+                final String term = RandomStrings.random(random, random.nextInt(13), ALPHABET);
+                final String query = i % 2 == 0 ? RandomStrings.random(random, random.nextInt(5), ALPHABET) : term.toLowerCase(locale);
+                assertEquals(fuzzyScore.fuzzyScore(term, query), fuzzyScore.from(query).apply(term), () -> locale + " " + term + " " + query);
+            }
+        }
+    }
+
+    @Test
+    void testExamples() {
+        final FuzzyScore fuzzyScore = new FuzzyScore(Locale.ENGLISH);
+        assertEquals(0, fuzzyScore.from("").applyAsInt(""));
+        assertEquals(0, fuzzyScore.from("b").applyAsInt("Workshop"));
+        assertEquals(1, fuzzyScore.from("o").applyAsInt("Room"));
+        assertEquals(1, fuzzyScore.from("w").applyAsInt("Workshop"));
+        assertEquals(2, fuzzyScore.from("ws").applyAsInt("Workshop"));
+        assertEquals(4, fuzzyScore.from("wo").applyAsInt("Workshop"));
+        assertEquals(3, fuzzyScore.from("asf").applyAsInt("Apache Software Foundation"));
+        assertEquals(3, fuzzyScore.from("ASF").applyAsInt(new StringBuilder("Apache Software Foundation")));
+    }
+
+    @Test
+    void testGetters() {
+        final FuzzyScore fuzzyScore = new FuzzyScore(Locale.ENGLISH);
+        final FuzzyScoreFrom from = fuzzyScore.from("asf");
+        assertSame(fuzzyScore, from.getFuzzyScore());
+        assertEquals("asf", from.getQuery());
+    }
+
+    @Test
+    void testNull() {
+        final FuzzyScore fuzzyScore = new FuzzyScore(Locale.ENGLISH);
+        assertThrows(IllegalArgumentException.class, () -> fuzzyScore.from(null));
+        assertThrows(IllegalArgumentException.class, () -> fuzzyScore.from("a").applyAsInt(null));
+        assertThrows(IllegalArgumentException.class, () -> fuzzyScore.from("a").topK(Collections.singletonList(null), 1));
+        assertThrows(IllegalArgumentException.class, () -> fuzzyScore.from("a").topK(Collections.emptyList(), -1));
+    }
+
+    @Test
+    void testTopK() {
+        final Random random = new Random(7);
+        final FuzzyScore fuzzyScore = new FuzzyScore(Locale.ENGLISH);
+        final List<String> terms = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            final StringBuilder term = new StringBuilder();
+            final int length = random.nextInt(15);
+            for (int j = 0; j < length; j++) {
+                term.append((char) ('a' + random.nextInt(6)));
+            }
+            terms.add(random.nextBoolean() ? term.toString() : term.toString().toUpperCase(Locale.ENGLISH));
+        }
+        for (final String query : new String[] {"abc", "fedcba", "aaa", ""}) {
+            final List<Map.Entry<String, Integer>> all = new ArrayList<>();
+            for (final String term : terms) {
+                final int score = fuzzyScore.fuzzyScore(term, query);
+                if (score > 0) {
+                    all.add(new AbstractMap.SimpleImmutableEntry<>(term, score));
+                }
+            }
+            // stable, so ties stay in the order of the terms
+            all.sort(Comparator.comparingInt(e -> -e.getValue()));
+            final FuzzyScoreFrom from = fuzzyScore.from(query);
+            for (final int k : new int[] {0, 1, 5, 50, 1_000}) {
+                assertEquals(all.subList(0, Math.min(k, all.size())), from.topK(terms, k), query + " " + k);
+            }
+        }
+        assertTrue(fuzzyScore.from("").topK(terms, 10).isEmpty());
+    }
+
+}
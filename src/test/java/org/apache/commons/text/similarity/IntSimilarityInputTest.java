@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.similarity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link IntSimilarityInput}.
+ */
+public class IntSimilarityInputTest {
+
+    /**
+     * A boxed input of ints, which the scores compare with {@link SimilarityInput#at(int)}.
+     */
+    private static final class BoxedInput implements SimilarityInput<Integer> {
+
+        private final int[] values;
+
+        BoxedInput(final int[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public Integer at(final int index) {
+            return values[index];
+        }
+
+        @Override
+        public int length() {
+            return values.length;
+        }
+    }
+
+    private static final String EMOJI = "\uD83D\uDE00";
+
+    private static int[] randomInts(final Random random, final int length, final int alphabet) {
+        final int[] values = new int[length];
+        for (int i = 0; i < length; i++) {
+            // spread the alphabet over the whole int range
+            values[i] = random.nextInt(alphabet) * 0x1F3F1F7 - 12345;
+        }
+        return values;
+    }
+
+    @Test
+    void testCodePoints() {
+        final IntSimilarityInput input = SimilarityInput.codePoints("a" + EMOJI + "b");
+        assertEquals(3, input.length());
+        assertEquals(0x1F600, input.getAsInt(1));
+        assertEquals(Integer.valueOf('b'), input.at(2));
+        assertEquals("a" + EMOJI + "b", input.toString());
+        assertEquals(IntSimilarityInput.of('a', 0x1F600, 'b'), input);
+        assertEquals(IntSimilarityInput.of('a', 0x1F600, 'b').hashCode(), input.hashCode());
+        assertNotEquals(IntSimilarityInput.of('a'), input);
+        assertEquals("[-1, 2]", IntSimilarityInput.of(-1, 2).toString());
+        assertThrows(IllegalArgumentException.class, () -> SimilarityInput.codePoints(null));
+        assertThrows(IllegalArgumentException.class, () -> IntSimilarityInput.of((int[]) null));
+    }
+
+    @Test
+    void testCodePointSemantics() {
+        final IntSimilarityInput emoji = SimilarityInput.codePoints(EMOJI + "!");
+        final IntSimilarityInput bang = SimilarityInput.codePoints("!");
+        assertEquals(2, LevenshteinDistance.getDefaultInstance().apply(EMOJI + "!", "!"));
+        assertEquals(1, LevenshteinDistance.getDefaultInstance().apply(emoji, bang));
+        assertEquals(1, LevenshteinDetailedDistance.getDefaultInstance().apply(emoji, bang).getDeleteCount());
+        // two emojis sharing a high surrogate differ in one code point, not in one of two chars
+        final IntSimilarityInput other = SimilarityInput.codePoints("\uD83D\uDE01!");
+        assertEquals(1, new HammingDistance().apply(emoji, other));
+        assertEquals(new JaroWinklerSimilarity().apply("x!", "y!"), new JaroWinklerSimilarity().apply(emoji, other));
+    }
+
+    @Test
+    void testManyDistinct() {
+        // too many distinct elements to map to chars: the boxed algorithms apply
+        final int[] left = new int[70000];
+        final int[] right = new int[70000];
+        for (int i = 0; i < left.length; i++) {
+            left[i] = i;
+            right[i] = i % 1000 == 0 ? -i : i;
+        }
+        assertNull(SimilarityIntInput.toChars(IntSimilarityInput.of(left), IntSimilarityInput.of(right), false));
+        assertEquals(69, new HammingDistance().apply(IntSimilarityInput.of(left), IntSimilarityInput.of(right)));
+        assertEquals(69, new LevenshteinDistance(100).apply(IntSimilarityInput.of(left), IntSimilarityInput.of(right)));
+    }
+
+    @Test
+    void testToChars() {
+        final String[] chars = SimilarityIntInput.toChars(IntSimilarityInput.of(7, -3, 7), IntSimilarityInput.of(1 << 30, -3), false);
+        assertEquals("\u0000\u0001\u0000", chars[0]);
+        assertEquals("\u0002\u0001", chars[1]);
+        final String[] direct = SimilarityIntInput.toChars(IntSimilarityInput.of(7, 0xFFFF), IntSimilarityInput.of(8), false);
+        assertEquals("\u0007\uFFFF", direct[0]);
+        assertEquals("\u0008", direct[1]);
+        final String[] dense = SimilarityIntInput.toChars(IntSimilarityInput.of(7, 0xFFFF), IntSimilarityInput.of(8), true);
+        assertEquals("\u0000\u0001", dense[0]);
+        assertEquals("\u0002", dense[1]);
+    }
+
+    @Test
+    void testRandomAgainstBoxed() {
+        final Random random = new Random(31);
+        final LevenshteinDistance unlimited = LevenshteinDistance.getDefaultInstance();
+        final LevenshteinDistance limited = new LevenshteinDistance(3);
+        final JaroWinklerSimilarity jaroWinkler = new JaroWinklerSimilarity();
+        final HammingDistance hamming = new HammingDistance();
+        for (int i = 0; i < 300; i++) {
+            final int alphabet = 1 + random.nextInt(i % 2 == 0 ? 4 : 200);
+            final int[] left = randomInts(random, random.nextInt(i % 3 == 0 ? 150 : 12), alphabet);
+            final int[] right = i % 5 == 0 ? randomInts(random, left.length, alphabet) : randomInts(random, random.nextInt(12), alphabet);
+            final IntSimilarityInput leftInts = IntSimilarityInput.of(left);
+            final IntSimilarityInput rightInts = IntSimilarityInput.of(right);
+            final BoxedInput leftBoxed = new BoxedInput(left);
+            final BoxedInput rightBoxed = new BoxedInput(right);
+            assertEquals(unlimited.apply(leftBoxed, rightBoxed), unlimited.apply(leftInts, rightInts));
+            assertEquals(limited.apply(leftBoxed, rightBoxed), limited.apply(leftInts, rightInts));
+            if (left.length + right.length > 0) {
+                assertEquals(jaroWinkler.apply(leftBoxed, rightBoxed), jaroWinkler.apply(leftInts, rightInts), 1e-12);
+            } else {
+                // as for empty CharSequences
+                assertEquals(1d, jaroWinkler.apply(leftInts, rightInts));
+            }
+            assertEquals(LevenshteinDetailedDistance.getLinearSpaceInstance().apply(leftBoxed, rightBoxed),
+                LevenshteinDetailedDistance.getLinearSpaceInstance().apply(leftInts, rightInts));
+            assertEquals(LevenshteinDetailedDistance.getDefaultInstance().apply(leftBoxed, rightBoxed).getDistance(),
+                LevenshteinDetailedDistance.getDefaultInstance().apply(leftInts, rightInts).getDistance());
+            if (left.length == right.length) {
+                assertEquals(hamming.apply(leftBoxed, rightBoxed), hamming.apply(leftInts, rightInts));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.similarity;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.text.RandomStrings;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link JaroWinklerSimilarityFrom} and the primitive path of {@link JaroWinklerSimilarity}.
+ */
+public class JaroWinklerSimilarityFromTest {
+
+    /** Letters, and characters outside of Latin-1. */
+    private static final String ALPHABET = "abcd\u4e00\u4e01\u4e02";
+
+    private static final JaroWinklerSimilarity SIMILARITY = new JaroWinklerSimilarity();
+
+    @Test
+    public void testApply() {
+        final JaroWinklerSimilarityFrom from = SIMILARITY.from("frog");
+        assertSame(SIMILARITY, from.getSimilarityScore());
+        assertEquals("frog", from.getLeft());
+        assertEquals(0.93d, from.apply("fog"), 0.01d);
+        assertEquals(1d, from.applyAsDouble("frog"));
+        assertEquals(0d, from.applyAsDouble(""));
+        assertEquals(0d, SIMILARITY.apply(SimilarityInput.input("frog"), SimilarityInput.input("")));
+        assertEquals(0.87d, SIMILARITY.apply(SimilarityInput.input("frog"), SimilarityInput.input("fr")), 0.01d);
+        assertEquals(0d, SIMILARITY.from("").applyAsDouble("frog"));
+        assertEquals(1d, SIMILARITY.from("").applyAsDouble(""));
+        assertEquals(0.44d, SIMILARITY.from("elephant").applyAsDouble("hippo"), 0.01d);
+        assertThrows(IllegalArgumentException.class, () -> from.apply(null));
+        assertThrows(IllegalArgumentException.class, () -> SIMILARITY.from(null));
+    }
+
+    @Test
+    public void testApplyAll() {
+        final List<String> candidates = Arrays.asList("fog", "frog", "", "hippo", "PENNCISYLVNIA");
+        final JaroWinklerSimilarityFrom from = SIMILARITY.from("PENNSYLVANIA");
+        final double[] expected = candidates.stream().mapToDouble(c -> SIMILARITY.applyAsDouble("PENNSYLVANIA", c)).toArray();
+        assertArrayEquals(expected, from.applyAll(candidates));
+        final List<Double> consumed = new ArrayList<>();
+        from.applyAll(candidates, (c, s) -> {
+            assertEquals(SIMILARITY.applyAsDouble("PENNSYLVANIA", c), s);
+            consumed.add(s);
+        });
+        assertEquals(candidates.size(), consumed.size());
+        assertThrows(IllegalArgumentException.class, () -> from.applyAll(Arrays.asList("a", null)));
+    }
+
+    @Test
+    public void testApplyRandom() {
+        final Random random = new Random(13);
+        for (int i = 0; i < 2000; i++) {
+            final String left = RandomStrings.random(random, random.nextInt(20), ALPHABET);
+            final String right = RandomStrings.random(random, random.nextInt(20), ALPHABET);
+            final double expected = SIMILARITY.apply(SimilarityInput.input(left), SimilarityInput.input(right));
+            assertEquals(expected, SIMILARITY.applyAsDouble(left, right), () -> left + " / " + right);
+            assertEquals(expected, SIMILARITY.from(left).applyAsDouble(right), () -> left + " / " + right);
+            // a StringBuilder is only equal to itself
+            final StringBuilder builder = new StringBuilder(left);
+            assertEquals(SIMILARITY.apply(SimilarityInput.input(builder), SimilarityInput.input(right)),
+                    SIMILARITY.from(builder).applyAsDouble(right));
+            assertEquals(1 - expected, new JaroWinklerDistance().apply(left, right));
+        }
+    }
+
+}
@@ -36,6 +36,23 @@ public class JaroWinklerSimilarityTest {
         similarity = new JaroWinklerSimilarity();
     }
 
+    /**
+     * Wraps a String in an input that is not a CharSequence, so that the boxed implementation is used.
+     */
+    private static SimilarityInput<Character> generic(final String value) {
+        return new SimilarityInput<Character>() {
+            @Override
+            public Character at(final int index) {
+                return value.charAt(index);
+            }
+
+            @Override
+            public int length() {
+                return value.length();
+            }
+        };
+    }
+
     /**
      * Wraps the string in a custom {@link CharSequence}. This ensures that using the {@link Object#equals(Object)} method on the input CharSequence to test for
      * equality will fail.
@@ -116,6 +133,20 @@ public class JaroWinklerSimilarityTest {
         assertThrows(IllegalArgumentException.class, () -> similarity.apply(" ", null));
     }
 
+    @Test
+    void testLongerThanRetained() {
+        final StringBuilder left = new StringBuilder();
+        final StringBuilder right = new StringBuilder();
+        for (int i = 0; left.length() <= JaroWinklerSimilarity.MAX_RETAINED_LENGTH; i++) {
+            left.append((char) ('a' + i % 26));
+            right.append((char) ('a' + i * 7 % 26));
+        }
+        final double expected = similarity.apply(generic(left.toString()), generic(right.toString()));
+        assertEquals(expected, similarity.applyAsDouble(left, right));
+        assertEquals(0.941666d, similarity.applyAsDouble("aaabcd", "aaacdb"), 0.00001d);
+        assertEquals(expected, similarity.applyAsDouble(left, right));
+    }
+
     @Test
     public void testGetJaroWinklerSimilarity_StringString() {
         assertEquals(1d, similarity.apply(wrap(""), ""), 0.00001d);
@@ -17,8 +17,15 @@
 package org.apache.commons.text.similarity;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.Duration;
+import java.util.Random;
+
+import org.apache.commons.text.RandomStrings;
 import org.apache.commons.text.TextStringBuilder;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -26,8 +33,21 @@ import org.junit.jupiter.params.provider.MethodSource;
 
 public class LevenshteinDetailedDistanceTest {
 
+    /** The characters of the random strings. */
+    private static final String ALPHABET = "abcd";
+
     private static final LevenshteinDetailedDistance UNLIMITED_DISTANCE = LevenshteinDetailedDistance.getDefaultInstance();
 
+    private static void assertLinearSpace(final String left, final String right) {
+        final LevenshteinResults actual = LevenshteinDetailedDistance.getLinearSpaceInstance().apply(left, right);
+        assertEquals(LevenshteinDistance.getDefaultInstance().apply(left, right), actual.getDistance(), () -> left + " / " + right);
+        assertEquals(actual.getDistance(), actual.getInsertCount() + actual.getDeleteCount() + actual.getSubstituteCount());
+        assertEquals(right.length() - left.length(), actual.getInsertCount() - actual.getDeleteCount());
+        // swapping the inputs swaps the insertions and the deletions
+        assertEquals(new LevenshteinResults(actual.getDistance(), actual.getDeleteCount(), actual.getInsertCount(), actual.getSubstituteCount()),
+                LevenshteinDetailedDistance.getLinearSpaceInstance().apply(right, left));
+    }
+
     @Test
     public void testApplyThrowsIllegalArgumentExceptionAndCreatesLevenshteinDetailedDistanceTakingInteger() {
         assertThrows(IllegalArgumentException.class, () -> {
@@ -471,4 +491,66 @@ public class LevenshteinDetailedDistanceTest {
         assertEquals(expectedResult.toString(), actualResult.toString());
     }
 
+
+    @Test
+    public void testLinearSpace() {
+        final LevenshteinDetailedDistance linearSpace = LevenshteinDetailedDistance.getLinearSpaceInstance();
+        assertTrue(linearSpace.isLinearSpace());
+        assertFalse(UNLIMITED_DISTANCE.isLinearSpace());
+        assertEquals(new LevenshteinResults(0, 0, 0, 0), linearSpace.apply("", ""));
+        assertEquals(new LevenshteinResults(7, 0, 7, 0), linearSpace.apply("aaapppp", ""));
+        assertEquals(new LevenshteinResults(1, 0, 1, 0), linearSpace.apply("frog", "fog"));
+        assertEquals(new LevenshteinResults(7, 0, 3, 4), linearSpace.apply("elephant", "hippo"));
+        assertEquals(new LevenshteinResults(7, 3, 0, 4), linearSpace.apply("hippo", "elephant"));
+        assertEquals(new LevenshteinResults(2, 0, 0, 2), linearSpace.apply("ab", "ba"));
+        assertEquals(new LevenshteinResults(-1, 0, 0, 0), new LevenshteinDetailedDistance(6, true).apply("elephant", "hippo"));
+        assertEquals(new LevenshteinResults(7, 0, 3, 4), new LevenshteinDetailedDistance(7, true).apply("elephant", "hippo"));
+        assertEquals(new LevenshteinResults(-1, 0, 0, 0), new LevenshteinDetailedDistance(2, true).apply("aaapppp", ""));
+        assertThrows(IllegalArgumentException.class, () -> linearSpace.apply((String) null, "a"));
+        assertThrows(IllegalArgumentException.class, () -> new LevenshteinDetailedDistance(-1, true));
+    }
+
+    @Test
+    public void testLinearSpaceLarge() {
+        // large enough to split the halves in parallel
+        final Random random = new Random(11);
+        final String left = RandomStrings.random(random, 3000, ALPHABET);
+        final StringBuilder right = new StringBuilder(left);
+        for (int i = 0; i < 300; i++) {
+            final int index = random.nextInt(right.length());
+            switch (random.nextInt(3)) {
+            case 0:
+                right.deleteCharAt(index);
+                break;
+            case 1:
+                right.insert(index, 'e');
+                break;
+            default:
+                right.setCharAt(index, 'f');
+                break;
+            }
+        }
+        assertLinearSpace(left, right.toString());
+        assertLinearSpace(left, RandomStrings.random(random, 2500, ALPHABET));
+    }
+
+    @Test
+    public void testLinearSpaceThresholdLarge() {
+        // the threshold rules the inputs out before they are aligned
+        final Random random = new Random(13);
+        final String left = RandomStrings.random(random, 1 << 17, ALPHABET);
+        final String right = RandomStrings.random(random, 1 << 17, ALPHABET);
+        final LevenshteinDetailedDistance distance = new LevenshteinDetailedDistance(8, true);
+        assertEquals(new LevenshteinResults(-1, 0, 0, 0), assertTimeoutPreemptively(Duration.ofSeconds(10), () -> distance.apply(left, right)));
+        assertEquals(new LevenshteinResults(1, 0, 1, 0), distance.apply(left.substring(0, 2000), left.substring(1, 2000)));
+    }
+
+    @Test
+    public void testLinearSpaceRandom() {
+        final Random random = new Random(3);
+        for (int i = 0; i < 1000; i++) {
+            assertLinearSpace(RandomStrings.random(random, random.nextInt(100), ALPHABET), RandomStrings.random(random, random.nextInt(100), ALPHABET));
+        }
+    }
+
 }
@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.similarity;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.apache.commons.text.RandomStrings;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link LevenshteinDistanceFrom}.
+ */
+public class LevenshteinDistanceFromTest {
+
+    /** Letters, and characters outside of Latin-1. */
+    private static final String ALPHABET = "abcd\u4e00\u4e01\u4e02";
+
+    private static final List<String> ANIMALS = Arrays.asList("elephant", "hippo", "fog", "frog", "", "ant", "hallo",
+        "hello", "fly", "flog");
+
+    @Test
+    public void testApply() {
+        final LevenshteinDistanceFrom from = LevenshteinDistance.getDefaultInstance().from("frog");
+        assertSame(LevenshteinDistance.getDefaultInstance(), from.getEditDistance());
+        assertEquals("frog", from.getLeft());
+        assertEquals(1, from.apply("fog"));
+        assertEquals(4, from.applyAsInt(""));
+        assertEquals(3, from.applyAsInt("fly"));
+        assertEquals(0, LevenshteinDistance.getDefaultInstance().from("").applyAsInt(""));
+        assertEquals(3, LevenshteinDistance.getDefaultInstance().from("").applyAsInt("abc"));
+        assertEquals(-1, new LevenshteinDistance(2).from("elephant").applyAsInt("hippo"));
+        assertThrows(IllegalArgumentException.class, () -> from.apply(null));
+        assertThrows(IllegalArgumentException.class, () -> LevenshteinDistance.getDefaultInstance().from(null));
+    }
+
+    @Test
+    public void testApplyAll() {
+        final LevenshteinDistance distance = new LevenshteinDistance(3);
+        final LevenshteinDistanceFrom from = distance.from("frog");
+        final int[] expected = ANIMALS.stream().mapToInt(a -> distance.apply("frog", a)).toArray();
+        assertArrayEquals(expected, from.applyAll(ANIMALS));
+        final List<Integer> consumed = new ArrayList<>();
+        from.applyAll(ANIMALS, (animal, d) -> {
+            assertEquals(distance.apply("frog", animal), d);
+            consumed.add(d);
+        });
+        assertEquals(ANIMALS.size(), consumed.size());
+    }
+
+    @Test
+    public void testMatchesLevenshteinDistance() {
+        final Random random = new Random(3);
+        for (int i = 0; i < 500; i++) {
+            final String query = RandomStrings.random(random, random.nextInt(150), ALPHABET);
+            final LevenshteinDistance distance = random.nextBoolean() ? LevenshteinDistance.getDefaultInstance()
+                : new LevenshteinDistance(random.nextInt(20));
+            final LevenshteinDistanceFrom from = distance.from(query);
+            for (int j = 0; j < 10; j++) {
+                final String candidate = RandomStrings.random(random, random.nextInt(150), ALPHABET);
+                assertEquals(distance.apply(query, candidate), from.apply(candidate), () -> query + " / " + candidate);
+            }
+        }
+    }
+
+    @Test
+    public void testTopK() {
+        final LevenshteinDistanceFrom from = LevenshteinDistance.getDefaultInstance().from("frog");
+        final List<Map.Entry<String, Integer>> top = from.topK(ANIMALS, 3);
+        assertEquals(3, top.size());
+        assertEquals("frog", top.get(0).getKey());
+        assertEquals(0, top.get(0).getValue());
+        // ties keep the input order
+        assertEquals("fog", top.get(1).getKey());
+        assertEquals(1, top.get(1).getValue());
+        assertEquals("flog", top.get(2).getKey());
+        assertEquals(1, top.get(2).getValue());
+        assertTrue(from.topK(ANIMALS, 0).isEmpty());
+        assertEquals(ANIMALS.size(), from.topK(ANIMALS, 100).size());
+        assertEquals(3, new LevenshteinDistance(1).from("frog").topK(ANIMALS, 5).size());
+        assertThrows(IllegalArgumentException.class, () -> from.topK(ANIMALS, -1));
+    }
+
+    @Test
+    public void testTopKRandom() {
+        final Random random = new Random(5);
+        final List<String> candidates = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            candidates.add(RandomStrings.random(random, random.nextInt(12), ALPHABET));
+        }
+        for (int i = 0; i < 20; i++) {
+            final String query = RandomStrings.random(random, random.nextInt(12), ALPHABET);
+            final int k = 1 + random.nextInt(20);
+            final LevenshteinDistance distance = LevenshteinDistance.getDefaultInstance();
+            final List<Map.Entry<String, Integer>> top = distance.from(query).topK(candidates, k);
+            final int[] all = candidates.stream().mapToInt(c -> distance.apply(query, c)).sorted().toArray();
+            assertEquals(k, top.size());
+            for (int j = 0; j < k; j++) {
+                assertEquals(all[j], top.get(j).getValue());
+                assertEquals(distance.apply(query, top.get(j).getKey()), top.get(j).getValue());
+            }
+        }
+    }
+
+}
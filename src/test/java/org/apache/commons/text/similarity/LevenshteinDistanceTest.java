@@ -20,6 +20,9 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.Random;
+
+import org.apache.commons.text.RandomStrings;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -31,6 +34,23 @@ public class LevenshteinDistanceTest {
 
     private static final LevenshteinDistance UNLIMITED_DISTANCE = LevenshteinDistance.getDefaultInstance();
 
+    /**
+     * Wraps a String in an input that is not a CharSequence, so that the dynamic programming implementation is used.
+     */
+    private static SimilarityInput<Character> generic(final String value) {
+        return new SimilarityInput<Character>() {
+            @Override
+            public Character at(final int index) {
+                return value.charAt(index);
+            }
+
+            @Override
+            public int length() {
+                return value.length();
+            }
+        };
+    }
+
     @Test
     public void testApplyThrowsIllegalArgumentExceptionSimilarityInput() {
         assertThrows(IllegalArgumentException.class, () -> new LevenshteinDistance(0).apply((SimilarityInput<Object>) null, (SimilarityInput<Object>) null));
@@ -166,6 +186,61 @@ public class LevenshteinDistanceTest {
         assertEquals(-1, new LevenshteinDistance(1).apply(SimilarityInputTest.build(cls, "abc"), SimilarityInputTest.build(cls, "acb")));
     }
 
+    @Test
+    public void testBitParallelManyDistinctChars() {
+        // more distinct characters than fit in a byte before an ASCII one
+        final StringBuilder left = new StringBuilder();
+        final StringBuilder right = new StringBuilder("q");
+        for (int i = 0; i < 300; i++) {
+            left.append((char) (0x4e00 + i));
+            if (i > 0) {
+                right.append((char) (0x4e00 + i));
+            }
+        }
+        left.append('a');
+        right.append('\u4e2c');
+        assertEquals(2, UNLIMITED_DISTANCE.apply(generic(left.toString()), generic(right.toString())));
+        assertEquals(2, UNLIMITED_DISTANCE.apply(left, right));
+        assertEquals(2, new LevenshteinDistance(5).apply(left, right));
+        assertEquals(2, UNLIMITED_DISTANCE.from(left).applyAsInt(right));
+        assertEquals(2, new LevenshteinDistance(5).from(left).applyAsInt(right));
+    }
+
+    @Test
+    public void testBitParallelMatchesDynamicProgramming() {
+        final Random random = new Random(7);
+        for (int i = 0; i < 2000; i++) {
+            // lengths span one, two and three 64-bit words
+            final int maxLength = i % 3 == 0 ? 20 : 180;
+            final int size = 1 + random.nextInt(6);
+            // include characters outside of Latin-1
+            final String alphabet = RandomStrings.letters(size) + "\u4e00\u4e01\u4e02\u4e03\u4e04\u4e05".substring(0, size);
+            final String left = RandomStrings.random(random, random.nextInt(maxLength), alphabet);
+            final String right;
+            final int threshold;
+            if (random.nextBoolean()) {
+                right = RandomStrings.random(random, random.nextInt(maxLength), alphabet);
+                threshold = random.nextInt(maxLength);
+            } else {
+                // a few edits, against a threshold that keeps the band narrow
+                final StringBuilder builder = new StringBuilder(left);
+                for (int edits = random.nextInt(8); edits > 0; edits--) {
+                    final int index = random.nextInt(builder.length() + 1);
+                    if (random.nextBoolean() || index == builder.length()) {
+                        builder.insert(index, RandomStrings.random(random, 1, alphabet));
+                    } else {
+                        builder.deleteCharAt(index);
+                    }
+                }
+                right = builder.toString();
+                threshold = random.nextInt(10);
+            }
+            assertEquals(UNLIMITED_DISTANCE.apply(generic(left), generic(right)), UNLIMITED_DISTANCE.apply(left, right), () -> left + " / " + right);
+            final LevenshteinDistance limited = new LevenshteinDistance(threshold);
+            assertEquals(limited.apply(generic(left), generic(right)), limited.apply(left, right), () -> left + " / " + right);
+        }
+    }
+
     @Test
     public void testGetThresholdDirectlyAfterObjectInstantiation() {
         assertNull(LevenshteinDistance.getDefaultInstance().getThreshold());
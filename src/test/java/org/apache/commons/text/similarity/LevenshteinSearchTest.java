@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.similarity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.text.RandomStrings;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link LevenshteinSearch}.
+ */
+public class LevenshteinSearchTest {
+
+    /**
+     * Reads at most a few characters at a time.
+     */
+    private static final class TrickleReader extends Reader {
+
+        private final Reader reader;
+        private final Random random;
+
+        TrickleReader(final String text, final Random random) {
+            this.reader = new StringReader(text);
+            this.random = random;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+
+        @Override
+        public int read(final char[] cbuf, final int off, final int len) throws IOException {
+            return reader.read(cbuf, off, Math.min(len, 1 + random.nextInt(7)));
+        }
+    }
+
+    /**
+     * Computes the matches with the dynamic programming of Sellers, one cell at a time.
+     */
+    private static List<long[]> sellers(final String pattern, final String text, final int maxDistance) {
+        final int m = pattern.length();
+        int[] column = new int[m + 1];
+        for (int i = 0; i <= m; i++) {
+            column[i] = i;
+        }
+        final List<long[]> matches = new ArrayList<>();
+        if (column[m] <= maxDistance) {
+            matches.add(new long[] {0, column[m]});
+        }
+        for (int j = 1; j <= text.length(); j++) {
+            final int[] next = new int[m + 1];
+            for (int i = 1; i <= m; i++) {
+                final int cost = pattern.charAt(i - 1) == text.charAt(j - 1) ? 0 : 1;
+                next[i] = Math.min(Math.min(next[i - 1] + 1, column[i] + 1), column[i - 1] + cost);
+            }
+            column = next;
+            if (column[m] <= maxDistance) {
+                matches.add(new long[] {j, column[m]});
+            }
+        }
+        return matches;
+    }
+
+    private static List<long[]> search(final LevenshteinSearch search, final CharSequence text) {
+        final List<long[]> matches = new ArrayList<>();
+        search.search(text, (end, distance) -> matches.add(new long[] {end, distance}));
+        return matches;
+    }
+
+    private static void assertMatches(final List<long[]> expected, final List<long[]> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(Arrays.toString(expected.get(i)), Arrays.toString(actual.get(i)));
+        }
+    }
+
+    @Test
+    void testEmptyPattern() {
+        assertMatches(Arrays.asList(new long[] {0, 0}, new long[] {1, 0}, new long[] {2, 0}), search(new LevenshteinSearch("", 0), "ab"));
+    }
+
+    @Test
+    void testExample() {
+        final String log = "INFO ok\nWARN conection refused\nERROR connection refused\nINFO connection reused\n";
+        final List<long[]> matches = search(new LevenshteinSearch("connection refused", 1), log);
+        // one exact occurrence, and two with a typo, besides substrings ending one character before or after them
+        final List<Long> exact = new ArrayList<>();
+        for (final long[] match : matches) {
+            if (match[1] == 0) {
+                exact.add(match[0]);
+            }
+        }
+        assertEquals(Arrays.asList((long) log.indexOf("ERROR connection refused") + 24), exact);
+        assertEquals(2, matches.stream().filter(match -> match[1] == 1 && log.charAt((int) match[0] - 1) == 'd').count());
+    }
+
+    @Test
+    void testManyDistinctChars() {
+        // more distinct characters than fit in a byte before an ASCII one
+        final StringBuilder pattern = new StringBuilder();
+        final StringBuilder text = new StringBuilder("q");
+        for (int i = 0; i < 300; i++) {
+            pattern.append((char) (0x4e00 + i));
+            if (i > 0) {
+                text.append((char) (0x4e00 + i));
+            }
+        }
+        pattern.append('a');
+        text.append('\u4e2c');
+        assertMatches(sellers(pattern.toString(), text.toString(), 2), search(new LevenshteinSearch(pattern, 2), text));
+        assertMatches(Collections.emptyList(), search(new LevenshteinSearch(pattern, 1), text));
+    }
+
+    @Test
+    void testRandom() {
+        final Random random = new Random(23);
+        for (int i = 0; i < 300; i++) {
+            // patterns of one, two and three words
+            final String pattern = RandomStrings.random(random, 1 + random.nextInt(i % 3 == 0 ? 200 : 40), "abcd");
+            final String text = RandomStrings.random(random, random.nextInt(300), "abcd") + pattern + RandomStrings.random(random, random.nextInt(300), "abcd");
+            final int maxDistance = random.nextInt(Math.min(pattern.length(), 8) + 1);
+            final LevenshteinSearch search = new LevenshteinSearch(pattern, maxDistance);
+            assertMatches(sellers(pattern, text, maxDistance), search(search, text));
+        }
+    }
+
+    @Test
+    void testReader() throws IOException {
+        final Random random = new Random(29);
+        for (int i = 0; i < 50; i++) {
+            final String pattern = RandomStrings.random(random, 1 + random.nextInt(100), "abc");
+            final String text = RandomStrings.random(random, random.nextInt(20000), "abc");
+            final LevenshteinSearch search = new LevenshteinSearch(pattern, random.nextInt(4));
+            final List<long[]> matches = new ArrayList<>();
+            search.search(i % 2 == 0 ? new StringReader(text) : new TrickleReader(text, random), (end, distance) -> matches.add(new long[] {end, distance}));
+            assertMatches(search(search, text), matches);
+        }
+    }
+
+    @Test
+    void testValidation() {
+        assertThrows(IllegalArgumentException.class, () -> new LevenshteinSearch(null, 1));
+        assertThrows(IllegalArgumentException.class, () -> new LevenshteinSearch("a", -1));
+        final LevenshteinSearch search = new LevenshteinSearch("abc", 1);
+        assertEquals("abc", search.getPattern());
+        assertEquals(1, search.getMaxDistance());
+        assertThrows(IllegalArgumentException.class, () -> search.search((CharSequence) null, (end, distance) -> { }));
+        assertThrows(IllegalArgumentException.class, () -> search.search("abc", null));
+        assertThrows(IllegalArgumentException.class, () -> search.search((Reader) null, (end, distance) -> { }));
+    }
+
+}
@@ -19,6 +19,9 @@ package org.apache.commons.text.similarity;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.Random;
+
+import org.apache.commons.text.RandomStrings;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
@@ -27,6 +30,9 @@ import org.junit.jupiter.api.Test;
  */
 public class LongestCommonSubsequenceTest {
 
+    /** Letters, and characters outside of Latin-1. */
+    private static final String ALPHABET = "abcd\u4e00\u4e01\u4e02";
+
     private static LongestCommonSubsequence subject;
 
     @BeforeAll
@@ -133,4 +139,37 @@ public class LongestCommonSubsequenceTest {
         assertEquals(4, subject.apply("leettteft", "ritttght"));
         assertEquals(15, subject.apply("the same string", "the same string"));
     }
+
+    @Test
+    public void testLongestCommonSubsequenceApplyRandom() {
+        final Random random = new Random(7);
+        for (int i = 0; i < 500; i++) {
+            // lengths around and across the 64 characters of a word
+            final String left = RandomStrings.random(random, random.nextInt(i % 2 == 0 ? 70 : 300), ALPHABET);
+            final String right = RandomStrings.random(random, random.nextInt(i % 2 == 0 ? 70 : 300), ALPHABET);
+            final int expected = subject.longestCommonSubsequence(left, right).length();
+            assertEquals(expected, subject.apply(left, right), () -> left + " / " + right);
+            assertEquals(expected, subject.apply(right, left), () -> right + " / " + left);
+            assertEquals(expected + 2, subject.apply("x" + left + "y", "x" + right + "y"));
+        }
+    }
+
+    @Test
+    public void testLongestCommonSubsequenceApplyManyDistinctChars() {
+        // more distinct characters than fit in a byte before an ASCII one
+        final StringBuilder left = new StringBuilder();
+        final StringBuilder right = new StringBuilder("q");
+        for (int i = 0; i < 300; i++) {
+            left.append((char) (0x4e00 + i));
+            if (i > 0) {
+                right.append((char) (0x4e00 + i));
+            }
+        }
+        left.append('a');
+        right.append('\u4e2c');
+        assertEquals(299, subject.longestCommonSubsequence(left, right).length());
+        assertEquals(299, subject.apply(left, right));
+        assertEquals(299, subject.apply(right, left));
+    }
+
 }
@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.similarity;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.apache.commons.text.RandomStrings;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link MinHashIndex}.
+ */
+public class MinHashIndexTest {
+
+    private static final MinHash MIN_HASH = MinHash.builder().setHashCount(64).setShingleLength(3).get();
+
+    /**
+     * Creates documents which are random, or near duplicates of an earlier one.
+     */
+    private static List<String> corpus(final Random random, final int size) {
+        final List<String> documents = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            if (i > 0 && random.nextBoolean()) {
+                final StringBuilder sb = new StringBuilder(documents.get(random.nextInt(i)));
+                sb.setCharAt(random.nextInt(sb.length()), '#');
+                documents.add(sb.toString());
+            } else {
+                documents.add(RandomStrings.random(random, 100, RandomStrings.letters(26)));
+            }
+        }
+        return documents;
+    }
+
+    private static MinHashIndex index(final List<String> documents) {
+        final MinHashIndex index = new MinHashIndex(MIN_HASH, 16);
+        documents.forEach(index::add);
+        return index;
+    }
+
+    @Test
+    void testCandidates() {
+        final Random random = new Random(3);
+        final List<String> documents = corpus(random, 300);
+        final MinHashIndex index = index(documents);
+        assertEquals(300, index.size());
+        final int[] all = new int[documents.size()];
+        Arrays.setAll(all, i -> i);
+        for (int i = 0; i < documents.size(); i += 7) {
+            final int[] candidates = index.candidates(documents.get(i));
+            assertTrue(Arrays.binarySearch(candidates, i) >= 0);
+            for (int j = 1; j < candidates.length; j++) {
+                assertTrue(candidates[j - 1] < candidates[j]);
+            }
+            // the candidates are the documents agreeing with the query on all the rows of a band
+            final int[] query = MIN_HASH.signature(documents.get(i));
+            final int[] expected = Arrays.stream(all).filter(d -> {
+                final int[] signature = index.getSignature(d);
+                for (int band = 0; band < 16; band++) {
+                    if (Arrays.equals(Arrays.copyOfRange(query, band * 4, band * 4 + 4), Arrays.copyOfRange(signature, band * 4, band * 4 + 4))) {
+                        return true;
+                    }
+                }
+                return false;
+            }).toArray();
+            assertArrayEquals(expected, candidates);
+        }
+        assertEquals(0, index.candidates(RandomStrings.random(random, 100, RandomStrings.letters(26))).length);
+    }
+
+    @Test
+    void testQuery() {
+        final Random random = new Random(5);
+        final List<String> documents = corpus(random, 300);
+        final MinHashIndex index = index(documents);
+        for (int i = 0; i < documents.size(); i += 11) {
+            final String query = documents.get(i);
+            final List<Map.Entry<Integer, Double>> matches = index.query(query, 0.8, documents::get);
+            for (int j = 0; j < matches.size(); j++) {
+                final Map.Entry<Integer, Double> match = matches.get(j);
+                assertEquals(MIN_HASH.jaccard(query, documents.get(match.getKey())), match.getValue());
+                assertTrue(match.getValue() >= 0.8);
+                if (j > 0) {
+                    assertTrue(matches.get(j - 1).getValue() >= match.getValue());
+                }
+            }
+            // every exact duplicate is found
+            for (int d = 0; d < documents.size(); d++) {
+                if (documents.get(d).equals(query)) {
+                    final int id = d;
+                    assertTrue(matches.stream().anyMatch(m -> m.getKey() == id && m.getValue() == 1d));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testSerialization() throws IOException {
+        final List<String> documents = corpus(new Random(9), 100);
+        final MinHashIndex index = index(documents);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        index.writeTo(out);
+        final byte[] bytes = out.toByteArray();
+        final MinHashIndex read = MinHashIndex.readFrom(new ByteArrayInputStream(bytes), MIN_HASH);
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length + 3);
+        buffer.put(bytes).put(new byte[3]).flip();
+        final MinHashIndex mapped = MinHashIndex.read(buffer, MIN_HASH);
+        assertEquals(3, buffer.remaining());
+        for (final MinHashIndex copy : Arrays.asList(read, mapped)) {
+            assertEquals(index.size(), copy.size());
+            assertEquals(index.getBands(), copy.getBands());
+            for (int i = 0; i < documents.size(); i++) {
+                assertArrayEquals(index.getSignature(i), copy.getSignature(i));
+                assertArrayEquals(index.candidates(documents.get(i)), copy.candidates(documents.get(i)));
+            }
+            // still growable
+            assertEquals(documents.size(), copy.add(documents.get(0)));
+        }
+        assertThrows(IOException.class, () -> MinHashIndex.readFrom(new ByteArrayInputStream(bytes), MinHash.builder().setHashCount(64).setSeed(1).get()));
+        assertThrows(IOException.class, () -> MinHashIndex.readFrom(new ByteArrayInputStream(bytes), MinHash.builder().setHashCount(32).get()));
+        assertThrows(IOException.class, () -> MinHashIndex.readFrom(new ByteArrayInputStream(new byte[32]), MIN_HASH));
+    }
+
+    @Test
+    void testSerializationShingleMismatch() throws IOException {
+        final MinHash bigrams = MinHash.builder().setHashCount(32).setSeed(5).setShingleLength(2).get();
+        final MinHashIndex index = new MinHashIndex(bigrams, 8);
+        index.add("apache commons");
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        index.writeTo(output);
+        final byte[] bytes = output.toByteArray();
+        assertEquals(1, MinHashIndex.readFrom(new ByteArrayInputStream(bytes), bigrams).size());
+        final MinHash trigrams = MinHash.builder().setHashCount(32).setSeed(5).setShingleLength(3).get();
+        assertThrows(IllegalArgumentException.class, () -> MinHashIndex.readFrom(new ByteArrayInputStream(bytes), trigrams));
+        final MinHash words = MinHash.builder().setHashCount(32).setSeed(5).setShingleLength(2)
+            .setTokenizer(cs -> Arrays.asList(cs.toString().split(" "))).get();
+        assertThrows(IllegalArgumentException.class, () -> MinHashIndex.read(ByteBuffer.wrap(bytes), words));
+    }
+
+    @Test
+    void testSignatures() {
+        final MinHashIndex index = new MinHashIndex(MIN_HASH, 8);
+        final int[] signature = MIN_HASH.signature("hello world");
+        assertEquals(0, index.add(signature));
+        assertEquals(1, index.add("hello world"));
+        assertArrayEquals(signature, index.getSignature(0));
+        assertArrayEquals(new int[] {0, 1}, index.candidates(signature));
+        assertEquals(1d, index.estimate(signature, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> index.getSignature(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> index.estimate(signature, -1));
+        assertThrows(IllegalArgumentException.class, () -> index.add(new int[3]));
+        assertThrows(IllegalArgumentException.class, () -> index.candidates((int[]) null));
+    }
+
+    @Test
+    void testValidation() {
+        assertThrows(IllegalArgumentException.class, () -> new MinHashIndex(null, 8));
+        assertThrows(IllegalArgumentException.class, () -> new MinHashIndex(MIN_HASH, 0));
+        assertThrows(IllegalArgumentException.class, () -> new MinHashIndex(MIN_HASH, 48));
+        assertEquals(MIN_HASH, new MinHashIndex(MIN_HASH, 64).getMinHash());
+    }
+
+}
@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.similarity;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.apache.commons.text.RandomStrings;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link MinHash}.
+ */
+public class MinHashTest {
+
+    @Test
+    void testBuilderValidation() {
+        assertThrows(IllegalArgumentException.class, () -> MinHash.builder().setHashCount(0));
+        assertThrows(IllegalArgumentException.class, () -> MinHash.builder().setShingleLength(0));
+        final MinHash minHash = MinHash.builder().setHashCount(64).setSeed(42).get();
+        assertEquals(64, minHash.getHashCount());
+        assertEquals(42, minHash.getSeed());
+        assertEquals(1, minHash.getShingleLength());
+        assertNull(minHash.getTokenizer());
+        assertEquals(128, MinHash.builder().get().getHashCount());
+        assertEquals(3, MinHash.builder().setShingleLength(3).get().getShingleLength());
+    }
+
+    @Test
+    void testEmpty() {
+        final MinHash minHash = MinHash.builder().get();
+        final int[] empty = minHash.signature("");
+        assertTrue(Arrays.stream(empty).allMatch(v -> v == Integer.MAX_VALUE));
+        assertEquals(1d, MinHash.estimate(empty, minHash.signature("")));
+        assertEquals(0d, MinHash.estimate(empty, minHash.signature("abc")));
+        assertEquals(1d, minHash.jaccard("", ""));
+        assertEquals(0d, minHash.jaccard("", "abc"));
+    }
+
+    @Test
+    void testEstimate() {
+        final MinHash minHash = MinHash.builder().setHashCount(1024).setShingleLength(3).get();
+        final Random random = new Random(7);
+        for (int i = 0; i < 20; i++) {
+            final String left = RandomStrings.random(random, 200, "abcd");
+            final String right = left.substring(random.nextInt(100)) + RandomStrings.random(random, random.nextInt(100), "abcd");
+            final double exact = minHash.jaccard(left, right);
+            // four standard deviations of 1 / (2 * sqrt(1024))
+            assertEquals(exact, MinHash.estimate(minHash.signature(left), minHash.signature(right)), 4d / 64, left + " " + right);
+        }
+    }
+
+    @Test
+    void testEstimateValidation() {
+        assertThrows(IllegalArgumentException.class, () -> MinHash.estimate(null, new int[1]));
+        assertThrows(IllegalArgumentException.class, () -> MinHash.estimate(new int[1], new int[2]));
+    }
+
+    @Test
+    void testIdentical() {
+        final MinHash minHash = MinHash.builder().setShingleLength(2).get();
+        assertArrayEquals(minHash.signature("hello world"), minHash.signature(new StringBuilder("hello world")));
+        assertEquals(1d, MinHash.estimate(minHash.signature("abab"), minHash.signature("babab")));
+        assertEquals(1d, minHash.jaccard("abab", "babab"));
+    }
+
+    @Test
+    void testJaccard() {
+        final MinHash characters = MinHash.builder().get();
+        final Random random = new Random(11);
+        for (int i = 0; i < 50; i++) {
+            final String left = RandomStrings.random(random, random.nextInt(10), "abcdefgh");
+            final String right = RandomStrings.random(random, random.nextInt(10), "abcdefgh");
+            assertEquals(JaccardSimilarity.INSTANCE.apply(left, right), characters.jaccard(left, right));
+        }
+        // bigrams {ab, bc, cd} and {bc, cd, de}
+        assertEquals(0.5, MinHash.builder().setShingleLength(2).get().jaccard("abcd", "bcde"));
+        // a sequence shorter than the shingle length is its only shingle
+        assertEquals(1d, MinHash.builder().setShingleLength(5).get().jaccard("abc", "abc"));
+        assertEquals(0d, MinHash.builder().setShingleLength(5).get().jaccard("abc", "abcdef"));
+        final MinHash words = MinHash.builder().setTokenizer(cs -> Arrays.asList(cs.toString().split(" "))).get();
+        assertEquals(2d / 4, words.jaccard("the quick fox", "the quick dog"));
+    }
+
+    @Test
+    void testSeed() {
+        final String text = "the quick brown fox jumps over the lazy dog";
+        final int[] signature = MinHash.builder().setSeed(1).get().signature(text);
+        assertArrayEquals(signature, MinHash.builder().setSeed(1).get().signature(text));
+        assertFalse(Arrays.equals(signature, MinHash.builder().setSeed(2).get().signature(text)));
+        assertTrue(Arrays.stream(signature).allMatch(v -> v >= 0));
+    }
+
+    @Test
+    void testSignatureInto() {
+        final MinHash minHash = MinHash.builder().setHashCount(16).get();
+        final int[] corpus = new int[40];
+        minHash.signature("abc", corpus, 3);
+        assertArrayEquals(minHash.signature("abc"), Arrays.copyOfRange(corpus, 3, 19));
+        assertEquals(0, corpus[2]);
+        assertEquals(0, corpus[19]);
+        assertThrows(IndexOutOfBoundsException.class, () -> minHash.signature("abc", corpus, 25));
+        assertThrows(IndexOutOfBoundsException.class, () -> minHash.signature("abc", corpus, -1));
+        assertThrows(IllegalArgumentException.class, () -> minHash.signature(null));
+    }
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.similarity;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.apache.commons.text.RandomStrings;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Tests {@link QGramIndex}.
+ */
+public class QGramIndexTest {
+
+    private static final List<String> ANIMALS = Arrays.asList("elephant", "hippo", "fog", "frog", "", "ant", "hallo",
+        "hello", "fly", "flog", "frog");
+
+    /**
+     * Finds the terms within a distance by scanning them all, by increasing distance then id.
+     */
+    private static List<Map.Entry<String, Integer>> scan(final List<String> terms, final String query, final int maxDistance) {
+        final List<Map.Entry<String, Integer>> result = new ArrayList<>();
+        for (int d = 0; d <= maxDistance; d++) {
+            for (final String term : terms) {
+                if (LevenshteinDistance.getDefaultInstance().apply(query, term) == d) {
+                    result.add(new AbstractMap.SimpleImmutableEntry<>(term, d));
+                }
+            }
+        }
+        return result;
+    }
+
+    @Test
+    void testAnimals() {
+        final QGramIndex<String> index = QGramIndex.of(2, ANIMALS);
+        assertEquals(11, index.size());
+        assertEquals(2, index.getQ());
+        assertEquals("frog", index.getTerm(3));
+        assertEquals(scan(ANIMALS, "frog", 1), index.search("frog", 1));
+        assertEquals(Arrays.asList(new AbstractMap.SimpleImmutableEntry<>("frog", 0), new AbstractMap.SimpleImmutableEntry<>("frog", 0)),
+            index.search("frog", 0));
+        assertEquals(scan(ANIMALS, "", 3), index.search("", 3));
+        assertEquals(scan(ANIMALS, "helo", 2), index.search("helo", 2));
+    }
+
+    @Test
+    void testCandidates() {
+        final QGramIndex<String> index = QGramIndex.of(2, ANIMALS);
+        // "hallo" and "hello" share 4 of the 6 bigrams of "hollo", at least 5 + 1 - 2 = 4
+        assertArrayEquals(new int[] {6, 7}, index.candidates("hollo", 1));
+        assertArrayEquals(new int[] {3, 10}, index.candidates("frog", 0));
+        // too short for the count filter: only the length filter applies
+        assertArrayEquals(new int[] {1, 2, 3, 5, 6, 7, 8, 9, 10}, index.candidates("xyz", 2));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 4})
+    void testRandom(final int q) {
+        final Random random = new Random(q);
+        final List<String> terms = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            terms.add(RandomStrings.random(random, random.nextInt(12), "abcd"));
+        }
+        final QGramIndex<String> index = QGramIndex.of(q, terms);
+        for (int i = 0; i < 100; i++) {
+            final String query = random.nextBoolean() ? RandomStrings.random(random, random.nextInt(12), "abcd") : terms.get(random.nextInt(terms.size()));
+            final int maxDistance = random.nextInt(4);
+            assertEquals(scan(terms, query, maxDistance), index.search(query, maxDistance), query + " " + maxDistance);
+        }
+    }
+
+    @Test
+    void testRescore() {
+        final QGramIndex<String> index = QGramIndex.of(2, ANIMALS);
+        final JaroWinklerSimilarity similarity = new JaroWinklerSimilarity();
+        final List<Map.Entry<String, Double>> scores = index.rescore("hollo", 1, similarity);
+        assertEquals(2, scores.size());
+        assertEquals("hallo", scores.get(0).getKey());
+        assertEquals(similarity.apply("hollo", "hallo"), scores.get(0).getValue());
+        assertEquals("hello", scores.get(1).getKey());
+        assertThrows(IllegalArgumentException.class, () -> index.rescore("hollo", 1, null));
+    }
+
+    @Test
+    void testPruning() {
+        final Random random = new Random(5);
+        final List<String> terms = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            terms.add(RandomStrings.random(random, 10 + random.nextInt(5), RandomStrings.letters(26)));
+        }
+        final QGramIndex<String> index = QGramIndex.of(3, terms);
+        final StringBuilder query = new StringBuilder(terms.get(42));
+        query.setCharAt(3, '#');
+        final int[] candidates = index.candidates(query, 1);
+        assertTrue(Arrays.binarySearch(candidates, 42) >= 0);
+        assertTrue(candidates.length < 10, Arrays.toString(candidates));
+    }
+
+    @Test
+    void testValidation() {
+        assertThrows(IllegalArgumentException.class, () -> new QGramIndex<String>(0));
+        final QGramIndex<String> index = new QGramIndex<>(2);
+        assertThrows(IllegalArgumentException.class, () -> index.add(null));
+        assertThrows(IllegalArgumentException.class, () -> index.addAll(null));
+        assertThrows(IllegalArgumentException.class, () -> index.candidates(null, 1));
+        assertThrows(IllegalArgumentException.class, () -> index.search("a", -1));
+        assertThrows(IndexOutOfBoundsException.class, () -> index.getTerm(0));
+        assertEquals(0, index.search("a", 2).size());
+    }
+
+}
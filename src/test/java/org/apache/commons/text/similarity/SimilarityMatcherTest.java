@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.similarity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link SimilarityMatcher}.
+ */
+public class SimilarityMatcherTest {
+
+    private static final List<String> ANIMALS = Arrays.asList("elephant", "hippo", "fog", "frog", "", "ant", "hallo",
+        "hello", "fly", "flog");
+
+    private static List<String> randomStrings(final Random random, final int count) {
+        final List<String> strings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final StringBuilder builder = new StringBuilder();
+            final int length = random.nextInt(12);
+            for (int j = 0; j < length; j++) {
+                builder.append((char) (random.nextInt(8) == 0 ? 0x4e00 + random.nextInt(3) : 'a' + random.nextInt(4)));
+            }
+            strings.add(builder.toString());
+        }
+        return strings;
+    }
+
+    /**
+     * Computes the expected matches sequentially.
+     */
+    private static <R extends Comparable<R>> List<Map.Entry<String, R>> expected(final List<String> candidates,
+            final SimilarityScore<R> score, final String query, final boolean higherIsBetter, final R threshold,
+            final int k) {
+        final Comparator<R> order = higherIsBetter ? Comparator.reverseOrder() : Comparator.naturalOrder();
+        return IntStream.range(0, candidates.size()).boxed()
+            .map(i -> new AbstractMap.SimpleImmutableEntry<>(i, score.apply(query, candidates.get(i))))
+            .filter(e -> e.getValue() != null && (threshold == null || order.compare(e.getValue(), threshold) <= 0))
+            .filter(e -> higherIsBetter || ((Integer) e.getValue()) >= 0)
+            .sorted(Comparator.<Map.Entry<Integer, R>, R>comparing(Map.Entry::getValue, order)
+                .thenComparing(Map.Entry::getKey))
+            .limit(k)
+            .map(e -> new AbstractMap.SimpleImmutableEntry<>(candidates.get(e.getKey()), e.getValue()))
+            .collect(Collectors.toList());
+    }
+
+    @Test
+    public void testForDistance() {
+        final SimilarityMatcher<Integer> matcher = SimilarityMatcher.forDistance(LevenshteinDistance.getDefaultInstance(),
+            null);
+        final List<Map.Entry<String, Integer>> top = matcher.topK("frog", ANIMALS, 4);
+        assertEquals(Arrays.asList("frog", "fog", "flog", "fly"),
+            top.stream().map(Map.Entry::getKey).collect(Collectors.toList()));
+        assertEquals(Arrays.asList(0, 1, 1, 3), top.stream().map(Map.Entry::getValue).collect(Collectors.toList()));
+        assertEquals(Arrays.asList("frog", "fog", "flog"), SimilarityMatcher.forDistance(
+            LevenshteinDistance.getDefaultInstance(), 1).topK("frog", ANIMALS, 10).stream().map(Map.Entry::getKey)
+            .collect(Collectors.toList()));
+        assertEquals(Arrays.asList("frog", "fog"), SimilarityMatcher.forDistance(new LevenshteinDistance(1), 3)
+            .topK("frog", ANIMALS, 2).stream().map(Map.Entry::getKey).collect(Collectors.toList()));
+        assertTrue(matcher.topK("frog", ANIMALS, 0).isEmpty());
+        assertEquals(ANIMALS.size(), matcher.topK("frog", ANIMALS, 100).size());
+    }
+
+    @Test
+    public void testForSimilarity() {
+        final List<String> animals = ANIMALS.stream().filter(s -> !s.isEmpty()).collect(Collectors.toList());
+        final SimilarityMatcher<Double> matcher = SimilarityMatcher.forSimilarity(new JaroWinklerSimilarity(), 0.8);
+        final List<Map.Entry<String, Double>> top = matcher.topK("frog", animals, 3);
+        assertEquals(expected(animals, new JaroWinklerSimilarity(), "frog", true, 0.8, 3), top);
+        assertEquals("frog", top.get(0).getKey());
+        assertEquals(1.0, top.get(0).getValue());
+    }
+
+    @Test
+    public void testIllegalArguments() {
+        assertThrows(IllegalArgumentException.class, () -> SimilarityMatcher.forDistance(null, null));
+        assertThrows(IllegalArgumentException.class,
+            () -> SimilarityMatcher.forDistance(LevenshteinDistance.getDefaultInstance(), -1));
+        assertThrows(IllegalArgumentException.class, () -> SimilarityMatcher.forSimilarity(null, null));
+        final SimilarityMatcher<Integer> matcher = SimilarityMatcher.forDistance(LevenshteinDistance.getDefaultInstance(),
+            null);
+        assertThrows(IllegalArgumentException.class, () -> matcher.topK(null, ANIMALS, 1));
+        assertThrows(IllegalArgumentException.class, () -> matcher.topK("frog", ANIMALS, -1));
+        assertThrows(IllegalArgumentException.class, () -> matcher.topK("frog", Arrays.asList("fog", null), 1));
+    }
+
+    @Test
+    public void testMatchesSequentialResults() {
+        final Random random = new Random(42);
+        final List<String> candidates = randomStrings(random, 5000);
+        final EditDistance<Integer> lcs = new LongestCommonSubsequenceDistance();
+        for (int i = 0; i < 20; i++) {
+            final String query = randomStrings(random, 1).get(0);
+            final int k = 1 + random.nextInt(50);
+            final Integer threshold = random.nextBoolean() ? null : random.nextInt(6);
+            assertEquals(expected(candidates, LevenshteinDistance.getDefaultInstance(), query, false, threshold, k),
+                SimilarityMatcher.forDistance(LevenshteinDistance.getDefaultInstance(), threshold).topK(query,
+                    candidates, k));
+            assertEquals(expected(candidates, new LevenshteinDistance(3), query, false, threshold, k),
+                SimilarityMatcher.forDistance(new LevenshteinDistance(3), threshold).topK(query, candidates, k));
+            assertEquals(expected(candidates, lcs, query, false, threshold, k),
+                SimilarityMatcher.forDistance(lcs, threshold).topK(query, candidates, k));
+            // equal scores may come in any order from a stream
+            assertEquals(
+                expected(candidates, lcs, query, false, threshold, k).stream().map(Map.Entry::getValue)
+                    .collect(Collectors.toList()),
+                SimilarityMatcher.forDistance(lcs, threshold).topK(query, candidates.parallelStream(), k).stream()
+                    .map(Map.Entry::getValue).collect(Collectors.toList()));
+        }
+    }
+
+}
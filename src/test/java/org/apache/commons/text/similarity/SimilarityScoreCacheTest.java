@@ -0,0 +1,231 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.similarity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link SimilarityScoreCache}.
+ */
+public class SimilarityScoreCacheTest {
+
+    /**
+     * Counts the calls to a score.
+     */
+    private static final class CountingScore implements SimilarityScore<Integer> {
+
+        private final AtomicInteger calls = new AtomicInteger();
+
+        private final SimilarityScore<Integer> score;
+
+        CountingScore(final SimilarityScore<Integer> score) {
+            this.score = score;
+        }
+
+        @Override
+        public Integer apply(final CharSequence left, final CharSequence right) {
+            calls.incrementAndGet();
+            return score.apply(left, right);
+        }
+    }
+
+    @Test
+    void testConcurrent() throws Exception {
+        final CountingScore score = new CountingScore(LevenshteinDistance.getDefaultInstance());
+        final SimilarityScoreCache<Integer> cache = new SimilarityScoreCache<>(score, 100, true);
+        final int threads = 8;
+        final int calls = 20_000;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final long seed = t;
+                futures.add(executor.submit(() -> {
+                    final Random random = new Random(seed);
+                    for (int i = 0; i < calls; i++) {
+                        // a hot set which fits and a cold set which does not
+                        final int range = random.nextBoolean() ? 8 : 1000;
+                        final String left = "a" + random.nextInt(range);
+                        final String right = "b" + random.nextInt(range);
+                        assertEquals(LevenshteinDistance.getDefaultInstance().apply(left, right), cache.apply(left, right));
+                    }
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+        }
+        assertEquals((long) threads * calls, cache.getHitCount() + cache.getMissCount());
+        assertEquals(score.calls.get(), cache.getMissCount());
+        assertTrue(cache.getHitCount() > 0);
+        assertTrue(cache.size() <= 100);
+        assertTrue(cache.getEvictionCount() >= cache.getMissCount() - 100);
+    }
+
+    @Test
+    void testConstructorInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> new SimilarityScoreCache<>(null, 10, true));
+        assertThrows(IllegalArgumentException.class, () -> new SimilarityScoreCache<>(new JaroWinklerSimilarity(), 0, true));
+    }
+
+    @Test
+    void testEviction() {
+        final SimilarityScoreCache<Double> cache = new SimilarityScoreCache<>(new JaroWinklerSimilarity(), 10, true);
+        for (int i = 0; i < 25; i++) {
+            cache.apply("x", Integer.toString(i));
+        }
+        assertEquals(10, cache.size());
+        assertEquals(15, cache.getEvictionCount());
+        assertEquals(25, cache.getMissCount());
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(15, cache.getEvictionCount());
+    }
+
+    @Test
+    void testFuzzyScore() {
+        final FuzzyScore fuzzyScore = new FuzzyScore(Locale.ENGLISH);
+        final SimilarityScoreCache<Integer> cache = new SimilarityScoreCache<>(fuzzyScore::fuzzyScore, 10, false);
+        assertEquals(3, cache.apply("Apache Software Foundation", "asf"));
+        assertEquals(3, cache.apply("Apache Software Foundation", "asf"));
+        assertEquals(1, cache.apply("asf", "Apache Software Foundation"));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    void testGetters() {
+        final JaroWinklerSimilarity score = new JaroWinklerSimilarity();
+        final SimilarityScoreCache<Double> cache = new SimilarityScoreCache<>(score, 10, true);
+        assertSame(score, cache.getSimilarityScore());
+        assertEquals(10, cache.getMaximumSize());
+        assertTrue(cache.isSymmetric());
+        assertFalse(new SimilarityScoreCache<>(score, 10, false).isSymmetric());
+    }
+
+    @Test
+    void testHitAndMiss() {
+        final CountingScore score = new CountingScore(LevenshteinDistance.getDefaultInstance());
+        final SimilarityScoreCache<Integer> cache = new SimilarityScoreCache<>(score, 10, false);
+        assertEquals(3, cache.apply("kitten", "sitting"));
+        assertEquals(3, cache.apply("kitten", "sitting"));
+        // keyed on the contents of mutable inputs
+        final StringBuilder builder = new StringBuilder("kitten");
+        assertEquals(3, cache.apply(builder, "sitting"));
+        builder.setLength(0);
+        builder.append("sitting");
+        assertEquals(0, cache.apply(builder, "sitting"));
+        assertEquals(2, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+        assertEquals(2, score.calls.get());
+        assertEquals(2, cache.size());
+        assertEquals(0, cache.getEvictionCount());
+    }
+
+    @Test
+    void testNull() {
+        final SimilarityScoreCache<Integer> cache = new SimilarityScoreCache<>((left, right) -> null, 10, true);
+        assertNull(cache.apply("a", "b"));
+        assertEquals(0, cache.size());
+        final SimilarityScoreCache<Double> jaroWinkler = new SimilarityScoreCache<>(new JaroWinklerSimilarity(), 10, true);
+        assertThrows(IllegalArgumentException.class, () -> jaroWinkler.apply(null, "b"));
+        assertEquals(0, jaroWinkler.size());
+        assertEquals(1, jaroWinkler.getMissCount());
+        final SimilarityScoreCache<Integer> distance = new SimilarityScoreCache<>((left, right) -> left == null ? 0 : 1, 10, true);
+        assertEquals(0, distance.apply(null, "b"));
+        assertEquals(0, distance.apply(null, "b"));
+        assertEquals(2, distance.getMissCount());
+        assertEquals(0, distance.getHitCount());
+    }
+
+    @Test
+    void testOrdered() {
+        final CountingScore score = new CountingScore((left, right) -> left.length() - right.length());
+        final SimilarityScoreCache<Integer> cache = new SimilarityScoreCache<>(score, 10, false);
+        assertEquals(-1, cache.apply("a", "bb"));
+        assertEquals(1, cache.apply("bb", "a"));
+        assertEquals(2, score.calls.get());
+    }
+
+    @Test
+    void testReversedDetailedDistance() {
+        final LevenshteinDetailedDistance distance = LevenshteinDetailedDistance.getDefaultInstance();
+        final SimilarityScoreCache<LevenshteinResults> ordered = new SimilarityScoreCache<>(distance, 10, false);
+        assertEquals(distance.apply("abcdef", "abc"), ordered.apply("abcdef", "abc"));
+        final LevenshteinResults reversed = ordered.apply("abc", "abcdef");
+        assertEquals(distance.apply("abc", "abcdef"), reversed);
+        assertEquals(3, reversed.getInsertCount());
+        assertEquals(0, reversed.getDeleteCount());
+        // a symmetric cache returns the result of the other order, which is only valid for symmetric scores
+        final SimilarityScoreCache<LevenshteinResults> symmetric = new SimilarityScoreCache<>(distance, 10, true);
+        symmetric.apply("abcdef", "abc");
+        assertEquals(distance.apply("abcdef", "abc"), symmetric.apply("abc", "abcdef"));
+    }
+
+    @Test
+    void testScanResistance() {
+        final CountingScore score = new CountingScore(LevenshteinDistance.getDefaultInstance());
+        final SimilarityScoreCache<Integer> cache = new SimilarityScoreCache<>(score, 10, true);
+        for (int i = 0; i < 2; i++) {
+            for (int j = 0; j < 5; j++) {
+                cache.apply("hot", Integer.toString(j));
+            }
+        }
+        // a scan of pairs seen once only evicts other pairs on probation
+        for (int i = 0; i < 100; i++) {
+            cache.apply("cold", Integer.toString(i));
+        }
+        final int calls = score.calls.get();
+        for (int j = 0; j < 5; j++) {
+            cache.apply("hot", Integer.toString(j));
+        }
+        assertEquals(calls, score.calls.get());
+        assertEquals(10, cache.size());
+    }
+
+    @Test
+    void testSymmetric() {
+        final CountingScore score = new CountingScore(LevenshteinDistance.getDefaultInstance());
+        final SimilarityScoreCache<Integer> cache = new SimilarityScoreCache<>(score, 10, true);
+        assertEquals(3, cache.apply("kitten", "sitting"));
+        assertEquals(3, cache.apply("sitting", "kitten"));
+        assertEquals(1, score.calls.get());
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.getHitCount());
+    }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.similarity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link SparseVector}.
+ */
+public class SparseVectorTest {
+
+    private static Map<CharSequence, Integer> toMap(final SparseVector vector) {
+        final Map<CharSequence, Integer> map = new HashMap<>();
+        for (int i = 0; i < vector.size(); i++) {
+            map.put(Integer.toString(vector.getId(i)), (int) vector.getWeight(i));
+        }
+        return map;
+    }
+
+    private static SparseVector random(final Random random, final int size, final int range) {
+        final int[] ids = new int[size];
+        final float[] weights = new float[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = random.nextInt(range);
+            weights[i] = 1 + random.nextInt(5);
+        }
+        return SparseVector.of(ids, weights);
+    }
+
+    @Test
+    void testCosineSimilarityRandom() {
+        final Random random = new Random(17);
+        for (int i = 0; i < 200; i++) {
+            // include very different lengths, which search instead of merging
+            final SparseVector left = random(random, random.nextInt(8), 100);
+            final SparseVector right = random(random, random.nextInt(i % 2 == 0 ? 8 : 300), 100);
+            final double expected = CosineSimilarity.INSTANCE.cosineSimilarity(toMap(left), toMap(right));
+            assertEquals(expected, left.cosineSimilarity(right), 1e-12);
+            assertEquals(expected, right.cosineSimilarity(left), 1e-12);
+        }
+    }
+
+    @Test
+    void testEmpty() {
+        final SparseVector empty = SparseVector.of(new int[0], new float[0]);
+        assertEquals(0, empty.size());
+        assertEquals(0d, empty.getNorm());
+        assertEquals(0d, empty.cosineSimilarity(empty));
+        assertEquals(0d, empty.cosineSimilarity(SparseVector.of(new int[] {1}, new float[] {1})));
+    }
+
+    @Test
+    void testOf() {
+        final SparseVector vector = SparseVector.of(new int[] {7, 2, 7, 0}, new float[] {1, 2, 3, 4});
+        assertEquals(3, vector.size());
+        assertEquals(0, vector.getId(0));
+        assertEquals(4f, vector.getWeight(0));
+        assertEquals(2, vector.getId(1));
+        assertEquals(7, vector.getId(2));
+        assertEquals(4f, vector.getWeight(2));
+        assertEquals(6d, vector.getNorm());
+        assertEquals(36d, vector.dot(vector));
+        assertEquals(1d, vector.cosineSimilarity(vector), 1e-12);
+        assertThrows(IndexOutOfBoundsException.class, () -> vector.getId(3));
+    }
+
+    @Test
+    void testValidation() {
+        assertThrows(IllegalArgumentException.class, () -> SparseVector.of(null, new float[0]));
+        assertThrows(IllegalArgumentException.class, () -> SparseVector.of(new int[1], new float[2]));
+        assertThrows(IllegalArgumentException.class, () -> SparseVector.of(new int[] {-1}, new float[1]));
+        final SparseVector vector = SparseVector.of(new int[1], new float[1]);
+        assertThrows(IllegalArgumentException.class, () -> vector.dot(null));
+        assertThrows(IllegalArgumentException.class, () -> vector.cosineSimilarity(null));
+    }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.similarity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link TermDictionary}.
+ */
+public class TermDictionaryTest {
+
+    private static String randomText(final Random random, final int words) {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            sb.append("w").append(random.nextInt(30)).append(random.nextBoolean() ? " " : ", ");
+        }
+        return sb.toString();
+    }
+
+    @Test
+    void testCounts() {
+        final TermDictionary dictionary = new TermDictionary();
+        final SparseVector vector = dictionary.vectorize(Counter.of(new CharSequence[] {"a", "b", "a"}));
+        assertEquals(2, vector.size());
+        assertEquals(Math.sqrt(5), vector.getNorm(), 1e-12);
+        assertEquals(vector.getNorm(), dictionary.vectorize(Arrays.asList("b", "a", "a")).getNorm());
+        assertThrows(IllegalArgumentException.class, () -> dictionary.vectorize((Map<CharSequence, Integer>) null));
+    }
+
+    @Test
+    void testDictionary() {
+        final TermDictionary dictionary = new TermDictionary();
+        assertEquals(0, dictionary.intern("foo"));
+        assertEquals(1, dictionary.intern(new StringBuilder("bar")));
+        assertEquals(0, dictionary.intern("foo"));
+        assertEquals(1, dictionary.getId("bar"));
+        assertEquals(-1, dictionary.getId("baz"));
+        assertEquals("bar", dictionary.getTerm(1));
+        assertEquals(2, dictionary.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> dictionary.getTerm(2));
+        assertThrows(IllegalArgumentException.class, () -> dictionary.intern(null));
+    }
+
+    @Test
+    void testQuery() {
+        final TermDictionary dictionary = new TermDictionary();
+        final SparseVector document = dictionary.vectorize("the quick brown fox");
+        final SparseVector query = dictionary.vectorizeQuery("the lazy lazy dog");
+        // unknown words are not added, but count in the norm
+        assertEquals(4, dictionary.size());
+        assertEquals(1, query.size());
+        assertEquals(Math.sqrt(6), query.getNorm(), 1e-12);
+        assertEquals(1 - new CosineDistance().apply("the quick brown fox", "the lazy lazy dog"), query.cosineSimilarity(document), 1e-12);
+        assertEquals(0, dictionary.vectorizeQuery("   ").size());
+        assertThrows(IllegalArgumentException.class, () -> dictionary.vectorizeQuery((CharSequence) null));
+    }
+
+    @Test
+    void testRandom() {
+        final Random random = new Random(19);
+        final TermDictionary dictionary = new TermDictionary();
+        final CosineDistance distance = new CosineDistance();
+        for (int i = 0; i < 100; i++) {
+            final String left = randomText(random, 1 + random.nextInt(20));
+            final String right = randomText(random, 1 + random.nextInt(20));
+            final SparseVector document = dictionary.vectorize(left);
+            assertEquals(1 - distance.apply(left, right), dictionary.vectorizeQuery(right).cosineSimilarity(document), 1e-12);
+            assertEquals(1 - distance.apply(left, right), document.cosineSimilarity(dictionary.vectorize(right)), 1e-12);
+        }
+    }
+
+}
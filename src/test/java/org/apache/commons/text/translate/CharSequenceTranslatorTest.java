@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.translate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Random;
+
+import org.apache.commons.text.RandomStrings;
+import org.apache.commons.text.StringEscapeUtils;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link CharSequenceTranslator}.
+ */
+public class CharSequenceTranslatorTest {
+
+    /** Text to translate, mixing plain characters, entities, escapes and unpaired surrogates. */
+    private static final String[] TOKENS = {"a", "b", " ", "&", "<", ">", "\"", "'", "\\", "/", "\t", "\n", "\u0000", "\u007f",
+        "\u0085", "\u00e9", "\u4e2d", "&#65;", "&amp;", "&eacute;", "\\u0041", "\\101", "\ud83d\ude00", "\ud800",
+        "\udc00"};
+
+    /**
+     * Delegates to a translator without advertising its translatable characters, so that
+     * the character by character loop is used.
+     */
+    private static CharSequenceTranslator charByChar(final CharSequenceTranslator translator) {
+        return new CharSequenceTranslator() {
+            @Override
+            public int translate(final CharSequence input, final int index, final Writer writer) throws IOException {
+                return translator.translate(input, index, writer);
+            }
+        };
+    }
+
+    @Test
+    public void testBulkRunsMatchCharByChar() throws IOException {
+        final CharSequenceTranslator[] translators = {StringEscapeUtils.ESCAPE_JAVA, StringEscapeUtils.ESCAPE_JSON,
+            StringEscapeUtils.ESCAPE_XML10, StringEscapeUtils.ESCAPE_XML11, StringEscapeUtils.ESCAPE_HTML4,
+            StringEscapeUtils.UNESCAPE_JAVA, StringEscapeUtils.UNESCAPE_HTML4, StringEscapeUtils.UNESCAPE_XML};
+        final Random random = new Random(42);
+        for (int i = 0; i < 200; i++) {
+            final String input = RandomStrings.tokens(random, random.nextInt(64), TOKENS);
+            for (final CharSequenceTranslator translator : translators) {
+                assertNotNull(translator.getTranslatableChars());
+                final String expected = charByChar(translator).translate(input);
+                assertEquals(expected, translator.translate(input), input);
+                final StringWriter writer = new StringWriter();
+                translator.translate(new StringBuilder(input), writer);
+                assertEquals(expected, writer.toString(), input);
+            }
+        }
+    }
+
+    @Test
+    public void testDefaultTranslatableChars() {
+        assertNull(charByChar(StringEscapeUtils.ESCAPE_JSON).getTranslatableChars());
+        assertNull(new AggregateTranslator(StringEscapeUtils.ESCAPE_JSON, charByChar(StringEscapeUtils.ESCAPE_JSON))
+            .getTranslatableChars());
+        assertNull(StringEscapeUtils.ESCAPE_CSV.getTranslatableChars());
+    }
+
+    @Test
+    public void testSubclassesTranslateOtherChars() throws IOException {
+        // escapes 'a' besides the code points above 0x7f
+        final UnicodeEscaper unicodeEscaper = new UnicodeEscaper(0, 0x7f, false) {
+            @Override
+            public boolean translate(final int codePoint, final Writer writer) throws IOException {
+                if (codePoint == 'a') {
+                    writer.write("\\u0061");
+                    return true;
+                }
+                return super.translate(codePoint, writer);
+            }
+        };
+        assertNull(unicodeEscaper.getTranslatableChars());
+        assertEquals("\\u0061b\\u00E9", unicodeEscaper.translate("ab\u00e9"));
+        // translates 'x' besides the lookup
+        final LookupTranslator lookupTranslator = new LookupTranslator(Collections.singletonMap("<", "&lt;")) {
+            @Override
+            public int translate(final CharSequence input, final int index, final Writer writer) throws IOException {
+                if (input.charAt(index) == 'x') {
+                    writer.write('y');
+                    return 1;
+                }
+                return super.translate(input, index, writer);
+            }
+        };
+        assertNull(lookupTranslator.getTranslatableChars());
+        assertEquals("y&lt;y", lookupTranslator.translate("x<x"));
+        final StringBuilder builder = new StringBuilder();
+        lookupTranslator.translate("x<x", builder);
+        assertEquals("y&lt;y", builder.toString());
+        assertEquals("y&lt;y&#65;", lookupTranslator.with(new NumericEntityEscaper() {
+            // a subclass opts in to the bulk copy of other characters
+            private final BitSet chars = new BitSet();
+            {
+                chars.set('A');
+            }
+
+            @Override
+            protected BitSet getTranslatableChars() {
+                return chars;
+            }
+
+            @Override
+            public boolean translate(final int codePoint, final Writer writer) throws IOException {
+                return codePoint == 'A' && super.translate(codePoint, writer);
+            }
+        }).translate("x<xA"));
+        assertNotNull(JavaUnicodeEscaper.above(0x7f).getTranslatableChars());
+    }
+
+    @Test
+    public void testTranslatableChars() {
+        assertTrue(StringEscapeUtils.ESCAPE_JSON.getTranslatableChars().get('"'));
+        assertTrue(StringEscapeUtils.ESCAPE_JSON.getTranslatableChars().get('\n'));
+        assertTrue(StringEscapeUtils.ESCAPE_JSON.getTranslatableChars().get('\u00e9'));
+        assertTrue(StringEscapeUtils.ESCAPE_JSON.getTranslatableChars().get(Character.MIN_HIGH_SURROGATE));
+        assertFalse(StringEscapeUtils.ESCAPE_JSON.getTranslatableChars().get('a'));
+        assertTrue(new NumericEntityUnescaper().getTranslatableChars().get('&'));
+        assertEquals(1, new NumericEntityUnescaper().getTranslatableChars().cardinality());
+        assertEquals(0x10000 - 0x80, NumericEntityEscaper.above(0x7f).getTranslatableChars().cardinality());
+        assertEquals(0x81, NumericEntityEscaper.below(0x81).getTranslatableChars().cardinality());
+        assertEquals(Character.MAX_HIGH_SURROGATE - Character.MIN_HIGH_SURROGATE + 1,
+            UnicodeEscaper.between(0x10000, 0x1FFFF).getTranslatableChars().cardinality());
+    }
+
+    @Test
+    public void testUnchangedInputIsReturned() {
+        final String input = "Nothing to escape here.";
+        assertSame(input, StringEscapeUtils.ESCAPE_JSON.translate(input));
+        assertSame(input, StringEscapeUtils.ESCAPE_HTML4.translate(input));
+        final String cjk = "Nothing to unescape here, \u4e2d\u6587 included.";
+        assertSame(cjk, StringEscapeUtils.UNESCAPE_HTML4.translate(cjk));
+        assertEquals("", StringEscapeUtils.ESCAPE_JSON.translate(""));
+    }
+}
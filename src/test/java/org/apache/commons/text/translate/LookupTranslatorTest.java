@@ -61,6 +61,26 @@ public class LookupTranslatorTest  {
         assertEquals("two", out.toString(), "Incorrect value");
     }
 
+    @Test
+    public void testLongestMatch() throws IOException {
+        final Map<CharSequence, CharSequence> translatorMap = new HashMap<>();
+        translatorMap.put("a", "1");
+        translatorMap.put("ab", "2");
+        translatorMap.put("abcd", "4");
+        translatorMap.put("b", "5");
+        final LookupTranslator lt = new LookupTranslator(translatorMap);
+        StringWriter out = new StringWriter();
+        assertEquals(2, lt.translate("abc", 0, out), "Incorrect code point consumption");
+        assertEquals("2", out.toString(), "Incorrect value");
+        out = new StringWriter();
+        assertEquals(4, lt.translate("xabcde", 1, out), "Incorrect code point consumption");
+        assertEquals("4", out.toString(), "Incorrect value");
+        out = new StringWriter();
+        assertEquals(0, lt.translate("cab", 0, out), "Incorrect code point consumption");
+        assertEquals("", out.toString(), "Incorrect value");
+        assertEquals("1x2c54", lt.translate("axabcbabcd"));
+    }
+
     @Test
     public void testTranslateSupplementaryCharacter() {
         /* Key: string with Mathematical double-struck capital A (U+1D538) */
@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.text.translate;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.apache.commons.text.StringEscapeUtils;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link Utf8Escaper}.
+ */
+public class Utf8EscaperTest {
+
+    private static final CharSequenceTranslator[] TRANSLATORS = {StringEscapeUtils.ESCAPE_JSON,
+        StringEscapeUtils.ESCAPE_XML10, StringEscapeUtils.ESCAPE_HTML4};
+
+    private static byte[] escapeBuffer(final Utf8Escaper escaper, final byte[] input, final boolean direct) {
+        final ByteBuffer in;
+        if (direct) {
+            in = ByteBuffer.allocateDirect(input.length);
+            in.put(input).flip();
+        } else {
+            in = ByteBuffer.wrap(input);
+        }
+        final ByteBuffer out = ByteBuffer.allocate(input.length * 10 + 16);
+        escaper.escape(in, out);
+        assertEquals(0, in.remaining());
+        return Arrays.copyOf(out.array(), out.position());
+    }
+
+    private static byte[] escapeStream(final Utf8Escaper escaper, final byte[] input, final int maxRead)
+            throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        escaper.escape(new InputStream() {
+            private int pos;
+
+            @Override
+            public int read() {
+                return pos < input.length ? input[pos++] & 0xFF : -1;
+            }
+
+            @Override
+            public int read(final byte[] b, final int off, final int len) {
+                if (pos == input.length) {
+                    return -1;
+                }
+                final int n = Math.min(Math.min(len, maxRead), input.length - pos);
+                System.arraycopy(input, pos, b, off, n);
+                pos += n;
+                return n;
+            }
+        }, out);
+        return out.toByteArray();
+    }
+
+    private static byte[] expected(final CharSequenceTranslator translator, final byte[] input) {
+        return translator.translate(new String(input, StandardCharsets.UTF_8)).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] randomBytes(final Random random, final int length) {
+        final String[] tokens = {"a", "b", " ", "&", "<", ">", "\"", "'", "\\", "/", "\t", "\n", "\u0000", "\u007f",
+            "\u0085", "\u00e9", "\u03b1", "\u4e2d", "\ufffe", "\ud83d\ude00"};
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        while (out.size() < length) {
+            if (random.nextInt(8) == 0) {
+                // malformed or truncated
+                out.write(0x80 + random.nextInt(0x80));
+            } else {
+                final byte[] token = tokens[random.nextInt(tokens.length)].getBytes(StandardCharsets.UTF_8);
+                out.write(token, 0, token.length);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    @Test
+    public void testEscape() throws IOException {
+        final byte[] input = "<a href=\"x\">\u00e9t\u00e9 \u4e2d\ud83d\ude00</a>".getBytes(StandardCharsets.UTF_8);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StringEscapeUtils.escapeHtml4(new ByteArrayInputStream(input), out);
+        assertEquals("&lt;a href=&quot;x&quot;&gt;&eacute;t&eacute; \u4e2d\ud83d\ude00&lt;/a&gt;",
+            new String(out.toByteArray(), StandardCharsets.UTF_8));
+
+        final ByteBuffer buffer = ByteBuffer.allocate(64);
+        StringEscapeUtils.escapeJson(ByteBuffer.wrap("\"\u00e9\"".getBytes(StandardCharsets.UTF_8)), buffer);
+        assertEquals("\\\"\\u00E9\\\"", new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8));
+
+        out.reset();
+        StringEscapeUtils.escapeXml10(new ByteArrayInputStream(new byte[] {'a', 0, '&', (byte) 0xC3}), out);
+        assertEquals("a&amp;\ufffd", new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testEscapeOverflow() {
+        final ByteBuffer in = ByteBuffer.wrap("<<<<".getBytes(StandardCharsets.UTF_8));
+        assertThrows(BufferOverflowException.class, () -> StringEscapeUtils.escapeHtml4(in, ByteBuffer.allocate(8)));
+    }
+
+    @Test
+    public void testEscapeRandom() throws IOException {
+        final Random random = new Random(42);
+        for (int i = 0; i < 300; i++) {
+            final byte[] input = randomBytes(random, random.nextInt(200));
+            for (final CharSequenceTranslator translator : TRANSLATORS) {
+                final Utf8Escaper escaper = new Utf8Escaper(translator);
+                final byte[] expected = expected(translator, input);
+                assertArrayEquals(expected, escapeBuffer(escaper, input, false));
+                assertArrayEquals(expected, escapeBuffer(escaper, input, true));
+                assertArrayEquals(expected, escapeStream(escaper, input, 1 + random.nextInt(5)));
+            }
+        }
+    }
+
+    @Test
+    public void testMalformed() {
+        final byte[][] inputs = {{(byte) 0xC0, (byte) 0x80}, {(byte) 0xE0, (byte) 0x80, (byte) 0x80},
+            {(byte) 0xED, (byte) 0xA0, (byte) 0x80}, {(byte) 0xF0, (byte) 0x9F, (byte) 0x98},
+            {(byte) 0xF4, (byte) 0x90, (byte) 0x80, (byte) 0x80}, {(byte) 0xF5, 'a'}, {(byte) 0xE4, (byte) 0xB8, 'a'},
+            {(byte) 0xED, (byte) 0xA0, 'a'}, {(byte) 0xED, (byte) 0xBF}, {(byte) 0xF4, (byte) 0x90}};
+        for (final byte[] input : inputs) {
+            for (final CharSequenceTranslator translator : TRANSLATORS) {
+                assertArrayEquals(expected(translator, input), escapeBuffer(new Utf8Escaper(translator), input, false));
+            }
+        }
+    }
+
+}